@@ -315,13 +315,25 @@ public class StateConverter {
         .streamState(streamState.getStreamState());
   }
 
-  private static io.airbyte.api.client.model.generated.StreamState streamStateStructToClient(final AirbyteStreamState streamState) {
+  /**
+   * Converts internal representation of a stream state to client representation.
+   *
+   * @param streamState internal stream state representation to convert
+   * @return client representation of stream state
+   */
+  public static io.airbyte.api.client.model.generated.StreamState streamStateStructToClient(final AirbyteStreamState streamState) {
     return new io.airbyte.api.client.model.generated.StreamState()
         .streamDescriptor(ProtocolConverters.streamDescriptorToClient(streamState.getStreamDescriptor()))
         .streamState(streamState.getStreamState());
   }
 
-  private static AirbyteStreamState streamStateStructToInternal(final StreamState streamState) {
+  /**
+   * Converts API representation of a stream state to internal representation.
+   *
+   * @param streamState api representation of stream state
+   * @return internal representation of stream state
+   */
+  public static AirbyteStreamState streamStateStructToInternal(final StreamState streamState) {
     return new AirbyteStreamState()
         .withStreamDescriptor(ProtocolConverters.streamDescriptorToProtocol(streamState.getStreamDescriptor()))
         .withStreamState(streamState.getStreamState());
@@ -55,6 +55,10 @@ public class RecordMigrations {
    * Works on a best-effort basis. If the schema doesn't match the data, we'll do our best to mutate
    * anything that we can definitively say matches the criteria. Should _not_ throw an exception if
    * bad things happen (e.g. we try to parse a non-numerical string as a number).
+   * <p>
+   * Primitive nodes are checked against their schema with validators cached per schema node, see
+   * {@link JsonSchemaValidator#testWithCachedSchema(JsonNode, JsonNode)}: the schema is expected to be
+   * reused across records and must not be modified.
    *
    * @param schemaMatcher Accepts a JsonNode schema and returns whether its corresponding entry in the
    *        data should be mutated. Doesn't need to handle oneOf cases, i.e. should only care about
@@ -85,7 +89,7 @@ public class RecordMigrations {
     } else {
       // There's nothing to do in the case of a primitive node.
       // So we just check whether the schema is correct and return the node as-is.
-      return new MigratedNode(data, validator.test(schema, data));
+      return new MigratedNode(data, validator.testWithCachedSchema(schema, data));
     }
   }
 
@@ -103,7 +107,7 @@ public class RecordMigrations {
     final JsonNode schemaOptions = schema.get(ONEOF_KEY);
     if (schemaOptions.size() == 0) {
       // If the oneOf has no options, then don't do anything interesting.
-      return new MigratedNode(data, validator.test(schema, data));
+      return new MigratedNode(data, validator.testWithCachedSchema(schema, data));
     }
 
     // Attempt to mutate the node against each oneOf schema.
@@ -20,14 +20,17 @@ import io.airbyte.commons.version.Version;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.JsonSchemaReferenceTypes;
 import io.airbyte.validation.json.JsonSchemaValidator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * V1 Migration.
@@ -36,7 +39,16 @@ import java.util.Optional;
 // @Singleton
 public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.airbyte.protocol.models.v0.AirbyteMessage, AirbyteMessage> {
 
+  private static final Pattern NUMERIC_LITERAL = Pattern.compile("-?\\d+(\\.\\d+)?");
+
   private final JsonSchemaValidator validator;
+  // Record downgrades of the streams of the last catalog seen. The catalog is the same for all the
+  // records of a sync, so they are compiled once per sync.
+  private volatile CompiledCatalog compiledCatalog;
+
+  private record CompiledCatalog(ConfiguredAirbyteCatalog catalog, Map<AirbyteStreamNameNamespacePair, StreamDowngrade> streams) {}
+
+  private record StreamDowngrade(JsonNode schema, Optional<RecordDowngradePlan> plan) {}
 
   public AirbyteMessageMigrationV1() {
     this(new JsonSchemaValidator());
@@ -60,19 +72,20 @@ public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.air
       }
     } else if (oldMessage.getType() == Type.RECORD && oldMessage.getRecord() != null) {
       if (configuredAirbyteCatalog.isPresent()) {
-        final ConfiguredAirbyteCatalog catalog = configuredAirbyteCatalog.get();
         final io.airbyte.protocol.models.v0.AirbyteRecordMessage record = newMessage.getRecord();
-        final Optional<ConfiguredAirbyteStream> maybeStream = catalog.getStreams().stream()
-            .filter(stream -> Objects.equals(stream.getStream().getName(), record.getStream())
-                && Objects.equals(stream.getStream().getNamespace(), record.getNamespace()))
-            .findFirst();
+        final StreamDowngrade streamDowngrade = getStreamDowngrades(configuredAirbyteCatalog.get())
+            .get(new AirbyteStreamNameNamespacePair(record.getStream(), record.getNamespace()));
         // If this record doesn't belong to any configured stream, then there's no point downgrading it
         // So only do the downgrade if we can find its stream
-        if (maybeStream.isPresent()) {
-          final JsonNode schema = maybeStream.get().getStream().getJsonSchema();
+        if (streamDowngrade != null) {
           final JsonNode oldData = record.getData();
-          final MigratedNode downgradedNode = downgradeRecord(oldData, schema);
-          record.setData(downgradedNode.node());
+          if (streamDowngrade.plan().isPresent()) {
+            // the record is already a copy of the original message, it can be modified in place
+            record.setData(streamDowngrade.plan().get().apply(oldData));
+          } else {
+            final MigratedNode downgradedNode = downgradeRecord(oldData, streamDowngrade.schema());
+            record.setData(downgradedNode.node());
+          }
         }
       }
     }
@@ -147,27 +160,54 @@ public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.air
   private MigratedNode downgradeRecord(final JsonNode data, final JsonNode schema) {
     return RecordMigrations.mutateDataNode(
         validator,
-        s -> {
-          if (s.hasNonNull(REF_KEY)) {
-            final String type = s.get(REF_KEY).asText();
-            return JsonSchemaReferenceTypes.INTEGER_REFERENCE.equals(type)
-                || JsonSchemaReferenceTypes.NUMBER_REFERENCE.equals(type);
-          } else {
-            return false;
-          }
-        },
+        AirbyteMessageMigrationV1::isNumberReference,
         (s, d) -> {
-          if (d.asText().matches("-?\\d+(\\.\\d+)?")) {
-            // If this string is a numeric literal, convert it to a numeric node.
-            return new MigratedNode(Jsons.deserialize(d.asText()), true);
-          } else {
-            // Otherwise, just leave the node unchanged.
-            return new MigratedNode(d, false);
-          }
+          final JsonNode downgradedNode = downgradeNumber(d);
+          return new MigratedNode(downgradedNode, downgradedNode != d);
         },
         data, schema);
   }
 
+  /**
+   * Get the record downgrades of each stream of the catalog, compiling them if this is a new catalog.
+   * If several streams have the same name and namespace, the first one is used.
+   */
+  private Map<AirbyteStreamNameNamespacePair, StreamDowngrade> getStreamDowngrades(final ConfiguredAirbyteCatalog catalog) {
+    final CompiledCatalog compiled = compiledCatalog;
+    if (compiled != null && compiled.catalog() == catalog) {
+      return compiled.streams();
+    }
+
+    final Map<AirbyteStreamNameNamespacePair, StreamDowngrade> streams = new HashMap<>();
+    for (final ConfiguredAirbyteStream stream : catalog.getStreams()) {
+      final JsonNode schema = stream.getStream().getJsonSchema();
+      streams.putIfAbsent(new AirbyteStreamNameNamespacePair(stream.getStream().getName(), stream.getStream().getNamespace()),
+          new StreamDowngrade(schema, RecordDowngradePlan.compile(schema, AirbyteMessageMigrationV1::isNumberReference,
+              AirbyteMessageMigrationV1::downgradeNumber)));
+    }
+    compiledCatalog = new CompiledCatalog(catalog, streams);
+    return streams;
+  }
+
+  private static boolean isNumberReference(final JsonNode schema) {
+    if (schema.hasNonNull(REF_KEY)) {
+      final String type = schema.get(REF_KEY).asText();
+      return JsonSchemaReferenceTypes.INTEGER_REFERENCE.equals(type)
+          || JsonSchemaReferenceTypes.NUMBER_REFERENCE.equals(type);
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * If this string is a numeric literal, convert it to a numeric node. Otherwise, just leave the node
+   * unchanged.
+   */
+  private static JsonNode downgradeNumber(final JsonNode data) {
+    final String text = data.asText();
+    return NUMERIC_LITERAL.matcher(text).matches() ? Jsons.deserialize(text) : data;
+  }
+
   @Override
   public Version getPreviousVersion() {
     return AirbyteProtocolVersion.V0;
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.migrations.v1;
+
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.ARRAY_TYPE;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.ITEMS_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.OBJECT_TYPE;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.ONEOF_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.PROPERTIES_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.REF_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.TYPE_KEY;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.protocol.migrations.util.RecordMigrations;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * The locations of a stream's records that the V1 to V0 downgrade converts, compiled once from the
+ * stream's schema.
+ * <p>
+ * {@link RecordMigrations#mutateDataNode} walks the schema and the record together for every record.
+ * The plan does the schema side of that walk once, and lists the paths from the root of a record to
+ * the values matching a converted schema. Applying it only follows these paths in the record. The
+ * result is the same as {@link RecordMigrations#mutateDataNode}, except that the record is modified
+ * in place rather than copied.
+ * <p>
+ * oneOf schemas are resolved by validating the record against each option, which depends on the
+ * record. Schemas with a oneOf containing a converted schema can't be compiled and keep using
+ * {@link RecordMigrations#mutateDataNode}.
+ */
+final class RecordDowngradePlan {
+
+  private sealed interface Step permits Field, Element, AllElements {}
+
+  /**
+   * Value of a field, when the current node is an object.
+   */
+  private record Field(String name) implements Step {}
+
+  /**
+   * Element at an index, when the current node is an array.
+   */
+  private record Element(int index) implements Step {}
+
+  /**
+   * Every element, when the current node is an array.
+   */
+  private record AllElements() implements Step {}
+
+  private final List<Step[]> paths;
+  private final UnaryOperator<JsonNode> transformer;
+
+  private RecordDowngradePlan(final List<Step[]> paths, final UnaryOperator<JsonNode> transformer) {
+    this.paths = paths;
+    this.transformer = transformer;
+  }
+
+  /**
+   * Compile the plan of a stream.
+   *
+   * @param schema the schema of the stream
+   * @param schemaMatcher accepts a schema and returns whether the data it describes is converted, see
+   *        {@link RecordMigrations#mutateDataNode}
+   * @param transformer converts the data of a matching schema
+   * @return the plan, or empty if the schema can't be compiled
+   */
+  static Optional<RecordDowngradePlan> compile(final JsonNode schema,
+                                               final Function<JsonNode, Boolean> schemaMatcher,
+                                               final UnaryOperator<JsonNode> transformer) {
+    final List<Step[]> paths = new ArrayList<>();
+    if (!collectPaths(schema, schemaMatcher, new ArrayList<>(), paths)) {
+      return Optional.empty();
+    }
+    return Optional.of(new RecordDowngradePlan(paths, transformer));
+  }
+
+  /**
+   * Apply the plan to a record's data.
+   *
+   * @return the converted data, which is the given node modified in place unless the root itself is
+   *         converted.
+   */
+  JsonNode apply(final JsonNode data) {
+    JsonNode result = data;
+    for (final Step[] path : paths) {
+      result = apply(result, path, 0);
+    }
+    return result;
+  }
+
+  private JsonNode apply(final JsonNode node, final Step[] path, final int depth) {
+    if (depth == path.length) {
+      return transformer.apply(node);
+    }
+
+    final Step step = path[depth];
+    if (step instanceof Field field) {
+      if (node.isObject()) {
+        final JsonNode value = node.get(field.name());
+        if (value != null) {
+          final JsonNode newValue = apply(value, path, depth + 1);
+          if (newValue != value) {
+            ((ObjectNode) node).set(field.name(), newValue);
+          }
+        }
+      }
+    } else if (step instanceof Element element) {
+      if (node.isArray() && element.index() < node.size()) {
+        applyToElement((ArrayNode) node, element.index(), path, depth);
+      }
+    } else if (node.isArray()) {
+      for (int i = 0; i < node.size(); i++) {
+        applyToElement((ArrayNode) node, i, path, depth);
+      }
+    }
+    return node;
+  }
+
+  private void applyToElement(final ArrayNode array, final int index, final Step[] path, final int depth) {
+    final JsonNode value = array.get(index);
+    final JsonNode newValue = apply(value, path, depth + 1);
+    if (newValue != value) {
+      array.set(index, newValue);
+    }
+  }
+
+  /**
+   * Mirrors the walk of {@link RecordMigrations#mutateDataNode}, following both the object and the
+   * array branches since which one is taken depends on the record.
+   *
+   * @return false if the schema can't be compiled
+   */
+  private static boolean collectPaths(final JsonNode schema,
+                                      final Function<JsonNode, Boolean> schemaMatcher,
+                                      final List<Step> currentPath,
+                                      final List<Step[]> paths) {
+    if (!schema.hasNonNull(REF_KEY) && !schema.hasNonNull(TYPE_KEY) && schema.hasNonNull(ONEOF_KEY)) {
+      // a oneOf without any converted schema leaves the record unchanged, whichever option matches
+      return !containsMatchingSchema(schema, schemaMatcher);
+    }
+
+    if (schemaMatcher.apply(schema)) {
+      paths.add(currentPath.toArray(new Step[0]));
+      return true;
+    }
+
+    if (isOfType(schema, OBJECT_TYPE, PROPERTIES_KEY) && schema.hasNonNull(PROPERTIES_KEY)) {
+      final Iterator<Entry<String, JsonNode>> properties = schema.get(PROPERTIES_KEY).fields();
+      while (properties.hasNext()) {
+        final Entry<String, JsonNode> property = properties.next();
+        if (property.getValue().isNull()) {
+          continue;
+        }
+        if (!collectChildPaths(property.getValue(), schemaMatcher, currentPath, new Field(property.getKey()), paths)) {
+          return false;
+        }
+      }
+    }
+
+    if (isOfType(schema, ARRAY_TYPE, ITEMS_KEY) && schema.get(ITEMS_KEY) != null) {
+      final JsonNode itemsNode = schema.get(ITEMS_KEY);
+      if (itemsNode.isArray()) {
+        for (int i = 0; i < itemsNode.size(); i++) {
+          if (!collectChildPaths(itemsNode.get(i), schemaMatcher, currentPath, new Element(i), paths)) {
+            return false;
+          }
+        }
+      } else if (!collectChildPaths(itemsNode, schemaMatcher, currentPath, new AllElements(), paths)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean collectChildPaths(final JsonNode schema,
+                                           final Function<JsonNode, Boolean> schemaMatcher,
+                                           final List<Step> currentPath,
+                                           final Step step,
+                                           final List<Step[]> paths) {
+    currentPath.add(step);
+    final boolean compiled = collectPaths(schema, schemaMatcher, currentPath, paths);
+    currentPath.remove(currentPath.size() - 1);
+    return compiled;
+  }
+
+  /**
+   * Same rules as RecordMigrations uses to decide whether to recurse into an object or an array.
+   */
+  private static boolean isOfType(final JsonNode schema, final String type, final String untypedIndicatorKey) {
+    if (schema.hasNonNull(REF_KEY)) {
+      return false;
+    } else if (schema.hasNonNull(TYPE_KEY)) {
+      final JsonNode typeNode = schema.get(TYPE_KEY);
+      if (typeNode.isArray()) {
+        for (final JsonNode typeItem : typeNode) {
+          if (type.equals(typeItem.asText())) {
+            return true;
+          }
+        }
+        return false;
+      }
+      return type.equals(typeNode.asText());
+    } else {
+      return schema.hasNonNull(untypedIndicatorKey);
+    }
+  }
+
+  private static boolean containsMatchingSchema(final JsonNode schema, final Function<JsonNode, Boolean> schemaMatcher) {
+    if (schema.isObject() && schemaMatcher.apply(schema)) {
+      return true;
+    }
+    for (final JsonNode child : schema) {
+      if (containsMatchingSchema(child, schemaMatcher)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
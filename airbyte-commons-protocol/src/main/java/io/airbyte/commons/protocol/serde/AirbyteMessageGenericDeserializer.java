@@ -30,4 +30,9 @@ public class AirbyteMessageGenericDeserializer<T> implements AirbyteMessageDeser
     return Jsons.tryDeserialize(json, typeClass);
   }
 
+  @Override
+  public Optional<T> deserialize(final byte[] json, final int offset, final int length) {
+    return Jsons.tryDeserialize(json, offset, length, typeClass);
+  }
+
 }
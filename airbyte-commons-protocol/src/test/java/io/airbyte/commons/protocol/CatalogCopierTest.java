@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CatalogCopierTest {
+
+  private static final String UPDATED_AT = "updated_at";
+
+  @Test
+  void testConfiguredCatalogCopyMatchesJsonClone() {
+    final ConfiguredAirbyteCatalog catalog = configuredCatalog();
+
+    final ConfiguredAirbyteCatalog copy = CatalogCopier.copy(catalog);
+
+    assertEquals(Jsons.clone(catalog), copy);
+    assertNotSame(catalog.getStreams().get(0), copy.getStreams().get(0));
+    assertNotSame(catalog.getStreams().get(0).getStream(), copy.getStreams().get(0).getStream());
+  }
+
+  @Test
+  void testCatalogCopyMatchesJsonClone() {
+    final AirbyteCatalog catalog = new AirbyteCatalog().withStreams(List.of(stream("users"), stream("orders")));
+
+    assertEquals(Jsons.clone(catalog), CatalogCopier.copy(catalog));
+  }
+
+  @Test
+  void testCopyIsIndependentOfOriginal() {
+    final ConfiguredAirbyteCatalog catalog = configuredCatalog();
+    final ConfiguredAirbyteCatalog expected = Jsons.clone(catalog);
+
+    final ConfiguredAirbyteCatalog copy = CatalogCopier.copy(catalog);
+    final ConfiguredAirbyteStream copiedStream = copy.getStreams().get(0);
+    copiedStream.getStream().withName("renamed").withNamespace("other");
+    ((ObjectNode) copiedStream.getStream().getJsonSchema().get("properties")).remove("id");
+    copiedStream.getCursorField().clear();
+    copiedStream.getPrimaryKey().get(0).add("nested");
+    copiedStream.getStream().getSupportedSyncModes().remove(SyncMode.INCREMENTAL);
+    copy.getStreams().remove(1);
+
+    assertEquals(expected, catalog);
+  }
+
+  private static ConfiguredAirbyteCatalog configuredCatalog() {
+    final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog().withStreams(new ArrayList<>(List.of(
+        configuredStream("users"),
+        configuredStream("orders"))));
+    catalog.setAdditionalProperty("catalog_property", Map.of("key", "value"));
+    return catalog;
+  }
+
+  private static ConfiguredAirbyteStream configuredStream(final String name) {
+    final ConfiguredAirbyteStream configuredStream = new ConfiguredAirbyteStream()
+        .withStream(stream(name))
+        .withSyncMode(SyncMode.INCREMENTAL)
+        .withCursorField(new ArrayList<>(List.of(UPDATED_AT)))
+        .withDestinationSyncMode(DestinationSyncMode.APPEND_DEDUP)
+        .withPrimaryKey(new ArrayList<>(List.of(new ArrayList<>(List.of("id")))));
+    configuredStream.setAdditionalProperty("stream_property", 42);
+    return configuredStream;
+  }
+
+  private static AirbyteStream stream(final String name) {
+    return new AirbyteStream()
+        .withName(name)
+        .withNamespace("public")
+        .withJsonSchema(Jsons.deserialize("""
+                                          {"type": "object", "properties": {"id": {"type": "integer"}, "updated_at": {"type": "string"}}}
+                                          """))
+        .withSupportedSyncModes(new ArrayList<>(List.of(SyncMode.FULL_REFRESH, SyncMode.INCREMENTAL)))
+        .withSourceDefinedCursor(true)
+        .withDefaultCursorField(new ArrayList<>(List.of(UPDATED_AT)))
+        .withSourceDefinedPrimaryKey(new ArrayList<>(List.of(new ArrayList<>(List.of("id")))));
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.migrations.v1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.JsonSchemaReferenceTypes;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class RecordDowngradePlanTest {
+
+  private static final String INTEGER_SCHEMA = "{\"$ref\": \"WellKnownTypes.json#/definitions/Integer\"}";
+  private static final String STRING_SCHEMA = "{\"$ref\": \"WellKnownTypes.json#/definitions/String\"}";
+
+  @Test
+  void testConvertsMatchingPaths() {
+    final JsonNode schema = Jsons.deserialize("""
+                                              {
+                                                "type": "object",
+                                                "properties": {
+                                                  "id": %s,
+                                                  "name": %s,
+                                                  "scores": {"type": "array", "items": %s},
+                                                  "pair": {"type": "array", "items": [%s, %s]},
+                                                  "nested": {"type": ["object", "null"], "properties": {"count": %s}}
+                                                }
+                                              }
+                                              """.formatted(INTEGER_SCHEMA, STRING_SCHEMA, INTEGER_SCHEMA, STRING_SCHEMA, INTEGER_SCHEMA,
+        INTEGER_SCHEMA));
+    final RecordDowngradePlan plan = compile(schema).orElseThrow();
+
+    final JsonNode downgraded = plan.apply(Jsons.deserialize("""
+                                                             {
+                                                               "id": "1",
+                                                               "name": "2",
+                                                               "scores": ["3", "not a number"],
+                                                               "pair": ["4", "5", "6"],
+                                                               "nested": {"count": "7", "other": "8"},
+                                                               "extra": "9"
+                                                             }
+                                                             """));
+
+    assertEquals(Jsons.deserialize("""
+                                   {
+                                     "id": 1,
+                                     "name": "2",
+                                     "scores": [3, "not a number"],
+                                     "pair": ["4", 5, "6"],
+                                     "nested": {"count": 7, "other": "8"},
+                                     "extra": "9"
+                                   }
+                                   """), downgraded);
+  }
+
+  @Test
+  void testDoesNotCompileOneOfWithConvertedOptions() {
+    assertTrue(compile(Jsons.deserialize("{\"oneOf\": [%s, %s]}".formatted(STRING_SCHEMA, INTEGER_SCHEMA))).isEmpty());
+    // none of the options are converted, so the option that matches doesn't matter
+    final RecordDowngradePlan plan = compile(Jsons.deserialize("{\"oneOf\": [%s, {\"type\": \"string\"}]}".formatted(STRING_SCHEMA))).orElseThrow();
+    assertEquals(new TextNode("1"), plan.apply(new TextNode("1")));
+  }
+
+  private static Optional<RecordDowngradePlan> compile(final JsonNode schema) {
+    return RecordDowngradePlan.compile(schema,
+        s -> s.hasNonNull(JsonSchemaReferenceTypes.REF_KEY)
+            && JsonSchemaReferenceTypes.INTEGER_REFERENCE.equals(s.get(JsonSchemaReferenceTypes.REF_KEY).asText()),
+        d -> d.asText().matches("-?\\d+") ? Jsons.deserialize(d.asText()) : d);
+  }
+
+}
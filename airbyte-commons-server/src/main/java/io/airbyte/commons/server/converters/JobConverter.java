@@ -46,11 +46,13 @@ import io.airbyte.config.helpers.LogConfigs;
 import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.Job;
+import io.airbyte.persistence.job.models.JobStatusSummary;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -125,6 +127,25 @@ public class JobConverter {
         .status(Enums.convertTo(job.getStatus(), JobStatus.class));
   }
 
+  /**
+   * Convert a job status summary. The job read has no enabled streams or reset config, since the
+   * summary doesn't load the job config.
+   *
+   * @param jobStatusSummary - job status summary
+   * @return api representation of the job
+   */
+  public static JobRead getJobRead(final JobStatusSummary jobStatusSummary) {
+    return new JobRead()
+        .id(jobStatusSummary.id())
+        // null for the jobs that don't belong to a connection
+        .configId(Optional.ofNullable(jobStatusSummary.connectionId()).map(UUID::toString).orElse(null))
+        .configType(Enums.convertTo(jobStatusSummary.configType(), JobConfigType.class))
+        .createdAt(jobStatusSummary.createdAtInSecond())
+        .updatedAt(jobStatusSummary.updatedAtInSecond())
+        .startedAt(jobStatusSummary.startedAtInSecond())
+        .status(Enums.convertTo(jobStatusSummary.status(), JobStatus.class));
+  }
+
   /**
    * If the job is of type RESET, extracts the part of the reset config that we expose in the API.
    * Otherwise, returns empty optional.
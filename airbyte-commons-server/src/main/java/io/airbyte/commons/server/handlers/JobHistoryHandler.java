@@ -5,6 +5,8 @@
 package io.airbyte.commons.server.handlers;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.airbyte.api.model.generated.AttemptInfoRead;
 import io.airbyte.api.model.generated.AttemptNormalizationStatusReadList;
 import io.airbyte.api.model.generated.AttemptRead;
@@ -33,6 +35,7 @@ import io.airbyte.api.model.generated.SourceRead;
 import io.airbyte.commons.enums.Enums;
 import io.airbyte.commons.server.converters.JobConverter;
 import io.airbyte.commons.server.converters.WorkflowStateConverter;
+import io.airbyte.commons.server.errors.BadRequestException;
 import io.airbyte.commons.temporal.TemporalClient;
 import io.airbyte.commons.version.AirbyteVersion;
 import io.airbyte.config.Configs.WorkerEnvironment;
@@ -47,6 +50,7 @@ import io.airbyte.persistence.job.models.JobStatus;
 import io.airbyte.validation.json.JsonValidationException;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -70,11 +74,21 @@ public class JobHistoryHandler {
   private final SourceDefinitionsHandler sourceDefinitionsHandler;
   private final DestinationDefinitionsHandler destinationDefinitionsHandler;
   public static final int DEFAULT_PAGE_SIZE = 200;
+  // the count of jobs is exact, as an index only scan of the jobs of the connection in
+  // jobs_scope_created_at_id_idx. each server shares a count between the requests paging through a
+  // history for a short time, so that paging doesn't count the history again for every page.
+  private static final Duration JOB_COUNT_CACHE_EXPIRY = Duration.ofSeconds(30);
   private final JobPersistence jobPersistence;
   private final JobConverter jobConverter;
   private final WorkflowStateConverter workflowStateConverter;
   private final AirbyteVersion airbyteVersion;
   private final TemporalClient temporalClient;
+  private final Cache<JobCountKey, Long> jobCountCache = CacheBuilder.newBuilder()
+      .maximumSize(10_000)
+      .expireAfterWrite(JOB_COUNT_CACHE_EXPIRY)
+      .build();
+
+  private record JobCountKey(Set<ConfigType> configTypes, String configId) {}
 
   public JobHistoryHandler(final JobPersistence jobPersistence,
                            final WorkerEnvironment workerEnvironment,
@@ -125,12 +139,17 @@ public class JobHistoryHandler {
 
     final int pageSize = (request.getPagination() != null && request.getPagination().getPageSize() != null) ? request.getPagination().getPageSize()
         : DEFAULT_PAGE_SIZE;
+    // the list only shows summaries, the whole job is loaded when a single job is opened
     final List<Job> jobs;
 
     if (request.getIncludingJobId() != null) {
-      jobs = jobPersistence.listJobsIncludingId(configTypes, configId, request.getIncludingJobId(), pageSize);
+      jobs = jobPersistence.listJobsIncludingIdLight(configTypes, configId, request.getIncludingJobId(), pageSize);
+    } else if (request.getPagination() != null && request.getPagination().getCursor() != null) {
+      final String cursor = request.getPagination().getCursor();
+      jobs = jobPersistence.listJobsLightAfterJob(configTypes, configId, parseJobCursor(cursor), pageSize)
+          .orElseThrow(() -> new BadRequestException("Unknown job list cursor: " + cursor));
     } else {
-      jobs = jobPersistence.listJobs(configTypes, configId, pageSize,
+      jobs = jobPersistence.listJobsLight(configTypes, configId, pageSize,
           (request.getPagination() != null && request.getPagination().getRowOffset() != null) ? request.getPagination().getRowOffset() : 0);
     }
 
@@ -149,8 +168,30 @@ public class JobHistoryHandler {
       }
     }
 
-    final Long totalJobCount = jobPersistence.getJobCount(configTypes, configId);
-    return new JobReadList().jobs(jobReads).totalJobCount(totalJobCount);
+    // the cursor of the next page is the last job of this one. pages are multiples of the page size,
+    // so a list that doesn't fill its last page is the end of the history.
+    final String nextCursor = jobs.isEmpty() || jobs.size() % pageSize != 0 ? null : String.valueOf(jobs.get(jobs.size() - 1).getId());
+    return new JobReadList().jobs(jobReads).totalJobCount(getJobCount(configTypes, configId)).nextCursor(nextCursor);
+  }
+
+  private static long parseJobCursor(final String cursor) {
+    try {
+      return Long.parseLong(cursor);
+    } catch (final NumberFormatException e) {
+      throw new BadRequestException("Invalid job list cursor: " + cursor);
+    }
+  }
+
+  private Long getJobCount(final Set<ConfigType> configTypes, final String configId) throws IOException {
+    final JobCountKey key = new JobCountKey(configTypes, configId);
+    final Long cachedCount = jobCountCache.getIfPresent(key);
+    if (cachedCount != null) {
+      return cachedCount;
+    }
+
+    final Long count = jobPersistence.getJobCount(configTypes, configId);
+    jobCountCache.put(key, count);
+    return count;
   }
 
   /**
@@ -7,11 +7,15 @@ package io.airbyte.commons.server.handlers;
 import io.airbyte.api.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.model.generated.ConnectionState;
 import io.airbyte.api.model.generated.ConnectionStateCreateOrUpdate;
+import io.airbyte.api.model.generated.ConnectionStreamStatesUpsert;
+import io.airbyte.api.model.generated.InternalOperationResult;
 import io.airbyte.commons.converters.StateConverter;
 import io.airbyte.config.StateWrapper;
 import io.airbyte.config.persistence.StatePersistence;
+import io.airbyte.protocol.models.AirbyteStreamState;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -44,4 +48,12 @@ public class StateHandler {
     return StateConverter.toApi(connectionId, newInternalState.orElse(null));
   }
 
+  public InternalOperationResult upsertStreamStates(final ConnectionStreamStatesUpsert connectionStreamStatesUpsert) throws IOException {
+    final List<AirbyteStreamState> streamStates = connectionStreamStatesUpsert.getStreamStates().stream()
+        .map(StateConverter::streamStateStructToInternal)
+        .toList();
+    statePersistence.upsertStreamStates(connectionStreamStatesUpsert.getConnectionId(), streamStates);
+    return new InternalOperationResult().succeeded(true);
+  }
+
 }
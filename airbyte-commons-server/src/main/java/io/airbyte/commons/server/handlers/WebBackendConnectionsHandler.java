@@ -516,13 +516,29 @@ public class WebBackendConnectionsHandler {
         outputStreamConfig.setSelected(false);
       }
       final AirbyteStreamAndConfiguration outputStream = new AirbyteStreamAndConfiguration()
-          .stream(Jsons.clone(stream))
+          .stream(copyStream(stream))
           .config(outputStreamConfig);
       streams.add(outputStream);
     }
     return new AirbyteCatalog().streams(streams);
   }
 
+  /**
+   * Deep copy a stream field by field, which is much cheaper than a json round trip for the large
+   * schemas of wide streams.
+   */
+  private static AirbyteStream copyStream(final AirbyteStream stream) {
+    return new AirbyteStream()
+        .name(stream.getName())
+        .jsonSchema(stream.getJsonSchema() == null ? null : stream.getJsonSchema().deepCopy())
+        .supportedSyncModes(stream.getSupportedSyncModes() == null ? null : new ArrayList<>(stream.getSupportedSyncModes()))
+        .sourceDefinedCursor(stream.getSourceDefinedCursor())
+        .defaultCursorField(stream.getDefaultCursorField() == null ? null : new ArrayList<>(stream.getDefaultCursorField()))
+        .sourceDefinedPrimaryKey(stream.getSourceDefinedPrimaryKey() == null ? null
+            : stream.getSourceDefinedPrimaryKey().stream().<List<String>>map(ArrayList::new).collect(Collectors.toList()))
+        .namespace(stream.getNamespace());
+  }
+
   public WebBackendConnectionRead webBackendCreateConnection(final WebBackendConnectionCreate webBackendConnectionCreate)
       throws ConfigNotFoundException, IOException, JsonValidationException {
     final List<UUID> operationIds = createOperations(webBackendConnectionCreate);
@@ -10,7 +10,6 @@ import io.airbyte.api.model.generated.AirbyteStreamAndConfiguration;
 import io.airbyte.api.model.generated.NonBreakingChangesPreference;
 import io.airbyte.api.model.generated.StreamDescriptor;
 import io.airbyte.api.model.generated.StreamTransform;
-import io.airbyte.commons.json.Jsons;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,6 +26,9 @@ public class AutoPropagateSchemaChangeHelper {
    * This is auto propagating schema changes, it replaces the stream in the old catalog by using the
    * ones from the new catalog. The list of transformations contains the information of which stream
    * to update.
+   * <p>
+   * Only the entries of the old catalog are copied, the returned catalog shares its streams and
+   * configurations with the given catalogs.
    *
    * @param oldCatalog the currently saved catalog
    * @param newCatalog the new catalog, which contains all the stream even the unselected ones
@@ -38,7 +40,9 @@ public class AutoPropagateSchemaChangeHelper {
                                                 final AirbyteCatalog newCatalog,
                                                 final List<StreamTransform> transformations,
                                                 final NonBreakingChangesPreference nonBreakingChangesPreference) {
-    final AirbyteCatalog copiedOldCatalog = Jsons.clone(oldCatalog);
+    final AirbyteCatalog copiedOldCatalog = new AirbyteCatalog().streams(oldCatalog.getStreams().stream()
+        .map(streamAndConfig -> new AirbyteStreamAndConfiguration().stream(streamAndConfig.getStream()).config(streamAndConfig.getConfig()))
+        .toList());
     final Map<StreamDescriptor, AirbyteStreamAndConfiguration> oldCatalogPerStream = extractStreamAndConfigPerStreamDescriptor(copiedOldCatalog);
     final Map<StreamDescriptor, AirbyteStreamAndConfiguration> newCatalogPerStream = extractStreamAndConfigPerStreamDescriptor(newCatalog);
 
@@ -15,7 +15,6 @@ import io.airbyte.api.model.generated.SelectedFieldInfo;
 import io.airbyte.api.model.generated.StreamDescriptor;
 import io.airbyte.api.model.generated.SyncMode;
 import io.airbyte.commons.enums.Enums;
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.text.Names;
 import io.airbyte.config.FieldSelectionData;
 import io.airbyte.config.StandardSourceDefinition;
@@ -126,6 +125,7 @@ public class CatalogConverter {
   @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
   private static io.airbyte.protocol.models.AirbyteStream toConfiguredProtocol(final AirbyteStream stream, AirbyteStreamConfiguration config)
       throws JsonValidationException {
+    JsonNode jsonSchema = stream.getJsonSchema();
     if (config.getFieldSelectionEnabled() != null && config.getFieldSelectionEnabled()) {
       // Validate the selected field paths.
       if (config.getSelectedFields() == null) {
@@ -167,11 +167,13 @@ public class CatalogConverter {
           throw new JsonValidationException(String.format("Requested selected field %s not found in JSON schema", selectedFieldName));
         }
       }
-      ((ObjectNode) properties).retain(selectedFieldNames);
+      // Copy the schema before removing the unselected fields from it, the api catalog is left as is.
+      jsonSchema = jsonSchema.deepCopy();
+      ((ObjectNode) jsonSchema.findValue("properties")).retain(selectedFieldNames);
     }
     return new io.airbyte.protocol.models.AirbyteStream()
         .withName(stream.getName())
-        .withJsonSchema(stream.getJsonSchema())
+        .withJsonSchema(jsonSchema)
         .withSupportedSyncModes(Enums.convertListTo(stream.getSupportedSyncModes(), io.airbyte.protocol.models.SyncMode.class))
         .withSourceDefinedCursor(stream.getSourceDefinedCursor())
         .withDefaultCursorField(stream.getDefaultCursorField())
@@ -191,10 +193,16 @@ public class CatalogConverter {
    */
   public static io.airbyte.protocol.models.ConfiguredAirbyteCatalog toConfiguredProtocol(final io.airbyte.api.model.generated.AirbyteCatalog catalog)
       throws JsonValidationException {
+    return toConfiguredProtocol(catalog, false);
+  }
+
+  private static io.airbyte.protocol.models.ConfiguredAirbyteCatalog toConfiguredProtocol(final io.airbyte.api.model.generated.AirbyteCatalog catalog,
+                                                                                          final boolean keepAllStreams)
+      throws JsonValidationException {
     final ArrayList<JsonValidationException> errors = new ArrayList<>();
     final List<io.airbyte.protocol.models.ConfiguredAirbyteStream> streams = catalog.getStreams()
         .stream()
-        .filter(s -> s.getConfig().getSelected())
+        .filter(s -> keepAllStreams || s.getConfig().getSelected())
         .map(s -> {
           try {
             return new io.airbyte.protocol.models.ConfiguredAirbyteStream()
@@ -269,9 +277,7 @@ public class CatalogConverter {
   public static io.airbyte.protocol.models.ConfiguredAirbyteCatalog toProtocolKeepAllStreams(
                                                                                              final io.airbyte.api.model.generated.AirbyteCatalog catalog)
       throws JsonValidationException {
-    final AirbyteCatalog clone = Jsons.clone(catalog);
-    clone.getStreams().forEach(stream -> stream.getConfig().setSelected(true));
-    return toConfiguredProtocol(clone);
+    return toConfiguredProtocol(catalog, true);
   }
 
   /**
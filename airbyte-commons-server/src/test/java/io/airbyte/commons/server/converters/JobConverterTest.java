@@ -51,6 +51,7 @@ import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
+import io.airbyte.persistence.job.models.JobStatusSummary;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
@@ -91,6 +92,28 @@ class JobConverterTest {
 
   }
 
+  @Test
+  void testGetJobReadFromStatusSummary() {
+    final UUID connectionId = UUID.randomUUID();
+    final JobRead jobRead = JobConverter.getJobRead(
+        new JobStatusSummary(100L, connectionId, ConfigType.SYNC, JobStatus.RUNNING, 11L, 10L, 12L));
+
+    assertEquals(connectionId.toString(), jobRead.getConfigId());
+    assertEquals(JobConfigType.SYNC, jobRead.getConfigType());
+    assertEquals(io.airbyte.api.model.generated.JobStatus.RUNNING, jobRead.getStatus());
+    assertEquals(11L, jobRead.getStartedAt());
+  }
+
+  @Test
+  void testGetJobReadFromStatusSummaryWithoutConnectionId() {
+    final JobRead jobRead = JobConverter.getJobRead(
+        new JobStatusSummary(100L, null, ConfigType.CHECK_CONNECTION_SOURCE, JobStatus.SUCCEEDED, null, 10L, 12L));
+
+    assertNull(jobRead.getConfigId());
+    assertEquals(JobConfigType.CHECK_CONNECTION_SOURCE, jobRead.getConfigType());
+    assertEquals(100L, jobRead.getId());
+  }
+
   @Nested
   class TestJob {
 
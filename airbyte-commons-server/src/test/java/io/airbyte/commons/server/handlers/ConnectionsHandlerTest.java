@@ -709,8 +709,12 @@ class ConnectionsHandlerTest {
             .connectionId(standardSync.getConnectionId())
             .syncCatalog(catalogForUpdate);
 
+        // Expect the read to only have the selected field in its schema
+        final AirbyteCatalog expectedReadCatalog = Jsons.clone(catalogForUpdate);
+        expectedReadCatalog.getStreams().get(0).getStream().jsonSchema(ConnectionHelpers.generateBasicJsonSchema());
+
         final ConnectionRead expectedRead = ConnectionHelpers.generateExpectedConnectionRead(standardSync)
-            .syncCatalog(catalogForUpdate);
+            .syncCatalog(expectedReadCatalog);
 
         final StandardSync expectedPersistedSync = Jsons.clone(standardSync)
             .withCatalog(expectedPersistedCatalog)
@@ -721,6 +725,8 @@ class ConnectionsHandlerTest {
         final ConnectionRead actualConnectionRead = connectionsHandler.updateConnection(connectionUpdate);
 
         assertEquals(expectedRead, actualConnectionRead);
+        // The catalog of the update is left as is
+        assertEquals(ConnectionHelpers.generateJsonSchemaWithTwoFields(), catalogForUpdate.getStreams().get(0).getStream().getJsonSchema());
         verify(configRepository).writeStandardSync(expectedPersistedSync);
         verify(eventRunner).update(connectionUpdate.getConnectionId());
       }
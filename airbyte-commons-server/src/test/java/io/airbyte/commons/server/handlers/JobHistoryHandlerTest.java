@@ -5,10 +5,13 @@
 package io.airbyte.commons.server.handlers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
@@ -37,6 +40,7 @@ import io.airbyte.api.model.generated.SourceRead;
 import io.airbyte.api.model.generated.StreamDescriptor;
 import io.airbyte.commons.enums.Enums;
 import io.airbyte.commons.server.converters.JobConverter;
+import io.airbyte.commons.server.errors.BadRequestException;
 import io.airbyte.commons.server.helpers.ConnectionHelpers;
 import io.airbyte.commons.server.helpers.DestinationDefinitionHelpers;
 import io.airbyte.commons.server.helpers.DestinationHelpers;
@@ -65,6 +69,7 @@ import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.AttemptStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
+import io.airbyte.persistence.job.models.JobStatusSummary;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
@@ -207,8 +212,8 @@ class JobHistoryHandlerTest {
           new Job(jobId2, JOB_CONFIG.getConfigType(), JOB_CONFIG_ID, JOB_CONFIG, Collections.emptyList(), JobStatus.PENDING,
               null, createdAt2, createdAt2);
 
-      when(jobPersistence.listJobs(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID, pagesize, rowOffset))
-          .thenReturn(List.of(latestJobNoAttempt, successfulJob));
+      when(jobPersistence.listJobsLight(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID, pagesize, rowOffset))
+          .thenReturn(Optional.of(List.of(latestJobNoAttempt, successfulJob)));
       when(jobPersistence.getJobCount(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID)).thenReturn(2L);
       when(jobPersistence.getAttemptStats(List.of(200L, 100L))).thenReturn(Map.of(
           new JobAttemptPair(100, 0), ATTEMPT_STATS,
@@ -252,7 +257,7 @@ class JobHistoryHandlerTest {
       final var latestJob =
           new Job(latestJobId, ConfigType.SYNC, JOB_CONFIG_ID, JOB_CONFIG, Collections.emptyList(), JobStatus.PENDING, null, createdAt3, createdAt3);
 
-      when(jobPersistence.listJobs(configTypes, JOB_CONFIG_ID, pagesize, rowOffset)).thenReturn(List.of(latestJob, secondJob, firstJob));
+      when(jobPersistence.listJobsLight(configTypes, JOB_CONFIG_ID, pagesize, rowOffset)).thenReturn(List.of(latestJob, secondJob, firstJob));
       when(jobPersistence.getJobCount(configTypes, JOB_CONFIG_ID)).thenReturn(3L);
       when(jobPersistence.getAttemptStats(List.of(300L, 200L, 100L))).thenReturn(Map.of(
           new JobAttemptPair(100, 0), ATTEMPT_STATS,
@@ -291,7 +296,7 @@ class JobHistoryHandlerTest {
           new Job(jobId2, JOB_CONFIG.getConfigType(), JOB_CONFIG_ID, JOB_CONFIG, Collections.emptyList(), JobStatus.PENDING,
               null, createdAt2, createdAt2);
 
-      when(jobPersistence.listJobsIncludingId(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID, jobId2, pagesize))
+      when(jobPersistence.listJobsIncludingIdLight(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID, jobId2, pagesize))
           .thenReturn(List.of(latestJobNoAttempt, successfulJob));
       when(jobPersistence.getJobCount(Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class)), JOB_CONFIG_ID)).thenReturn(2L);
       when(jobPersistence.getAttemptStats(List.of(200L, 100L))).thenReturn(Map.of(
@@ -314,6 +319,87 @@ class JobHistoryHandlerTest {
       assertEquals(expectedJobReadList, jobReadList);
     }
 
+    @Test
+    @DisplayName("Should return the jobs after the cursor and the cursor of the next page")
+    void testListJobsAfterCursor() throws IOException {
+      final var successfulJob = testJob;
+      final int pagesize = 2;
+
+      final var jobId2 = JOB_ID + 100;
+      final var createdAt2 = CREATED_AT + 1000;
+      final var latestJobNoAttempt =
+          new Job(jobId2, JOB_CONFIG.getConfigType(), JOB_CONFIG_ID, JOB_CONFIG, Collections.emptyList(), JobStatus.PENDING,
+              null, createdAt2, createdAt2);
+      final Set<ConfigType> configTypes = Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class));
+
+      when(jobPersistence.listJobsLightAfterJob(configTypes, JOB_CONFIG_ID, 300L, pagesize)).thenReturn(List.of(latestJobNoAttempt, successfulJob));
+      when(jobPersistence.getJobCount(configTypes, JOB_CONFIG_ID)).thenReturn(4L);
+      when(jobPersistence.getAttemptStats(List.of(200L, 100L))).thenReturn(Map.of(
+          new JobAttemptPair(100, 0), ATTEMPT_STATS,
+          new JobAttemptPair(jobId2, 0), ATTEMPT_STATS));
+
+      final var requestBody = new JobListRequestBody()
+          .configTypes(Collections.singletonList(CONFIG_TYPE_FOR_API))
+          .configId(JOB_CONFIG_ID)
+          .pagination(new Pagination().pageSize(pagesize).cursor("300"));
+      final var jobReadList = jobHistoryHandler.listJobsFor(requestBody);
+
+      final var successfulJobWithAttemptRead = new JobWithAttemptsRead().job(toJobInfo(successfulJob)).attempts(ImmutableList.of(toAttemptRead(
+          testJobAttempt).totalStats(ATTEMPT_STATS_API).streamStats(ATTEMPT_STREAM_STATS)));
+      final var latestJobWithAttemptRead = new JobWithAttemptsRead().job(toJobInfo(latestJobNoAttempt)).attempts(Collections.emptyList());
+      final JobReadList expectedJobReadList = new JobReadList()
+          .jobs(List.of(latestJobWithAttemptRead, successfulJobWithAttemptRead))
+          .totalJobCount(4L)
+          .nextCursor(String.valueOf(JOB_ID));
+
+      assertEquals(expectedJobReadList, jobReadList);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that is not a job id")
+    void testListJobsInvalidCursor() {
+      final var requestBody = new JobListRequestBody()
+          .configTypes(Collections.singletonList(CONFIG_TYPE_FOR_API))
+          .configId(JOB_CONFIG_ID)
+          .pagination(new Pagination().pageSize(25).cursor("not-a-job-id"));
+
+      assertThrows(BadRequestException.class, () -> jobHistoryHandler.listJobsFor(requestBody));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that is not one of the listed jobs")
+    void testListJobsUnknownCursor() throws IOException {
+      final Set<ConfigType> configTypes = Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class));
+      when(jobPersistence.listJobsLightAfterJob(configTypes, JOB_CONFIG_ID, 300L, 25)).thenReturn(Optional.empty());
+
+      final var requestBody = new JobListRequestBody()
+          .configTypes(Collections.singletonList(CONFIG_TYPE_FOR_API))
+          .configId(JOB_CONFIG_ID)
+          .pagination(new Pagination().pageSize(25).cursor("300"));
+
+      assertThrows(BadRequestException.class, () -> jobHistoryHandler.listJobsFor(requestBody));
+    }
+
+    @Test
+    @DisplayName("Should reuse the job count of a recent listing")
+    void testListJobsCachesJobCount() throws IOException {
+      final int pagesize = 25;
+      final Set<ConfigType> configTypes = Set.of(Enums.convertTo(CONFIG_TYPE_FOR_API, ConfigType.class));
+
+      when(jobPersistence.listJobsLight(configTypes, JOB_CONFIG_ID, pagesize, 0)).thenReturn(List.of());
+      when(jobPersistence.getJobCount(configTypes, JOB_CONFIG_ID)).thenReturn(0L);
+
+      final var requestBody = new JobListRequestBody()
+          .configTypes(Collections.singletonList(CONFIG_TYPE_FOR_API))
+          .configId(JOB_CONFIG_ID)
+          .pagination(new Pagination().pageSize(pagesize).rowOffset(0));
+      jobHistoryHandler.listJobsFor(requestBody);
+      final var jobReadList = jobHistoryHandler.listJobsFor(requestBody);
+
+      assertEquals(new JobReadList().jobs(List.of()).totalJobCount(0L), jobReadList);
+      verify(jobPersistence, times(1)).getJobCount(configTypes, JOB_CONFIG_ID);
+    }
+
   }
 
   @Test
@@ -424,6 +510,25 @@ class JobHistoryHandlerTest {
     assertTrue(actual.isEmpty());
   }
 
+  @Test
+  @DisplayName("Should return the latest sync job of each connection from its status summary")
+  void testGetLatestSyncJobsForConnections() throws IOException {
+    final var connectionId = UUID.randomUUID();
+    final var jobStatusSummary = new JobStatusSummary(JOB_ID, connectionId, ConfigType.SYNC, JobStatus.FAILED, null, CREATED_AT, CREATED_AT + 100);
+
+    when(jobPersistence.getLastSyncJobForConnections(List.of(connectionId))).thenReturn(List.of(jobStatusSummary));
+
+    final JobRead expectedJob = new JobRead()
+        .id(JOB_ID)
+        .configId(connectionId.toString())
+        .configType(JobConfigType.SYNC)
+        .createdAt(CREATED_AT)
+        .updatedAt(CREATED_AT + 100)
+        .status(io.airbyte.api.model.generated.JobStatus.FAILED);
+
+    assertEquals(List.of(expectedJob), jobHistoryHandler.getLatestSyncJobsForConnections(List.of(connectionId)));
+  }
+
   @Test
   @DisplayName("Should return the latest sync job")
   void testGetLatestSyncJob() throws IOException {
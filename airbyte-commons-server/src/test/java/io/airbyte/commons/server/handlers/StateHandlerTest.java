@@ -6,12 +6,14 @@ package io.airbyte.commons.server.handlers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.api.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.model.generated.ConnectionState;
 import io.airbyte.api.model.generated.ConnectionStateType;
+import io.airbyte.api.model.generated.ConnectionStreamStatesUpsert;
 import io.airbyte.api.model.generated.GlobalState;
 import io.airbyte.api.model.generated.StreamState;
 import io.airbyte.commons.converters.ProtocolConverters;
@@ -118,6 +120,19 @@ class StateHandlerTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  void testUpsertStreamStates() throws IOException {
+    stateHandler.upsertStreamStates(new ConnectionStreamStatesUpsert()
+        .connectionId(CONNECTION_ID)
+        .streamStates(List.of(
+            new StreamState().streamDescriptor(ProtocolConverters.streamDescriptorToApi(STREAM_DESCRIPTOR1)).streamState(JSON_BLOB),
+            new StreamState().streamDescriptor(ProtocolConverters.streamDescriptorToApi(STREAM_DESCRIPTOR2)))));
+
+    verify(statePersistence).upsertStreamStates(CONNECTION_ID, List.of(
+        new AirbyteStreamState().withStreamDescriptor(STREAM_DESCRIPTOR1).withStreamState(JSON_BLOB),
+        new AirbyteStreamState().withStreamDescriptor(STREAM_DESCRIPTOR2)));
+  }
+
   // the api type has an extra type, so the verifying the compatibility of the type conversion is more
   // involved
   @Test
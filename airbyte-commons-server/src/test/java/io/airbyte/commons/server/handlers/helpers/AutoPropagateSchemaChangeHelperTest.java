@@ -91,6 +91,7 @@ class AutoPropagateSchemaChangeHelperTest {
 
     Assertions.assertThat(result.getStreams()).hasSize(1);
     Assertions.assertThat(result.getStreams().get(0).getStream().getJsonSchema()).isEqualTo(newSchema);
+    Assertions.assertThat(oldAirbyteCatalog.getStreams().get(0).getStream().getJsonSchema()).isEqualTo(oldSchema);
   }
 
   @Test
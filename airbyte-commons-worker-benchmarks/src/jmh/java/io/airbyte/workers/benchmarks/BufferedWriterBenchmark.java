@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.commons.version.AirbyteProtocolVersion;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import io.airbyte.workers.internal.AirbyteMessageBufferedWriter;
+import io.airbyte.workers.internal.AirbyteMessageBufferedWriterFactory;
+import io.airbyte.workers.internal.BatchedAirbyteMessageBufferedWriterFactory;
+import io.airbyte.workers.internal.VersionedAirbyteMessageBufferedWriterFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many records per second are serialized to the input of a destination, by the
+ * {@link io.airbyte.workers.internal.VersionedAirbyteMessageBufferedWriter} or by the
+ * {@link io.airbyte.workers.internal.BatchedAirbyteMessageBufferedWriter}. The serialized records
+ * are discarded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class BufferedWriterBenchmark {
+
+  private static final int RECORDS = 1_000;
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public Shape shape;
+
+  @Param({"false", "true"})
+  public boolean batched;
+
+  private List<AirbyteMessage> records;
+  private AirbyteMessageBufferedWriter writer;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.records(shape, RECORDS);
+    final AirbyteMessageBufferedWriterFactory writerFactory = batched
+        ? new BatchedAirbyteMessageBufferedWriterFactory(NoMigrationProtocol.serDeProvider(), NoMigrationProtocol.migratorFactory(),
+            AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION, Optional.of(SyntheticRecords.catalog(shape)))
+        : new VersionedAirbyteMessageBufferedWriterFactory(NoMigrationProtocol.serDeProvider(), NoMigrationProtocol.migratorFactory(),
+            AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION, Optional.of(SyntheticRecords.catalog(shape)));
+    writer = writerFactory.createWriter(OutputStream.nullOutputStream());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    writer.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void write() throws IOException {
+    for (final AirbyteMessage record : records) {
+      writer.write(record);
+    }
+    writer.flush();
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {BufferedWriterBenchmark.class.getSimpleName()});
+  }
+
+}
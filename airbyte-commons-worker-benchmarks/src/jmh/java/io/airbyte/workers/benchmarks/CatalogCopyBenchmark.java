@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.CatalogCopier;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long a deep copy of a large catalog takes with a json round trip through
+ * {@link Jsons#clone(Object)} and with {@link CatalogCopier}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class CatalogCopyBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  public int streams;
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public Shape shape;
+
+  private ConfiguredAirbyteCatalog catalog;
+
+  @Setup
+  public void setup() {
+    final List<ConfiguredAirbyteStream> configuredStreams = new ArrayList<>(streams);
+    for (int i = 0; i < streams; i++) {
+      configuredStreams.add(new ConfiguredAirbyteStream()
+          .withStream(new AirbyteStream()
+              .withName(SyntheticRecords.STREAM_NAME + "_" + i)
+              .withNamespace(SyntheticRecords.NAMESPACE)
+              .withJsonSchema(SyntheticRecords.schema(shape))
+              .withSupportedSyncModes(List.of(SyncMode.FULL_REFRESH, SyncMode.INCREMENTAL))
+              .withSourceDefinedCursor(true)
+              .withDefaultCursorField(List.of("updated_at"))
+              .withSourceDefinedPrimaryKey(List.of(List.of("id"))))
+          .withSyncMode(SyncMode.INCREMENTAL)
+          .withCursorField(List.of("updated_at"))
+          .withDestinationSyncMode(DestinationSyncMode.APPEND_DEDUP)
+          .withPrimaryKey(List.of(List.of("id"))));
+    }
+    catalog = new ConfiguredAirbyteCatalog().withStreams(configuredStreams);
+  }
+
+  @Benchmark
+  public ConfiguredAirbyteCatalog jsonClone() {
+    return Jsons.clone(catalog);
+  }
+
+  @Benchmark
+  public ConfiguredAirbyteCatalog structuralCopy() {
+    return CatalogCopier.copy(catalog);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {CatalogCopyBenchmark.class.getSimpleName()});
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import io.airbyte.workers.internal.FieldSelector;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many records per second {@link FieldSelector} filters and validates.
+ * <p>
+ * Every field of the schema is selected, so that filtering leaves the records unchanged and they
+ * can be reused across invocations. Validation runs on the benchmark thread rather than in the
+ * background, so that its cost is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class FieldSelectorBenchmark {
+
+  private static final int RECORDS = 1_000;
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public Shape shape;
+
+  private List<AirbyteMessage> records;
+  private RecordSchemaValidator recordSchemaValidator;
+  private FieldSelector fieldSelector;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.records(shape, RECORDS);
+    recordSchemaValidator = new RecordSchemaValidator(Map.of(SyntheticRecords.STREAM, SyntheticRecords.schema(shape)),
+        MoreExecutors.newDirectExecutorService());
+    final WorkerMetricReporter metricReporter = new WorkerMetricReporter(new NotImplementedMetricClient(), "benchmark:0.1");
+    fieldSelector = new FieldSelector(recordSchemaValidator, metricReporter, true, false);
+    fieldSelector.populateFields(SyntheticRecords.catalog(shape));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    recordSchemaValidator.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void filterSelectedFields() {
+    for (final AirbyteMessage record : records) {
+      fieldSelector.filterSelectedFields(record);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void validateSchema() {
+    for (final AirbyteMessage record : records) {
+      fieldSelector.validateSchema(record);
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {FieldSelectorBenchmark.class.getSimpleName()});
+  }
+
+}
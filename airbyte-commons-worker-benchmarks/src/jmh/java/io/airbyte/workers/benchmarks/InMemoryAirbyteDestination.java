@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.config.WorkerDestinationConfig;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.workers.internal.AirbyteDestination;
+import io.airbyte.workers.internal.AirbyteMessageBufferedWriter;
+import io.airbyte.workers.internal.AirbyteMessageBufferedWriterFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Destination serializing the messages it accepts as if it were writing them to a connector, then
+ * discarding them. Like a connector, it emits back every state message once the messages before it
+ * are written.
+ */
+class InMemoryAirbyteDestination implements AirbyteDestination {
+
+  // marks the end of the output, the queue doesn't accept nulls
+  private static final AirbyteMessage END_OF_OUTPUT = new AirbyteMessage();
+
+  private final AirbyteMessageBufferedWriterFactory writerFactory;
+  private final BlockingQueue<AirbyteMessage> output = new LinkedBlockingQueue<>();
+  private AirbyteMessageBufferedWriter writer;
+  private volatile boolean finished = false;
+
+  InMemoryAirbyteDestination(final AirbyteMessageBufferedWriterFactory writerFactory) {
+    this.writerFactory = writerFactory;
+  }
+
+  @Override
+  public void start(final WorkerDestinationConfig destinationConfig, final Path jobRoot) {
+    writer = writerFactory.createWriter(OutputStream.nullOutputStream());
+  }
+
+  @Override
+  public void accept(final AirbyteMessage message) throws IOException {
+    writer.write(message);
+    if (message.getType() == Type.STATE) {
+      writer.flush();
+      output.add(message);
+    }
+  }
+
+  @Override
+  public void notifyEndOfInput() throws IOException {
+    writer.flush();
+    output.add(END_OF_OUTPUT);
+  }
+
+  @Override
+  public boolean isFinished() {
+    return finished;
+  }
+
+  @Override
+  public int getExitValue() {
+    return 0;
+  }
+
+  /**
+   * Blocks until a state message is emitted back or the input ends, like reading from a connector.
+   */
+  @Override
+  public Optional<AirbyteMessage> attemptRead() {
+    try {
+      final AirbyteMessage message = output.take();
+      if (message == END_OF_OUTPUT) {
+        finished = true;
+        return Optional.empty();
+      }
+      return Optional.of(message);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      finished = true;
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  @Override
+  public void cancel() {
+    finished = true;
+    output.add(END_OF_OUTPUT);
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.config.WorkerSourceConfig;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.internal.AirbyteSource;
+import io.airbyte.workers.internal.AirbyteStreamFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Source parsing messages from bytes in memory, as if they were the output of a connector.
+ */
+class InMemoryAirbyteSource implements AirbyteSource {
+
+  private final byte[] output;
+  private final AirbyteStreamFactory streamFactory;
+  private Iterator<AirbyteMessage> messages;
+
+  InMemoryAirbyteSource(final byte[] output, final AirbyteStreamFactory streamFactory) {
+    this.output = output;
+    this.streamFactory = streamFactory;
+  }
+
+  @Override
+  public void start(final WorkerSourceConfig sourceConfig, final Path jobRoot) {
+    messages = streamFactory.create(new ByteArrayInputStream(output)).iterator();
+  }
+
+  @Override
+  public boolean isFinished() {
+    return !messages.hasNext();
+  }
+
+  @Override
+  public int getExitValue() {
+    return 0;
+  }
+
+  @Override
+  public Optional<AirbyteMessage> attemptRead() {
+    return messages.hasNext() ? Optional.of(messages.next()) : Optional.empty();
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public void cancel() {}
+
+}
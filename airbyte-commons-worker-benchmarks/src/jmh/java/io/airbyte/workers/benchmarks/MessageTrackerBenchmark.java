@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.commons.features.EnvVariableFeatureFlags;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many records per second {@link AirbyteMessageTracker} accepts from a source, with a
+ * state message after every batch of records.
+ * <p>
+ * The tracker keeps the counts of every state it has seen, so a new tracker is created for each
+ * iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class MessageTrackerBenchmark {
+
+  private static final int RECORDS = 1_000;
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public Shape shape;
+
+  private List<AirbyteMessage> records;
+  private AirbyteMessageTracker messageTracker;
+  private int states;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.records(shape, RECORDS);
+  }
+
+  @Setup(Level.Iteration)
+  public void createTracker() {
+    messageTracker = new AirbyteMessageTracker(new EnvVariableFeatureFlags());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void acceptFromSource() {
+    for (final AirbyteMessage record : records) {
+      messageTracker.acceptFromSource(record);
+    }
+    messageTracker.acceptFromSource(new AirbyteMessage()
+        .withType(Type.STATE)
+        .withState(AirbyteMessageUtils.createStreamStateMessage(SyntheticRecords.STREAM_NAME, states++)));
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {MessageTrackerBenchmark.class.getSimpleName()});
+  }
+
+}
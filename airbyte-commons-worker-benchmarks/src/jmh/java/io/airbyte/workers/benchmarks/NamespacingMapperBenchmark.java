@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import io.airbyte.workers.internal.NamespacingMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how many records per second {@link NamespacingMapper} maps to their destination stream.
+ * <p>
+ * The mapper modifies the records in place, so the stream and namespace of each record are reset
+ * before mapping it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class NamespacingMapperBenchmark {
+
+  private static final int RECORDS = 1_000;
+
+  @Param({"SOURCE", "DESTINATION", "CUSTOMFORMAT"})
+  public NamespaceDefinitionType namespaceDefinition;
+
+  private List<AirbyteMessage> records;
+  private NamespacingMapper mapper;
+
+  @Setup
+  public void setup() {
+    records = SyntheticRecords.records(Shape.NARROW, RECORDS);
+    mapper = new NamespacingMapper(namespaceDefinition, "${SOURCE_NAMESPACE}_raw", "prefix_");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void mapMessage(final Blackhole blackhole) {
+    for (final AirbyteMessage record : records) {
+      record.getRecord().withStream(SyntheticRecords.STREAM_NAME).withNamespace(SyntheticRecords.NAMESPACE);
+      blackhole.consume(mapper.mapMessage(record));
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {NamespacingMapperBenchmark.class.getSimpleName()});
+  }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.commons.protocol.AirbyteMessageMigrator;
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import java.util.List;
+
+/**
+ * Protocol serialization without any migration, as when the connectors use the same protocol
+ * version as the platform. Same setup as
+ * {@link io.airbyte.workers.internal.VersionedAirbyteStreamFactory#noMigrationVersionedAirbyteStreamFactory()}.
+ */
+final class NoMigrationProtocol {
+
+  private NoMigrationProtocol() {}
+
+  static AirbyteMessageSerDeProvider serDeProvider() {
+    final AirbyteMessageSerDeProvider serDeProvider = new AirbyteMessageSerDeProvider(
+        List.of(new AirbyteMessageV0Deserializer(), new AirbyteMessageV1Deserializer()),
+        List.of(new AirbyteMessageV0Serializer(), new AirbyteMessageV1Serializer()));
+    serDeProvider.initialize();
+    return serDeProvider;
+  }
+
+  static AirbyteProtocolVersionedMigratorFactory migratorFactory() {
+    final AirbyteMessageMigrator messageMigrator = new AirbyteMessageMigrator(List.of());
+    messageMigrator.initialize();
+    final ConfiguredAirbyteCatalogMigrator catalogMigrator = new ConfiguredAirbyteCatalogMigrator(List.of());
+    catalogMigrator.initialize();
+    return new AirbyteProtocolVersionedMigratorFactory(messageMigrator, catalogMigrator);
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.migrations.v1.AirbyteMessageMigrationV1;
+import io.airbyte.commons.resources.MoreResources;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.validation.json.JsonSchemaValidator;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-record cost of downgrading a V1 record to V0, which tests the primitive fields
+ * and the oneOf options of the record against their schema.
+ * <p>
+ * The uncached benchmark compiles these schemas for every test, as the migration did before
+ * validators were cached per schema node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class RecordDowngradeBenchmark {
+
+  private static final String STREAM_NAME = "users";
+  private static final String SCHEMA = """
+                                       {
+                                         "type": "object",
+                                         "properties": {
+                                           "id": {"$ref": "WellKnownTypes.json#/definitions/Integer"},
+                                           "name": {"$ref": "WellKnownTypes.json#/definitions/String"},
+                                           "balance": {"$ref": "WellKnownTypes.json#/definitions/Number"},
+                                           "active": {"$ref": "WellKnownTypes.json#/definitions/Boolean"},
+                                           "created_at": {"$ref": "WellKnownTypes.json#/definitions/TimestampWithTimezone"},
+                                           "external_id": {
+                                             "oneOf": [
+                                               {"$ref": "WellKnownTypes.json#/definitions/String"},
+                                               {"$ref": "WellKnownTypes.json#/definitions/Integer"}
+                                             ]
+                                           },
+                                           "tags": {
+                                             "type": "array",
+                                             "items": {"$ref": "WellKnownTypes.json#/definitions/String"}
+                                           }
+                                         }
+                                       }
+                                       """;
+  private static final String DATA = """
+                                     {
+                                       "id": "42",
+                                       "name": "Jane",
+                                       "balance": "1234.5",
+                                       "active": true,
+                                       "created_at": "2023-01-01T00:00:00Z",
+                                       "external_id": "abc-123",
+                                       "tags": ["a", "b", "c"]
+                                     }
+                                     """;
+
+  private ConfiguredAirbyteCatalog catalog;
+  private AirbyteMessage record;
+  private AirbyteMessageMigrationV1 cachedMigration;
+  private AirbyteMessageMigrationV1 uncachedMigration;
+
+  @Setup
+  public void setup() {
+    final URI parentUri = MoreResources.readResourceAsFile("WellKnownTypes.json").getAbsoluteFile().toURI();
+    catalog = new ConfiguredAirbyteCatalog()
+        .withStreams(List.of(new ConfiguredAirbyteStream().withStream(new io.airbyte.protocol.models.AirbyteStream()
+            .withName(STREAM_NAME)
+            .withJsonSchema(Jsons.deserialize(SCHEMA)))));
+    record = new AirbyteMessage().withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream(STREAM_NAME).withData(Jsons.deserialize(DATA)));
+    cachedMigration = new AirbyteMessageMigrationV1(new JsonSchemaValidator(parentUri));
+    uncachedMigration = new AirbyteMessageMigrationV1(new UncachedJsonSchemaValidator(parentUri));
+  }
+
+  @Benchmark
+  public io.airbyte.protocol.models.v0.AirbyteMessage downgradeWithCachedSchemas() {
+    return cachedMigration.downgrade(record, Optional.of(catalog));
+  }
+
+  @Benchmark
+  public io.airbyte.protocol.models.v0.AirbyteMessage downgradeWithUncachedSchemas() {
+    return uncachedMigration.downgrade(record, Optional.of(catalog));
+  }
+
+  /**
+   * Compiles the schema on every test, like {@link JsonSchemaValidator#test(JsonNode, JsonNode)}.
+   */
+  private static class UncachedJsonSchemaValidator extends JsonSchemaValidator {
+
+    UncachedJsonSchemaValidator(final URI baseUri) {
+      super(baseUri);
+    }
+
+    @Override
+    public boolean testWithCachedSchema(final JsonNode schemaJson, final JsonNode objectJson) {
+      return validate(schemaJson, objectJson).isEmpty();
+    }
+
+  }
+
+}
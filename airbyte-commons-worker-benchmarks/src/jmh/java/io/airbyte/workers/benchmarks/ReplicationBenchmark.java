@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import static org.mockito.Mockito.mock;
+
+import io.airbyte.commons.converters.ConnectorConfigUpdater;
+import io.airbyte.commons.features.EnvVariableFeatureFlags;
+import io.airbyte.commons.version.AirbyteProtocolVersion;
+import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
+import io.airbyte.config.ReplicationOutput;
+import io.airbyte.config.StandardSyncInput;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import io.airbyte.workers.exception.WorkerException;
+import io.airbyte.workers.general.DefaultReplicationWorker;
+import io.airbyte.workers.general.ReplicationFeatureFlagReader;
+import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
+import io.airbyte.workers.internal.FieldSelector;
+import io.airbyte.workers.internal.HeartbeatMonitor;
+import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.NamespacingMapper;
+import io.airbyte.workers.internal.VersionedAirbyteMessageBufferedWriterFactory;
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory;
+import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetryRegistry;
+import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
+import io.airbyte.workers.internal.sync_persistence.SyncPersistence;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many records per second the {@link DefaultReplicationWorker} replicates from a source
+ * to a destination, end to end.
+ * <p>
+ * Both connectors run in memory: the source parses records from bytes as if they were read from a
+ * connector, and the destination serializes them as if they were written to one. This excludes the
+ * cost of the processes and their pipes, which {@code ReplicationWorkerPerformanceTest} includes,
+ * and leaves the cost of the worker itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class ReplicationBenchmark {
+
+  private static final int RECORDS = 100_000;
+  private static final int RECORDS_PER_STATE = 1_000;
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public Shape shape;
+
+  @Param({"false", "true"})
+  public boolean recordPassthrough;
+
+  private byte[] sourceOutput;
+  private FeatureFlagClient featureFlagClient;
+
+  @Setup
+  public void setup() {
+    sourceOutput = SyntheticRecords.serializedRecords(shape, RECORDS, RECORDS_PER_STATE);
+    featureFlagClient = new TestClient(Map.of("heartbeat.failSync", false));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public ReplicationOutput replicate() throws WorkerException, IOException {
+    final ConfiguredAirbyteCatalog catalog = SyntheticRecords.catalog(shape);
+    final var source = new InMemoryAirbyteSource(sourceOutput,
+        VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory().withRecordPassthrough(recordPassthrough));
+    final var destination = new InMemoryAirbyteDestination(new VersionedAirbyteMessageBufferedWriterFactory(NoMigrationProtocol.serDeProvider(),
+        NoMigrationProtocol.migratorFactory(), AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION, Optional.of(catalog)));
+    // the validator validates records in the background until it is closed
+    try (final var validator = new RecordSchemaValidator(Map.of(SyntheticRecords.STREAM, SyntheticRecords.schema(shape)))) {
+      final var metricReporter = new WorkerMetricReporter(new NotImplementedMetricClient(), "benchmark:0.1");
+      final var heartbeatTimeoutChaperone = new HeartbeatTimeoutChaperone(new HeartbeatMonitor(Duration.ofHours(1)),
+          HeartbeatTimeoutChaperone.DEFAULT_TIMEOUT_CHECK_DURATION,
+          featureFlagClient,
+          UUID.randomUUID(),
+          UUID.randomUUID(),
+          new NotImplementedMetricClient());
+
+      final var messageTracker = new AirbyteMessageTracker(new EnvVariableFeatureFlags());
+
+      final var worker = new DefaultReplicationWorker("1", 0,
+          source,
+          new NamespacingMapper(NamespaceDefinitionType.SOURCE, null, null),
+          destination,
+          messageTracker,
+          mock(SyncPersistence.class),
+          validator,
+          new FieldSelector(validator, metricReporter, false, false),
+          mock(ConnectorConfigUpdater.class),
+          heartbeatTimeoutChaperone,
+          new ReplicationFeatureFlagReader(featureFlagClient),
+          new AirbyteMessageDataExtractor(),
+          mock(ReplicationAirbyteMessageEventPublishingHelper.class),
+          new ReplicationTelemetry(null, 1, 0, messageTracker.getSyncStatsTracker(), new NotImplementedMetricClient(),
+              new ReplicationTelemetryRegistry()));
+      return worker.run(new StandardSyncInput().withCatalog(catalog).withWorkspaceId(UUID.randomUUID()), Path.of("/"));
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {ReplicationBenchmark.class.getSimpleName()});
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.workers.internal.state_aggregator.DefaultStateAggregator;
+import io.airbyte.workers.internal.state_aggregator.StateAggregator;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of {@link DefaultStateAggregator} ingesting a state message of one of many
+ * streams, and of aggregating the state of all the streams, as done every time the state is
+ * persisted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class StateAggregatorBenchmark {
+
+  @Param({"1", "100", "1000"})
+  public int streams;
+
+  private AirbyteStateMessage[] stateMessages;
+  private StateAggregator stateAggregator;
+  private int nextStream;
+
+  @Setup
+  public void setup() {
+    stateMessages = new AirbyteStateMessage[streams];
+    stateAggregator = new DefaultStateAggregator(true);
+    for (int i = 0; i < streams; i++) {
+      stateMessages[i] = AirbyteMessageUtils.createStreamStateMessage("stream_" + i, i);
+      stateAggregator.ingest(stateMessages[i]);
+    }
+  }
+
+  @Benchmark
+  public StateAggregator ingest() {
+    stateAggregator.ingest(stateMessages[nextStream]);
+    nextStream = (nextStream + 1) % streams;
+    return stateAggregator;
+  }
+
+  @Benchmark
+  public io.airbyte.config.State getAggregated() {
+    return stateAggregator.getAggregated();
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {StateAggregatorBenchmark.class.getSimpleName()});
+  }
+
+}
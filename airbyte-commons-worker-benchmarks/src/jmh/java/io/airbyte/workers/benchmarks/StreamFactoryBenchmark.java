@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import io.airbyte.workers.benchmarks.SyntheticRecords.Shape;
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how many records per second {@link VersionedAirbyteStreamFactory} parses from the output
+ * of a source, read either as bytes or through a {@link BufferedReader}.
+ * <p>
+ * With record passthrough, the data of the records is not deserialized by the factory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@SuppressWarnings("MissingJavadocMethod")
+public class StreamFactoryBenchmark {
+
+  private static final int RECORDS = 1_000;
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public Shape shape;
+
+  @Param({"false", "true"})
+  public boolean recordPassthrough;
+
+  private byte[] input;
+  private VersionedAirbyteStreamFactory<?> streamFactory;
+
+  @Setup
+  public void setup() {
+    input = SyntheticRecords.serializedRecords(shape, RECORDS);
+    streamFactory = VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory().withRecordPassthrough(recordPassthrough);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void parseInputStream(final Blackhole blackhole) {
+    streamFactory.create(new ByteArrayInputStream(input)).forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void parseBufferedReader(final Blackhole blackhole) {
+    streamFactory.create(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.UTF_8)))
+        .forEach(blackhole::consume);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {StreamFactoryBenchmark.class.getSimpleName()});
+  }
+
+}
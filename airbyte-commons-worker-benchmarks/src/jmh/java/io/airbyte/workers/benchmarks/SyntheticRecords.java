@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.AirbyteStreamState;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.StreamDescriptor;
+import io.airbyte.protocol.models.SyncMode;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the records the benchmarks run on. Records are deterministic, so that results can be
+ * compared across runs, and match the schema of their shape.
+ */
+public final class SyntheticRecords {
+
+  public static final String STREAM_NAME = "synthetic";
+  public static final String NAMESPACE = "benchmarks";
+  public static final AirbyteStreamNameNamespacePair STREAM = new AirbyteStreamNameNamespacePair(STREAM_NAME, NAMESPACE);
+
+  private static final int WIDE_COLUMNS = 100;
+  private static final int NESTED_ITEMS = 5;
+  private static final long EMITTED_AT = 1_672_531_200_000L;
+
+  /**
+   * Shape of the records of a stream.
+   */
+  public enum Shape {
+    /**
+     * A handful of primitive columns, like most database tables.
+     */
+    NARROW,
+    /**
+     * A hundred primitive columns.
+     */
+    WIDE,
+    /**
+     * Nested objects and arrays of objects, like most API sources.
+     */
+    NESTED
+  }
+
+  private SyntheticRecords() {}
+
+  /**
+   * Schema of the records of a shape.
+   */
+  public static JsonNode schema(final Shape shape) {
+    return switch (shape) {
+      case NARROW -> object(
+          "id", type("integer"),
+          "name", type("string"),
+          "email", type("string"),
+          "amount", type("number"),
+          "active", type("boolean"),
+          "updated_at", type("string"));
+      case WIDE -> {
+        final ObjectNode schema = object();
+        final ObjectNode properties = (ObjectNode) schema.get("properties");
+        for (int i = 0; i < WIDE_COLUMNS; i++) {
+          properties.set(wideColumn(i), type(i % 2 == 0 ? "string" : "number"));
+        }
+        yield schema;
+      }
+      case NESTED -> object(
+          "id", type("integer"),
+          "customer", object(
+              "id", type("integer"),
+              "name", type("string"),
+              "address", object(
+                  "street", type("string"),
+                  "city", type("string"),
+                  "zip", type("string"))),
+          "items", array(object(
+              "sku", type("string"),
+              "quantity", type("integer"),
+              "price", type("number"),
+              "attributes", object(
+                  "color", type("string"),
+                  "size", type("string")))),
+          "tags", array(type("string")),
+          "updated_at", type("string"));
+    };
+  }
+
+  /**
+   * Catalog with a single full refresh stream of the given shape.
+   */
+  public static ConfiguredAirbyteCatalog catalog(final Shape shape) {
+    return new ConfiguredAirbyteCatalog().withStreams(List.of(new ConfiguredAirbyteStream()
+        .withStream(new AirbyteStream()
+            .withName(STREAM_NAME)
+            .withNamespace(NAMESPACE)
+            .withJsonSchema(schema(shape))
+            .withSupportedSyncModes(List.of(SyncMode.FULL_REFRESH)))
+        .withSyncMode(SyncMode.FULL_REFRESH)
+        .withDestinationSyncMode(DestinationSyncMode.APPEND)));
+  }
+
+  /**
+   * The record at the given index of a stream of the given shape.
+   */
+  public static AirbyteMessage record(final Shape shape, final int index) {
+    return new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream(STREAM_NAME)
+            .withNamespace(NAMESPACE)
+            .withEmittedAt(EMITTED_AT + index)
+            .withData(data(shape, index)));
+  }
+
+  /**
+   * The first records of a stream of the given shape.
+   */
+  public static List<AirbyteMessage> records(final Shape shape, final int count) {
+    final List<AirbyteMessage> records = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      records.add(record(shape, i));
+    }
+    return records;
+  }
+
+  /**
+   * The first records of a stream of the given shape, as a connector writes them to its stdout.
+   */
+  public static byte[] serializedRecords(final Shape shape, final int count) {
+    return serializedRecords(shape, count, 0);
+  }
+
+  /**
+   * The first records of a stream of the given shape, as a connector writes them to its stdout, with
+   * a state message after every given number of records.
+   *
+   * @param recordsPerState number of records between state messages, 0 for no state messages
+   */
+  public static byte[] serializedRecords(final Shape shape, final int count, final int recordsPerState) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    for (int i = 0; i < count; i++) {
+      writeLine(output, record(shape, i));
+      if (recordsPerState > 0 && (i + 1) % recordsPerState == 0) {
+        writeLine(output, state(i));
+      }
+    }
+    return output.toByteArray();
+  }
+
+  /**
+   * State message of the stream, with the given cursor value.
+   */
+  public static AirbyteMessage state(final int cursor) {
+    return new AirbyteMessage()
+        .withType(AirbyteMessage.Type.STATE)
+        .withState(new AirbyteStateMessage()
+            .withType(AirbyteStateType.STREAM)
+            .withStream(new AirbyteStreamState()
+                .withStreamDescriptor(new StreamDescriptor().withName(STREAM_NAME).withNamespace(NAMESPACE))
+                .withStreamState(Jsons.jsonNode(Map.of("cursor", cursor)))));
+  }
+
+  private static void writeLine(final ByteArrayOutputStream output, final AirbyteMessage message) {
+    output.writeBytes(Jsons.serialize(message).getBytes(StandardCharsets.UTF_8));
+    output.write('\n');
+  }
+
+  private static JsonNode data(final Shape shape, final int index) {
+    return switch (shape) {
+      case NARROW -> {
+        final ObjectNode data = (ObjectNode) Jsons.emptyObject();
+        data.put("id", index);
+        data.put("name", "user_" + index);
+        data.put("email", "user_" + index + "@example.com");
+        data.put("amount", index * 1.5);
+        data.put("active", index % 2 == 0);
+        data.put("updated_at", "2023-01-01T00:00:00Z");
+        yield data;
+      }
+      case WIDE -> {
+        final ObjectNode data = (ObjectNode) Jsons.emptyObject();
+        for (int i = 0; i < WIDE_COLUMNS; i++) {
+          if (i % 2 == 0) {
+            data.put(wideColumn(i), "value_" + index + "_" + i);
+          } else {
+            data.put(wideColumn(i), index * 0.5 + i);
+          }
+        }
+        yield data;
+      }
+      case NESTED -> {
+        final ObjectNode data = (ObjectNode) Jsons.emptyObject();
+        data.put("id", index);
+        final ObjectNode customer = data.putObject("customer");
+        customer.put("id", index % 1_000);
+        customer.put("name", "customer_" + index % 1_000);
+        final ObjectNode address = customer.putObject("address");
+        address.put("street", index + " Main Street");
+        address.put("city", "San Francisco");
+        address.put("zip", "94107");
+        final ArrayNode items = data.putArray("items");
+        for (int i = 0; i < NESTED_ITEMS; i++) {
+          final ObjectNode item = items.addObject();
+          item.put("sku", "sku_" + (index + i) % 10_000);
+          item.put("quantity", i + 1);
+          item.put("price", 9.99 * (i + 1));
+          final ObjectNode attributes = item.putObject("attributes");
+          attributes.put("color", i % 2 == 0 ? "red" : "blue");
+          attributes.put("size", i % 3 == 0 ? "S" : "L");
+        }
+        data.putArray("tags").add("tag_" + index % 10).add("tag_" + index % 7);
+        data.put("updated_at", "2023-01-01T00:00:00Z");
+        yield data;
+      }
+    };
+  }
+
+  private static String wideColumn(final int index) {
+    return String.format("column_%03d", index);
+  }
+
+  private static ObjectNode type(final String type) {
+    final ObjectNode schema = (ObjectNode) Jsons.emptyObject();
+    schema.put("type", type);
+    return schema;
+  }
+
+  private static ObjectNode array(final JsonNode items) {
+    final ObjectNode schema = type("array");
+    schema.set("items", items);
+    return schema;
+  }
+
+  /**
+   * Object schema with the given pairs of property names and schemas.
+   */
+  private static ObjectNode object(final Object... properties) {
+    final ObjectNode schema = type("object");
+    final ObjectNode propertiesNode = schema.putObject("properties");
+    for (int i = 0; i < properties.length; i += 2) {
+      propertiesNode.set((String) properties[i], (JsonNode) properties[i + 1]);
+    }
+    return schema;
+  }
+
+}
@@ -7,38 +7,103 @@ package io.airbyte.workers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 /**
  * Validates that AirbyteRecordMessage data conforms to the JSON schema defined by the source's
  * configured catalog.
+ * <p>
+ * Validation happens in the background, on a pool with a bounded queue. If the validation can't
+ * keep up with the source, the records that don't fit in the queue are validated by the thread
+ * reading the source, which slows the source down to the pace of the validation. When a
+ * {@link SamplingPolicy} limits how many records of a stream are validated, the records that don't
+ * fit in the queue are not validated instead. Callers ask {@link #shouldValidate} whether a record
+ * is part of the sample before validating it.
  */
+@Slf4j
 public class RecordSchemaValidator implements Closeable {
 
+  public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+  // queue depth and validation lag are reported once every this many validations
+  private static final int METRICS_REPORTING_INTERVAL = 1_000;
+
   private final JsonSchemaValidator validator;
   private final ExecutorService validationExecutor;
   private final Map<AirbyteStreamNameNamespacePair, JsonNode> streams;
+  private final SamplingPolicy samplingPolicy;
+  private final MetricClient metricClient;
+  private final Map<AirbyteStreamNameNamespacePair, AtomicLong> streamToRecordsSeen = new ConcurrentHashMap<>();
+  private final AtomicLong submittedValidations = new AtomicLong();
+  private final AtomicLong droppedValidations = new AtomicLong();
 
   /**
-   * Creates a RecordSchemaValidator.
+   * Which records of a stream are validated: all the first records of a stream, then one out of a
+   * given number of records.
+   *
+   * @param alwaysValidatedRecords number of records validated at the beginning of each stream
+   * @param sampleRate once past the first records, validate one out of this many records
+   */
+  public record SamplingPolicy(long alwaysValidatedRecords, int sampleRate) {
+
+    public static final SamplingPolicy VALIDATE_ALL = new SamplingPolicy(Long.MAX_VALUE, 1);
+
+    public SamplingPolicy {
+      Preconditions.checkArgument(alwaysValidatedRecords >= 0, "alwaysValidatedRecords must not be negative");
+      Preconditions.checkArgument(sampleRate > 0, "sampleRate must be positive");
+    }
+
+    boolean shouldValidate(final long recordNumber) {
+      return recordNumber <= alwaysValidatedRecords || (recordNumber - alwaysValidatedRecords) % sampleRate == 0;
+    }
+
+  }
+
+  /**
+   * Creates a RecordSchemaValidator validating all records on a single thread.
    *
    * @param streamNamesToSchemas Name of streams.
    */
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas) {
-    this(streamNamesToSchemas, Executors.newFixedThreadPool(1));
+    this(streamNamesToSchemas, 1, DEFAULT_QUEUE_CAPACITY, SamplingPolicy.VALIDATE_ALL, MetricClientFactory.getMetricClient());
+  }
+
+  /**
+   * Creates a RecordSchemaValidator.
+   *
+   * @param streamNamesToSchemas Name of streams.
+   * @param workers number of threads validating records
+   * @param queueCapacity number of records waiting for validation past which records are validated by
+   *        the caller, or dropped if the sampling policy doesn't validate all records
+   * @param samplingPolicy which records of each stream are validated
+   */
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final int workers,
+                               final int queueCapacity,
+                               final SamplingPolicy samplingPolicy,
+                               final MetricClient metricClient) {
+    this(streamNamesToSchemas, createValidationExecutor(workers, queueCapacity, !SamplingPolicy.VALIDATE_ALL.equals(samplingPolicy)),
+        new JsonSchemaValidator(), samplingPolicy, metricClient);
   }
 
   @VisibleForTesting
@@ -50,11 +115,22 @@ public class RecordSchemaValidator implements Closeable {
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
                                final ExecutorService validationExecutor,
                                final JsonSchemaValidator jsonSchemaValidator) {
+    this(streamNamesToSchemas, validationExecutor, jsonSchemaValidator, SamplingPolicy.VALIDATE_ALL, MetricClientFactory.getMetricClient());
+  }
+
+  @VisibleForTesting
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final ExecutorService validationExecutor,
+                               final JsonSchemaValidator jsonSchemaValidator,
+                               final SamplingPolicy samplingPolicy,
+                               final MetricClient metricClient) {
     // streams is Map of a stream source namespace + name mapped to the stream schema
     // for easy access when we check each record's schema
     this.streams = streamNamesToSchemas;
     this.validationExecutor = validationExecutor;
     this.validator = jsonSchemaValidator;
+    this.samplingPolicy = samplingPolicy;
+    this.metricClient = metricClient;
     // initialize schema validator to avoid creating validators each time.
     for (final AirbyteStreamNameNamespacePair stream : streamNamesToSchemas.keySet()) {
       // We must choose a JSON validator version for validating the schema
@@ -73,8 +149,8 @@ public class RecordSchemaValidator implements Closeable {
                              final AirbyteRecordMessage message,
                              final AirbyteStreamNameNamespacePair airbyteStream,
                              final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
-    validationExecutor.execute(() -> {
-      Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+    submitValidation(() -> {
+      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
       if (!errorMessages.isEmpty()) {
         updateValidationErrors(errorMessages, airbyteStream, validationErrors);
       }
@@ -89,14 +165,52 @@ public class RecordSchemaValidator implements Closeable {
                                             final AirbyteRecordMessage message,
                                             final AirbyteStreamNameNamespacePair airbyteStream,
                                             final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors) {
-    validationExecutor.execute(() -> {
+    submitValidation(() -> {
       final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
       if (!errorMessages.isEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream, k -> new HashSet<>()).addAll(errorMessages);
+        // validations of the same stream can run concurrently
+        validationErrors.computeIfAbsent(airbyteStream, k -> ConcurrentHashMap.newKeySet()).addAll(errorMessages);
       }
     });
   }
 
+  /**
+   * Count a record of the stream and tell whether the sampling policy validates it. Callers check
+   * each record once, before validating it or looking at its data, so that the records that are not
+   * validated are not deserialized either.
+   */
+  public boolean shouldValidate(final AirbyteStreamNameNamespacePair airbyteStream) {
+    final long recordNumber = streamToRecordsSeen.computeIfAbsent(airbyteStream, k -> new AtomicLong()).incrementAndGet();
+    return samplingPolicy.shouldValidate(recordNumber);
+  }
+
+  /**
+   * Number of validations that were not run because the validation queue was full, which only happens
+   * when records are sampled.
+   */
+  public long getDroppedValidations() {
+    return droppedValidations.get();
+  }
+
+  private void submitValidation(final Runnable validation) {
+    final boolean reportMetrics = submittedValidations.incrementAndGet() % METRICS_REPORTING_INTERVAL == 0;
+    final long submittedAt = System.nanoTime();
+    try {
+      validationExecutor.execute(() -> {
+        if (reportMetrics) {
+          metricClient.distribution(OssMetricsRegistry.SCHEMA_VALIDATION_LAG_MILLIS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt));
+        }
+        validation.run();
+      });
+    } catch (final RejectedExecutionException e) {
+      droppedValidations.incrementAndGet();
+    }
+
+    if (reportMetrics && validationExecutor instanceof ThreadPoolExecutor threadPoolExecutor) {
+      metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_QUEUE_DEPTH, threadPoolExecutor.getQueue().size());
+    }
+  }
+
   private void updateValidationErrors(final Set<String> errorMessages,
                                       final AirbyteStreamNameNamespacePair airbyteStream,
                                       final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
@@ -111,12 +225,27 @@ public class RecordSchemaValidator implements Closeable {
     });
   }
 
+  /**
+   * Creates a pool whose queue doesn't grow with the source. Once the queue is full, records are
+   * either rejected, and counted as dropped, or validated by the caller.
+   */
+  @VisibleForTesting
+  static ExecutorService createValidationExecutor(final int workers, final int queueCapacity, final boolean dropWhenFull) {
+    return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+        dropWhenFull ? new ThreadPoolExecutor.AbortPolicy() : new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
   /**
    * Shuts down the ExecutorService used by this validator.
    */
   @Override
   public void close() throws IOException {
     validationExecutor.shutdownNow();
+    final long dropped = droppedValidations.get();
+    if (dropped > 0) {
+      log.warn("{} records were not validated because schema validation could not keep up with the source.", dropped);
+      metricClient.count(OssMetricsRegistry.SCHEMA_VALIDATION_DROPPED_RECORDS, dropped);
+    }
   }
 
 }
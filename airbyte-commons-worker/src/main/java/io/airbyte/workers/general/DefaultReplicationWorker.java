@@ -26,6 +26,7 @@ import io.airbyte.workers.internal.AirbyteSource;
 import io.airbyte.workers.internal.FieldSelector;
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
 import io.airbyte.workers.internal.book_keeping.MessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
 import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
 import io.airbyte.workers.internal.exception.DestinationException;
 import io.airbyte.workers.internal.exception.SourceException;
@@ -77,6 +78,7 @@ public class DefaultReplicationWorker implements ReplicationWorker {
   private final RecordSchemaValidator recordSchemaValidator;
   private final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone;
   private final ReplicationFeatureFlagReader replicationFeatureFlagReader;
+  private final ReplicationTelemetry replicationTelemetry;
 
   public DefaultReplicationWorker(final String jobId,
                                   final int attempt,
@@ -91,7 +93,8 @@ public class DefaultReplicationWorker implements ReplicationWorker {
                                   final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone,
                                   final ReplicationFeatureFlagReader replicationFeatureFlagReader,
                                   final AirbyteMessageDataExtractor airbyteMessageDataExtractor,
-                                  final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper) {
+                                  final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper,
+                                  final ReplicationTelemetry replicationTelemetry) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.replicationWorkerHelper = new ReplicationWorkerHelper(airbyteMessageDataExtractor, fieldSelector, mapper, messageTracker, syncPersistence,
@@ -103,6 +106,7 @@ public class DefaultReplicationWorker implements ReplicationWorker {
     this.recordSchemaValidator = recordSchemaValidator;
     this.srcHeartbeatTimeoutChaperone = srcHeartbeatTimeoutChaperone;
     this.replicationFeatureFlagReader = replicationFeatureFlagReader;
+    this.replicationTelemetry = replicationTelemetry;
 
     this.cancelled = new AtomicBoolean(false);
     this.hasFailed = new AtomicBoolean(false);
@@ -162,9 +166,10 @@ public class DefaultReplicationWorker implements ReplicationWorker {
 
     // note: resources are closed in the opposite order in which they are declared. thus source will be
     // closed first (which is what we want).
-    try (recordSchemaValidator; syncPersistence; srcHeartbeatTimeoutChaperone; destination; source) {
+    try (replicationTelemetry; recordSchemaValidator; syncPersistence; srcHeartbeatTimeoutChaperone; destination; source) {
       replicationWorkerHelper.startDestination(destination, syncInput, jobRoot);
       replicationWorkerHelper.startSource(source, syncInput, jobRoot);
+      replicationTelemetry.start();
 
       // note: `whenComplete` is used instead of `exceptionally` so that the original exception is still
       // thrown
@@ -182,6 +187,7 @@ public class DefaultReplicationWorker implements ReplicationWorker {
           source,
           destination,
           replicationWorkerHelper,
+          replicationTelemetry,
           cancelled,
           mdc), executors)
           .whenComplete((msg, ex) -> {
@@ -215,14 +221,15 @@ public class DefaultReplicationWorker implements ReplicationWorker {
       LOGGER.error("Sync worker failed.", e);
     } finally {
       executors.shutdownNow();
+      replicationWorkerHelper.closeMessageTracker();
     }
   }
 
   @SuppressWarnings("PMD.AvoidInstanceofChecksInCatchClause")
-  private static Runnable readFromDstRunnable(final AirbyteDestination destination,
-                                              final AtomicBoolean cancelled,
-                                              final ReplicationWorkerHelper replicationWorkerHelper,
-                                              final Map<String, String> mdc) {
+  static Runnable readFromDstRunnable(final AirbyteDestination destination,
+                                      final AtomicBoolean cancelled,
+                                      final ReplicationWorkerHelper replicationWorkerHelper,
+                                      final Map<String, String> mdc) {
     return () -> {
       MDC.setContextMap(mdc);
       LOGGER.info("Destination output thread started.");
@@ -265,6 +272,7 @@ public class DefaultReplicationWorker implements ReplicationWorker {
   private static Runnable readFromSrcAndWriteToDstRunnable(final AirbyteSource source,
                                                            final AirbyteDestination destination,
                                                            final ReplicationWorkerHelper replicationWorkerHelper,
+                                                           final ReplicationTelemetry replicationTelemetry,
                                                            final AtomicBoolean cancelled,
                                                            final Map<String, String> mdc) {
     return () -> {
@@ -275,7 +283,9 @@ public class DefaultReplicationWorker implements ReplicationWorker {
         while (!cancelled.get() && !source.isFinished()) {
           final Optional<AirbyteMessage> messageOptional;
           try {
+            final long readStart = replicationTelemetry.startSourceRead();
             messageOptional = source.attemptRead();
+            replicationTelemetry.endSourceRead(readStart);
           } catch (final Exception e) {
             throw new SourceException("Source process read attempt failed", e);
           }
@@ -289,7 +299,9 @@ public class DefaultReplicationWorker implements ReplicationWorker {
               final AirbyteMessage message = processedAirbyteMessage.get();
               try {
                 if (message.getType() == Type.RECORD || message.getType() == Type.STATE) {
+                  final long writeStart = replicationTelemetry.startDestinationWrite();
                   destination.accept(message);
+                  replicationTelemetry.endDestinationWrite(writeStart);
                 }
               } catch (final Exception e) {
                 throw new DestinationException("Destination process message delivery failed", e);
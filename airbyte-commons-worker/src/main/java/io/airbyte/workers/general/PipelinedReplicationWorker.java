@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
+
+import datadog.trace.api.Trace;
+import io.airbyte.commons.converters.ConnectorConfigUpdater;
+import io.airbyte.commons.converters.ThreadedTimeTracker;
+import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.config.ReplicationOutput;
+import io.airbyte.config.StandardSyncInput;
+import io.airbyte.metrics.lib.ApmTraceUtils;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.context.ReplicationContext;
+import io.airbyte.workers.context.ReplicationFeatureFlags;
+import io.airbyte.workers.exception.WorkerException;
+import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
+import io.airbyte.workers.internal.AirbyteDestination;
+import io.airbyte.workers.internal.AirbyteMapper;
+import io.airbyte.workers.internal.AirbyteSource;
+import io.airbyte.workers.internal.FieldSelector;
+import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.book_keeping.MessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
+import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
+import io.airbyte.workers.internal.exception.DestinationException;
+import io.airbyte.workers.internal.exception.SourceException;
+import io.airbyte.workers.internal.sync_persistence.SyncPersistence;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Variant of the {@link DefaultReplicationWorker} that splits the source to destination path into
+ * three stages, each running on its own thread:
+ * <ul>
+ * <li>reading (and parsing) messages from the source</li>
+ * <li>processing messages: field selection, schema validation, mapping and tracking</li>
+ * <li>writing (and serializing) messages to the destination</li>
+ * </ul>
+ * Stages are connected by bounded queues, so a slow stage applies backpressure to the ones before
+ * it instead of letting messages pile up in memory. The destination output is read on a fourth
+ * thread, exactly like in the {@link DefaultReplicationWorker}. Message processing still happens on
+ * a single thread, which keeps the ordering guarantees and the {@link ReplicationOutput} identical
+ * to the default worker.
+ */
+@SuppressWarnings("PMD.AvoidPrintStackTrace")
+public class PipelinedReplicationWorker implements ReplicationWorker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedReplicationWorker.class);
+
+  /**
+   * Max number of messages buffered between two stages. Records can be large, so this is kept
+   * small: it only needs to absorb the jitter between stages.
+   */
+  static final int DEFAULT_QUEUE_CAPACITY = 500;
+  private static final long QUEUE_POLL_TIMEOUT_MS = 100;
+
+  private final String jobId;
+  private final int attempt;
+  private final ReplicationWorkerHelper replicationWorkerHelper;
+  private final AirbyteSource source;
+  private final AirbyteDestination destination;
+  private final SyncPersistence syncPersistence;
+  private final ExecutorService executors;
+  private final AtomicBoolean cancelled;
+  private final AtomicBoolean hasFailed;
+  private final RecordSchemaValidator recordSchemaValidator;
+  private final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone;
+  private final ReplicationFeatureFlagReader replicationFeatureFlagReader;
+  private final ReplicationTelemetry replicationTelemetry;
+  private final int queueCapacity;
+
+  public PipelinedReplicationWorker(final String jobId,
+                                    final int attempt,
+                                    final AirbyteSource source,
+                                    final AirbyteMapper mapper,
+                                    final AirbyteDestination destination,
+                                    final MessageTracker messageTracker,
+                                    final SyncPersistence syncPersistence,
+                                    final RecordSchemaValidator recordSchemaValidator,
+                                    final FieldSelector fieldSelector,
+                                    final ConnectorConfigUpdater connectorConfigUpdater,
+                                    final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone,
+                                    final ReplicationFeatureFlagReader replicationFeatureFlagReader,
+                                    final AirbyteMessageDataExtractor airbyteMessageDataExtractor,
+                                    final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper,
+                                    final ReplicationTelemetry replicationTelemetry) {
+    this(jobId, attempt, source, mapper, destination, messageTracker, syncPersistence, recordSchemaValidator, fieldSelector,
+        connectorConfigUpdater, srcHeartbeatTimeoutChaperone, replicationFeatureFlagReader, airbyteMessageDataExtractor,
+        replicationAirbyteMessageEventPublishingHelper, replicationTelemetry, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  public PipelinedReplicationWorker(final String jobId,
+                                    final int attempt,
+                                    final AirbyteSource source,
+                                    final AirbyteMapper mapper,
+                                    final AirbyteDestination destination,
+                                    final MessageTracker messageTracker,
+                                    final SyncPersistence syncPersistence,
+                                    final RecordSchemaValidator recordSchemaValidator,
+                                    final FieldSelector fieldSelector,
+                                    final ConnectorConfigUpdater connectorConfigUpdater,
+                                    final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone,
+                                    final ReplicationFeatureFlagReader replicationFeatureFlagReader,
+                                    final AirbyteMessageDataExtractor airbyteMessageDataExtractor,
+                                    final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper,
+                                    final ReplicationTelemetry replicationTelemetry,
+                                    final int queueCapacity) {
+    this.jobId = jobId;
+    this.attempt = attempt;
+    this.replicationWorkerHelper = new ReplicationWorkerHelper(airbyteMessageDataExtractor, fieldSelector, mapper, messageTracker, syncPersistence,
+        connectorConfigUpdater, replicationAirbyteMessageEventPublishingHelper, new ThreadedTimeTracker());
+    this.source = source;
+    this.destination = destination;
+    this.syncPersistence = syncPersistence;
+    this.executors = Executors.newFixedThreadPool(4);
+    this.recordSchemaValidator = recordSchemaValidator;
+    this.srcHeartbeatTimeoutChaperone = srcHeartbeatTimeoutChaperone;
+    this.replicationFeatureFlagReader = replicationFeatureFlagReader;
+    this.replicationTelemetry = replicationTelemetry;
+    this.queueCapacity = queueCapacity;
+
+    this.cancelled = new AtomicBoolean(false);
+    this.hasFailed = new AtomicBoolean(false);
+  }
+
+  /**
+   * Run executes the source read, message processing and destination write stages, as well as the
+   * thread listening on STDOUT of the destination. See {@link DefaultReplicationWorker#run} for the
+   * handling of state messages emitted by the destination.
+   *
+   * @param syncInput all configuration for running replication
+   * @param jobRoot file root that worker is allowed to use
+   * @return output of the replication attempt (including state)
+   * @throws WorkerException exception from worker
+   */
+  @Trace(operationName = WORKER_OPERATION_NAME)
+  @Override
+  public final ReplicationOutput run(final StandardSyncInput syncInput, final Path jobRoot) throws WorkerException {
+    LOGGER.info("start pipelined sync worker. job id: {} attempt id: {}", jobId, attempt);
+
+    LineGobbler.startSection("REPLICATION");
+
+    try {
+      LOGGER.info("configured sync modes: {}", syncInput.getCatalog().getStreams()
+          .stream()
+          .collect(Collectors.toMap(s -> s.getStream().getNamespace() + "." + s.getStream().getName(),
+              s -> String.format("%s - %s", s.getSyncMode(), s.getDestinationSyncMode()))));
+
+      final ReplicationContext replicationContext =
+          new ReplicationContext(syncInput.getIsReset(), syncInput.getConnectionId(), syncInput.getSourceId(),
+              syncInput.getDestinationId(), Long.parseLong(jobId),
+              attempt, syncInput.getWorkspaceId());
+      ApmTraceUtils.addTagsToTrace(replicationContext.connectionId(), jobId, jobRoot);
+
+      final ReplicationFeatureFlags flags = replicationFeatureFlagReader.readReplicationFeatureFlags(replicationContext, syncInput);
+      LOGGER.info("Committing states from " + (flags.shouldCommitStateAsap() ? "replication" : "persistState") + " activity");
+      if (flags.shouldCommitStatsAsap()) {
+        LOGGER.info("Committing stats from replication activity");
+      }
+      replicationWorkerHelper.initialize(replicationContext, flags);
+
+      replicate(jobRoot, syncInput);
+
+      return replicationWorkerHelper.getReplicationOutput();
+    } catch (final Exception e) {
+      ApmTraceUtils.addExceptionToTrace(e);
+      throw new WorkerException("Sync failed", e);
+    }
+  }
+
+  private void replicate(final Path jobRoot,
+                         final StandardSyncInput syncInput) {
+    final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    // note: resources are closed in the opposite order in which they are declared. thus source will be
+    // closed first (which is what we want).
+    try (replicationTelemetry; recordSchemaValidator; syncPersistence; srcHeartbeatTimeoutChaperone; destination; source) {
+      replicationWorkerHelper.startDestination(destination, syncInput, jobRoot);
+      replicationWorkerHelper.startSource(source, syncInput, jobRoot);
+
+      final BlockingQueue<AirbyteMessage> sourceMessages = new ArrayBlockingQueue<>(queueCapacity);
+      final BlockingQueue<AirbyteMessage> destinationMessages = new ArrayBlockingQueue<>(queueCapacity);
+      final AtomicBoolean sourceReadDone = new AtomicBoolean(false);
+      final AtomicBoolean processingDone = new AtomicBoolean(false);
+      replicationTelemetry.registerQueue("source", sourceMessages);
+      replicationTelemetry.registerQueue("destination", destinationMessages);
+      replicationTelemetry.start();
+
+      final CompletableFuture<Void> readFromDstThread = runStage(
+          DefaultReplicationWorker.readFromDstRunnable(destination, cancelled, replicationWorkerHelper, mdc));
+      final CompletableFuture<Void> readFromSrcThread = runStage(
+          readFromSrcRunnable(source, replicationTelemetry, sourceMessages, sourceReadDone, cancelled, hasFailed, mdc));
+      final CompletableFuture<Void> processMessagesThread = runStage(
+          processMessagesRunnable(replicationWorkerHelper, sourceMessages, sourceReadDone, destinationMessages, processingDone, cancelled,
+              hasFailed, mdc));
+      final CompletableFuture<Void> writeToDstThread = runStage(
+          writeToDstRunnable(source, destination, replicationTelemetry, destinationMessages, processingDone, cancelled, hasFailed, mdc));
+      final CompletableFuture<Void> sourcePipeline = CompletableFuture.allOf(readFromSrcThread, processMessagesThread, writeToDstThread);
+
+      try {
+        srcHeartbeatTimeoutChaperone.runWithHeartbeatThread(sourcePipeline);
+      } catch (final HeartbeatTimeoutChaperone.HeartbeatTimeoutException ex) {
+        ApmTraceUtils.addExceptionToTrace(ex);
+        replicationWorkerHelper.trackFailure(ex);
+      }
+
+      LOGGER.info("Waiting for source and destination threads to complete.");
+      // See DefaultReplicationWorker: anyOf surfaces the first failure without waiting on the other side.
+      CompletableFuture.anyOf(sourcePipeline, readFromDstThread).get();
+      LOGGER.info("One of source or destination thread complete. Waiting on the other.");
+      CompletableFuture.allOf(sourcePipeline, readFromDstThread).get();
+      LOGGER.info("Source and destination threads complete.");
+
+      replicationWorkerHelper.endOfReplication();
+    } catch (final Exception e) {
+      hasFailed.set(true);
+      replicationWorkerHelper.markFailed();
+      ApmTraceUtils.addExceptionToTrace(e);
+      LOGGER.error("Sync worker failed.", e);
+    } finally {
+      executors.shutdownNow();
+      replicationWorkerHelper.closeMessageTracker();
+    }
+  }
+
+  /**
+   * Run a stage on the worker executors. A failing stage flags the replication as failed so that the
+   * other stages stop instead of blocking on a queue nobody consumes anymore.
+   */
+  private CompletableFuture<Void> runStage(final Runnable stage) {
+    // note: `whenComplete` is used instead of `exceptionally` so that the original exception is still
+    // thrown
+    return CompletableFuture.runAsync(stage, executors)
+        .whenComplete((msg, ex) -> {
+          if (ex != null) {
+            hasFailed.set(true);
+            ApmTraceUtils.addExceptionToTrace(ex);
+            replicationWorkerHelper.trackFailure(ex.getCause());
+          }
+        });
+  }
+
+  @SuppressWarnings("PMD.AvoidInstanceofChecksInCatchClause")
+  private static Runnable readFromSrcRunnable(final AirbyteSource source,
+                                              final ReplicationTelemetry replicationTelemetry,
+                                              final BlockingQueue<AirbyteMessage> sourceMessages,
+                                              final AtomicBoolean sourceReadDone,
+                                              final AtomicBoolean cancelled,
+                                              final AtomicBoolean hasFailed,
+                                              final Map<String, String> mdc) {
+    return () -> {
+      MDC.setContextMap(mdc);
+      LOGGER.info("Source read thread started.");
+
+      try {
+        while (!cancelled.get() && !hasFailed.get() && !source.isFinished()) {
+          final Optional<AirbyteMessage> messageOptional;
+          try {
+            final long readStart = replicationTelemetry.startSourceRead();
+            messageOptional = source.attemptRead();
+            replicationTelemetry.endSourceRead(readStart);
+          } catch (final Exception e) {
+            throw new SourceException("Source process read attempt failed", e);
+          }
+
+          if (messageOptional.isPresent()) {
+            if (!enqueue(sourceMessages, messageOptional.get(), cancelled, hasFailed)) {
+              return;
+            }
+          } else {
+            LOGGER.info("Source has no more messages, closing connection.");
+            try {
+              source.close();
+            } catch (final Exception e) {
+              throw new SourceException("Source didn't exit properly - check the logs!", e);
+            }
+          }
+        }
+        sourceReadDone.set(true);
+      } catch (final Exception e) {
+        rethrowIfNotCancelled(e, cancelled);
+      }
+    };
+  }
+
+  @SuppressWarnings("PMD.AvoidInstanceofChecksInCatchClause")
+  private static Runnable processMessagesRunnable(final ReplicationWorkerHelper replicationWorkerHelper,
+                                                  final BlockingQueue<AirbyteMessage> sourceMessages,
+                                                  final AtomicBoolean sourceReadDone,
+                                                  final BlockingQueue<AirbyteMessage> destinationMessages,
+                                                  final AtomicBoolean processingDone,
+                                                  final AtomicBoolean cancelled,
+                                                  final AtomicBoolean hasFailed,
+                                                  final Map<String, String> mdc) {
+    return () -> {
+      MDC.setContextMap(mdc);
+      LOGGER.info("Message processing thread started.");
+
+      try {
+        while (!cancelled.get() && !hasFailed.get()) {
+          final AirbyteMessage airbyteMessage = sourceMessages.poll(QUEUE_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+          if (airbyteMessage == null) {
+            // the done flag must be read before checking the queue: once it is set, nothing else is enqueued.
+            if (sourceReadDone.get() && sourceMessages.isEmpty()) {
+              break;
+            }
+            continue;
+          }
+
+          final Optional<AirbyteMessage> processedAirbyteMessage = replicationWorkerHelper.processMessageFromSource(airbyteMessage);
+          if (processedAirbyteMessage.isPresent()) {
+            final AirbyteMessage message = processedAirbyteMessage.get();
+            if ((message.getType() == Type.RECORD || message.getType() == Type.STATE)
+                && !enqueue(destinationMessages, message, cancelled, hasFailed)) {
+              return;
+            }
+          }
+        }
+        if (hasFailed.get()) {
+          return;
+        }
+        replicationWorkerHelper.endOfSource();
+        processingDone.set(true);
+      } catch (final Exception e) {
+        rethrowIfNotCancelled(e, cancelled);
+      }
+    };
+  }
+
+  @SuppressWarnings("PMD.AvoidInstanceofChecksInCatchClause")
+  private static Runnable writeToDstRunnable(final AirbyteSource source,
+                                             final AirbyteDestination destination,
+                                             final ReplicationTelemetry replicationTelemetry,
+                                             final BlockingQueue<AirbyteMessage> destinationMessages,
+                                             final AtomicBoolean processingDone,
+                                             final AtomicBoolean cancelled,
+                                             final AtomicBoolean hasFailed,
+                                             final Map<String, String> mdc) {
+    return () -> {
+      MDC.setContextMap(mdc);
+      LOGGER.info("Destination write thread started.");
+
+      try {
+        while (!cancelled.get() && !hasFailed.get()) {
+          final AirbyteMessage message = destinationMessages.poll(QUEUE_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+          if (message == null) {
+            if (processingDone.get() && destinationMessages.isEmpty()) {
+              break;
+            }
+            continue;
+          }
+
+          try {
+            final long writeStart = replicationTelemetry.startDestinationWrite();
+            destination.accept(message);
+            replicationTelemetry.endDestinationWrite(writeStart);
+          } catch (final Exception e) {
+            throw new DestinationException("Destination process message delivery failed", e);
+          }
+        }
+        if (hasFailed.get()) {
+          return;
+        }
+
+        try {
+          destination.notifyEndOfInput();
+        } catch (final Exception e) {
+          throw new DestinationException("Destination process end of stream notification failed", e);
+        }
+        // Checked last so that, like in the DefaultReplicationWorker, everything the source emitted is
+        // delivered before a source failure is surfaced.
+        if (!cancelled.get() && source.getExitValue() != 0) {
+          throw new SourceException("Source process exited with non-zero exit code " + source.getExitValue());
+        }
+      } catch (final Exception e) {
+        rethrowIfNotCancelled(e, cancelled);
+      }
+    };
+  }
+
+  /**
+   * Blocks until the message fits in the queue. This is where backpressure is applied to the
+   * upstream stage.
+   *
+   * @return false if the replication was cancelled or failed while waiting, true otherwise.
+   */
+  private static boolean enqueue(final BlockingQueue<AirbyteMessage> queue,
+                                 final AirbyteMessage message,
+                                 final AtomicBoolean cancelled,
+                                 final AtomicBoolean hasFailed)
+      throws InterruptedException {
+    while (!queue.offer(message, QUEUE_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+      if (cancelled.get() || hasFailed.get()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("PMD.AvoidInstanceofChecksInCatchClause")
+  private static void rethrowIfNotCancelled(final Exception e, final AtomicBoolean cancelled) {
+    if (!cancelled.get()) {
+      // A stage races with the closure of the source and destination and can attempt one final
+      // operation after they are closed. Because of this, throw exceptions only if the worker was not
+      // cancelled.
+
+      if (e instanceof SourceException || e instanceof DestinationException) {
+        // Surface Source and Destination exceptions directly so that they can be classified properly by the
+        // worker
+        throw (RuntimeException) e;
+      } else {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  @Override
+  public void cancel() {
+    // Resources are closed in the opposite order they are declared.
+    LOGGER.info("Cancelling replication worker...");
+    try {
+      executors.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      ApmTraceUtils.addExceptionToTrace(e);
+      LOGGER.error("Unable to cancel due to interruption.", e);
+    }
+    cancelled.set(true);
+    replicationWorkerHelper.markCancelled();
+
+    LOGGER.info("Cancelling destination...");
+    try {
+      destination.cancel();
+    } catch (final Exception e) {
+      ApmTraceUtils.addExceptionToTrace(e);
+      LOGGER.info("Error cancelling destination: ", e);
+    }
+
+    LOGGER.info("Cancelling source...");
+    try {
+      source.cancel();
+    } catch (final Exception e) {
+      ApmTraceUtils.addExceptionToTrace(e);
+      LOGGER.info("Error cancelling source: ", e);
+    }
+  }
+
+}
@@ -13,12 +13,20 @@ import io.airbyte.api.client.model.generated.SourceDefinitionIdRequestBody;
 import io.airbyte.api.client.model.generated.SourceIdRequestBody;
 import io.airbyte.commons.converters.ConnectorConfigUpdater;
 import io.airbyte.commons.features.FeatureFlags;
+import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.config.StandardSyncInput;
+import io.airbyte.featureflag.Connection;
+import io.airbyte.featureflag.ConnectorLogLinesPerSecond;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.FieldSelectionEnabled;
 import io.airbyte.featureflag.Multi;
 import io.airbyte.featureflag.RemoveValidationLimit;
 import io.airbyte.featureflag.SourceDefinition;
+import io.airbyte.featureflag.UseAsyncConnectorLogs;
+import io.airbyte.featureflag.UseBatchedDestinationWriter;
+import io.airbyte.featureflag.UsePipelinedReplication;
+import io.airbyte.featureflag.UseRecordPassthrough;
+import io.airbyte.featureflag.UseSampledSchemaValidation;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricClientFactory;
@@ -26,11 +34,13 @@ import io.airbyte.metrics.lib.MetricEmittingApps;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.RecordSchemaValidator.SamplingPolicy;
 import io.airbyte.workers.WorkerMetricReporter;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
 import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteSource;
+import io.airbyte.workers.internal.ConnectorLogSettings;
 import io.airbyte.workers.internal.EmptyAirbyteSource;
 import io.airbyte.workers.internal.FieldSelector;
 import io.airbyte.workers.internal.HeartbeatMonitor;
@@ -38,6 +48,8 @@ import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
 import io.airbyte.workers.internal.NamespacingMapper;
 import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
 import io.airbyte.workers.internal.book_keeping.MessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetryRegistry;
 import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
 import io.airbyte.workers.internal.sync_persistence.SyncPersistence;
 import io.airbyte.workers.internal.sync_persistence.SyncPersistenceFactory;
@@ -48,6 +60,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * Factory for the DefaultReplicationWorker.
@@ -60,6 +73,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ReplicationWorkerFactory {
 
+  private static final int MAX_SCHEMA_VALIDATION_WORKERS = 4;
+  private static final SamplingPolicy SAMPLED_SCHEMA_VALIDATION = new SamplingPolicy(1_000, 100);
+
   private final AirbyteIntegrationLauncherFactory airbyteIntegrationLauncherFactory;
   private final ConnectorConfigUpdater connectorConfigUpdater;
   private final SourceApi sourceApi;
@@ -70,6 +86,7 @@ public class ReplicationWorkerFactory {
   private final FeatureFlagClient featureFlagClient;
   private final FeatureFlags featureFlags;
   private final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper;
+  private final ReplicationTelemetryRegistry replicationTelemetryRegistry;
 
   public ReplicationWorkerFactory(
                                   final AirbyteIntegrationLauncherFactory airbyteIntegrationLauncherFactory,
@@ -81,7 +98,8 @@ public class ReplicationWorkerFactory {
                                   final SyncPersistenceFactory syncPersistenceFactory,
                                   final FeatureFlagClient featureFlagClient,
                                   final FeatureFlags featureFlags,
-                                  final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper) {
+                                  final ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper,
+                                  final ReplicationTelemetryRegistry replicationTelemetryRegistry) {
     this.airbyteIntegrationLauncherFactory = airbyteIntegrationLauncherFactory;
     this.connectorConfigUpdater = connectorConfigUpdater;
     this.sourceApi = sourceApi;
@@ -90,6 +108,7 @@ public class ReplicationWorkerFactory {
     this.syncPersistenceFactory = syncPersistenceFactory;
     this.airbyteMessageDataExtractor = airbyteMessageDataExtractor;
     this.replicationAirbyteMessageEventPublishingHelper = replicationAirbyteMessageEventPublishingHelper;
+    this.replicationTelemetryRegistry = replicationTelemetryRegistry;
 
     this.featureFlagClient = featureFlagClient;
     this.featureFlags = featureFlags;
@@ -110,35 +129,44 @@ public class ReplicationWorkerFactory {
     final HeartbeatMonitor heartbeatMonitor = createHeartbeatMonitor(sourceDefinitionId, sourceDefinitionApi);
     final HeartbeatTimeoutChaperone heartbeatTimeoutChaperone = createHeartbeatTimeoutChaperone(heartbeatMonitor,
         featureFlagClient, syncInput);
-    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(syncInput);
+    final boolean fieldSelectionEnabled = isFieldSelectionEnabled(featureFlagClient, syncInput.getWorkspaceId(), sourceDefinitionId);
+    final boolean sampledValidationEnabled = isSampledValidationEnabled(featureFlagClient, syncInput);
+
+    final ConnectorLogSettings logSettings = getConnectorLogSettings(featureFlagClient, syncInput);
 
     log.info("Setting up source...");
     // reset jobs use an empty source to induce resetting all data in destination.
     final var airbyteSource = syncInput.getIsReset()
         ? new EmptyAirbyteSource(featureFlags.useStreamCapableState())
         : airbyteIntegrationLauncherFactory.createAirbyteSource(sourceLauncherConfig, syncInput.getSourceResourceRequirements(),
-            syncInput.getCatalog(), heartbeatMonitor);
+            syncInput.getCatalog(), heartbeatMonitor, shouldPassthroughRecords(featureFlagClient, syncInput, fieldSelectionEnabled, sampledValidationEnabled),
+            logSettings);
 
     log.info("Setting up destination...");
     final var airbyteDestination = airbyteIntegrationLauncherFactory.createAirbyteDestination(destinationLauncherConfig,
-        syncInput.getDestinationResourceRequirements(), syncInput.getCatalog());
+        syncInput.getDestinationResourceRequirements(), syncInput.getCatalog(), shouldBatchDestinationWrites(featureFlagClient, syncInput),
+        logSettings);
 
     // TODO MetricClient should be injectable
     MetricClientFactory.initialize(MetricEmittingApps.WORKER);
     final MetricClient metricClient = MetricClientFactory.getMetricClient();
     final WorkerMetricReporter metricReporter = new WorkerMetricReporter(metricClient, sourceLauncherConfig.getDockerImage());
 
+    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(syncInput, sampledValidationEnabled, metricClient);
     final FieldSelector fieldSelector =
-        createFieldSelector(recordSchemaValidator, metricReporter, featureFlagClient, syncInput.getWorkspaceId(), sourceDefinitionId);
+        createFieldSelector(recordSchemaValidator, metricReporter, featureFlagClient, syncInput.getWorkspaceId(), fieldSelectionEnabled);
 
     log.info("Setting up replication worker...");
     final SyncPersistence syncPersistence = createSyncPersistence(syncPersistenceFactory, syncInput, sourceLauncherConfig);
     final MessageTracker messageTracker = createMessageTracker(syncPersistence, featureFlags, syncInput);
+    final ReplicationTelemetry replicationTelemetry = new ReplicationTelemetry(syncInput.getConnectionId(),
+        Long.parseLong(jobRunConfig.getJobId()), Math.toIntExact(jobRunConfig.getAttemptId()), messageTracker.getSyncStatsTracker(), metricClient,
+        replicationTelemetryRegistry);
 
     return createReplicationWorker(airbyteSource, airbyteDestination, messageTracker,
         syncPersistence, recordSchemaValidator, fieldSelector, heartbeatTimeoutChaperone, connectorConfigUpdater, featureFlagClient,
         jobRunConfig,
-        syncInput, airbyteMessageDataExtractor, replicationAirbyteMessageEventPublishingHelper);
+        syncInput, airbyteMessageDataExtractor, replicationAirbyteMessageEventPublishingHelper, replicationTelemetry);
   }
 
   /**
@@ -184,19 +212,77 @@ public class ReplicationWorkerFactory {
   }
 
   /**
-   * Create RecordSchemaValidator.
+   * Create RecordSchemaValidator. With sampled validation, records are validated on several threads
+   * and, past the first records of a stream, only a sample of them is validated.
+   */
+  private static RecordSchemaValidator createRecordSchemaValidator(final StandardSyncInput syncInput,
+                                                                   final boolean sampledValidationEnabled,
+                                                                   final MetricClient metricClient) {
+    if (sampledValidationEnabled) {
+      final int workers = Math.min(MAX_SCHEMA_VALIDATION_WORKERS, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+      return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), workers, RecordSchemaValidator.DEFAULT_QUEUE_CAPACITY,
+          SAMPLED_SCHEMA_VALIDATION, metricClient);
+    }
+    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), 1, RecordSchemaValidator.DEFAULT_QUEUE_CAPACITY,
+        SamplingPolicy.VALIDATE_ALL, metricClient);
+  }
+
+  private static boolean isSampledValidationEnabled(final FeatureFlagClient featureFlagClient, final StandardSyncInput syncInput) {
+    return syncInput.getConnectionId() != null
+        && featureFlagClient.boolVariation(UseSampledSchemaValidation.INSTANCE, new Connection(syncInput.getConnectionId()));
+  }
+
+  private static boolean isFieldSelectionEnabled(final FeatureFlagClient featureFlagClient,
+                                                 final UUID workspaceId,
+                                                 final UUID sourceDefinitionId) {
+    return workspaceId != null && featureFlagClient.boolVariation(FieldSelectionEnabled.INSTANCE, new Multi(
+        List.of(new Workspace(workspaceId), new SourceDefinition(sourceDefinitionId))));
+  }
+
+  /**
+   * Records can only be forwarded as they were read if the platform doesn't need to rewrite them:
+   * field selection filters the data and the mapper may rename the stream or namespace. Passthrough
+   * also requires sampled validation, otherwise every record is deserialized to be validated and
+   * passing it through only adds the cost of keeping its line.
+   */
+  private static boolean shouldPassthroughRecords(final FeatureFlagClient featureFlagClient,
+                                                  final StandardSyncInput syncInput,
+                                                  final boolean fieldSelectionEnabled,
+                                                  final boolean sampledValidationEnabled) {
+    final boolean keepsStreamNames = StringUtils.isBlank(syncInput.getPrefix())
+        && (syncInput.getNamespaceDefinition() == null || syncInput.getNamespaceDefinition() == NamespaceDefinitionType.SOURCE);
+    return !fieldSelectionEnabled
+        && sampledValidationEnabled
+        && keepsStreamNames
+        && syncInput.getConnectionId() != null
+        && featureFlagClient.boolVariation(UseRecordPassthrough.INSTANCE, new Connection(syncInput.getConnectionId()));
+  }
+
+  private static boolean shouldBatchDestinationWrites(final FeatureFlagClient featureFlagClient, final StandardSyncInput syncInput) {
+    return syncInput.getConnectionId() != null
+        && featureFlagClient.boolVariation(UseBatchedDestinationWriter.INSTANCE, new Connection(syncInput.getConnectionId()));
+  }
+
+  /**
+   * Connector logs are written by a background appender, which may rate limit them, when async logs
+   * are enabled for the connection.
    */
-  private static RecordSchemaValidator createRecordSchemaValidator(final StandardSyncInput syncInput) {
-    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput));
+  private static ConnectorLogSettings getConnectorLogSettings(final FeatureFlagClient featureFlagClient, final StandardSyncInput syncInput) {
+    if (syncInput.getConnectionId() == null) {
+      return ConnectorLogSettings.SYNCHRONOUS;
+    }
+    final Connection connection = new Connection(syncInput.getConnectionId());
+    if (!featureFlagClient.boolVariation(UseAsyncConnectorLogs.INSTANCE, connection)) {
+      return ConnectorLogSettings.SYNCHRONOUS;
+    }
+    return new ConnectorLogSettings(true, featureFlagClient.intVariation(ConnectorLogLinesPerSecond.INSTANCE, connection));
   }
 
   private static FieldSelector createFieldSelector(final RecordSchemaValidator recordSchemaValidator,
                                                    final WorkerMetricReporter metricReporter,
                                                    final FeatureFlagClient featureFlagClient,
                                                    final UUID workspaceId,
-                                                   final UUID sourceDefinitionId) {
-    final boolean fieldSelectionEnabled = workspaceId != null && featureFlagClient.boolVariation(FieldSelectionEnabled.INSTANCE, new Multi(
-        List.of(new Workspace(workspaceId), new SourceDefinition(sourceDefinitionId))));
+                                                   final boolean fieldSelectionEnabled) {
     final boolean removeValidationLimit =
         workspaceId != null && featureFlagClient.boolVariation(RemoveValidationLimit.INSTANCE, new Workspace(workspaceId));
     return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit);
@@ -217,12 +303,34 @@ public class ReplicationWorkerFactory {
                                                            final JobRunConfig jobRunConfig,
                                                            final StandardSyncInput syncInput,
                                                            final AirbyteMessageDataExtractor airbyteMessageDataExtractor,
-                                                           final ReplicationAirbyteMessageEventPublishingHelper replicationEventPublishingHelper) {
+                                                           final ReplicationAirbyteMessageEventPublishingHelper replicationEventPublishingHelper,
+                                                           final ReplicationTelemetry replicationTelemetry) {
+    final NamespacingMapper mapper =
+        new NamespacingMapper(syncInput.getNamespaceDefinition(), syncInput.getNamespaceFormat(), syncInput.getPrefix());
+    if (usePipelinedReplication(featureFlagClient, syncInput)) {
+      log.info("Using the pipelined replication worker");
+      return new PipelinedReplicationWorker(
+          jobRunConfig.getJobId(),
+          Math.toIntExact(jobRunConfig.getAttemptId()),
+          source,
+          mapper,
+          destination,
+          messageTracker,
+          syncPersistence,
+          recordSchemaValidator,
+          fieldSelector,
+          connectorConfigUpdater,
+          heartbeatTimeoutChaperone,
+          new ReplicationFeatureFlagReader(featureFlagClient),
+          airbyteMessageDataExtractor,
+          replicationEventPublishingHelper,
+          replicationTelemetry);
+    }
     return new DefaultReplicationWorker(
         jobRunConfig.getJobId(),
         Math.toIntExact(jobRunConfig.getAttemptId()),
         source,
-        new NamespacingMapper(syncInput.getNamespaceDefinition(), syncInput.getNamespaceFormat(), syncInput.getPrefix()),
+        mapper,
         destination,
         messageTracker,
         syncPersistence,
@@ -232,7 +340,17 @@ public class ReplicationWorkerFactory {
         heartbeatTimeoutChaperone,
         new ReplicationFeatureFlagReader(featureFlagClient),
         airbyteMessageDataExtractor,
-        replicationEventPublishingHelper);
+        replicationEventPublishingHelper,
+        replicationTelemetry);
+  }
+
+  /**
+   * Whether the sync should run on the {@link PipelinedReplicationWorker}. This is evaluated per
+   * connection.
+   */
+  private static boolean usePipelinedReplication(final FeatureFlagClient featureFlagClient, final StandardSyncInput syncInput) {
+    return syncInput.getConnectionId() != null
+        && featureFlagClient.boolVariation(UsePipelinedReplication.INSTANCE, new Connection(syncInput.getConnectionId()));
   }
 
   /**
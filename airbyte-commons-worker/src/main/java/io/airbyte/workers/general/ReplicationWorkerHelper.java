@@ -153,6 +153,14 @@ class ReplicationWorkerHelper {
     timeTracker.trackReplicationEndTime();
   }
 
+  /**
+   * Release what the message tracker holds on to once the replication is over, whether it succeeded
+   * or not. The tracked stats remain available to build the replication output.
+   */
+  public void closeMessageTracker() {
+    messageTracker.close();
+  }
+
   public void endOfSource() {
     LOGGER.info("Total records read: {} ({})", recordsRead,
         FileUtils.byteCountToDisplaySize(messageTracker.getSyncStatsTracker().getTotalBytesEmitted()));
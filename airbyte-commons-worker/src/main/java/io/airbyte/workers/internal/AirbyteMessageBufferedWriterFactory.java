@@ -4,7 +4,10 @@
 
 package io.airbyte.workers.internal;
 
+import com.google.common.base.Charsets;
 import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 
 /**
  * Factory for creating airbyte message writers. Base class that the versioned writers build upon.
@@ -13,4 +16,12 @@ public interface AirbyteMessageBufferedWriterFactory {
 
   AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter);
 
+  /**
+   * Create a writer directly on top of the raw output. Implementations can override this to write
+   * bytes without going through a {@link BufferedWriter}, by default the output is wrapped in one.
+   */
+  default AirbyteMessageBufferedWriter createWriter(final OutputStream outputStream) {
+    return createWriter(new BufferedWriter(new OutputStreamWriter(outputStream, Charsets.UTF_8)));
+  }
+
 }
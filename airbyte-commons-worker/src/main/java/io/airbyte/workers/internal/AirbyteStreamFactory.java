@@ -4,8 +4,10 @@
 
 package io.airbyte.workers.internal;
 
+import io.airbyte.commons.io.IOs;
 import io.airbyte.protocol.models.AirbyteMessage;
 import java.io.BufferedReader;
+import java.io.InputStream;
 import java.util.stream.Stream;
 
 /**
@@ -15,4 +17,12 @@ public interface AirbyteStreamFactory {
 
   Stream<AirbyteMessage> create(BufferedReader bufferedReader);
 
+  /**
+   * Create the stream directly from the raw bytes. Implementations can override this to avoid
+   * decoding every line to a String, by default the input is read through a {@link BufferedReader}.
+   */
+  default Stream<AirbyteMessage> create(final InputStream inputStream) {
+    return create(IOs.newBufferedReader(inputStream));
+  }
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.concurrency.SharedIoExecutor;
+import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.protocol.models.AirbyteLogMessage;
+import io.airbyte.protocol.models.AirbyteLogMessage.Level;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Writes the logs of a connector from a background task, so that the thread reading the output of
+ * the connector only has to enqueue them.
+ * <p>
+ * Lines are buffered in a bounded queue and written in batches, each batch under a single MDC scope.
+ * Lines below WARN that don't fit in the queue are dropped and, if a max number of lines per second
+ * is set, lines below WARN over that rate are suppressed. Both are summarized in the logs every
+ * second. WARN and above are never dropped, if the queue is full they are written from the calling
+ * thread, ahead of the lines still in the queue.
+ * <p>
+ * The background task stops once the queue stayed empty for a while and the next line starts a new
+ * one, so an appender that isn't closed doesn't hold a thread. {@link #close()} writes the lines
+ * that are still pending.
+ */
+public class AsyncConnectorLogAppender implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncConnectorLogAppender.class);
+
+  public static final int DEFAULT_CAPACITY = 10_000;
+  @VisibleForTesting
+  static final int MAX_BATCH_SIZE = 500;
+  private static final long FLUSH_INTERVAL_MILLIS = 50;
+  private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long RATE_LIMIT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Consumer<AirbyteLogMessage> writer;
+  private final MdcScope.Builder mdcScopeBuilder;
+  private final int maxLinesPerSecond;
+  private final Map<String, String> context;
+  private final BlockingQueue<AirbyteLogMessage> queue;
+  private final AtomicBoolean draining = new AtomicBoolean(false);
+  private final LongAdder droppedLines = new LongAdder();
+
+  // only accessed while holding the write lock
+  private final Object writeLock = new Object();
+  private final List<AirbyteLogMessage> batch = new ArrayList<>(MAX_BATCH_SIZE);
+  private long windowStart = System.nanoTime();
+  private int linesInWindow;
+  private long suppressedLines;
+
+  /**
+   * Create an appender. The MDC of the calling thread is the one the lines are written with.
+   *
+   * @param writer writes a log line
+   * @param mdcScopeBuilder MDC scope the lines are written in
+   * @param capacity max number of lines waiting to be written
+   * @param maxLinesPerSecond max number of lines below WARN written per second, 0 or less for no
+   *        limit
+   */
+  public AsyncConnectorLogAppender(final Consumer<AirbyteLogMessage> writer,
+                                   final MdcScope.Builder mdcScopeBuilder,
+                                   final int capacity,
+                                   final int maxLinesPerSecond) {
+    this.writer = writer;
+    this.mdcScopeBuilder = mdcScopeBuilder;
+    this.maxLinesPerSecond = maxLinesPerSecond;
+    this.context = MDC.getCopyOfContextMap();
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /**
+   * Enqueue a log line. If the queue is full, a line below WARN is dropped and a WARN or above line
+   * is written right away, which waits for the batch being written if any.
+   */
+  public void append(final AirbyteLogMessage logMessage) {
+    if (!queue.offer(logMessage)) {
+      if (isWarnOrAbove(logMessage.getLevel())) {
+        writeNow(logMessage);
+      } else {
+        droppedLines.increment();
+      }
+      return;
+    }
+    if (!draining.get() && draining.compareAndSet(false, true)) {
+      SharedIoExecutor.submit(this::drain);
+    }
+  }
+
+  /**
+   * Write the pending lines from the calling thread.
+   */
+  @Override
+  public void close() {
+    while (writeBatch() == MAX_BATCH_SIZE) {
+      // keep going until the queue is empty
+    }
+    reportSkippedLines();
+  }
+
+  private void drain() {
+    if (context != null) {
+      MDC.setContextMap(context);
+    }
+    try {
+      long idleSince = System.nanoTime();
+      while (true) {
+        final int written = writeBatch();
+        if (written == MAX_BATCH_SIZE) {
+          continue;
+        }
+        if (written > 0) {
+          idleSince = System.nanoTime();
+        } else if (System.nanoTime() - idleSince > IDLE_TIMEOUT_NANOS) {
+          reportSkippedLines();
+          draining.set(false);
+          // a line appended after the queue was found empty may not have started a new task
+          if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+            return;
+          }
+          idleSince = System.nanoTime();
+        }
+        Thread.sleep(FLUSH_INTERVAL_MILLIS);
+      }
+    } catch (final InterruptedException e) {
+      draining.set(false);
+      Thread.currentThread().interrupt();
+    } catch (final RuntimeException e) {
+      draining.set(false);
+      LOGGER.error("Failed to write connector logs", e);
+    } finally {
+      MDC.clear();
+    }
+  }
+
+  private void writeNow(final AirbyteLogMessage logMessage) {
+    synchronized (writeLock) {
+      try (final var ignored = mdcScopeBuilder.build()) {
+        writer.accept(logMessage);
+      }
+    }
+  }
+
+  /**
+   * Write the next batch of lines.
+   *
+   * @return the number of lines taken from the queue
+   */
+  private int writeBatch() {
+    synchronized (writeLock) {
+      queue.drainTo(batch, MAX_BATCH_SIZE);
+      if (batch.isEmpty()) {
+        return 0;
+      }
+      final long now = System.nanoTime();
+      if (now - windowStart >= RATE_LIMIT_WINDOW_NANOS) {
+        reportSkippedLines();
+        windowStart = now;
+        linesInWindow = 0;
+      }
+      try (final var ignored = mdcScopeBuilder.build()) {
+        for (final AirbyteLogMessage logMessage : batch) {
+          if (isRateLimited(logMessage)) {
+            suppressedLines++;
+          } else {
+            writer.accept(logMessage);
+          }
+        }
+      }
+      final int taken = batch.size();
+      batch.clear();
+      return taken;
+    }
+  }
+
+  private boolean isRateLimited(final AirbyteLogMessage logMessage) {
+    if (maxLinesPerSecond <= 0 || isWarnOrAbove(logMessage.getLevel())) {
+      return false;
+    }
+    return ++linesInWindow > maxLinesPerSecond;
+  }
+
+  private static boolean isWarnOrAbove(final Level level) {
+    return level == Level.WARN || level == Level.ERROR || level == Level.FATAL;
+  }
+
+  private void reportSkippedLines() {
+    synchronized (writeLock) {
+      final long dropped = droppedLines.sumThenReset();
+      if (suppressedLines == 0 && dropped == 0) {
+        return;
+      }
+      final String message = String.format("%d log lines suppressed: %d over the limit of %d lines per second, %d dropped because the "
+          + "log buffer was full", suppressedLines + dropped, suppressedLines, maxLinesPerSecond, dropped);
+      suppressedLines = 0;
+      try (final var ignored = mdcScopeBuilder.build()) {
+        writer.accept(new AirbyteLogMessage().withLevel(Level.WARN).withMessage(message));
+      }
+    }
+  }
+
+}
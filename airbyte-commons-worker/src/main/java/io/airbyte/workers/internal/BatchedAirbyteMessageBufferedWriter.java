@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write protocol objects in a specified version, batching them in memory before sending them to the
+ * destination.
+ * <p>
+ * Messages are serialized straight to bytes in a buffer that is reused between batches, through a
+ * single generator. The buffer is sent to the output when it holds more than a given number of
+ * bytes or messages, or when a given time has passed since the last flush. The time is only checked
+ * when a message is written, so the buffer is also flushed right after a STATE message: the
+ * destination can only commit the records before a state once it received that state, a state
+ * must not wait in the buffer for a next message that may take a while to come.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> type of protocol object.
+ */
+public class BatchedAirbyteMessageBufferedWriter<T> implements AirbyteMessageBufferedWriter {
+
+  private static final char NEW_LINE = '\n';
+  private static final int MAX_INITIAL_BUFFER_SIZE = 16 * 1024 * 1024;
+
+  private final OutputStream output;
+  private final AirbyteMessageSerializer<T> serializer;
+  private final AirbyteMessageVersionedMigrator<T> migrator;
+  private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final boolean recordPassthrough;
+  private final int maxBufferedBytes;
+  private final int maxBufferedMessages;
+  private final long maxFlushIntervalNanos;
+  private final MetricClient metricClient;
+
+  private final ByteArrayOutputStream buffer;
+  private final JsonGenerator generator;
+  private int bufferedMessages = 0;
+  private long lastFlushNanos;
+
+  /**
+   * Create a writer.
+   *
+   * @param recordPassthrough if true, unmodified {@link PassthroughAirbyteRecordMessage} are written
+   *        as they were read. Must only be set if the messages don't need to be downgraded.
+   * @param maxBufferedBytes flush once the buffer holds at least this many bytes
+   * @param maxBufferedMessages flush once the buffer holds this many messages
+   * @param maxFlushInterval flush on the next write once this much time has passed since the last
+   *        flush
+   */
+  public BatchedAirbyteMessageBufferedWriter(final OutputStream output,
+                                             final AirbyteMessageSerializer<T> serializer,
+                                             final AirbyteMessageVersionedMigrator<T> migrator,
+                                             final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                             final boolean recordPassthrough,
+                                             final int maxBufferedBytes,
+                                             final int maxBufferedMessages,
+                                             final Duration maxFlushInterval,
+                                             final MetricClient metricClient)
+      throws IOException {
+    this.output = output;
+    this.serializer = serializer;
+    this.migrator = migrator;
+    this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.recordPassthrough = recordPassthrough;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.maxBufferedMessages = maxBufferedMessages;
+    this.maxFlushIntervalNanos = maxFlushInterval.toNanos();
+    this.metricClient = metricClient;
+
+    // sized so that a full batch usually fits without growing
+    this.buffer = new ByteArrayOutputStream(Math.min(maxBufferedBytes, MAX_INITIAL_BUFFER_SIZE));
+    this.generator = Jsons.createGenerator(buffer);
+    // messages are separated by new lines, not by the default space
+    this.generator.setRootValueSeparator(null);
+    this.lastFlushNanos = System.nanoTime();
+  }
+
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    if (recordPassthrough
+        && message.getRecord() instanceof PassthroughAirbyteRecordMessage passthroughRecord
+        && passthroughRecord.canPassthrough()) {
+      passthroughRecord.writeRawMessage(generator);
+    } else {
+      serializer.serialize(migrator.downgrade(message, configuredAirbyteCatalog), generator);
+    }
+    generator.writeRaw(NEW_LINE);
+    // moves the generator's own buffer into ours, this is a memory copy, not a write to the output
+    generator.flush();
+    bufferedMessages++;
+
+    if (message.getType() == AirbyteMessage.Type.STATE
+        || buffer.size() >= maxBufferedBytes
+        || bufferedMessages >= maxBufferedMessages
+        || System.nanoTime() - lastFlushNanos >= maxFlushIntervalNanos) {
+      flush();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    generator.flush();
+    final int bufferedBytes = buffer.size();
+    if (bufferedBytes > 0) {
+      final long start = System.nanoTime();
+      buffer.writeTo(output);
+      output.flush();
+      final long end = System.nanoTime();
+
+      metricClient.distribution(OssMetricsRegistry.DESTINATION_WRITER_FLUSH_LATENCY_MILLIS, TimeUnit.NANOSECONDS.toMillis(end - start));
+      metricClient.distribution(OssMetricsRegistry.DESTINATION_WRITER_BYTES_PER_FLUSH, bufferedBytes);
+
+      buffer.reset();
+      lastFlushNanos = end;
+    } else {
+      output.flush();
+    }
+    bufferedMessages = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    generator.close();
+    output.close();
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.version.Version;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory for creating a writer that batches protocol messages in a specific protocol version, see
+ * {@link BatchedAirbyteMessageBufferedWriter}. Batching only applies when writing to an
+ * {@link OutputStream}, writers created on a {@link BufferedWriter} are regular versioned writers.
+ */
+public class BatchedAirbyteMessageBufferedWriterFactory implements AirbyteMessageBufferedWriterFactory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchedAirbyteMessageBufferedWriterFactory.class);
+
+  public static final int DEFAULT_MAX_BUFFERED_BYTES = 4 * 1024 * 1024;
+  public static final int DEFAULT_MAX_BUFFERED_MESSAGES = 10_000;
+  public static final Duration DEFAULT_MAX_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+  private final AirbyteMessageSerDeProvider serDeProvider;
+  private final AirbyteProtocolVersionedMigratorFactory migratorFactory;
+  private final Version protocolVersion;
+  private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final int maxBufferedBytes;
+  private final int maxBufferedMessages;
+  private final Duration maxFlushInterval;
+  private final MetricClient metricClient;
+  private final VersionedAirbyteMessageBufferedWriterFactory unbatchedWriterFactory;
+
+  public BatchedAirbyteMessageBufferedWriterFactory(final AirbyteMessageSerDeProvider serDeProvider,
+                                                    final AirbyteProtocolVersionedMigratorFactory migratorFactory,
+                                                    final Version protocolVersion,
+                                                    final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
+    this(serDeProvider, migratorFactory, protocolVersion, configuredAirbyteCatalog, DEFAULT_MAX_BUFFERED_BYTES, DEFAULT_MAX_BUFFERED_MESSAGES,
+        DEFAULT_MAX_FLUSH_INTERVAL, MetricClientFactory.getMetricClient());
+  }
+
+  public BatchedAirbyteMessageBufferedWriterFactory(final AirbyteMessageSerDeProvider serDeProvider,
+                                                    final AirbyteProtocolVersionedMigratorFactory migratorFactory,
+                                                    final Version protocolVersion,
+                                                    final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                                    final int maxBufferedBytes,
+                                                    final int maxBufferedMessages,
+                                                    final Duration maxFlushInterval,
+                                                    final MetricClient metricClient) {
+    this.serDeProvider = serDeProvider;
+    this.migratorFactory = migratorFactory;
+    this.protocolVersion = protocolVersion;
+    this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.maxBufferedMessages = maxBufferedMessages;
+    this.maxFlushInterval = maxFlushInterval;
+    this.metricClient = metricClient;
+    this.unbatchedWriterFactory =
+        new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, protocolVersion, configuredAirbyteCatalog);
+  }
+
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(final BufferedWriter bufferedWriter) {
+    return unbatchedWriterFactory.createWriter(bufferedWriter);
+  }
+
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(final OutputStream outputStream) {
+    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    LOGGER.info(
+        "Writing messages to protocol version {}{}, in batches of up to {} bytes, {} messages or {}",
+        protocolVersion.serialize(),
+        needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "",
+        maxBufferedBytes,
+        maxBufferedMessages,
+        maxFlushInterval);
+    try {
+      return new BatchedAirbyteMessageBufferedWriter<>(
+          outputStream,
+          serDeProvider.getSerializer(protocolVersion).orElseThrow(),
+          migratorFactory.getAirbyteMessageMigrator(protocolVersion),
+          configuredAirbyteCatalog,
+          !needMigration,
+          maxBufferedBytes,
+          maxBufferedMessages,
+          maxFlushInterval,
+          metricClient);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
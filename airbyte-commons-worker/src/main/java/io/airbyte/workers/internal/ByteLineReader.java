@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits a byte channel into new line separated lines without decoding them.
+ * <p>
+ * Bytes are read into a single buffer that is reused for the whole stream. Lines are exposed as a
+ * slice of that buffer ({@link #array()}, {@link #lineOffset()}, {@link #lineLength()}), which is
+ * only valid until the next call to {@link #readLine()}. This lets the caller hand the bytes
+ * directly to a parser and know the size of the line without converting it to a String first.
+ * <p>
+ * Lines are terminated by '\n', '\r' or "\r\n", like {@link java.io.BufferedReader#readLine()}. The
+ * last line doesn't need to be terminated. The buffer grows to fit lines longer than it and shrinks
+ * back once they have been consumed.
+ * <p>
+ * This class is not thread safe.
+ */
+public class ByteLineReader implements Closeable {
+
+  @VisibleForTesting
+  static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  private static final byte LF = '\n';
+  private static final byte CR = '\r';
+
+  private final ReadableByteChannel channel;
+  private final int initialBufferSize;
+
+  // the buffer is heap allocated on purpose, the parsers need a byte[] to read from
+  private ByteBuffer buffer;
+  // position of the first byte of the line being read
+  private int lineStart = 0;
+  // position up to which the current line has been scanned for a new line
+  private int scanPosition = 0;
+  // end of the bytes read from the channel
+  private int dataEnd = 0;
+  private boolean endOfInput = false;
+  // the previous line ended with a '\r', so a '\n' right after it belongs to the same terminator
+  private boolean skipLineFeed = false;
+
+  private int currentLineOffset = 0;
+  private int currentLineLength = 0;
+
+  public ByteLineReader(final InputStream inputStream) {
+    this(toChannel(inputStream), DEFAULT_BUFFER_SIZE);
+  }
+
+  public ByteLineReader(final ReadableByteChannel channel, final int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive, got " + bufferSize);
+    }
+    this.channel = channel;
+    this.initialBufferSize = bufferSize;
+    this.buffer = ByteBuffer.allocate(bufferSize);
+  }
+
+  private static ReadableByteChannel toChannel(final InputStream inputStream) {
+    if (inputStream instanceof FileInputStream fileInputStream) {
+      return fileInputStream.getChannel();
+    }
+    return Channels.newChannel(inputStream);
+  }
+
+  /**
+   * Move to the next line.
+   *
+   * @return true if a line is available, false if the end of the input has been reached.
+   * @throws IOException if reading from the channel fails
+   */
+  public boolean readLine() throws IOException {
+    while (true) {
+      // looked up on every iteration since filling the buffer may replace it
+      final byte[] bytes = buffer.array();
+      if (skipLineFeed && lineStart < dataEnd) {
+        skipLineFeed = false;
+        if (bytes[lineStart] == LF) {
+          lineStart++;
+          scanPosition = lineStart;
+        }
+      }
+      for (int i = scanPosition; i < dataEnd; i++) {
+        if (bytes[i] == LF || bytes[i] == CR) {
+          setCurrentLine(lineStart, i);
+          skipLineFeed = bytes[i] == CR;
+          lineStart = i + 1;
+          scanPosition = lineStart;
+          return true;
+        }
+      }
+      scanPosition = dataEnd;
+
+      if (endOfInput || !fill()) {
+        endOfInput = true;
+        if (lineStart < dataEnd) {
+          setCurrentLine(lineStart, dataEnd);
+          lineStart = dataEnd;
+          scanPosition = dataEnd;
+          return true;
+        }
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Backing array of the current line. The array may change between lines.
+   */
+  public byte[] array() {
+    return buffer.array();
+  }
+
+  public int lineOffset() {
+    return currentLineOffset;
+  }
+
+  public int lineLength() {
+    return currentLineLength;
+  }
+
+  /**
+   * Decode the current line. Meant for the cases where a String is actually needed, it defeats the
+   * purpose of this class otherwise.
+   */
+  public String lineAsString() {
+    return new String(buffer.array(), currentLineOffset, currentLineLength, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void setCurrentLine(final int start, final int end) {
+    currentLineOffset = start;
+    currentLineLength = end - start;
+  }
+
+  /**
+   * Read more bytes from the channel, making room for them first if needed.
+   *
+   * @return false if the end of the input has been reached.
+   */
+  private boolean fill() throws IOException {
+    makeRoom();
+    buffer.limit(buffer.capacity()).position(dataEnd);
+    int read = 0;
+    while (read == 0) {
+      read = channel.read(buffer);
+    }
+    if (read < 0) {
+      return false;
+    }
+    dataEnd += read;
+    return true;
+  }
+
+  /**
+   * Ensure there is free space at the end of the buffer. The pending bytes of the current line are
+   * moved to the beginning of the buffer, which is grown if the line already fills it, or shrunk back
+   * to its initial size after a long line if possible.
+   */
+  private void makeRoom() {
+    final int pending = dataEnd - lineStart;
+    final int capacity = buffer.capacity();
+    final ByteBuffer target;
+    if (pending == capacity) {
+      target = ByteBuffer.allocate(Math.multiplyExact(capacity, 2));
+    } else if (capacity > initialBufferSize && pending < initialBufferSize) {
+      target = ByteBuffer.allocate(initialBufferSize);
+    } else if (dataEnd == capacity) {
+      target = buffer;
+    } else {
+      return;
+    }
+
+    System.arraycopy(buffer.array(), lineStart, target.array(), 0, pending);
+    buffer = target;
+    scanPosition -= lineStart;
+    dataEnd = pending;
+    lineStart = 0;
+  }
+
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+/**
+ * How the logs of a connector are written to the job logs.
+ *
+ * @param async whether logs are handed to a background appender instead of being written by the
+ *        thread reading the connector output, see {@link AsyncConnectorLogAppender}.
+ * @param maxLinesPerSecond max number of log lines below WARN written per second by the background
+ *        appender, 0 or less for no limit.
+ */
+public record ConnectorLogSettings(boolean async, int maxLinesPerSecond) {
+
+  public static final ConnectorLogSettings SYNCHRONOUS = new ConnectorLogSettings(false, 0);
+
+}
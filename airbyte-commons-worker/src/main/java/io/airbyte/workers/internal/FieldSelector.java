@@ -5,20 +5,17 @@
 package io.airbyte.workers.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.RecordSchemaValidator;
 import io.airbyte.workers.WorkerMetricReporter;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -27,6 +24,15 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 
 /**
  * Handles FieldSelection.
+ * <p>
+ * The fields of each stream are resolved once from the catalog into a {@link StreamFields}, and the
+ * one of the current stream is kept until a record of another stream comes in. Filtering and
+ * unexpected field detection are then a single pass over the field names of the record, which
+ * doesn't allocate anything unless a field is unexpected.
+ * <p>
+ * Only the records that the {@link RecordSchemaValidator} samples are validated and checked for
+ * unexpected fields, passthrough records included. Validating a passthrough record deserializes its
+ * data, which is why record passthrough is only enabled along with sampled validation.
  */
 @Slf4j
 public class FieldSelector {
@@ -37,9 +43,8 @@ public class FieldSelector {
    */
   private final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> uncountedValidationErrors = new ConcurrentHashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields = new HashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
+  private final Map<AirbyteStreamNameNamespacePair, StreamFields> streamToFields = new HashMap<>();
+  private StreamFields currentStreamFields;
 
   private final RecordSchemaValidator recordSchemaValidator;
   private final WorkerMetricReporter metricReporter;
@@ -60,10 +65,19 @@ public class FieldSelector {
    * Initialize the FieldSelector instance with the fields from the catalog.
    */
   public void populateFields(final ConfiguredAirbyteCatalog catalog) {
-    if (fieldSelectionEnabled) {
-      populatedStreamToSelectedFields(catalog);
+    for (final var s : catalog.getStreams()) {
+      final Set<String> fields = new HashSet<>();
+      final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
+      if (propertiesNode.isObject()) {
+        // Jackson interns the field names it parses, interning ours lets most lookups match on identity
+        propertiesNode.fieldNames().forEachRemaining((fieldName) -> fields.add(fieldName.intern()));
+      } else {
+        throw new RuntimeException("No properties node in stream schema");
+      }
+      final AirbyteStreamNameNamespacePair stream = AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s);
+      streamToFields.put(stream, new StreamFields(stream, fields));
     }
-    populateStreamToAllFields(catalog);
+    currentStreamFields = null;
   }
 
   /**
@@ -72,10 +86,19 @@ public class FieldSelector {
    * @param airbyteMessage message to validate.
    */
   public void validateSchema(final AirbyteMessage airbyteMessage) {
+    final AirbyteRecordMessage record = airbyteMessage.getRecord();
+    if (record == null) {
+      return;
+    }
+
+    final StreamFields streamFields = getStreamFields(record);
+    if (!recordSchemaValidator.shouldValidate(streamFields.stream)) {
+      return;
+    }
     if (removeValidationLimit) {
-      validateSchemaUncounted(airbyteMessage);
+      validateSchemaUncounted(record, streamFields);
     } else {
-      validateSchemaWithCount(airbyteMessage);
+      validateSchemaWithCount(record, streamFields);
     }
   }
 
@@ -96,11 +119,20 @@ public class FieldSelector {
       return;
     }
 
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    final List<String> selectedFields = streamToSelectedFields.getOrDefault(messageStream, Collections.emptyList());
+    final Set<String> selectedFields = getStreamFields(record).fields;
     final JsonNode data = record.getData();
     if (data.isObject()) {
-      ((ObjectNode) data).retain(selectedFields);
+      boolean removedFields = false;
+      final Iterator<String> fieldNames = data.fieldNames();
+      while (fieldNames.hasNext()) {
+        if (!selectedFields.contains(fieldNames.next())) {
+          fieldNames.remove();
+          removedFields = true;
+        }
+      }
+      if (removedFields && record instanceof PassthroughAirbyteRecordMessage passthroughRecord) {
+        passthroughRecord.invalidateRawMessage();
+      }
     } else {
       throw new RuntimeException(String.format("Unexpected data in record: %s", data.toString()));
     }
@@ -125,8 +157,9 @@ public class FieldSelector {
         metricReporter.trackSchemaValidationErrors(stream, errorPair.getLeft());
       });
     }
-    unexpectedFields.forEach((stream, unexpectedFieldNames) -> {
-      if (!unexpectedFieldNames.isEmpty()) {
+    streamToFields.forEach((stream, streamFields) -> {
+      final Set<String> unexpectedFieldNames = streamFields.unexpectedFields;
+      if (unexpectedFieldNames != null && !unexpectedFieldNames.isEmpty()) {
         log.warn("Source {} has unexpected fields [{}] in stream {}", sourceId, String.join(", ", unexpectedFieldNames), stream);
         metricReporter.trackUnexpectedFields(stream, unexpectedFieldNames);
       }
@@ -134,80 +167,40 @@ public class FieldSelector {
   }
 
   /**
-   * Generates a map from stream -> the explicit list of fields included for that stream, according to
-   * the configured catalog. Since the configured catalog only includes the selected fields, this lets
-   * us filter records to only the fields explicitly requested.
-   *
-   * @param catalog catalog
+   * Get the fields of the stream of the record. The fields are only looked up when the stream
+   * differs from the stream of the previous record.
    */
-  private void populatedStreamToSelectedFields(final ConfiguredAirbyteCatalog catalog) {
-    for (final var s : catalog.getStreams()) {
-      final List<String> selectedFields = new ArrayList<>();
-      final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
-      if (propertiesNode.isObject()) {
-        propertiesNode.fieldNames().forEachRemaining((fieldName) -> selectedFields.add(fieldName));
-      } else {
-        throw new RuntimeException("No properties node in stream schema");
-      }
-      streamToSelectedFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s), selectedFields);
+  private StreamFields getStreamFields(final AirbyteRecordMessage record) {
+    final StreamFields streamFields = currentStreamFields;
+    if (streamFields != null
+        && Objects.equals(streamFields.stream.getName(), record.getStream())
+        && Objects.equals(streamFields.stream.getNamespace(), record.getNamespace())) {
+      return streamFields;
     }
-  }
 
-  /**
-   * Populates a map for stream -> all the top-level fields in the catalog. Used to identify any
-   * unexpected top-level fields in the records.
-   *
-   * @param catalog catalog
-   */
-  private void populateStreamToAllFields(final ConfiguredAirbyteCatalog catalog) {
-    for (final var s : catalog.getStreams()) {
-      final Set<String> fields = new HashSet<>();
-      final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
-      if (propertiesNode.isObject()) {
-        propertiesNode.fieldNames().forEachRemaining((fieldName) -> fields.add(fieldName));
-      } else {
-        throw new RuntimeException("No properties node in stream schema");
-      }
-      streamToAllFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s), fields);
-    }
+    // A stream missing from the catalog has no fields: all its fields are filtered out and unexpected
+    currentStreamFields = streamToFields.computeIfAbsent(AirbyteStreamNameNamespacePair.fromRecordMessage(record),
+        stream -> new StreamFields(stream, Set.of()));
+    return currentStreamFields;
   }
 
-  private void validateSchemaUncounted(final AirbyteMessage message) {
-    if (message.getRecord() == null) {
-      return;
-    }
-
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-
-    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors);
-    final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
-    if (!unexpectedFieldNames.isEmpty()) {
-      unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
-    }
+  private void validateSchemaUncounted(final AirbyteRecordMessage record, final StreamFields streamFields) {
+    recordSchemaValidator.validateSchemaWithoutCounting(record, streamFields.stream, uncountedValidationErrors);
+    collectUnexpectedFieldNames(record, streamFields);
   }
 
-  private void validateSchemaWithCount(final AirbyteMessage message) {
-    if (message.getRecord() == null) {
-      return;
-    }
-
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+  private void validateSchemaWithCount(final AirbyteRecordMessage record, final StreamFields streamFields) {
+    final AirbyteStreamNameNamespacePair messageStream = streamFields.stream;
     // avoid noise by validating only if the stream has less than 10 records with validation errors
-    final boolean streamHasLessThenTenErrs = validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getRight() < 10;
+    final ImmutablePair<Set<String>, Integer> streamErrors = validationErrors.get(messageStream);
+    final boolean streamHasLessThenTenErrs = streamErrors == null || streamErrors.getRight() < 10;
     if (streamHasLessThenTenErrs) {
       recordSchemaValidator.validateSchema(record, messageStream, validationErrors);
-      final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
-      if (!unexpectedFieldNames.isEmpty()) {
-        unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
-      }
+      collectUnexpectedFieldNames(record, streamFields);
     }
   }
 
-  private static Set<String> getUnexpectedFieldNames(final AirbyteRecordMessage record,
-                                                     final Set<String> fieldsInCatalog) {
-    Set<String> unexpectedFieldNames = new HashSet<>();
+  private static void collectUnexpectedFieldNames(final AirbyteRecordMessage record, final StreamFields streamFields) {
     final JsonNode data = record.getData();
     // If it's not an object it's malformed, but we tolerate it here - it will be logged as an error by
     // the validation.
@@ -215,12 +208,36 @@ public class FieldSelector {
       final Iterator<String> fieldNamesInRecord = data.fieldNames();
       while (fieldNamesInRecord.hasNext()) {
         final String fieldName = fieldNamesInRecord.next();
-        if (!fieldsInCatalog.contains(fieldName)) {
-          unexpectedFieldNames.add(fieldName);
+        if (!streamFields.fields.contains(fieldName)) {
+          streamFields.addUnexpectedField(fieldName);
         }
       }
     }
-    return unexpectedFieldNames;
+  }
+
+  /**
+   * Top-level fields of a stream in the catalog, and what was seen in the records of the stream.
+   * Since the configured catalog only includes the selected fields, these are also the fields that
+   * are kept by field selection.
+   */
+  private static final class StreamFields {
+
+    private final AirbyteStreamNameNamespacePair stream;
+    private final Set<String> fields;
+    private Set<String> unexpectedFields;
+
+    private StreamFields(final AirbyteStreamNameNamespacePair stream, final Set<String> fields) {
+      this.stream = stream;
+      this.fields = fields;
+    }
+
+    private void addUnexpectedField(final String fieldName) {
+      if (unexpectedFields == null) {
+        unexpectedFields = new HashSet<>();
+      }
+      unexpectedFields.add(fieldName);
+    }
+
   }
 
 }
@@ -4,7 +4,7 @@
 
 package io.airbyte.workers.internal;
 
-import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.CatalogCopier;
 import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
@@ -37,7 +37,7 @@ public class NamespacingMapper implements AirbyteMapper {
 
   @Override
   public ConfiguredAirbyteCatalog mapCatalog(final ConfiguredAirbyteCatalog inputCatalog) {
-    final ConfiguredAirbyteCatalog catalog = Jsons.clone(inputCatalog);
+    final ConfiguredAirbyteCatalog catalog = CatalogCopier.copy(inputCatalog);
     catalog.getStreams().forEach(s -> {
       final AirbyteStream stream = s.getStream();
       // Default behavior if namespaceDefinition is not set is to follow SOURCE
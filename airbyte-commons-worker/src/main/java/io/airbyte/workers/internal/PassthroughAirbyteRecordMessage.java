@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Record message that keeps the line it was read from instead of deserializing its data.
+ * <p>
+ * Only the envelope of the record (stream, namespace and emitted_at) is read with a streaming
+ * parser, the data is skipped. It is only deserialized the first time {@link #getData()} is called.
+ * As long as the record hasn't been modified, the original line can be forwarded as-is to the
+ * destination, which saves a full deserialization and serialization round trip per record.
+ * <p>
+ * The data must not be modified in place without calling {@link #invalidateRawMessage()}, since
+ * this can't be detected.
+ */
+public class PassthroughAirbyteRecordMessage extends AirbyteRecordMessage {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String RECORD_TYPE = Type.RECORD.value();
+
+  private final String rawMessage;
+  private final int messageStart;
+  private final int messageEnd;
+  private final int dataStart;
+  private final int dataEnd;
+  private final String originalStream;
+  private final String originalNamespace;
+
+  private volatile boolean dataParsed = false;
+  private volatile boolean rawMessageValid = true;
+
+  private PassthroughAirbyteRecordMessage(final String rawMessage,
+                                          final int messageStart,
+                                          final int messageEnd,
+                                          final int dataStart,
+                                          final int dataEnd,
+                                          final String stream,
+                                          final String namespace,
+                                          final Long emittedAt) {
+    this.rawMessage = rawMessage;
+    this.messageStart = messageStart;
+    this.messageEnd = messageEnd;
+    this.dataStart = dataStart;
+    this.dataEnd = dataEnd;
+    this.originalStream = stream;
+    this.originalNamespace = namespace;
+    super.setStream(stream);
+    super.setNamespace(namespace);
+    super.setEmittedAt(emittedAt);
+  }
+
+  /**
+   * Try to read a line as a record message without deserializing its data.
+   *
+   * @param line line emitted by the connector
+   * @return the record message if the line is a plain record, empty otherwise. Any other message,
+   *         including records with fields the platform doesn't know about, should go through the
+   *         regular deserialization.
+   */
+  public static Optional<AirbyteMessage> tryParse(final String line) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(line)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Optional.empty();
+      }
+      final int messageStart = Math.toIntExact(parser.getTokenLocation().getCharOffset());
+
+      String type = null;
+      RecordEnvelope record = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        switch (fieldName) {
+          case "type" -> {
+            if (value != JsonToken.VALUE_STRING || !RECORD_TYPE.equals(parser.getText())) {
+              return Optional.empty();
+            }
+            type = RECORD_TYPE;
+          }
+          case "record" -> {
+            if (value != JsonToken.START_OBJECT) {
+              return Optional.empty();
+            }
+            record = parseRecord(parser);
+            if (record == null) {
+              return Optional.empty();
+            }
+          }
+          default -> {
+            return Optional.empty();
+          }
+        }
+      }
+      final int messageEnd = Math.toIntExact(parser.getCurrentLocation().getCharOffset());
+
+      // anything after the message means the line needs the regular handling
+      if (type == null || record == null || parser.nextToken() != null) {
+        return Optional.empty();
+      }
+
+      final PassthroughAirbyteRecordMessage passthroughRecord = new PassthroughAirbyteRecordMessage(line, messageStart, messageEnd,
+          record.dataStart(), record.dataEnd(), record.stream(), record.namespace(), record.emittedAt());
+      return Optional.of(new AirbyteMessage().withType(Type.RECORD).withRecord(passthroughRecord));
+    } catch (final IOException | ArithmeticException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Read the content of the record object, the parser must be positioned on its START_OBJECT.
+   *
+   * @return the envelope and the data boundaries, null if the record is invalid or has unknown
+   *         fields.
+   */
+  private static RecordEnvelope parseRecord(final JsonParser parser) throws IOException {
+    String stream = null;
+    String namespace = null;
+    Long emittedAt = null;
+    int dataStart = -1;
+    int dataEnd = -1;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken value = parser.nextToken();
+      switch (fieldName) {
+        case "stream" -> {
+          if (value != JsonToken.VALUE_STRING) {
+            return null;
+          }
+          stream = parser.getText();
+        }
+        case "namespace" -> {
+          if (value == JsonToken.VALUE_STRING) {
+            namespace = parser.getText();
+          } else if (value != JsonToken.VALUE_NULL) {
+            return null;
+          }
+        }
+        case "emitted_at" -> {
+          if (value != JsonToken.VALUE_NUMBER_INT) {
+            return null;
+          }
+          emittedAt = parser.getLongValue();
+        }
+        case "data" -> {
+          if (value != JsonToken.START_OBJECT && value != JsonToken.START_ARRAY) {
+            return null;
+          }
+          dataStart = Math.toIntExact(parser.getTokenLocation().getCharOffset());
+          parser.skipChildren();
+          dataEnd = Math.toIntExact(parser.getCurrentLocation().getCharOffset());
+        }
+        default -> {
+          return null;
+        }
+      }
+    }
+
+    if (stream == null || dataStart < 0) {
+      return null;
+    }
+    return new RecordEnvelope(stream, namespace, emittedAt, dataStart, dataEnd);
+  }
+
+  /**
+   * Whether the original line still represents this record, i.e. the record hasn't been modified
+   * since it was read.
+   */
+  public boolean canPassthrough() {
+    return rawMessageValid
+        && Objects.equals(originalStream, getStream())
+        && Objects.equals(originalNamespace, getNamespace());
+  }
+
+  /**
+   * Mark the original line as stale. Must be called by anything modifying the data in place.
+   */
+  public void invalidateRawMessage() {
+    rawMessageValid = false;
+  }
+
+  /**
+   * Write the original message, without the trailing new line.
+   */
+  public void writeRawMessage(final Writer writer) throws IOException {
+    writer.write(rawMessage, messageStart, messageEnd - messageStart);
+  }
+
+  /**
+   * Write the original message to a generator, without the trailing new line.
+   */
+  public void writeRawMessage(final JsonGenerator generator) throws IOException {
+    generator.writeRaw(rawMessage, messageStart, messageEnd - messageStart);
+  }
+
+  /**
+   * Size of the serialized data, computed without deserializing it. Like
+   * {@link Jsons#getEstimatedByteSize(JsonNode)} on the data, this is the length of the compact JSON,
+   * so the whitespace the connector formatted the data with is not counted. Escapes and numbers are
+   * counted as the connector wrote them, which may differ from how they would be serialized, e.g. 1E2
+   * instead of 100.0.
+   */
+  @JsonIgnore
+  public int getEstimatedDataByteSize() {
+    if (!rawMessageValid) {
+      return Jsons.getEstimatedByteSize(getData());
+    }
+
+    int size = 0;
+    boolean inString = false;
+    for (int i = dataStart; i < dataEnd; i++) {
+      final char c = rawMessage.charAt(i);
+      if (inString) {
+        if (c == '\\') {
+          // the escaped char can't end the string
+          size++;
+          i++;
+        } else if (c == '"') {
+          inString = false;
+        }
+        size++;
+      } else if (c == '"') {
+        inString = true;
+        size++;
+      } else if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public JsonNode getData() {
+    if (!dataParsed) {
+      synchronized (this) {
+        if (!dataParsed) {
+          super.setData(Jsons.deserialize(rawMessage.substring(dataStart, dataEnd)));
+          dataParsed = true;
+        }
+      }
+    }
+    return super.getData();
+  }
+
+  @Override
+  public void setData(final JsonNode data) {
+    synchronized (this) {
+      super.setData(data);
+      dataParsed = true;
+      rawMessageValid = false;
+    }
+  }
+
+  @Override
+  public AirbyteRecordMessage withData(final JsonNode data) {
+    setData(data);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    getData();
+    return super.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    getData();
+    return super.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    getData();
+    if (other instanceof PassthroughAirbyteRecordMessage) {
+      ((PassthroughAirbyteRecordMessage) other).getData();
+    }
+    return super.equals(other);
+  }
+
+  private record RecordEnvelope(String stream, String namespace, Long emittedAt, int dataStart, int dataEnd) {}
+
+}
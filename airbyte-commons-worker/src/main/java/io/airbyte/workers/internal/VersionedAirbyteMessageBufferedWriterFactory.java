@@ -46,7 +46,8 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
         bufferedWriter,
         serDeProvider.getSerializer(protocolVersion).orElseThrow(),
         migratorFactory.getAirbyteMessageMigrator(protocolVersion),
-        configuredAirbyteCatalog);
+        configuredAirbyteCatalog,
+        !needMigration);
   }
 
 }
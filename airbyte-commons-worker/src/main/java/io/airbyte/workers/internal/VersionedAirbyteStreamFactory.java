@@ -7,6 +7,7 @@ package io.airbyte.workers.internal;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope;
 import io.airbyte.commons.protocol.AirbyteMessageMigrator;
@@ -21,6 +22,7 @@ import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
 import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
 import io.airbyte.commons.version.AirbyteProtocolVersion;
 import io.airbyte.commons.version.Version;
+import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteLogMessage;
@@ -28,14 +30,22 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,6 +80,8 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private static final int BUFFER_READ_AHEAD_LIMIT = 32000;
   private static final int MESSAGES_LOOK_AHEAD_FOR_DETECTION = 10;
   private static final String TYPE_FIELD_NAME = "type";
+  // what invalid UTF-8 bytes are decoded to
+  private static final char REPLACEMENT_CHARACTER = '\uFFFD';
 
   // BASIC PROCESSING FIELDS
   protected final Logger logger;
@@ -86,6 +98,10 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private Version protocolVersion;
 
   private boolean shouldDetectVersion = false;
+  private boolean recordPassthrough = false;
+  private boolean shouldPassthroughRecords = false;
+  private ConnectorLogSettings logSettings = ConnectorLogSettings.SYNCHRONOUS;
+  private AsyncConnectorLogAppender logAppender;
 
   /**
    * In some cases, we know the stream will never emit messages that need to be migrated. This is
@@ -173,13 +189,45 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   @Override
   public Stream<AirbyteMessage> create(final BufferedReader bufferedReader) {
     detectAndInitialiseMigrators(bufferedReader);
+    initializeLineProcessing();
+    return addLineReadLogic(bufferedReader);
+  }
+
+  /**
+   * Create the AirbyteMessage stream from the raw bytes.
+   *
+   * Lines are parsed straight from the bytes read from the input stream, they are only decoded to a
+   * String when they can't be parsed as a message or when record passthrough is enabled. Version
+   * detection needs to look ahead in the stream, so it still goes through a {@link BufferedReader}.
+   * <p>
+   * If async logs are enabled, the connector logs are written by an
+   * {@link AsyncConnectorLogAppender}, which is flushed when the end of the stream is reached or the
+   * stream is closed.
+   */
+  @Override
+  public Stream<AirbyteMessage> create(final InputStream inputStream) {
+    if (shouldDetectVersion) {
+      return create(IOs.newBufferedReader(inputStream));
+    }
+    initializeLineProcessing();
+    if (logSettings.async()) {
+      logAppender = new AsyncConnectorLogAppender(this::internalLog, containerLogMdcBuilder, AsyncConnectorLogAppender.DEFAULT_CAPACITY,
+          logSettings.maxLinesPerSecond());
+    }
+    return addLineReadLogic(new ByteLineReader(inputStream));
+  }
+
+  private void initializeLineProcessing() {
     final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
     logger.info(
         "Reading messages from protocol version {}{}",
         protocolVersion.serialize(),
         needMigration ? ", messages will be upgraded to protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
-
-    return addLineReadLogic(bufferedReader);
+    // records can only be forwarded untouched if they are already in the platform version
+    shouldPassthroughRecords = recordPassthrough && !needMigration;
+    if (shouldPassthroughRecords) {
+      logger.info("Record passthrough enabled, record data will only be deserialized when needed");
+    }
   }
 
   private void detectAndInitialiseMigrators(BufferedReader bufferedReader) {
@@ -205,30 +253,62 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     final var metricClient = MetricClientFactory.getMetricClient();
     return bufferedReader
         .lines()
-        .peek(str -> {
-          metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, str.getBytes(StandardCharsets.UTF_8).length);
-
-          if (exceptionClass.isPresent()) {
-            final long messageSize = str.getBytes(StandardCharsets.UTF_8).length;
-            if (messageSize > maxMemory * MAX_SIZE_RATIO) {
-              try {
-                final String errorMessage = String.format(
-                    "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
-                        + "The sync has been failed to prevent running out of memory.",
-                    DateTime.now(),
-                    humanReadableByteCountSI(maxMemory),
-                    humanReadableByteCountSI(messageSize));
-                throw exceptionClass.get().getConstructor(String.class).newInstance(errorMessage);
-              } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
-              }
-            }
-          }
-        })
+        .peek(str -> checkMessageSize(metricClient, str.getBytes(StandardCharsets.UTF_8).length))
         .flatMap(this::toAirbyteMessage)
         .filter(this::filterLog);
   }
 
+  private Stream<AirbyteMessage> addLineReadLogic(final ByteLineReader lineReader) {
+    final var metricClient = MetricClientFactory.getMetricClient();
+    // Each line is converted as soon as it is read since the line reader reuses its buffer.
+    final Spliterator<Stream<AirbyteMessage>> lines = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+      @Override
+      public boolean tryAdvance(final Consumer<? super Stream<AirbyteMessage>> action) {
+        try {
+          if (!lineReader.readLine()) {
+            flushLogs();
+            return false;
+          }
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        checkMessageSize(metricClient, lineReader.lineLength());
+        action.accept(toAirbyteMessage(lineReader));
+        return true;
+      }
+
+    };
+    return StreamSupport.stream(lines, false)
+        .onClose(this::flushLogs)
+        .flatMap(Function.identity())
+        .filter(this::filterLog);
+  }
+
+  private void flushLogs() {
+    if (logAppender != null) {
+      logAppender.close();
+    }
+  }
+
+  private void checkMessageSize(final MetricClient metricClient, final long messageSize) {
+    metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, messageSize);
+
+    if (exceptionClass.isPresent() && messageSize > maxMemory * MAX_SIZE_RATIO) {
+      try {
+        final String errorMessage = String.format(
+            "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
+                + "The sync has been failed to prevent running out of memory.",
+            DateTime.now(),
+            humanReadableByteCountSI(maxMemory),
+            humanReadableByteCountSI(messageSize));
+        throw exceptionClass.get().getConstructor(String.class).newInstance(errorMessage);
+      } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
   /**
    * Attempt to detect the version by scanning the stream
    *
@@ -283,6 +363,24 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return this;
   }
 
+  /**
+   * Emit records as {@link PassthroughAirbyteRecordMessage} when the connector protocol version
+   * doesn't require any migration.
+   */
+  public VersionedAirbyteStreamFactory<T> withRecordPassthrough(final boolean recordPassthrough) {
+    this.recordPassthrough = recordPassthrough;
+    return this;
+  }
+
+  /**
+   * Set how connector logs are written. Async logs only apply to streams created from an
+   * {@link InputStream} without version detection.
+   */
+  public VersionedAirbyteStreamFactory<T> withLogSettings(final ConnectorLogSettings logSettings) {
+    this.logSettings = logSettings;
+    return this;
+  }
+
   protected final void initializeForProtocolVersion(final Version protocolVersion) {
     this.deserializer = (AirbyteMessageDeserializer<AirbyteMessage>) serDeProvider.getDeserializer(protocolVersion).orElseThrow();
     this.migrator = migratorFactory.getAirbyteMessageMigrator(protocolVersion);
@@ -292,8 +390,12 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   protected boolean filterLog(final AirbyteMessage message) {
     final boolean isLog = message.getType() == AirbyteMessage.Type.LOG;
     if (isLog) {
-      try (final var ignored = containerLogMdcBuilder.build()) {
-        internalLog(message.getLog());
+      if (logAppender != null) {
+        logAppender.append(message.getLog());
+      } else {
+        try (final var ignored = containerLogMdcBuilder.build()) {
+          internalLog(message.getLog());
+        }
       }
     }
     return !isLog;
@@ -331,6 +433,8 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   /**
    * For every incoming message,
    * <p>
+   * 0. if record passthrough is enabled, read plain records without deserializing their data.
+   * <p>
    * 1. deserialize the incoming JSON string to {@link AirbyteMessage}.
    * <p>
    * 2. validate the message.
@@ -338,20 +442,67 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
    * 3. upgrade the message to the platform version, if needed.
    */
   protected Stream<AirbyteMessage> toAirbyteMessage(final String line) {
+    if (shouldPassthroughRecords) {
+      // only records with a stream and data are parsed, which is all the basic validation checks, and
+      // passthrough is only enabled when the connector is on the platform version, so there is nothing
+      // to upgrade. Their schema is validated later on, like any other record.
+      final Optional<AirbyteMessage> passthroughRecord = PassthroughAirbyteRecordMessage.tryParse(line);
+      if (passthroughRecord.isPresent()) {
+        return passthroughRecord.stream();
+      }
+    }
+
     // put back the deserializer.
-    Optional<AirbyteMessage> m = deserializer.deserialize(line);
+    final Optional<AirbyteMessage> m = deserializer.deserialize(line);
 
     if (m.isPresent()) {
-      m = BasicAirbyteMessageValidator.validate(m.get());
+      return validateAndUpgrade(m.get(), () -> line);
+    }
 
-      if (m.isEmpty()) {
-        logger.error("Validation failed: {}", Jsons.serialize(line));
-        return m.stream();
-      }
+    logNonProtocolLine(line);
+    return m.stream();
+  }
 
-      return upgradeMessage(m.get());
+  /**
+   * Same as {@link #toAirbyteMessage(String)}, reading the message from the current line of the
+   * reader. The line is only decoded if needed.
+   */
+  private Stream<AirbyteMessage> toAirbyteMessage(final ByteLineReader lineReader) {
+    if (shouldPassthroughRecords) {
+      // passthrough records keep the line they were read from
+      return toAirbyteMessage(lineReader.lineAsString());
     }
 
+    final Optional<AirbyteMessage> m = deserializer.deserialize(lineReader.array(), lineReader.lineOffset(), lineReader.lineLength());
+
+    if (m.isPresent()) {
+      // only decoded if the validation fails, this happens before the next line is read
+      return validateAndUpgrade(m.get(), lineReader::lineAsString);
+    }
+
+    final String line = lineReader.lineAsString();
+    // the bytes may not be valid UTF-8, which fails the parsing of a message that still reads fine
+    // once decoded with replacement characters, like it was read before lines were parsed as bytes.
+    // Otherwise the decoded line wouldn't parse either, it is logged without parsing it again.
+    if (line.indexOf(REPLACEMENT_CHARACTER) >= 0) {
+      return toAirbyteMessage(line);
+    }
+    logNonProtocolLine(line);
+    return Stream.empty();
+  }
+
+  private Stream<AirbyteMessage> validateAndUpgrade(final AirbyteMessage message, final Supplier<String> line) {
+    final Optional<AirbyteMessage> m = BasicAirbyteMessageValidator.validate(message);
+
+    if (m.isEmpty()) {
+      logger.error("Validation failed: {}", Jsons.serialize(line.get()));
+      return m.stream();
+    }
+
+    return upgradeMessage(m.get());
+  }
+
+  private void logNonProtocolLine(final String line) {
     // If a line cannot be deserialized into an AirbyteMessage,
     // we assume it is a log message that is mistakenly not an
     // Airbyte Log Message.
@@ -360,10 +511,13 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     // so we want to make sure this info is available in the logs.
     //
     // When Connector Ops rectifies this, we can remove this.
+    if (logAppender != null) {
+      logAppender.append(new AirbyteLogMessage().withLevel(AirbyteLogMessage.Level.INFO).withMessage(line));
+      return;
+    }
     try (final var mdcScope = containerLogMdcBuilder.build()) {
       logger.info(line);
     }
-    return m.stream();
   }
 
   protected Stream<AirbyteMessage> upgradeMessage(final AirbyteMessage msg) {
@@ -36,6 +36,9 @@ public class AirbyteMessageTracker implements MessageTracker {
   private final AtomicReference<State> sourceOutputState;
   private final AtomicReference<State> destinationOutputState;
   private final SyncStatsTracker syncStatsTracker;
+  // only the stats tracker created by this tracker is closed with it, a given one is closed by its
+  // owner, e.g. the SyncPersistence
+  private final boolean closeSyncStatsTracker;
   private final List<AirbyteTraceMessage> destinationErrorTraceMessages;
   private final List<AirbyteTraceMessage> sourceErrorTraceMessages;
   private final StateAggregator stateAggregator;
@@ -43,7 +46,7 @@ public class AirbyteMessageTracker implements MessageTracker {
   private final boolean featureFlagLogConnectorMsgs;
 
   public AirbyteMessageTracker(final FeatureFlags featureFlags) {
-    this(new DefaultSyncStatsTracker(), featureFlags);
+    this(new DefaultStateAggregator(featureFlags.useStreamCapableState()), new DefaultSyncStatsTracker(), true, featureFlags);
   }
 
   public AirbyteMessageTracker(final SyncStatsTracker syncStatsTracker, final FeatureFlags featureFlags) {
@@ -51,9 +54,25 @@ public class AirbyteMessageTracker implements MessageTracker {
   }
 
   protected AirbyteMessageTracker(final StateAggregator stateAggregator, final SyncStatsTracker syncStatsTracker, final FeatureFlags featureFlags) {
+    this(stateAggregator, syncStatsTracker, false, featureFlags);
+  }
+
+  @VisibleForTesting
+  protected AirbyteMessageTracker(final StateDeltaTracker stateDeltaTracker,
+                                  final StateAggregator stateAggregator,
+                                  final StateMetricsTracker stateMetricsTracker,
+                                  final FeatureFlags featureFlags) {
+    this(stateAggregator, new DefaultSyncStatsTracker(stateDeltaTracker, stateMetricsTracker), true, featureFlags);
+  }
+
+  private AirbyteMessageTracker(final StateAggregator stateAggregator,
+                                final SyncStatsTracker syncStatsTracker,
+                                final boolean closeSyncStatsTracker,
+                                final FeatureFlags featureFlags) {
     this.sourceOutputState = new AtomicReference<>();
     this.destinationOutputState = new AtomicReference<>();
     this.syncStatsTracker = syncStatsTracker;
+    this.closeSyncStatsTracker = closeSyncStatsTracker;
     this.destinationErrorTraceMessages = new ArrayList<>();
     this.sourceErrorTraceMessages = new ArrayList<>();
     this.stateAggregator = stateAggregator;
@@ -61,14 +80,6 @@ public class AirbyteMessageTracker implements MessageTracker {
     this.featureFlagLogConnectorMsgs = featureFlags.logConnectorMessages();
   }
 
-  @VisibleForTesting
-  protected AirbyteMessageTracker(final StateDeltaTracker stateDeltaTracker,
-                                  final StateAggregator stateAggregator,
-                                  final StateMetricsTracker stateMetricsTracker,
-                                  final FeatureFlags featureFlags) {
-    this(stateAggregator, new DefaultSyncStatsTracker(stateDeltaTracker, stateMetricsTracker), featureFlags);
-  }
-
   @Override
   public void acceptFromSource(final AirbyteMessage message) {
     logMessageAsJSON("source", message);
@@ -217,6 +228,13 @@ public class AirbyteMessageTracker implements MessageTracker {
     return syncStatsTracker;
   }
 
+  @Override
+  public void close() {
+    if (closeSyncStatsTracker) {
+      ((DefaultSyncStatsTracker) syncStatsTracker).close();
+    }
+  }
+
   private void logMessageAsJSON(final String caller, final AirbyteMessage message) {
     if (!featureFlagLogConnectorMsgs) {
       return;
@@ -6,45 +6,61 @@ package io.airbyte.workers.internal.book_keeping;
 
 import static io.airbyte.protocol.models.AirbyteEstimateTraceMessage.Type.STREAM;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
-import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.internal.PassthroughAirbyteRecordMessage;
 import io.airbyte.workers.internal.book_keeping.StateMetricsTracker.StateMetricsTrackerNoStateMatchException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Keep track of the metrics we persist for a sync.
+ * <p>
+ * Stats are updated for every record, so the per-stream counters are resolved once per change of
+ * stream rather than once per record, and totals are maintained as records come in rather than
+ * summed when requested. Updates are expected from a single thread, the counters can be read from
+ * any thread.
  */
 @Slf4j
-public class DefaultSyncStatsTracker implements SyncStatsTracker {
+public class DefaultSyncStatsTracker implements SyncStatsTracker, AutoCloseable {
 
-  private static final long STATE_DELTA_TRACKER_MEMORY_LIMIT_BYTES = 10L * 1024L * 1024L; // 10 MiB, ~5% of default cloud worker memory
+  // 10 MiB, ~5% of default cloud worker memory, state deltas past it are spilled to disk
+  private static final long STATE_DELTA_TRACKER_MEMORY_LIMIT_BYTES = 10L * 1024L * 1024L;
   private static final long STATE_METRICS_TRACKER_MESSAGE_LIMIT = 873813L; // 12 bytes per message tracked, maximum of 10MiB of memory
 
-  private final Map<AirbyteStreamNameNamespacePair, StreamStats> nameNamespacePairToStreamStats;
+  private final Map<AirbyteStreamNameNamespacePair, StreamCounters> nameNamespacePairToCounters;
+  // indexed by the stream index used by the StateDeltaTracker
+  private final List<StreamCounters> streamIndexToCounters;
+  // streams that emitted records since the last source state message
+  private final List<StreamCounters> streamsWithRunningCounts;
+  private StreamCounters lastStreamCounters;
+
+  private final LongAdder totalRecordsEmitted;
+  private final LongAdder totalBytesEmitted;
+  private final LongAdder totalRecordsEstimated;
+  private final LongAdder totalBytesEstimated;
+
   // These variables support SYNC level estimates and are meant for sources where stream level
   // estimates are not possible e.g. CDC sources.
   private Long totalRecordsEstimatedSync;
   private Long totalBytesEstimatedSync;
   private Optional<Boolean> hasStreamEstimates;
 
-  private final Map<Short, StatsCounters> streamToRunningCount;
-  private final HashFunction hashFunction;
   private final StateDeltaTracker stateDeltaTracker;
   private final StateMetricsTracker stateMetricsTracker;
   /**
@@ -58,27 +74,25 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
    */
   private boolean unreliableStateTimingMetrics;
 
-  // TODO remove? looks like some optimization, not sure it's worth it
-  private final BiMap<AirbyteStreamNameNamespacePair, Short> nameNamespacePairToIndex;
-  private short nextStreamIndex;
-
   public DefaultSyncStatsTracker() {
     this(new StateDeltaTracker(STATE_DELTA_TRACKER_MEMORY_LIMIT_BYTES), new StateMetricsTracker(STATE_METRICS_TRACKER_MESSAGE_LIMIT));
   }
 
   public DefaultSyncStatsTracker(final StateDeltaTracker stateDeltaTracker, final StateMetricsTracker stateMetricsTracker) {
-    this.nameNamespacePairToStreamStats = new HashMap<>();
+    this.nameNamespacePairToCounters = new ConcurrentHashMap<>();
+    this.streamIndexToCounters = new CopyOnWriteArrayList<>();
+    this.streamsWithRunningCounts = new ArrayList<>();
     this.hasStreamEstimates = Optional.empty();
 
-    this.streamToRunningCount = new HashMap<>();
-    this.hashFunction = Hashing.murmur3_32_fixed();
+    this.totalRecordsEmitted = new LongAdder();
+    this.totalBytesEmitted = new LongAdder();
+    this.totalRecordsEstimated = new LongAdder();
+    this.totalBytesEstimated = new LongAdder();
+
     this.stateDeltaTracker = stateDeltaTracker;
     this.stateMetricsTracker = stateMetricsTracker;
     this.unreliableCommittedCounts = false;
     this.unreliableStateTimingMetrics = false;
-
-    this.nameNamespacePairToIndex = HashBiMap.create();
-    this.nextStreamIndex = 0;
   }
 
   /**
@@ -90,24 +104,21 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
       stateMetricsTracker.setFirstRecordReceivedAt(LocalDateTime.now());
     }
 
-    final var nameNamespace = AirbyteStreamNameNamespacePair.fromRecordMessage(recordMessage);
-    final short streamIndex = getStreamIndex(nameNamespace);
-
-    StatsCounters currentRunningCount = streamToRunningCount.get(streamIndex);
-    if (currentRunningCount == null) {
-      currentRunningCount = new StatsCounters();
-      streamToRunningCount.put(streamIndex, currentRunningCount);
-    }
-    currentRunningCount.recordCount++;
-
-    final var currStats = nameNamespacePairToStreamStats.getOrDefault(nameNamespace, new StreamStats());
-    currStats.emittedRecords++;
+    final StreamCounters counters = getStreamCounters(recordMessage.getStream(), recordMessage.getNamespace());
+    final int estimatedNumBytes = recordMessage instanceof PassthroughAirbyteRecordMessage passthroughRecord
+        ? passthroughRecord.getEstimatedDataByteSize()
+        : Jsons.getEstimatedByteSize(recordMessage.getData());
 
-    final int estimatedNumBytes = Jsons.getEstimatedByteSize(recordMessage.getData());
-    currStats.emittedBytes += estimatedNumBytes;
-    currentRunningCount.bytesCount += estimatedNumBytes;
+    counters.emittedRecords.increment();
+    counters.emittedBytes.add(estimatedNumBytes);
+    totalRecordsEmitted.increment();
+    totalBytesEmitted.add(estimatedNumBytes);
 
-    nameNamespacePairToStreamStats.put(nameNamespace, currStats);
+    if (counters.runningRecordCount == 0) {
+      streamsWithRunningCounts.add(counters);
+    }
+    counters.runningRecordCount++;
+    counters.runningBytesCount += estimatedNumBytes;
   }
 
   /**
@@ -128,11 +139,13 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
       case STREAM -> {
         Preconditions.checkArgument(hasStreamEstimates.get(), "STREAM and SYNC estimates should not be emitted in the same sync.");
 
-        final var nameNamespace = new AirbyteStreamNameNamespacePair(estimate.getName(), estimate.getNamespace());
-        final var currStats = nameNamespacePairToStreamStats.getOrDefault(nameNamespace, new StreamStats());
-        currStats.estimatedRecords = estimate.getRowEstimate();
-        currStats.estimatedBytes = estimate.getByteEstimate();
-        nameNamespacePairToStreamStats.put(nameNamespace, currStats);
+        final StreamCounters counters = getStreamCounters(estimate.getName(), estimate.getNamespace());
+        final long estimatedRecords = estimate.getRowEstimate();
+        final long estimatedBytes = estimate.getByteEstimate();
+        totalRecordsEstimated.add(estimatedRecords - counters.estimatedRecords);
+        totalBytesEstimated.add(estimatedBytes - counters.estimatedBytes);
+        counters.estimatedRecords = estimatedRecords;
+        counters.estimatedBytes = estimatedBytes;
       }
       case SYNC -> {
         Preconditions.checkArgument(!hasStreamEstimates.get(), "STREAM and SYNC estimates should not be emitted in the same sync.");
@@ -156,10 +169,11 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
     stateMetricsTracker.updateMaxAndMeanSecondsToReceiveStateMessage(timeEmittedStateMessage);
     stateMetricsTracker.setLastStateMessageReceivedAt(timeEmittedStateMessage);
 
-    final int stateHash = getStateHashCode(stateMessage);
+    // computed once, both trackers identify the state by it
+    final int stateHash = StateFingerprint.of(stateMessage);
     try {
       if (!unreliableCommittedCounts) {
-        stateDeltaTracker.addState(stateHash, streamToRunningCount);
+        stateDeltaTracker.addState(stateHash, getStreamToRunningCount());
       }
       if (!unreliableStateTimingMetrics) {
         stateMetricsTracker.addState(stateMessage, stateHash, timeEmittedStateMessage);
@@ -175,7 +189,11 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
       unreliableStateTimingMetrics = true;
     }
 
-    streamToRunningCount.clear();
+    for (final StreamCounters counters : streamsWithRunningCounts) {
+      counters.runningRecordCount = 0;
+      counters.runningBytesCount = 0;
+    }
+    streamsWithRunningCounts.clear();
   }
 
   /**
@@ -186,7 +204,7 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
     final LocalDateTime timeCommitted = LocalDateTime.now();
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
 
-    final int stateHash = getStateHashCode(stateMessage);
+    final int stateHash = StateFingerprint.of(stateMessage);
     try {
       if (!unreliableCommittedCounts) {
         stateDeltaTracker.commitStateHash(stateHash);
@@ -213,8 +231,8 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
    */
   @Override
   public Map<AirbyteStreamNameNamespacePair, Long> getStreamToEmittedRecords() {
-    return nameNamespacePairToStreamStats.entrySet().stream().collect(Collectors.toMap(
-        Entry::getKey, entry -> entry.getValue().emittedRecords));
+    return nameNamespacePairToCounters.entrySet().stream().collect(Collectors.toMap(
+        Entry::getKey, entry -> entry.getValue().emittedRecords.sum()));
   }
 
   /**
@@ -222,7 +240,7 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
    */
   @Override
   public Map<AirbyteStreamNameNamespacePair, Long> getStreamToEstimatedRecords() {
-    return nameNamespacePairToStreamStats.entrySet().stream().collect(
+    return nameNamespacePairToCounters.entrySet().stream().collect(
         Collectors.toMap(
             Entry::getKey,
             entry -> entry.getValue().estimatedRecords));
@@ -233,9 +251,9 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
    */
   @Override
   public Map<AirbyteStreamNameNamespacePair, Long> getStreamToEmittedBytes() {
-    return nameNamespacePairToStreamStats.entrySet().stream().collect(Collectors.toMap(
+    return nameNamespacePairToCounters.entrySet().stream().collect(Collectors.toMap(
         Entry::getKey,
-        entry -> entry.getValue().emittedBytes));
+        entry -> entry.getValue().emittedBytes.sum()));
   }
 
   /**
@@ -243,55 +261,47 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
    */
   @Override
   public Map<AirbyteStreamNameNamespacePair, Long> getStreamToEstimatedBytes() {
-    return nameNamespacePairToStreamStats.entrySet().stream().collect(
+    return nameNamespacePairToCounters.entrySet().stream().collect(
         Collectors.toMap(
             Entry::getKey,
             entry -> entry.getValue().estimatedBytes));
   }
 
   /**
-   * Compute sum of emitted record counts across all streams.
+   * Sum of emitted record counts across all streams.
    */
   @Override
   public long getTotalRecordsEmitted() {
-    return nameNamespacePairToStreamStats.values().stream()
-        .map(stats -> stats.emittedRecords)
-        .reduce(0L, Long::sum);
+    return totalRecordsEmitted.sum();
   }
 
   /**
-   * Compute sum of estimated record counts across all streams.
+   * Sum of estimated record counts across all streams.
    */
   @Override
   public long getTotalRecordsEstimated() {
-    if (!nameNamespacePairToStreamStats.isEmpty()) {
-      return nameNamespacePairToStreamStats.values().stream()
-          .map(e -> e.estimatedRecords)
-          .reduce(0L, Long::sum);
+    if (!nameNamespacePairToCounters.isEmpty()) {
+      return totalRecordsEstimated.sum();
     }
 
     return totalRecordsEstimatedSync;
   }
 
   /**
-   * Compute sum of emitted bytes across all streams.
+   * Sum of emitted bytes across all streams.
    */
   @Override
   public long getTotalBytesEmitted() {
-    return nameNamespacePairToStreamStats.values().stream()
-        .map(e -> e.emittedBytes)
-        .reduce(0L, Long::sum);
+    return totalBytesEmitted.sum();
   }
 
   /**
-   * Compute sum of estimated bytes across all streams.
+   * Sum of estimated bytes across all streams.
    */
   @Override
   public long getTotalBytesEstimated() {
-    if (!nameNamespacePairToStreamStats.isEmpty()) {
-      return nameNamespacePairToStreamStats.values().stream()
-          .map(e -> e.estimatedBytes)
-          .reduce(0L, Long::sum);
+    if (!nameNamespacePairToCounters.isEmpty()) {
+      return totalBytesEstimated.sum();
     }
 
     return totalBytesEstimatedSync;
@@ -310,7 +320,7 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
     final Map<Short, StatsCounters> streamIndexToCommittedStats = stateDeltaTracker.getStreamToCommittedStats();
     return Optional.of(
         streamIndexToCommittedStats.entrySet().stream().collect(
-            Collectors.toMap(entry -> nameNamespacePairToIndex.inverse().get(entry.getKey()), e -> e.getValue().bytesCount)));
+            Collectors.toMap(entry -> streamIndexToCounters.get(entry.getKey()).nameNamespace, e -> e.getValue().bytesCount)));
   }
 
   /**
@@ -326,7 +336,7 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
     final Map<Short, StatsCounters> streamIndexToCommittedStats = stateDeltaTracker.getStreamToCommittedStats();
     return Optional.of(
         streamIndexToCommittedStats.entrySet().stream().collect(
-            Collectors.toMap(entry -> nameNamespacePairToIndex.inverse().get(entry.getKey()), e -> e.getValue().recordCount)));
+            Collectors.toMap(entry -> streamIndexToCounters.get(entry.getKey()).nameNamespace, e -> e.getValue().recordCount)));
   }
 
   /**
@@ -404,23 +414,70 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
     return unreliableStateTimingMetrics;
   }
 
-  private int getStateHashCode(final AirbyteStateMessage stateMessage) {
-    if (AirbyteStateType.GLOBAL == stateMessage.getType()) {
-      return hashFunction.hashBytes(Jsons.serialize(stateMessage.getGlobal()).getBytes(Charsets.UTF_8)).hashCode();
-    } else if (AirbyteStateType.STREAM == stateMessage.getType()) {
-      return hashFunction.hashBytes(Jsons.serialize(stateMessage.getStream().getStreamState()).getBytes(Charsets.UTF_8)).hashCode();
-    } else {
-      // state type is LEGACY
-      return hashFunction.hashBytes(Jsons.serialize(stateMessage.getData()).getBytes(Charsets.UTF_8)).hashCode();
+  /**
+   * Release the state deltas that were not committed, at the end of the sync. The stats tracked so
+   * far can still be read.
+   */
+  @Override
+  public void close() {
+    stateDeltaTracker.close();
+  }
+
+  /**
+   * Get the counters of a stream, creating them the first time the stream is seen. Records of a
+   * stream usually come in batches, so the last stream is checked before looking up the map, which
+   * avoids building a name/namespace pair for every record.
+   */
+  private StreamCounters getStreamCounters(final String name, final String namespace) {
+    final StreamCounters last = lastStreamCounters;
+    if (last != null && Objects.equals(last.nameNamespace.getName(), name) && Objects.equals(last.nameNamespace.getNamespace(), namespace)) {
+      return last;
     }
+
+    final var nameNamespace = new AirbyteStreamNameNamespacePair(name, namespace);
+    StreamCounters counters = nameNamespacePairToCounters.get(nameNamespace);
+    if (counters == null) {
+      Preconditions.checkState(streamIndexToCounters.size() <= Short.MAX_VALUE, "Too many streams to track stats");
+      counters = new StreamCounters(nameNamespace);
+      streamIndexToCounters.add(counters);
+      nameNamespacePairToCounters.put(nameNamespace, counters);
+    }
+    lastStreamCounters = counters;
+    return counters;
   }
 
-  private short getStreamIndex(final AirbyteStreamNameNamespacePair pair) {
-    if (!nameNamespacePairToIndex.containsKey(pair)) {
-      nameNamespacePairToIndex.put(pair, nextStreamIndex);
-      nextStreamIndex++;
+  private Map<Short, StatsCounters> getStreamToRunningCount() {
+    final Map<Short, StatsCounters> streamToRunningCount = new HashMap<>();
+    for (final StreamCounters counters : streamsWithRunningCounts) {
+      streamToRunningCount.put(counters.index(), new StatsCounters(counters.runningBytesCount, counters.runningRecordCount));
     }
-    return nameNamespacePairToIndex.get(pair);
+    return streamToRunningCount;
+  }
+
+  /**
+   * Counters of a stream. The running counts are the counts since the last source state message, they
+   * are only accessed by the thread updating the stats.
+   */
+  private final class StreamCounters {
+
+    private final AirbyteStreamNameNamespacePair nameNamespace;
+    private final short index;
+    private final LongAdder emittedRecords = new LongAdder();
+    private final LongAdder emittedBytes = new LongAdder();
+    private volatile long estimatedRecords;
+    private volatile long estimatedBytes;
+    private long runningRecordCount;
+    private long runningBytesCount;
+
+    private StreamCounters(final AirbyteStreamNameNamespacePair nameNamespace) {
+      this.nameNamespace = nameNamespace;
+      this.index = (short) streamIndexToCounters.size();
+    }
+
+    private short index() {
+      return index;
+    }
+
   }
 
 }
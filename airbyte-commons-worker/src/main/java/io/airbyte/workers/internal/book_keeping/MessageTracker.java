@@ -14,7 +14,7 @@ import java.util.Optional;
  * Interface to handle extracting metadata from the stream of data flowing from a Source to a
  * Destination.
  */
-public interface MessageTracker {
+public interface MessageTracker extends AutoCloseable {
 
   /**
    * Accepts an AirbyteMessage emitted from a source and tracks any metadata about it that is required
@@ -59,4 +59,11 @@ public interface MessageTracker {
    */
   SyncStatsTracker getSyncStatsTracker();
 
+  /**
+   * Release what was held to track the sync, once the source and destination are done. The tracked
+   * stats and states can still be read.
+   */
+  @Override
+  void close();
+
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetrySnapshot.StreamThroughput;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live throughput and latency telemetry of a running sync.
+ * <p>
+ * Per-stream records and bytes come from the counters the {@link SyncStatsTracker} already keeps,
+ * so they cost nothing on the replication threads. Time spent waiting on the source and on the
+ * destination is measured on one message out of {@link #TIMING_SAMPLE_RATE} and extrapolated.
+ * Every publish interval, rates over the interval are computed, emitted as gauges and kept as the
+ * latest {@link ReplicationTelemetrySnapshot}.
+ * <p>
+ * The timing methods of a given side must always be called from the same thread.
+ */
+@Slf4j
+public class ReplicationTelemetry implements AutoCloseable {
+
+  static final int TIMING_SAMPLE_RATE = 16;
+  private static final Duration PUBLISH_INTERVAL = Duration.ofSeconds(30);
+  private static final long NOT_SAMPLED = -1;
+
+  private final UUID connectionId;
+  private final long jobId;
+  private final int attempt;
+  private final SyncStatsTracker syncStatsTracker;
+  private final MetricClient metricClient;
+  private final ReplicationTelemetryRegistry registry;
+  private final ScheduledExecutorService scheduledExecutorService;
+  private final long publishIntervalMillis;
+  private final MetricAttribute[] connectionAttributes;
+
+  private final SampledTimer sourceReadTimer = new SampledTimer();
+  private final SampledTimer destinationWriteTimer = new SampledTimer();
+  private final Map<String, Collection<?>> queues = new ConcurrentHashMap<>();
+
+  private ScheduledFuture<?> publishFuture;
+  private Map<AirbyteStreamNameNamespacePair, Long> lastRecordsEmitted = Map.of();
+  private Map<AirbyteStreamNameNamespacePair, Long> lastBytesEmitted = Map.of();
+  private long lastSourceReadNanos;
+  private long lastDestinationWriteNanos;
+  private long lastPublishNanos;
+  private volatile ReplicationTelemetrySnapshot latestSnapshot;
+
+  public ReplicationTelemetry(final UUID connectionId,
+                              final long jobId,
+                              final int attempt,
+                              final SyncStatsTracker syncStatsTracker,
+                              final MetricClient metricClient,
+                              final ReplicationTelemetryRegistry registry) {
+    this(connectionId, jobId, attempt, syncStatsTracker, metricClient, registry, Executors.newSingleThreadScheduledExecutor(),
+        PUBLISH_INTERVAL.toMillis());
+  }
+
+  @VisibleForTesting
+  ReplicationTelemetry(final UUID connectionId,
+                       final long jobId,
+                       final int attempt,
+                       final SyncStatsTracker syncStatsTracker,
+                       final MetricClient metricClient,
+                       final ReplicationTelemetryRegistry registry,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final long publishIntervalMillis) {
+    this.connectionId = connectionId;
+    this.jobId = jobId;
+    this.attempt = attempt;
+    this.syncStatsTracker = syncStatsTracker;
+    this.metricClient = metricClient;
+    this.registry = registry;
+    this.scheduledExecutorService = scheduledExecutorService;
+    this.publishIntervalMillis = publishIntervalMillis;
+    this.connectionAttributes = connectionId != null
+        ? new MetricAttribute[] {new MetricAttribute(MetricTags.CONNECTION_ID, connectionId.toString())}
+        : new MetricAttribute[0];
+  }
+
+  /**
+   * Start publishing the telemetry periodically, and make it available through the registry.
+   */
+  public synchronized void start() {
+    if (publishFuture != null) {
+      return;
+    }
+    lastPublishNanos = System.nanoTime();
+    registry.register(this);
+    publishFuture = scheduledExecutorService.scheduleAtFixedRate(this::publish, publishIntervalMillis, publishIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Track a queue between two stages of the replication, its depth is published with the rates.
+   */
+  public void registerQueue(final String name, final Collection<?> queue) {
+    queues.put(name, queue);
+  }
+
+  /**
+   * Call before reading a message from the source.
+   *
+   * @return the value to pass to {@link #endSourceRead(long)}
+   */
+  public long startSourceRead() {
+    return sourceReadTimer.start();
+  }
+
+  public void endSourceRead(final long start) {
+    sourceReadTimer.stop(start);
+  }
+
+  /**
+   * Call before writing a message to the destination.
+   *
+   * @return the value to pass to {@link #endDestinationWrite(long)}
+   */
+  public long startDestinationWrite() {
+    return destinationWriteTimer.start();
+  }
+
+  public void endDestinationWrite(final long start) {
+    destinationWriteTimer.stop(start);
+  }
+
+  /**
+   * Get the telemetry computed by the latest publish.
+   *
+   * @return the latest snapshot, null if nothing was published yet
+   */
+  public ReplicationTelemetrySnapshot getLatestSnapshot() {
+    return latestSnapshot;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (publishFuture != null) {
+      publishFuture.cancel(false);
+    }
+    scheduledExecutorService.shutdownNow();
+    registry.unregister(this);
+  }
+
+  private void publish() {
+    try {
+      publish(System.nanoTime());
+    } catch (final Exception e) {
+      // the telemetry must never fail a sync
+      log.warn("Failed to publish the replication telemetry", e);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void publish(final long nowNanos) {
+    final long elapsedNanos = Math.max(1, nowNanos - lastPublishNanos);
+    final double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+    final Map<AirbyteStreamNameNamespacePair, Long> recordsEmitted = syncStatsTracker.getStreamToEmittedRecords();
+    final Map<AirbyteStreamNameNamespacePair, Long> bytesEmitted = syncStatsTracker.getStreamToEmittedBytes();
+    final List<StreamThroughput> streams = new ArrayList<>(recordsEmitted.size());
+    for (final Map.Entry<AirbyteStreamNameNamespacePair, Long> entry : recordsEmitted.entrySet()) {
+      final AirbyteStreamNameNamespacePair stream = entry.getKey();
+      final long records = entry.getValue();
+      final long bytes = bytesEmitted.getOrDefault(stream, 0L);
+      final double recordsPerSecond = (records - lastRecordsEmitted.getOrDefault(stream, 0L)) / elapsedSeconds;
+      final double bytesPerSecond = (bytes - lastBytesEmitted.getOrDefault(stream, 0L)) / elapsedSeconds;
+      streams.add(new StreamThroughput(stream.getNamespace(), stream.getName(), records, bytes, recordsPerSecond, bytesPerSecond));
+
+      final MetricAttribute[] streamAttributes = withConnectionAttributes(new MetricAttribute(MetricTags.STREAM, streamTag(stream)));
+      metricClient.gauge(OssMetricsRegistry.REPLICATION_STREAM_RECORDS_PER_SECOND, recordsPerSecond, streamAttributes);
+      metricClient.gauge(OssMetricsRegistry.REPLICATION_STREAM_BYTES_PER_SECOND, bytesPerSecond, streamAttributes);
+    }
+    streams.sort(Comparator.comparing(StreamThroughput::namespace, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(StreamThroughput::name));
+
+    final long sourceReadNanos = sourceReadTimer.getNanos();
+    final long destinationWriteNanos = destinationWriteTimer.getNanos();
+    // extrapolated from samples, so capped to keep the ratios meaningful
+    final double sourceReadBlockedRatio = Math.min(1.0, (sourceReadNanos - lastSourceReadNanos) / (double) elapsedNanos);
+    final double destinationWriteBlockedRatio = Math.min(1.0, (destinationWriteNanos - lastDestinationWriteNanos) / (double) elapsedNanos);
+    metricClient.gauge(OssMetricsRegistry.REPLICATION_SOURCE_READ_BLOCKED_RATIO, sourceReadBlockedRatio, connectionAttributes);
+    metricClient.gauge(OssMetricsRegistry.REPLICATION_DESTINATION_WRITE_BLOCKED_RATIO, destinationWriteBlockedRatio, connectionAttributes);
+
+    final Map<String, Integer> queueDepths = new HashMap<>();
+    queues.forEach((name, queue) -> {
+      final int depth = queue.size();
+      queueDepths.put(name, depth);
+      metricClient.gauge(OssMetricsRegistry.REPLICATION_QUEUE_DEPTH, depth,
+          withConnectionAttributes(new MetricAttribute(MetricTags.REPLICATION_QUEUE, name)));
+    });
+
+    latestSnapshot = new ReplicationTelemetrySnapshot(connectionId, jobId, attempt, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), streams,
+        sourceReadBlockedRatio, destinationWriteBlockedRatio, queueDepths);
+
+    lastRecordsEmitted = recordsEmitted;
+    lastBytesEmitted = bytesEmitted;
+    lastSourceReadNanos = sourceReadNanos;
+    lastDestinationWriteNanos = destinationWriteNanos;
+    lastPublishNanos = nowNanos;
+  }
+
+  private MetricAttribute[] withConnectionAttributes(final MetricAttribute attribute) {
+    final MetricAttribute[] attributes = new MetricAttribute[connectionAttributes.length + 1];
+    System.arraycopy(connectionAttributes, 0, attributes, 0, connectionAttributes.length);
+    attributes[connectionAttributes.length] = attribute;
+    return attributes;
+  }
+
+  private static String streamTag(final AirbyteStreamNameNamespacePair stream) {
+    return stream.getNamespace() != null ? stream.getNamespace() + "." + stream.getName() : Objects.toString(stream.getName());
+  }
+
+  /**
+   * Measures one call out of {@link #TIMING_SAMPLE_RATE} and counts it for all the calls of the
+   * sample. Only {@link #start()} updates the call count, so it must be called from a single thread.
+   */
+  private static final class SampledTimer {
+
+    private final LongAdder nanos = new LongAdder();
+    private int calls;
+
+    private long start() {
+      return ++calls % TIMING_SAMPLE_RATE == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    private void stop(final long start) {
+      if (start != NOT_SAMPLED) {
+        nanos.add((System.nanoTime() - start) * TIMING_SAMPLE_RATE);
+      }
+    }
+
+    private long getNanos() {
+      return nanos.sum();
+    }
+
+  }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import jakarta.inject.Singleton;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link ReplicationTelemetry} of the syncs running in this process, so that their live
+ * telemetry can be served while they run.
+ */
+@Singleton
+public class ReplicationTelemetryRegistry {
+
+  private final Set<ReplicationTelemetry> running = ConcurrentHashMap.newKeySet();
+
+  void register(final ReplicationTelemetry telemetry) {
+    running.add(telemetry);
+  }
+
+  void unregister(final ReplicationTelemetry telemetry) {
+    running.remove(telemetry);
+  }
+
+  /**
+   * Get the latest telemetry of the running syncs. Syncs that didn't publish anything yet are
+   * skipped.
+   */
+  public List<ReplicationTelemetrySnapshot> getLatestSnapshots() {
+    return running.stream()
+        .map(ReplicationTelemetry::getLatestSnapshot)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Throughput and latency of a running sync over the latest publish interval of its
+ * {@link ReplicationTelemetry}.
+ *
+ * @param connectionId connection being synced
+ * @param jobId job of the sync
+ * @param attempt attempt of the sync
+ * @param intervalMillis length of the interval the rates are computed over
+ * @param streams throughput of each stream that emitted records
+ * @param sourceReadBlockedRatio share of the interval spent waiting on the source
+ * @param destinationWriteBlockedRatio share of the interval spent waiting on the destination
+ * @param queueDepths number of messages waiting in each queue between replication stages
+ */
+public record ReplicationTelemetrySnapshot(UUID connectionId,
+                                          long jobId,
+                                          int attempt,
+                                          long intervalMillis,
+                                          List<StreamThroughput> streams,
+                                          double sourceReadBlockedRatio,
+                                          double destinationWriteBlockedRatio,
+                                          Map<String, Integer> queueDepths) {
+
+  /**
+   * Throughput of a stream. Totals are since the start of the sync, rates over the interval.
+   */
+  public record StreamThroughput(String namespace,
+                                 String name,
+                                 long recordsEmitted,
+                                 long bytesEmitted,
+                                 double recordsPerSecond,
+                                 double bytesPerSecond) {}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FIFO queue of bytes. Bytes are kept in a ring buffer that grows up to a memory limit, past which
+ * they are spilled to a temporary file.
+ * <p>
+ * Bytes are always read in the order they were written: once bytes are spilled, the following bytes
+ * are spilled too until the file has been read entirely. The file is then deleted, and bytes are
+ * kept in memory again.
+ * <p>
+ * The queue must be closed once it isn't needed anymore, so that the file of bytes that were never
+ * read is deleted too.
+ * <p>
+ * This class is not thread safe.
+ */
+@Slf4j
+class SpillableByteQueue implements AutoCloseable {
+
+  private static final int INITIAL_CAPACITY = 4 * 1024;
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+  private static final int SPILL_BUFFER_SIZE = 64 * 1024;
+
+  private final long memoryLimitBytes;
+  private final Path spillDirectory;
+
+  private byte[] ring;
+  private int readIndex;
+  private int memorySize;
+
+  private FileChannel spillFile;
+  private ByteBuffer spillWriteBuffer;
+  private ByteBuffer spillReadBuffer;
+  // number of bytes written to the file, not counting the ones still in the write buffer
+  private long spillFileSize;
+  private long spillReadPosition;
+  private long spilledSize;
+  private boolean closed;
+
+  /**
+   * Create a queue.
+   *
+   * @param memoryLimitBytes maximum size of the ring buffer
+   * @param spillDirectory directory of the temporary file
+   */
+  SpillableByteQueue(final long memoryLimitBytes, final Path spillDirectory) {
+    this.memoryLimitBytes = memoryLimitBytes;
+    this.spillDirectory = spillDirectory;
+    this.ring = new byte[(int) Math.min(INITIAL_CAPACITY, memoryLimitBytes)];
+  }
+
+  /**
+   * Add the given number of bytes from the start of the array to the end of the queue.
+   */
+  void write(final byte[] bytes, final int length) throws IOException {
+    if (closed) {
+      throw new IOException("The queue is closed");
+    }
+    if (spilledSize == 0 && ensureMemoryCapacity((long) memorySize + length)) {
+      final int writeIndex = (int) (((long) readIndex + memorySize) % ring.length);
+      final int firstPartLength = Math.min(length, ring.length - writeIndex);
+      System.arraycopy(bytes, 0, ring, writeIndex, firstPartLength);
+      System.arraycopy(bytes, firstPartLength, ring, 0, length - firstPartLength);
+      memorySize += length;
+    } else {
+      spill(bytes, length);
+    }
+  }
+
+  /**
+   * Remove the byte at the head of the queue. The queue must not be empty.
+   */
+  byte read() throws IOException {
+    if (memorySize > 0) {
+      final byte b = ring[readIndex];
+      readIndex = readIndex + 1 == ring.length ? 0 : readIndex + 1;
+      memorySize--;
+      return b;
+    }
+
+    if (!spillReadBuffer.hasRemaining()) {
+      fillSpillReadBuffer();
+    }
+    final byte b = spillReadBuffer.get();
+    spilledSize--;
+    if (spilledSize == 0) {
+      closeSpillFile();
+      log.info("Spilled state deltas were all committed, keeping them in memory again.");
+    }
+    return b;
+  }
+
+  long size() {
+    return memorySize + spilledSize;
+  }
+
+  long spilledSize() {
+    return spilledSize;
+  }
+
+  /**
+   * Grow the ring buffer if needed and possible.
+   *
+   * @return false if the ring buffer can't hold the required size within the memory limit
+   */
+  private boolean ensureMemoryCapacity(final long requiredCapacity) {
+    if (requiredCapacity <= ring.length) {
+      return true;
+    }
+    if (requiredCapacity > Math.min(memoryLimitBytes, MAX_CAPACITY)) {
+      return false;
+    }
+
+    final int newCapacity = (int) Math.min(Math.min(memoryLimitBytes, MAX_CAPACITY), Math.max(requiredCapacity, 2L * ring.length));
+    final byte[] newRing = new byte[newCapacity];
+    final int firstPartLength = Math.min(memorySize, ring.length - readIndex);
+    System.arraycopy(ring, readIndex, newRing, 0, firstPartLength);
+    System.arraycopy(ring, 0, newRing, firstPartLength, memorySize - firstPartLength);
+    ring = newRing;
+    readIndex = 0;
+    return true;
+  }
+
+  private void spill(final byte[] bytes, final int length) throws IOException {
+    if (spillFile == null) {
+      final Path path = Files.createTempFile(spillDirectory, "state-deltas", ".bin");
+      log.info("State deltas exceed {} bytes of memory, spilling them to {} until the destination commits them.", memoryLimitBytes, path);
+      spillFile = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+      spillWriteBuffer = ByteBuffer.allocate(SPILL_BUFFER_SIZE);
+      spillReadBuffer = ByteBuffer.allocate(SPILL_BUFFER_SIZE).flip();
+      spillFileSize = 0;
+      spillReadPosition = 0;
+    }
+
+    int offset = 0;
+    while (offset < length) {
+      if (!spillWriteBuffer.hasRemaining()) {
+        flushSpillWriteBuffer();
+      }
+      final int chunkLength = Math.min(spillWriteBuffer.remaining(), length - offset);
+      spillWriteBuffer.put(bytes, offset, chunkLength);
+      offset += chunkLength;
+    }
+    spilledSize += length;
+  }
+
+  private void flushSpillWriteBuffer() throws IOException {
+    spillWriteBuffer.flip();
+    while (spillWriteBuffer.hasRemaining()) {
+      spillFileSize += spillFile.write(spillWriteBuffer, spillFileSize);
+    }
+    spillWriteBuffer.clear();
+  }
+
+  private void fillSpillReadBuffer() throws IOException {
+    if (spillReadPosition == spillFileSize) {
+      // the bytes to read are still in the write buffer
+      flushSpillWriteBuffer();
+    }
+    spillReadBuffer.clear();
+    final int readLength = spillFile.read(spillReadBuffer, spillReadPosition);
+    if (readLength <= 0) {
+      throw new IOException("Unexpected end of the state deltas spill file at position " + spillReadPosition);
+    }
+    spillReadPosition += readLength;
+    spillReadBuffer.flip();
+  }
+
+  /**
+   * Drop the bytes left in the queue, and delete the spill file if any.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    ring = new byte[0];
+    readIndex = 0;
+    memorySize = 0;
+    spilledSize = 0;
+    if (spillFile != null) {
+      closeSpillFile();
+      log.info("Deleted the state deltas that were spilled but never committed.");
+    }
+  }
+
+  private void closeSpillFile() throws IOException {
+    // the file is deleted on close
+    spillFile.close();
+    spillFile = null;
+    spillWriteBuffer = null;
+    spillReadBuffer = null;
+  }
+
+}
@@ -8,96 +8,120 @@ import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 
 import com.google.common.annotations.VisibleForTesting;
 import datadog.trace.api.Trace;
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * This class tracks "deltas" between states in compact {@code byte[]}s with the following schema:
+ * This class tracks "deltas" between states, in the order the states were emitted, in a queue of
+ * bytes with the following schema:
  *
  * <pre>
- *  [(state hash),(stream index),(record count)...] with the last two elements repeating per stream in the delta.
+ *  [(state hash),(stream count),(stream index),(record count),(bytes count)...] with the last three elements repeating per stream in the delta.
  * </pre>
  * <p>
- * This class also maintains a {@code Set} of {@code committedStateHashes} so that it can accumulate
- * both committed and total record counts per stream.
+ * Streams are sorted by index, and each index is stored as the difference with the previous one.
+ * All the values but the state hash are stored as variable length integers, so that the small
+ * counts of a delta take a byte or two.
  * <p>
- * The StateDeltaTracker is initialized with a memory limit. If this memory limit is exceeded, new
- * states deltas will not be added and per-stream record counts will not be able to be computed.
- * This is to prevent OutOfMemoryErrors from crashing the sync.
+ * This class also maintains the {@code committedStateHashes} so that it can accumulate both
+ * committed and total record counts per stream.
+ * <p>
+ * The StateDeltaTracker is initialized with a memory limit. Deltas past this limit are spilled to a
+ * temporary file until the destination commits them, so that committed counts stay exact however
+ * far the destination is behind the source. The tracker must be closed at the end of the sync to
+ * delete the deltas that were spilled but never committed.
  */
 @Slf4j
-public class StateDeltaTracker {
+public class StateDeltaTracker implements AutoCloseable {
 
   private static final int STATE_HASH_BYTES = Integer.BYTES;
-  private static final int STREAM_INDEX_BYTES = Short.BYTES;
-  private static final int RECORD_COUNT_BYTES = Long.BYTES;
-  private static final int BYTES_COUNT_BYTES = Long.BYTES;
-  private static final int BYTES_PER_STREAM = STREAM_INDEX_BYTES + RECORD_COUNT_BYTES + BYTES_COUNT_BYTES;
+  // variable length longs take up to 10 bytes
+  private static final int MAX_VAR_LONG_BYTES = 10;
+  private static final int MAX_BYTES_PER_STREAM = 3 * MAX_VAR_LONG_BYTES;
 
-  private final Set<Integer> committedStateHashes;
+  private final IntHashSet committedStateHashes;
   private final Map<Short, StatsCounters> streamToCommittedRecords;
 
   /**
-   * Every time a state is added, a new byte[] containing the state hash and per-stream delta will be
-   * added to this list. Every time a state is committed, state deltas up to the committed state are
-   * removed from the head of the list and aggregated into the committed count map. The source thread
-   * adds while the destination thread removes, so synchronization is necessary to provide
-   * thread-safety.
+   * Every time a state is added, its hash and per-stream delta are written to the end of this queue.
+   * Every time a state is committed, state deltas up to the committed state are read from the head of
+   * the queue and aggregated into the committed count map. The source thread adds while the
+   * destination thread removes, so synchronization is necessary to provide thread-safety.
    */
+  private final SpillableByteQueue stateDeltas;
   @VisibleForTesting
-  protected final List<byte[]> stateDeltas;
-
-  @VisibleForTesting
-  protected long remainingCapacity;
+  protected long pendingDeltas;
+  /**
+   * Set when the spill file can't be written or read, after which the deltas are not reliable.
+   */
   @VisibleForTesting
-  protected boolean capacityExceeded;
+  protected boolean spillFailed;
+
+  private byte[] encodedDelta;
+  private int encodedDeltaLength;
 
   public StateDeltaTracker(final long memoryLimitBytes) {
-    this.committedStateHashes = new HashSet<>();
+    this(memoryLimitBytes, Path.of(System.getProperty("java.io.tmpdir")));
+  }
+
+  public StateDeltaTracker(final long memoryLimitBytes, final Path spillDirectory) {
+    this.committedStateHashes = new IntHashSet();
     this.streamToCommittedRecords = new HashMap<>();
-    this.stateDeltas = new ArrayList<>();
-    this.remainingCapacity = memoryLimitBytes;
-    this.capacityExceeded = false;
+    this.stateDeltas = new SpillableByteQueue(memoryLimitBytes, spillDirectory);
+    this.pendingDeltas = 0;
+    this.spillFailed = false;
+    this.encodedDelta = new byte[STATE_HASH_BYTES + MAX_VAR_LONG_BYTES];
   }
 
   /**
-   * Converts the given state hash and per-stream record count map into a {@code byte[]} and stores
-   * it.
+   * Encodes the given state hash and per-stream record count map and stores it.
    * <p>
    * This method leverages a synchronized block to provide thread safety between the source thread
    * calling addState while the destination thread calls commitStateHash.
    *
-   * @throws StateDeltaTrackerException thrown when the memory footprint of stateDeltas exceeds
-   *         available capacity.
+   * @throws StateDeltaTrackerException thrown when the delta can't be spilled to disk.
    */
   @Trace(operationName = WORKER_OPERATION_NAME)
   public void addState(final int stateHash, final Map<Short, StatsCounters> streamIndexToRecordCount) throws StateDeltaTrackerException {
-    synchronized (this) {
-      final int size = STATE_HASH_BYTES + (streamIndexToRecordCount.size() * BYTES_PER_STREAM);
+    final int[] streamIndices = new int[streamIndexToRecordCount.size()];
+    int i = 0;
+    for (final Short streamIndex : streamIndexToRecordCount.keySet()) {
+      streamIndices[i++] = Short.toUnsignedInt(streamIndex);
+    }
+    Arrays.sort(streamIndices);
 
-      if (capacityExceeded || remainingCapacity < size) {
-        capacityExceeded = true;
-        throw new StateDeltaTrackerException("Memory capacity is exceeded for StateDeltaTracker.");
+    synchronized (this) {
+      if (spillFailed) {
+        throw new StateDeltaTrackerException("State deltas could not be spilled, so states cannot be reliably tracked");
       }
 
-      final ByteBuffer delta = ByteBuffer.allocate(size);
-
-      delta.putInt(stateHash);
-
-      for (final Map.Entry<Short, StatsCounters> entry : streamIndexToRecordCount.entrySet()) {
-        delta.putShort(entry.getKey());
-        delta.putLong(entry.getValue().recordCount);
-        delta.putLong(entry.getValue().bytesCount);
+      final int maxSize = STATE_HASH_BYTES + MAX_VAR_LONG_BYTES + streamIndices.length * MAX_BYTES_PER_STREAM;
+      if (encodedDelta.length < maxSize) {
+        encodedDelta = new byte[Math.max(maxSize, 2 * encodedDelta.length)];
+      }
+      encodedDeltaLength = 0;
+      writeInt(stateHash);
+      writeVarLong(streamIndices.length);
+      int previousStreamIndex = 0;
+      for (final int streamIndex : streamIndices) {
+        final StatsCounters counters = streamIndexToRecordCount.get((short) streamIndex);
+        writeVarLong(streamIndex - previousStreamIndex);
+        writeVarLong(counters.recordCount);
+        writeVarLong(counters.bytesCount);
+        previousStreamIndex = streamIndex;
       }
 
-      stateDeltas.add(delta.array());
-      remainingCapacity -= delta.array().length;
+      try {
+        stateDeltas.write(encodedDelta, encodedDeltaLength);
+      } catch (final IOException e) {
+        spillFailed = true;
+        throw new StateDeltaTrackerException("State deltas could not be spilled to disk: " + e.getMessage());
+      }
+      pendingDeltas++;
     }
   }
 
@@ -113,50 +137,116 @@ public class StateDeltaTracker {
   @Trace(operationName = WORKER_OPERATION_NAME)
   public void commitStateHash(final int stateHash) throws StateDeltaTrackerException {
     synchronized (this) {
-      if (capacityExceeded) {
-        throw new StateDeltaTrackerException("Memory capacity exceeded for StateDeltaTracker, so states cannot be reliably committed");
+      if (spillFailed) {
+        throw new StateDeltaTrackerException("State deltas could not be spilled, so states cannot be reliably committed");
       }
-      if (committedStateHashes.contains(stateHash)) {
+      if (!committedStateHashes.add(stateHash)) {
         throw new StateDeltaTrackerException(
             String.format("State hash %d was already committed, likely indicating a state hash collision", stateHash));
       }
 
-      committedStateHashes.add(stateHash);
-      int currStateHash;
-      do {
-        if (stateDeltas.isEmpty()) {
-          throw new StateDeltaTrackerException(String.format("Delta was not stored for state hash %d", stateHash));
-        }
-        // as deltas are removed and aggregated into committed count map, reclaim capacity
-        final ByteBuffer currDelta = ByteBuffer.wrap(stateDeltas.remove(0));
-        remainingCapacity += currDelta.capacity();
-
-        currStateHash = currDelta.getInt();
-
-        final int numStreams = (currDelta.capacity() - STATE_HASH_BYTES) / BYTES_PER_STREAM;
-        for (int i = 0; i < numStreams; i++) {
-          final short streamIndex = currDelta.getShort();
-          final long recordCount = currDelta.getLong();
-          final long bytesCount = currDelta.getLong();
-
-          // aggregate delta into committed count map
-          StatsCounters currentStats = streamToCommittedRecords.get(streamIndex);
-          if (currentStats == null) {
-            currentStats = new StatsCounters();
-            streamToCommittedRecords.put(streamIndex, currentStats);
+      try {
+        int currStateHash;
+        do {
+          if (pendingDeltas == 0) {
+            throw new StateDeltaTrackerException(String.format("Delta was not stored for state hash %d", stateHash));
           }
-          currentStats.bytesCount += bytesCount;
-          currentStats.recordCount += recordCount;
-        }
-      } while (currStateHash != stateHash); // repeat until each delta up to the committed state is aggregated
+          currStateHash = readInt();
+          final long numStreams = readVarLong();
+          int streamIndex = 0;
+          for (long i = 0; i < numStreams; i++) {
+            streamIndex += (int) readVarLong();
+            final long recordCount = readVarLong();
+            final long bytesCount = readVarLong();
+
+            // aggregate delta into committed count map
+            StatsCounters currentStats = streamToCommittedRecords.get((short) streamIndex);
+            if (currentStats == null) {
+              currentStats = new StatsCounters();
+              streamToCommittedRecords.put((short) streamIndex, currentStats);
+            }
+            currentStats.bytesCount += bytesCount;
+            currentStats.recordCount += recordCount;
+          }
+          pendingDeltas--;
+        } while (currStateHash != stateHash); // repeat until each delta up to the committed state is aggregated
+      } catch (final IOException e) {
+        spillFailed = true;
+        throw new StateDeltaTrackerException("Spilled state deltas could not be read: " + e.getMessage());
+      }
     }
   }
 
+  /**
+   * Number of bytes taken by the deltas that are not committed yet, in memory or on disk.
+   */
+  @VisibleForTesting
+  synchronized long getPendingDeltasBytes() {
+    return stateDeltas.size();
+  }
+
+  @VisibleForTesting
+  synchronized long getSpilledDeltasBytes() {
+    return stateDeltas.spilledSize();
+  }
+
   @Trace(operationName = WORKER_OPERATION_NAME)
   public Map<Short, StatsCounters> getStreamToCommittedStats() {
     return streamToCommittedRecords;
   }
 
+  /**
+   * Drop the deltas that are not committed yet. The committed stats are kept, but states can no
+   * longer be added or committed.
+   */
+  @Override
+  public synchronized void close() {
+    pendingDeltas = 0;
+    try {
+      stateDeltas.close();
+    } catch (final IOException e) {
+      log.warn("The state deltas spill file could not be deleted", e);
+    }
+  }
+
+  private void writeInt(final int value) {
+    encodedDelta[encodedDeltaLength++] = (byte) (value >>> 24);
+    encodedDelta[encodedDeltaLength++] = (byte) (value >>> 16);
+    encodedDelta[encodedDeltaLength++] = (byte) (value >>> 8);
+    encodedDelta[encodedDeltaLength++] = (byte) value;
+  }
+
+  /**
+   * Writes 7 bits per byte, least significant first, with the high bit set on all bytes but the last.
+   */
+  private void writeVarLong(final long value) {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      encodedDelta[encodedDeltaLength++] = (byte) ((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    encodedDelta[encodedDeltaLength++] = (byte) remaining;
+  }
+
+  private int readInt() throws IOException {
+    return (stateDeltas.read() & 0xFF) << 24
+        | (stateDeltas.read() & 0xFF) << 16
+        | (stateDeltas.read() & 0xFF) << 8
+        | stateDeltas.read() & 0xFF;
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = stateDeltas.read();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
   /**
    * Thrown when the StateDeltaTracker encounters an issue that prevents it from reliably computing
    * committed record deltas.
@@ -169,4 +259,61 @@ public class StateDeltaTracker {
 
   }
 
+  /**
+   * Set of ints stored in a primitive array, so that the hashes of the committed states take a few
+   * bytes each however long the sync.
+   */
+  private static class IntHashSet {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // 0 marks the empty slots, so it is tracked separately
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private boolean containsZero = false;
+    private int size = 0;
+
+    /**
+     * Add the value to the set.
+     *
+     * @return false if the set already contained the value
+     */
+    boolean add(final int value) {
+      if (value == 0) {
+        final boolean added = !containsZero;
+        containsZero = true;
+        return added;
+      }
+      if (!insert(slots, value)) {
+        return false;
+      }
+      size++;
+      // keep the load factor under 1/2
+      if (2 * size > slots.length) {
+        final int[] newSlots = new int[2 * slots.length];
+        for (final int slot : slots) {
+          if (slot != 0) {
+            insert(newSlots, slot);
+          }
+        }
+        slots = newSlots;
+      }
+      return true;
+    }
+
+    private static boolean insert(final int[] slots, final int value) {
+      final int mask = slots.length - 1;
+      // multiplicative hashing, the top bits spread sequential values
+      int index = (value * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+      while (slots[index] != 0) {
+        if (slots[index] == value) {
+          return false;
+        }
+        index = (index + 1) & mask;
+      }
+      slots[index] = value;
+      return true;
+    }
+
+  }
+
 }
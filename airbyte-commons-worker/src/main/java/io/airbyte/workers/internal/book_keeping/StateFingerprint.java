@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.airbyte.protocol.models.AirbyteGlobalState;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.AirbyteStreamState;
+import io.airbyte.protocol.models.StreamDescriptor;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * Fingerprint of the state of a state message, used to match a state emitted by the destination to
+ * the same state emitted by the source.
+ * <p>
+ * The state is walked and fed to a streaming hasher, rather than serialized then hashed, so that
+ * large states are not copied to a string. The fingerprint only depends on the structure and values
+ * of the state, not on how it was formatted: the same state gets the same fingerprint on both sides
+ * of the sync. Each value is prefixed with its type and each string or container with its size, so
+ * that different states don't produce the same input to the hasher.
+ */
+final class StateFingerprint {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32_fixed();
+
+  private static final byte NULL = 0;
+  private static final byte OBJECT = 1;
+  private static final byte ARRAY = 2;
+  private static final byte STRING = 3;
+  private static final byte INTEGRAL_NUMBER = 4;
+  private static final byte BIG_INTEGRAL_NUMBER = 5;
+  private static final byte FLOATING_POINT_NUMBER = 6;
+  private static final byte BIG_DECIMAL_NUMBER = 7;
+  private static final byte BOOLEAN = 8;
+  private static final byte OTHER = 9;
+
+  private StateFingerprint() {}
+
+  /**
+   * Compute the fingerprint of the global state, the stream state or the legacy state of the message,
+   * depending on its type.
+   */
+  static int of(final AirbyteStateMessage stateMessage) {
+    final Hasher hasher = HASH_FUNCTION.newHasher();
+    if (AirbyteStateType.GLOBAL == stateMessage.getType()) {
+      putGlobalState(hasher, stateMessage.getGlobal());
+    } else if (AirbyteStateType.STREAM == stateMessage.getType()) {
+      putNode(hasher, stateMessage.getStream().getStreamState());
+    } else {
+      // state type is LEGACY
+      putNode(hasher, stateMessage.getData());
+    }
+    return hasher.hash().asInt();
+  }
+
+  private static void putGlobalState(final Hasher hasher, final AirbyteGlobalState globalState) {
+    if (globalState == null) {
+      hasher.putByte(NULL);
+      return;
+    }
+    hasher.putByte(OBJECT);
+    putNode(hasher, globalState.getSharedState());
+    final List<AirbyteStreamState> streamStates = globalState.getStreamStates();
+    if (streamStates == null) {
+      hasher.putByte(NULL);
+      return;
+    }
+    hasher.putByte(ARRAY).putInt(streamStates.size());
+    for (final AirbyteStreamState streamState : streamStates) {
+      final StreamDescriptor streamDescriptor = streamState.getStreamDescriptor();
+      if (streamDescriptor == null) {
+        hasher.putByte(NULL);
+      } else {
+        hasher.putByte(OBJECT);
+        putString(hasher, streamDescriptor.getName());
+        putString(hasher, streamDescriptor.getNamespace());
+      }
+      putNode(hasher, streamState.getStreamState());
+    }
+  }
+
+  private static void putNode(final Hasher hasher, final JsonNode node) {
+    if (node == null || node.isNull() || node.isMissingNode()) {
+      hasher.putByte(NULL);
+    } else if (node.isObject()) {
+      hasher.putByte(OBJECT).putInt(node.size());
+      final Iterator<Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        final Entry<String, JsonNode> field = fields.next();
+        putString(hasher, field.getKey());
+        putNode(hasher, field.getValue());
+      }
+    } else if (node.isArray()) {
+      hasher.putByte(ARRAY).putInt(node.size());
+      for (final JsonNode element : node) {
+        putNode(hasher, element);
+      }
+    } else if (node.isTextual()) {
+      putString(hasher, node.textValue());
+    } else if (node.isIntegralNumber()) {
+      if (node.canConvertToLong()) {
+        hasher.putByte(INTEGRAL_NUMBER).putLong(node.longValue());
+      } else {
+        hasher.putByte(BIG_INTEGRAL_NUMBER);
+        putChars(hasher, node.bigIntegerValue().toString());
+      }
+    } else if (node.isBigDecimal()) {
+      hasher.putByte(BIG_DECIMAL_NUMBER);
+      putChars(hasher, node.decimalValue().toString());
+    } else if (node.isNumber()) {
+      hasher.putByte(FLOATING_POINT_NUMBER).putDouble(node.doubleValue());
+    } else if (node.isBoolean()) {
+      hasher.putByte(BOOLEAN).putBoolean(node.booleanValue());
+    } else {
+      // binary and POJO nodes only exist in states built in memory
+      hasher.putByte(OTHER);
+      putChars(hasher, node.toString());
+    }
+  }
+
+  private static void putString(final Hasher hasher, final String value) {
+    if (value == null) {
+      hasher.putByte(NULL);
+    } else {
+      hasher.putByte(STRING);
+      putChars(hasher, value);
+    }
+  }
+
+  private static void putChars(final Hasher hasher, final String value) {
+    hasher.putInt(value.length()).putUnencodedChars(value);
+  }
+
+}
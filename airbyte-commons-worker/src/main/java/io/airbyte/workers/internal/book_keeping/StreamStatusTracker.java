@@ -12,6 +12,9 @@ import io.airbyte.api.client.model.generated.StreamStatusJobType;
 import io.airbyte.api.client.model.generated.StreamStatusRead;
 import io.airbyte.api.client.model.generated.StreamStatusRunState;
 import io.airbyte.api.client.model.generated.StreamStatusUpdateRequestBody;
+import io.airbyte.featureflag.Connection;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.UseStreamStatusBatching;
 import io.airbyte.protocol.models.AirbyteStreamStatusTraceMessage;
 import io.airbyte.protocol.models.AirbyteStreamStatusTraceMessage.AirbyteStreamStatus;
 import io.airbyte.protocol.models.AirbyteTraceMessage;
@@ -37,6 +40,10 @@ import org.slf4j.MDC;
 /**
  * Tracks the status of individual streams within a replication sync based on the status of
  * source/destination messages.
+ * <p>
+ * If batching is enabled for the connection, status updates are handed to the
+ * {@link StreamStatusUpdateBatcher} instead of being sent one by one, and they are flushed once all
+ * the streams of the sync are forced to a terminal status.
  */
 @Singleton
 public class StreamStatusTracker {
@@ -51,12 +58,21 @@ public class StreamStatusTracker {
 
   private final Map<StreamStatusKey, CurrentStreamStatus> currentStreamStatuses = new ConcurrentHashMap<>();
 
+  // whether the updates of a replication are batched, evaluated once per replication
+  private final Map<ReplicationContext, Boolean> batchUpdatesByReplication = new ConcurrentHashMap<>();
+
   private final AirbyteApiClient airbyteApiClient;
+  private final FeatureFlagClient featureFlagClient;
+  private final StreamStatusUpdateBatcher streamStatusUpdateBatcher;
 
   private Map<String, String> mdc;
 
-  public StreamStatusTracker(final AirbyteApiClient airbyteApiClient) {
+  public StreamStatusTracker(final AirbyteApiClient airbyteApiClient,
+                             final FeatureFlagClient featureFlagClient,
+                             final StreamStatusUpdateBatcher streamStatusUpdateBatcher) {
     this.airbyteApiClient = airbyteApiClient;
+    this.featureFlagClient = featureFlagClient;
+    this.streamStatusUpdateBatcher = streamStatusUpdateBatcher;
   }
 
   @PostConstruct
@@ -250,7 +266,8 @@ public class StreamStatusTracker {
   }
 
   /**
-   * Sends a stream status update request to the API.
+   * Sends a stream status update request to the API, or queues it in the
+   * {@link StreamStatusUpdateBatcher} if batching is enabled for the connection.
    *
    * @param statusId The ID of the stream status to update.
    * @param streamName The name of the stream to update.
@@ -288,6 +305,10 @@ public class StreamStatusTracker {
 
       incompleteRunCause.ifPresent(i -> streamStatusUpdateRequestBody.setIncompleteRunCause(i));
 
+      if (shouldBatchUpdates(replicationContext)) {
+        streamStatusUpdateBatcher.enqueue(streamStatusUpdateRequestBody);
+        return;
+      }
       AirbyteApiClient.retryWithJitterThrows(() -> airbyteApiClient.getStreamStatusesApi().updateStreamStatus(streamStatusUpdateRequestBody),
           "update stream status " + streamStatusRunState.name().toLowerCase(Locale.getDefault()) + " " + streamNamespace + ":" + streamName);
     } else {
@@ -369,11 +390,22 @@ public class StreamStatusTracker {
       final Set<StreamStatusKey> toBeRemoved =
           currentStreamStatuses.keySet().stream().filter(e -> matchesReplicationContext(e, replicationContext)).collect(Collectors.toSet());
       toBeRemoved.forEach(r -> currentStreamStatuses.remove(r));
+
+      // the sync is over, don't leave its last updates waiting for the next flush
+      if (shouldBatchUpdates(replicationContext)) {
+        streamStatusUpdateBatcher.flush();
+      }
+      batchUpdatesByReplication.remove(replicationContext);
     } catch (final Exception ex) {
       LOGGER.error("Unable to force streams for connection {} to status {}.", replicationContext.connectionId(), streamStatusRunState, ex);
     }
   }
 
+  private boolean shouldBatchUpdates(final ReplicationContext replicationContext) {
+    return batchUpdatesByReplication.computeIfAbsent(replicationContext, context -> context.connectionId() != null
+        && featureFlagClient.boolVariation(UseStreamStatusBatching.INSTANCE, new Connection(context.connectionId())));
+  }
+
   /**
    * Builds a {@link StreamStatusKey} from the provided criteria.
    *
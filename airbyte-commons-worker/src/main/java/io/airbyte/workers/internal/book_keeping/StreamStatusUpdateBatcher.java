@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import io.airbyte.api.client.AirbyteApiClient;
+import io.airbyte.api.client.model.generated.StreamStatusUpdateBatchRequestBody;
+import io.airbyte.api.client.model.generated.StreamStatusUpdateRequestBody;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the stream status updates of running syncs and sends them to the API in batches.
+ * <p>
+ * Pending updates are keyed by stream status ID. An update replaces the pending update of the same
+ * stream, so a stream that transitions several times between two flushes only sends its latest
+ * status. Batches are sent one at a time, which keeps the updates of a stream in order.
+ * <p>
+ * Updates that can't be sent are queued again, unless a newer update of the same stream was queued
+ * in the meantime, and are retried by the next flush.
+ */
+@Singleton
+public class StreamStatusUpdateBatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StreamStatusUpdateBatcher.class);
+
+  static final int MAX_BATCH_SIZE = 500;
+
+  private final AirbyteApiClient airbyteApiClient;
+  private final int maxTries;
+  private final Object flushLock = new Object();
+
+  // guarded by this
+  private Map<UUID, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+
+  private record PendingUpdate(StreamStatusUpdateRequestBody update, long enqueuedAtMillis) {}
+
+  @Inject
+  public StreamStatusUpdateBatcher(final AirbyteApiClient airbyteApiClient) {
+    this(airbyteApiClient, AirbyteApiClient.DEFAULT_MAX_RETRIES);
+  }
+
+  @VisibleForTesting
+  StreamStatusUpdateBatcher(final AirbyteApiClient airbyteApiClient, final int maxTries) {
+    this.airbyteApiClient = airbyteApiClient;
+    this.maxTries = maxTries;
+  }
+
+  /**
+   * Queue a stream status update, replacing the pending update of the same stream status if any.
+   *
+   * @param update the update to send
+   */
+  public synchronized void enqueue(final StreamStatusUpdateRequestBody update) {
+    final PendingUpdate previous = pendingUpdates.get(update.getId());
+    // the lag is measured from the oldest transition that wasn't sent yet
+    final long enqueuedAtMillis = previous != null ? previous.enqueuedAtMillis() : System.currentTimeMillis();
+    pendingUpdates.put(update.getId(), new PendingUpdate(update, enqueuedAtMillis));
+  }
+
+  /**
+   * Send the pending updates. Updates that can't be sent after retrying are queued again.
+   */
+  @Scheduled(fixedDelay = "1s")
+  public void flush() {
+    synchronized (flushLock) {
+      final List<PendingUpdate> updates = takePendingUpdates();
+      if (updates.isEmpty()) {
+        return;
+      }
+
+      final long oldestEnqueuedAtMillis = updates.stream().mapToLong(PendingUpdate::enqueuedAtMillis).min().getAsLong();
+      MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.STREAM_STATUS_UPDATE_LAG_MILLIS,
+          System.currentTimeMillis() - oldestEnqueuedAtMillis);
+
+      final List<List<PendingUpdate>> batches = Lists.partition(updates, MAX_BATCH_SIZE);
+      for (int i = 0; i < batches.size(); i++) {
+        final List<PendingUpdate> batch = batches.get(i);
+        final StreamStatusUpdateBatchRequestBody requestBody = new StreamStatusUpdateBatchRequestBody()
+            .streamStatuses(batch.stream().map(PendingUpdate::update).toList());
+        try {
+          AirbyteApiClient.retryWithJitterThrows(() -> airbyteApiClient.getStreamStatusesApi().updateStreamStatuses(requestBody),
+              "update " + batch.size() + " stream statuses",
+              AirbyteApiClient.DEFAULT_RETRY_INTERVAL_SECS,
+              AirbyteApiClient.DEFAULT_FINAL_INTERVAL_SECS,
+              maxTries);
+        } catch (final Exception e) {
+          // the remaining batches would most likely fail the same way, they wait for the next flush too
+          final List<PendingUpdate> unsent = updates.subList(i * MAX_BATCH_SIZE, updates.size());
+          LOGGER.error("Unable to update {} stream statuses, they will be retried with the next flush.", unsent.size(), e);
+          requeue(unsent);
+          return;
+        }
+      }
+    }
+  }
+
+  private synchronized void requeue(final List<PendingUpdate> updates) {
+    for (final PendingUpdate update : updates) {
+      // a newer update of the same stream status wins, but the lag is still measured from the oldest one
+      pendingUpdates.merge(update.update().getId(), update,
+          (newer, older) -> new PendingUpdate(newer.update(), Math.min(newer.enqueuedAtMillis(), older.enqueuedAtMillis())));
+    }
+  }
+
+  private synchronized List<PendingUpdate> takePendingUpdates() {
+    final List<PendingUpdate> updates = List.copyOf(pendingUpdates.values());
+    pendingUpdates = new LinkedHashMap<>();
+    return updates;
+  }
+
+}
@@ -8,6 +8,8 @@ import com.google.common.base.Preconditions;
 import io.airbyte.config.State;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Default state aggregator that detects which type of state is being used and aggregates
@@ -66,6 +68,11 @@ public class DefaultStateAggregator implements StateAggregator {
     return getStateAggregator().getAggregated();
   }
 
+  @Override
+  public Optional<Collection<AirbyteStateMessage>> getStreamStates() {
+    return stateType == null ? Optional.empty() : getStateAggregator().getStreamStates();
+  }
+
   @Override
   public boolean isEmpty() {
     return stateType == null || getStateAggregator().isEmpty();
@@ -11,7 +11,9 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.State;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 class SingleStateAggregator implements StateAggregator {
 
@@ -51,6 +53,11 @@ class SingleStateAggregator implements StateAggregator {
     }
   }
 
+  @Override
+  public Optional<Collection<AirbyteStateMessage>> getStreamStates() {
+    return Optional.empty();
+  }
+
   @Override
   public boolean isEmpty() {
     return state == null;
@@ -6,6 +6,8 @@ package io.airbyte.workers.internal.state_aggregator;
 
 import io.airbyte.config.State;
 import io.airbyte.protocol.models.AirbyteStateMessage;
+import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Aggregate individual state messages into the whole state for a connection.
@@ -18,6 +20,16 @@ public interface StateAggregator {
 
   State getAggregated();
 
+  /**
+   * Get the latest state message of each stream, without aggregating them into a single state.
+   * <p>
+   * Since an aggregator only holds the states it ingested, these are the streams whose state changed
+   * since the aggregator was created.
+   *
+   * @return the stream state messages, or empty if the states are not per stream states
+   */
+  Optional<Collection<AirbyteStateMessage>> getStreamStates();
+
   boolean isEmpty();
 
 }
@@ -11,8 +11,10 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.State;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.StreamDescriptor;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Aggregates stream states for a connection. Has all the stream states for a connection.
@@ -55,6 +57,11 @@ class StreamStateAggregator implements StateAggregator {
             Jsons.jsonNode(aggregatedState.values()));
   }
 
+  @Override
+  public Optional<Collection<AirbyteStateMessage>> getStreamStates() {
+    return Optional.of(aggregatedState.values());
+  }
+
   @Override
   public boolean isEmpty() {
     return aggregatedState.isEmpty();
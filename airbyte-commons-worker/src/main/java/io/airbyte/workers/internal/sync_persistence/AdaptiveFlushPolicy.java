@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.sync_persistence;
+
+/**
+ * Decides when SyncPersistenceImpl flushes states and stats.
+ * <p>
+ * A flush is due as soon as enough records or bytes have been committed since the last flush, or
+ * when there is data to flush and the last flush is older than the max staleness. Periodic checks
+ * only cover the case where no new state arrives: when a check finds nothing to flush, the next
+ * check is delayed twice as long, up to the max staleness.
+ * <p>
+ * This class is thread safe.
+ */
+class AdaptiveFlushPolicy {
+
+  private static final long MIN_CHECK_INTERVAL_MILLIS = 5_000;
+
+  private final long recordsThreshold;
+  private final long bytesThreshold;
+  private final long maxStalenessMillis;
+  private final long minCheckIntervalMillis;
+
+  private long committedRecords;
+  private long committedBytes;
+  private long committedRecordsAtLastFlush;
+  private long committedBytesAtLastFlush;
+  private long lastFlushMillis;
+  private long idleCheckIntervalMillis;
+
+  /**
+   * Create a policy.
+   *
+   * @param recordsThreshold number of committed records after which a flush is due
+   * @param bytesThreshold number of committed bytes after which a flush is due
+   * @param maxStalenessMillis maximum time states can wait to be flushed
+   * @param nowMillis current time, considered as the time of the last flush
+   */
+  AdaptiveFlushPolicy(final long recordsThreshold, final long bytesThreshold, final long maxStalenessMillis, final long nowMillis) {
+    this.recordsThreshold = recordsThreshold;
+    this.bytesThreshold = bytesThreshold;
+    this.maxStalenessMillis = maxStalenessMillis;
+    this.minCheckIntervalMillis = Math.min(MIN_CHECK_INTERVAL_MILLIS, maxStalenessMillis);
+    this.lastFlushMillis = nowMillis;
+    this.idleCheckIntervalMillis = minCheckIntervalMillis;
+  }
+
+  /**
+   * Record the total number of committed records and bytes of the sync, when a state is persisted.
+   *
+   * @return true if a flush is due
+   */
+  synchronized boolean onStatePersisted(final long totalCommittedRecords, final long totalCommittedBytes, final long nowMillis) {
+    committedRecords = totalCommittedRecords;
+    committedBytes = totalCommittedBytes;
+    return committedRecords - committedRecordsAtLastFlush >= recordsThreshold
+        || committedBytes - committedBytesAtLastFlush >= bytesThreshold
+        || isStale(nowMillis);
+  }
+
+  /**
+   * Record the start of a flush. The data committed so far is part of that flush.
+   */
+  synchronized void onFlush(final long nowMillis) {
+    committedRecordsAtLastFlush = committedRecords;
+    committedBytesAtLastFlush = committedBytes;
+    lastFlushMillis = nowMillis;
+    idleCheckIntervalMillis = minCheckIntervalMillis;
+  }
+
+  synchronized boolean isStale(final long nowMillis) {
+    return nowMillis - lastFlushMillis >= maxStalenessMillis;
+  }
+
+  /**
+   * Delay of the next periodic check, when there is data waiting to be flushed.
+   */
+  synchronized long getPendingCheckDelayMillis(final long nowMillis) {
+    return Math.max(minCheckIntervalMillis, lastFlushMillis + maxStalenessMillis - nowMillis);
+  }
+
+  /**
+   * Delay of the next periodic check, when there was nothing to flush. Consecutive idle checks back
+   * off exponentially.
+   */
+  synchronized long getIdleCheckDelayMillis() {
+    final long delay = idleCheckIntervalMillis;
+    idleCheckIntervalMillis = Math.min(maxStalenessMillis, 2 * idleCheckIntervalMillis);
+    return delay;
+  }
+
+}
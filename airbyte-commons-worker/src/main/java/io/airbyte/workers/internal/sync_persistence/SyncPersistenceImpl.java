@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal.sync_persistence;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import datadog.trace.api.Trace;
@@ -17,6 +18,7 @@ import io.airbyte.api.client.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.client.model.generated.ConnectionState;
 import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.api.client.model.generated.ConnectionStateType;
+import io.airbyte.api.client.model.generated.ConnectionStreamStatesUpsert;
 import io.airbyte.api.client.model.generated.SaveStatsRequestBody;
 import io.airbyte.commons.converters.StateConverter;
 import io.airbyte.config.State;
@@ -25,6 +27,10 @@ import io.airbyte.config.StateWrapper;
 import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.SyncStats;
 import io.airbyte.config.helpers.StateMessageHelper;
+import io.airbyte.featureflag.Connection;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.UseAdaptiveStateFlush;
+import io.airbyte.featureflag.UseStreamStateUpserts;
 import io.airbyte.metrics.lib.MetricAttribute;
 import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.metrics.lib.MetricTags;
@@ -34,6 +40,7 @@ import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.AirbyteStreamState;
 import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.StreamDescriptor;
@@ -46,14 +53,19 @@ import io.micronaut.context.annotation.Prototype;
 import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Creator;
 import jakarta.inject.Named;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -62,6 +74,13 @@ import lombok.extern.slf4j.Slf4j;
  * Persistence operations are delegated to an API and batched with a regular interval. Buffering is
  * handled in memory.
  * <p>
+ * With adaptive flushes, the interval is a maximum staleness instead: busy syncs flush as soon as
+ * enough data has been committed, and idle syncs check for data to flush less and less often. See
+ * {@link AdaptiveFlushPolicy}.
+ * <p>
+ * Per stream states can be persisted incrementally: only the streams whose state changed since the
+ * last successful flush are sent to the API, instead of the whole state of the connection.
+ * <p>
  * This implementation is meant to work for a single sync at time. Using it with data from different
  * connections will end up mixing the data. Given the scope, it is annotated as `@Prototype` which
  * tells micronaut to re-create a fresh instance everytime the SyncPersistence is requested.
@@ -84,8 +103,9 @@ public class SyncPersistenceImpl implements SyncPersistence {
   private final StateApi stateApi;
   private final AttemptApi attemptApi;
   private final StateAggregatorFactory stateAggregatorFactory;
+  private final FeatureFlagClient featureFlagClient;
 
-  private final SyncStatsTracker syncStatsTracker;
+  private final DefaultSyncStatsTracker syncStatsTracker;
   private SaveStatsRequestBody statsToPersist;
   private boolean isReceivingStats;
 
@@ -98,30 +118,48 @@ public class SyncPersistenceImpl implements SyncPersistence {
   private boolean onlyFlushAtTheEnd;
   private final long stateFlushPeriodInSeconds;
 
+  private final AdaptiveFlushPolicy flushPolicy;
+  private volatile boolean useAdaptiveFlush;
+  private final AtomicBoolean isFlushRequested = new AtomicBoolean(false);
+  private boolean isClosing;
+
+  private Boolean useStreamStateUpserts;
+  // Latest state of each stream that was persisted by a stream state upsert
+  private final Map<StreamDescriptor, JsonNode> persistedStreamStates = new HashMap<>();
+
   @Creator
   public SyncPersistenceImpl(final StateApi stateApi,
                              final AttemptApi attemptApi,
                              final StateAggregatorFactory stateAggregatorFactory,
+                             final FeatureFlagClient featureFlagClient,
                              @Named("syncPersistenceExecutorService") final ScheduledExecutorService scheduledExecutorService,
-                             @Value("${airbyte.worker.replication.persistence-flush-period-sec}") final long stateFlushPeriodInSeconds) {
-    this(stateApi, attemptApi, stateAggregatorFactory, new DefaultSyncStatsTracker(), scheduledExecutorService, stateFlushPeriodInSeconds,
-        Optional.empty());
+                             @Value("${airbyte.worker.replication.persistence-flush-period-sec}") final long stateFlushPeriodInSeconds,
+                             @Value("${airbyte.worker.replication.persistence-flush-records-threshold}") final long flushRecordsThreshold,
+                             @Value("${airbyte.worker.replication.persistence-flush-bytes-threshold}") final long flushBytesThreshold) {
+    this(stateApi, attemptApi, stateAggregatorFactory, featureFlagClient, new DefaultSyncStatsTracker(), scheduledExecutorService,
+        stateFlushPeriodInSeconds, flushRecordsThreshold, flushBytesThreshold, Optional.empty());
   }
 
   @VisibleForTesting
   SyncPersistenceImpl(final StateApi stateApi,
                       final AttemptApi attemptApi,
                       final StateAggregatorFactory stateAggregatorFactory,
-                      final SyncStatsTracker syncStatsTracker,
+                      final FeatureFlagClient featureFlagClient,
+                      final DefaultSyncStatsTracker syncStatsTracker,
                       final ScheduledExecutorService scheduledExecutorService,
                       final long stateFlushPeriodInSeconds,
+                      final long flushRecordsThreshold,
+                      final long flushBytesThreshold,
                       final Optional<RetryWithJitterConfig> retryWithJitterConfig) {
     this.stateApi = stateApi;
     this.attemptApi = attemptApi;
     this.stateAggregatorFactory = stateAggregatorFactory;
+    this.featureFlagClient = featureFlagClient;
     this.stateFlushExecutorService = scheduledExecutorService;
     this.stateBuffer = this.stateAggregatorFactory.create();
     this.stateFlushPeriodInSeconds = stateFlushPeriodInSeconds;
+    this.flushPolicy = new AdaptiveFlushPolicy(flushRecordsThreshold, flushBytesThreshold, TimeUnit.SECONDS.toMillis(stateFlushPeriodInSeconds),
+        System.currentTimeMillis());
     this.syncStatsTracker = syncStatsTracker;
     this.onlyFlushAtTheEnd = false;
     this.isReceivingStats = false;
@@ -151,6 +189,12 @@ public class SyncPersistenceImpl implements SyncPersistence {
     MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_BUFFERING, 1);
     stateBuffer.ingest(stateMessage);
     startBackgroundFlushStateTask(connectionId, stateMessage);
+
+    if (useAdaptiveFlush
+        && flushPolicy.onStatePersisted(syncStatsTracker.getTotalRecordsCommitted().orElse(0L), syncStatsTracker.getTotalBytesCommitted().orElse(0L),
+            System.currentTimeMillis())) {
+      requestFlush();
+    }
   }
 
   private void startBackgroundFlushStateTask(final UUID connectionId, final AirbyteStateMessage stateMessage) {
@@ -178,8 +222,54 @@ public class SyncPersistenceImpl implements SyncPersistence {
     synchronized (this) {
       if (stateFlushFuture == null) {
         log.info("starting state flush thread for connectionId " + connectionId);
-        stateFlushFuture =
-            stateFlushExecutorService.scheduleAtFixedRate(this::flush, runImmediately, stateFlushPeriodInSeconds, TimeUnit.SECONDS);
+        if (featureFlagClient.boolVariation(UseAdaptiveStateFlush.INSTANCE, new Connection(connectionId))) {
+          useAdaptiveFlush = true;
+          stateFlushFuture = stateFlushExecutorService.schedule(this::checkFlush, runImmediately, TimeUnit.MILLISECONDS);
+        } else {
+          stateFlushFuture =
+              stateFlushExecutorService.scheduleAtFixedRate(this::flush, runImmediately, stateFlushPeriodInSeconds, TimeUnit.SECONDS);
+        }
+      }
+    }
+  }
+
+  /**
+   * Periodic check of the adaptive flushes. It flushes the states that have been waiting for too
+   * long, in case no new state came in to trigger a flush.
+   */
+  private void checkFlush() {
+    final long delayMillis;
+    if (!hasStatesToFlush() && !hasStatsToFlush()) {
+      MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_FLUSH_SKIPPED, 1);
+      delayMillis = flushPolicy.getIdleCheckDelayMillis();
+    } else {
+      if (flushPolicy.isStale(System.currentTimeMillis())) {
+        flush();
+      }
+      delayMillis = flushPolicy.getPendingCheckDelayMillis(System.currentTimeMillis());
+    }
+
+    synchronized (this) {
+      if (!isClosing) {
+        stateFlushFuture = stateFlushExecutorService.schedule(this::checkFlush, delayMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Flush as soon as possible. Requests made while a flush is pending are coalesced into that flush,
+   * since it will pick up all the states buffered by the time it runs.
+   */
+  private void requestFlush() {
+    if (isFlushRequested.compareAndSet(false, true)) {
+      try {
+        stateFlushExecutorService.execute(() -> {
+          isFlushRequested.set(false);
+          flush();
+        });
+      } catch (final RejectedExecutionException e) {
+        // We are closing, the final flush will persist the states
+        isFlushRequested.set(false);
       }
     }
   }
@@ -201,7 +291,18 @@ public class SyncPersistenceImpl implements SyncPersistence {
    */
   @Override
   public void close() throws Exception {
+    // the states that are not committed yet won't be anymore, the final flush only needs the
+    // committed counts
+    syncStatsTracker.close();
+
     // stop the buffered refresh
+    synchronized (this) {
+      isClosing = true;
+      if (useAdaptiveFlush && stateFlushFuture != null) {
+        // Delayed tasks would still run after the shutdown, unlike periodic tasks
+        stateFlushFuture.cancel(false);
+      }
+    }
     stateFlushExecutorService.shutdown();
 
     // Wait for previous running task to terminate
@@ -320,6 +421,13 @@ public class SyncPersistenceImpl implements SyncPersistence {
    * attempt and the recent buffered data.
    */
   private void flush() {
+    if (!hasStatesToFlush() && !hasStatsToFlush()) {
+      MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_FLUSH_SKIPPED, 1);
+      return;
+    }
+
+    final long startTimeNanos = System.nanoTime();
+    flushPolicy.onFlush(System.currentTimeMillis());
     prepareDataForFlush();
 
     try {
@@ -335,6 +443,9 @@ public class SyncPersistenceImpl implements SyncPersistence {
       }
     } catch (final Exception e) {
       log.warn("Failed to persist state for connectionId {}, it will be retried as part of the next flush", connectionId, e);
+    } finally {
+      MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.STATE_FLUSH_LATENCY_MILLIS,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNanos));
     }
   }
 
@@ -366,6 +477,13 @@ public class SyncPersistenceImpl implements SyncPersistence {
       return;
     }
 
+    // A migration is validated and persisted as a whole state at the end of the sync
+    final Optional<Collection<AirbyteStateMessage>> streamStates = stateToFlush.getStreamStates();
+    if (streamStates.isPresent() && !onlyFlushAtTheEnd && shouldUseStreamStateUpserts()) {
+      doFlushStreamStates(streamStates.get());
+      return;
+    }
+
     final State state = stateToFlush.getAggregated();
     final Optional<StateWrapper> maybeStateWrapper = StateMessageHelper.getTypedState(state.getState(), true);
 
@@ -374,6 +492,7 @@ public class SyncPersistenceImpl implements SyncPersistence {
     }
 
     MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT, 1);
+    MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.STATE_FLUSH_PAYLOAD_STREAMS, countStreams(maybeStateWrapper.get()));
 
     final ConnectionStateCreateOrUpdate stateApiRequest = new ConnectionStateCreateOrUpdate()
         .connectionId(connectionId)
@@ -391,6 +510,67 @@ public class SyncPersistenceImpl implements SyncPersistence {
     MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL, 1);
   }
 
+  /**
+   * Persist the states of the streams that changed since the last successful flush.
+   * <p>
+   * stateToFlush only holds the streams that got a state since the last successful flush, and the
+   * states that are equal to the last persisted state of their stream are skipped. This avoids
+   * converting and sending the state of every stream of the connection, and lets the server write
+   * only the rows of these streams.
+   */
+  private void doFlushStreamStates(final Collection<AirbyteStateMessage> stateMessages) throws ApiException {
+    final List<AirbyteStreamState> dirtyStreamStates = stateMessages.stream()
+        .map(AirbyteStateMessage::getStream)
+        .filter(this::isDirty)
+        .toList();
+
+    if (!dirtyStreamStates.isEmpty()) {
+      MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT, 1);
+      MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.STATE_FLUSH_PAYLOAD_STREAMS, dirtyStreamStates.size());
+
+      final ConnectionStreamStatesUpsert stateApiRequest = new ConnectionStreamStatesUpsert()
+          .connectionId(connectionId)
+          .streamStates(dirtyStreamStates.stream().map(StateConverter::streamStateStructToClient).toList());
+
+      try {
+        stateApi.upsertStreamStates(stateApiRequest);
+      } catch (final Exception e) {
+        MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_FAILED, 1);
+        throw e;
+      }
+
+      dirtyStreamStates.forEach(streamState -> persistedStreamStates.put(streamState.getStreamDescriptor(), streamState.getStreamState()));
+      MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL, 1);
+    }
+
+    // Only reset stateToFlush if the API call was successful
+    stateToFlush = null;
+  }
+
+  private static int countStreams(final StateWrapper stateWrapper) {
+    return switch (stateWrapper.getStateType()) {
+      case STREAM -> stateWrapper.getStateMessages().size();
+      case GLOBAL -> {
+        final List<AirbyteStreamState> streamStates = stateWrapper.getGlobal().getGlobal().getStreamStates();
+        yield streamStates != null ? streamStates.size() : 0;
+      }
+      case LEGACY -> 1;
+    };
+  }
+
+  private boolean isDirty(final AirbyteStreamState streamState) {
+    final StreamDescriptor streamDescriptor = streamState.getStreamDescriptor();
+    return !persistedStreamStates.containsKey(streamDescriptor)
+        || !Objects.equals(persistedStreamStates.get(streamDescriptor), streamState.getStreamState());
+  }
+
+  private boolean shouldUseStreamStateUpserts() {
+    if (useStreamStateUpserts == null) {
+      useStreamStateUpserts = featureFlagClient.boolVariation(UseStreamStateUpserts.INSTANCE, new Connection(connectionId));
+    }
+    return useStreamStateUpserts;
+  }
+
   private void validateStreamMigration() {
     final State state = stateToFlush.getAggregated();
     final Optional<StateWrapper> maybeStateWrapper = StateMessageHelper.getTypedState(state.getState(), true);
@@ -13,8 +13,10 @@ import io.airbyte.config.ResourceRequirements;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.internal.AirbyteDestination;
+import io.airbyte.workers.internal.AirbyteMessageBufferedWriterFactory;
 import io.airbyte.workers.internal.AirbyteSource;
-import io.airbyte.workers.internal.AirbyteStreamFactory;
+import io.airbyte.workers.internal.BatchedAirbyteMessageBufferedWriterFactory;
+import io.airbyte.workers.internal.ConnectorLogSettings;
 import io.airbyte.workers.internal.DefaultAirbyteDestination;
 import io.airbyte.workers.internal.DefaultAirbyteSource;
 import io.airbyte.workers.internal.HeartbeatMonitor;
@@ -84,10 +86,34 @@ public class AirbyteIntegrationLauncherFactory {
                                            final ResourceRequirements resourceRequirements,
                                            final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
                                            final HeartbeatMonitor heartbeatMonitor) {
+    return createAirbyteSource(sourceLauncherConfig, resourceRequirements, configuredAirbyteCatalog, heartbeatMonitor, false,
+        ConnectorLogSettings.SYNCHRONOUS);
+  }
+
+  /**
+   * Create an AirbyteSource from a given configuration.
+   *
+   * @param sourceLauncherConfig the configuration of the source.
+   * @param resourceRequirements the resource requirements for the source.
+   * @param configuredAirbyteCatalog the configuredAirbyteCatalog of the Connection the source.
+   * @param heartbeatMonitor an instance of HeartbeatMonitor to use for the AirbyteSource.
+   * @param recordPassthrough whether records should be read without deserializing their data, see
+   *        {@link io.airbyte.workers.internal.PassthroughAirbyteRecordMessage}.
+   * @param logSettings how the source logs are written.
+   * @return an AirbyteSource.
+   */
+  public AirbyteSource createAirbyteSource(final IntegrationLauncherConfig sourceLauncherConfig,
+                                           final ResourceRequirements resourceRequirements,
+                                           final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
+                                           final HeartbeatMonitor heartbeatMonitor,
+                                           final boolean recordPassthrough,
+                                           final ConnectorLogSettings logSettings) {
     final IntegrationLauncher sourceLauncher = createIntegrationLauncher(sourceLauncherConfig, resourceRequirements);
 
     return new DefaultAirbyteSource(sourceLauncher,
-        getStreamFactory(sourceLauncherConfig, configuredAirbyteCatalog, SourceException.class, DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER),
+        getStreamFactory(sourceLauncherConfig, configuredAirbyteCatalog, SourceException.class, DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER)
+            .withRecordPassthrough(recordPassthrough)
+            .withLogSettings(logSettings),
         heartbeatMonitor,
         getProtocolSerializer(sourceLauncherConfig),
         featureFlags);
@@ -104,12 +130,36 @@ public class AirbyteIntegrationLauncherFactory {
   public AirbyteDestination createAirbyteDestination(final IntegrationLauncherConfig destinationLauncherConfig,
                                                      final ResourceRequirements resourceRequirements,
                                                      final ConfiguredAirbyteCatalog configuredAirbyteCatalog) {
+    return createAirbyteDestination(destinationLauncherConfig, resourceRequirements, configuredAirbyteCatalog, false,
+        ConnectorLogSettings.SYNCHRONOUS);
+  }
+
+  /**
+   * Create an AirbyteDestination from a given configuration.
+   *
+   * @param destinationLauncherConfig the configuration of the destination.
+   * @param resourceRequirements the resource requirements for the destination.
+   * @param configuredAirbyteCatalog the configuredAirbyteCatalog of the Connection the destination.
+   * @param batchedWriter whether messages should be batched in memory before being sent to the
+   *        destination, see {@link BatchedAirbyteMessageBufferedWriterFactory}.
+   * @param logSettings how the destination logs are written.
+   * @return an AirbyteDestination.
+   */
+  public AirbyteDestination createAirbyteDestination(final IntegrationLauncherConfig destinationLauncherConfig,
+                                                     final ResourceRequirements resourceRequirements,
+                                                     final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
+                                                     final boolean batchedWriter,
+                                                     final ConnectorLogSettings logSettings) {
     final IntegrationLauncher destinationLauncher = createIntegrationLauncher(destinationLauncherConfig, resourceRequirements);
+    final AirbyteMessageBufferedWriterFactory messageWriterFactory = batchedWriter
+        ? new BatchedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
+            Optional.of(configuredAirbyteCatalog))
+        : new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
+            Optional.of(configuredAirbyteCatalog));
     return new DefaultAirbyteDestination(destinationLauncher,
         getStreamFactory(destinationLauncherConfig, configuredAirbyteCatalog, DestinationException.class,
-            DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER),
-        new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
-            Optional.of(configuredAirbyteCatalog)),
+            DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER).withLogSettings(logSettings),
+        messageWriterFactory,
         getProtocolSerializer(destinationLauncherConfig));
   }
 
@@ -117,10 +167,10 @@ public class AirbyteIntegrationLauncherFactory {
     return migratorFactory.getProtocolSerializer(launcherConfig.getProtocolVersion());
   }
 
-  private AirbyteStreamFactory getStreamFactory(final IntegrationLauncherConfig launcherConfig,
-                                                final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
-                                                final Class<? extends RuntimeException> exceptionClass,
-                                                final MdcScope.Builder mdcScopeBuilder) {
+  private VersionedAirbyteStreamFactory<?> getStreamFactory(final IntegrationLauncherConfig launcherConfig,
+                                                            final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
+                                                            final Class<? extends RuntimeException> exceptionClass,
+                                                            final MdcScope.Builder mdcScopeBuilder) {
     return new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, launcherConfig.getProtocolVersion(),
         Optional.of(configuredAirbyteCatalog), mdcScopeBuilder, Optional.of(exceptionClass));
   }
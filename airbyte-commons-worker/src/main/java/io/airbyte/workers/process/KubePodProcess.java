@@ -6,6 +6,7 @@ package io.airbyte.workers.process;
 
 import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.lang.Exceptions;
+import io.airbyte.commons.logging.MdcScope;
 import io.airbyte.commons.resources.MoreResources;
 import io.airbyte.config.Configs;
 import io.airbyte.config.EnvConfigs;
@@ -40,8 +41,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.ProcessHandle.Info;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.AbstractMap;
@@ -54,8 +54,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -158,11 +156,12 @@ public class KubePodProcess implements KubePod {
   private InputStream stdout;
   private InputStream stderr;
 
-  private final ServerSocket stdoutServerSocket;
+  private final ServerSocketChannel stdoutServerChannel;
   private final int stdoutLocalPort;
-  private final ServerSocket stderrServerSocket;
+  private final ServerSocketChannel stderrServerChannel;
   private final int stderrLocalPort;
-  private final ExecutorService executorService;
+  private CompletableFuture<StdioChannel> stdoutListener;
+  private CompletableFuture<StdioChannel> stderrListener;
   private final CompletableFuture<Integer> exitCodeFuture;
   private final SharedIndexInformer<Pod> podInformer;
 
@@ -421,9 +420,8 @@ public class KubePodProcess implements KubePod {
       this.fabricClient = fabricClient;
       this.stdoutLocalPort = stdoutLocalPort;
       this.stderrLocalPort = stderrLocalPort;
-      this.stdoutServerSocket = new ServerSocket(stdoutLocalPort);
-      this.stderrServerSocket = new ServerSocket(stderrLocalPort);
-      this.executorService = Executors.newFixedThreadPool(2);
+      this.stdoutServerChannel = StdioChannel.listen(stdoutLocalPort);
+      this.stderrServerChannel = StdioChannel.listen(stderrLocalPort);
       setupStdOutAndStdErrListeners();
 
       if (entrypointOverride != null) {
@@ -622,8 +620,7 @@ public class KubePodProcess implements KubePod {
 
       if (usesStdin) {
         LOGGER.info("Creating stdin socket...");
-        final var socketToDestStdIo = new Socket(podIp, STDIN_REMOTE_PORT);
-        this.stdin = socketToDestStdIo.getOutputStream();
+        this.stdin = StdioChannel.connect(podIp, STDIN_REMOTE_PORT, "stdin").getOutputStream();
       } else {
         LOGGER.info("Using null stdin output stream...");
         this.stdin = NullOutputStream.NULL_OUTPUT_STREAM;
@@ -636,39 +633,44 @@ public class KubePodProcess implements KubePod {
   }
 
   private void setupStdOutAndStdErrListeners() {
-    final var context = MDC.getCopyOfContextMap();
-    executorService.submit(() -> {
-      MDC.setContextMap(context);
-      try {
-        LOGGER.info("Creating stdout socket server...");
-        final var socket = stdoutServerSocket.accept(); // blocks until connected
-        // cat /proc/sys/net/ipv4/tcp_keepalive_time
-        // 300
-        // cat /proc/sys/net/ipv4/tcp_keepalive_probes
-        // 5
-        // cat /proc/sys/net/ipv4/tcp_keepalive_intvl
-        // 60
-        socket.setKeepAlive(true);
-        LOGGER.info("Setting stdout...");
-        this.stdout = socket.getInputStream();
-      } catch (final IOException e) {
-        e.printStackTrace(); // todo: propagate exception / join at the end of constructor
+    // the listeners run on the acceptor thread, which is shared with other processes
+    final Map<String, String> context = Optional.ofNullable(MDC.getCopyOfContextMap()).orElse(Map.of());
+    LOGGER.info("Creating stdout and stderr socket servers...");
+    stdoutListener = StdioChannel.accept(stdoutServerChannel, "stdout");
+    stdoutListener.whenComplete((channel, e) -> {
+      if (channel != null) {
+        try (final var ignored = new MdcScope(context)) {
+          LOGGER.info("Setting stdout...");
+        }
+        this.stdout = channel.getInputStream();
+        closeIfClosed(channel);
+      } else if (!wasClosed.get()) {
+        LOGGER.error("Failed to accept the stdout connection", e);
       }
     });
-    executorService.submit(() -> {
-      MDC.setContextMap(context);
-      try {
-        LOGGER.info("Creating stderr socket server...");
-        final var socket = stderrServerSocket.accept(); // blocks until connected
-        socket.setKeepAlive(true);
-        LOGGER.info("Setting stderr...");
-        this.stderr = socket.getInputStream();
-      } catch (final IOException e) {
-        e.printStackTrace(); // todo: propagate exception / join at the end of constructor
+    stderrListener = StdioChannel.accept(stderrServerChannel, "stderr");
+    stderrListener.whenComplete((channel, e) -> {
+      if (channel != null) {
+        try (final var ignored = new MdcScope(context)) {
+          LOGGER.info("Setting stderr...");
+        }
+        this.stderr = channel.getInputStream();
+        closeIfClosed(channel);
+      } else if (!wasClosed.get()) {
+        LOGGER.error("Failed to accept the stderr connection", e);
       }
     });
   }
 
+  /**
+   * A connection accepted after the process was closed wouldn't be closed with the other resources.
+   */
+  private void closeIfClosed(final StdioChannel channel) {
+    if (wasClosed.get()) {
+      Exceptions.swallow(channel::close);
+    }
+  }
+
   /**
    * Waits for the Kube Pod backing this process and returns the exit value after closing resources.
    */
@@ -764,17 +766,20 @@ public class KubePodProcess implements KubePod {
       Exceptions.swallow(this.stderr::close);
     }
 
-    if (this.stdoutServerSocket != null) {
-      Exceptions.swallow(this.stdoutServerSocket::close);
+    if (this.stdoutServerChannel != null) {
+      Exceptions.swallow(this.stdoutServerChannel::close);
     }
-    if (this.stderrServerSocket != null) {
-      Exceptions.swallow(this.stderrServerSocket::close);
+    if (this.stderrServerChannel != null) {
+      Exceptions.swallow(this.stderrServerChannel::close);
     }
     if (this.podInformer != null) {
       Exceptions.swallow(this.podInformer::close);
     }
-    if (this.executorService != null) {
-      Exceptions.swallow(this.executorService::shutdownNow);
+    if (this.stdoutListener != null) {
+      this.stdoutListener.cancel(false);
+    }
+    if (this.stderrListener != null) {
+      this.stderrListener.cancel(false);
     }
 
     KubePortManagerSingleton.getInstance().offer(stdoutLocalPort);
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.process;
+
+import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+
+/**
+ * Periodically reports how many process output streams are being consumed, which is the number of
+ * threads blocked on process IO.
+ * <p>
+ * Nothing is reported until the metric client is initialized, the container orchestrator only does
+ * it once the replication starts.
+ */
+@Singleton
+public class LineGobblerMetricsReporter {
+
+  @Scheduled(fixedRate = "30s")
+  void reportActiveGobblers() {
+    if (!MetricClientFactory.isInitialized()) {
+      return;
+    }
+    MetricClientFactory.getMetricClient().gauge(OssMetricsRegistry.NUM_ACTIVE_LINE_GOBBLERS, LineGobbler.getActiveGobblers());
+  }
+
+}
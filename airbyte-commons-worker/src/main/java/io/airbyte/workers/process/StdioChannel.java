@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.process;
+
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A socket carrying one of the stdio streams of a {@link KubePodProcess} between this process and
+ * the relay sidecars of the pod.
+ * <p>
+ * Channels are opened with large socket buffers, so that the TCP window doesn't limit the throughput
+ * of the relay hop, and copy data through a direct buffer of their own rather than through the
+ * temporary direct buffers the JDK caches per thread. They count the bytes transferred and the time
+ * spent blocked on the socket, which are reported when the channel is closed.
+ */
+class StdioChannel implements Closeable {
+
+  static final int SOCKET_BUFFER_SIZE = 1024 * 1024;
+  private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+  private final SocketChannel channel;
+  private final String name;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+  private final LongAdder bytesTransferred = new LongAdder();
+  private final LongAdder blockedNanos = new LongAdder();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private StdioChannel(final SocketChannel channel, final String name) throws IOException {
+    this.channel = channel;
+    this.name = name;
+    // cat /proc/sys/net/ipv4/tcp_keepalive_time
+    // 300
+    // cat /proc/sys/net/ipv4/tcp_keepalive_probes
+    // 5
+    // cat /proc/sys/net/ipv4/tcp_keepalive_intvl
+    // 60
+    channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+    channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_BUFFER_SIZE);
+    channel.configureBlocking(true);
+  }
+
+  /**
+   * Open a server channel listening on the given port. The receive buffer is set on the server
+   * channel so that the window of accepted connections can scale to it.
+   */
+  static ServerSocketChannel listen(final int port) throws IOException {
+    final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+    try {
+      serverChannel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_SIZE);
+      serverChannel.bind(new InetSocketAddress(port));
+    } catch (final IOException e) {
+      serverChannel.close();
+      throw e;
+    }
+    return serverChannel;
+  }
+
+  /**
+   * Accept the next connection to the server channel, without blocking a thread until it arrives.
+   *
+   * @param serverChannel channel to accept from
+   * @param name name of the stdio stream, used when reporting metrics
+   * @return the channel of the accepted connection
+   */
+  static CompletableFuture<StdioChannel> accept(final ServerSocketChannel serverChannel, final String name) {
+    return StdioChannelAcceptor.getInstance().accept(serverChannel).thenApply(socketChannel -> {
+      try {
+        return new StdioChannel(socketChannel, name);
+      } catch (final IOException e) {
+        closeQuietly(socketChannel);
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  /**
+   * Connect to the given address.
+   *
+   * @param host host to connect to
+   * @param port port to connect to
+   * @param name name of the stdio stream, used when reporting metrics
+   * @return the connected channel
+   */
+  static StdioChannel connect(final String host, final int port, final String name) throws IOException {
+    final SocketChannel socketChannel = SocketChannel.open();
+    try {
+      socketChannel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_SIZE);
+      socketChannel.connect(new InetSocketAddress(host, port));
+      return new StdioChannel(socketChannel, name);
+    } catch (final IOException e) {
+      closeQuietly(socketChannel);
+      throw e;
+    }
+  }
+
+  InputStream getInputStream() {
+    return new InputStream() {
+
+      @Override
+      public int read() throws IOException {
+        final byte[] b = new byte[1];
+        final int read = read(b, 0, 1);
+        return read == -1 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+          return 0;
+        }
+        return StdioChannel.this.read(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        StdioChannel.this.close();
+      }
+
+    };
+  }
+
+  OutputStream getOutputStream() {
+    return new OutputStream() {
+
+      @Override
+      public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        StdioChannel.this.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        StdioChannel.this.close();
+      }
+
+    };
+  }
+
+  long getBytesTransferred() {
+    return bytesTransferred.sum();
+  }
+
+  long getBlockedNanos() {
+    return blockedNanos.sum();
+  }
+
+  private synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+    buffer.clear().limit(Math.min(len, buffer.capacity()));
+    final long start = System.nanoTime();
+    final int read = channel.read(buffer);
+    blockedNanos.add(System.nanoTime() - start);
+    if (read > 0) {
+      buffer.flip().get(b, off, read);
+      bytesTransferred.add(read);
+    }
+    return read;
+  }
+
+  private synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+    int written = 0;
+    while (written < len) {
+      final int chunk = Math.min(len - written, buffer.capacity());
+      buffer.clear();
+      buffer.put(b, off + written, chunk).flip();
+      final long start = System.nanoTime();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      blockedNanos.add(System.nanoTime() - start);
+      written += chunk;
+    }
+    bytesTransferred.add(len);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed.getAndSet(true)) {
+      return;
+    }
+    channel.close();
+    final MetricAttribute stream = new MetricAttribute(MetricTags.STDIO_STREAM, name);
+    MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.KUBE_POD_PROCESS_STDIO_BYTES, getBytesTransferred(), stream);
+    MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.KUBE_POD_PROCESS_STDIO_BLOCKED_TIME_MILLISECS,
+        TimeUnit.NANOSECONDS.toMillis(getBlockedNanos()), stream);
+  }
+
+  private static void closeQuietly(final SocketChannel socketChannel) {
+    try {
+      socketChannel.close();
+    } catch (final IOException e) {
+      // already failing
+    }
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.process;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accepts the stdio connections of all the pods of this process from a single selector thread,
+ * instead of blocking a thread per server socket until the relay sidecar of the pod connects.
+ */
+final class StdioChannelAcceptor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StdioChannelAcceptor.class);
+  private static final long SELECT_TIMEOUT_MILLIS = 1000;
+
+  private final Selector selector;
+  private final Queue<PendingAccept> pendingAccepts = new ConcurrentLinkedQueue<>();
+  // only accessed from the selector thread
+  private final Set<PendingAccept> registeredAccepts = new HashSet<>();
+
+  private record PendingAccept(ServerSocketChannel serverChannel, CompletableFuture<SocketChannel> future) {}
+
+  private static class Holder {
+
+    private static final StdioChannelAcceptor INSTANCE = new StdioChannelAcceptor();
+
+  }
+
+  static StdioChannelAcceptor getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private StdioChannelAcceptor() {
+    try {
+      selector = Selector.open();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final Thread thread = new Thread(this::run, "stdio-channel-acceptor");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Accept the next connection to the server channel. The future is failed if the server channel is
+   * closed first, and stops waiting for a connection if it is cancelled.
+   */
+  CompletableFuture<SocketChannel> accept(final ServerSocketChannel serverChannel) {
+    final CompletableFuture<SocketChannel> future = new CompletableFuture<>();
+    try {
+      serverChannel.configureBlocking(false);
+    } catch (final IOException e) {
+      future.completeExceptionally(e);
+      return future;
+    }
+    pendingAccepts.add(new PendingAccept(serverChannel, future));
+    selector.wakeup();
+    return future;
+  }
+
+  private void run() {
+    while (true) {
+      try {
+        selector.select(SELECT_TIMEOUT_MILLIS);
+        registerPendingAccepts();
+        acceptReadyConnections();
+        dropAbandonedAccepts();
+      } catch (final IOException | RuntimeException e) {
+        LOGGER.error("Failed to accept stdio connections", e);
+      }
+    }
+  }
+
+  private void registerPendingAccepts() {
+    PendingAccept pendingAccept;
+    while ((pendingAccept = pendingAccepts.poll()) != null) {
+      try {
+        pendingAccept.serverChannel().register(selector, SelectionKey.OP_ACCEPT, pendingAccept.future());
+        registeredAccepts.add(pendingAccept);
+      } catch (final ClosedChannelException e) {
+        pendingAccept.future().completeExceptionally(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void acceptReadyConnections() {
+    final Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+    while (selectedKeys.hasNext()) {
+      final SelectionKey key = selectedKeys.next();
+      selectedKeys.remove();
+      final CompletableFuture<SocketChannel> future = (CompletableFuture<SocketChannel>) key.attachment();
+      try {
+        final SocketChannel socketChannel = ((ServerSocketChannel) key.channel()).accept();
+        if (socketChannel == null) {
+          continue;
+        }
+        key.cancel();
+        if (!future.complete(socketChannel)) {
+          socketChannel.close();
+        }
+      } catch (final IOException e) {
+        key.cancel();
+        future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private void dropAbandonedAccepts() {
+    final Iterator<PendingAccept> accepts = registeredAccepts.iterator();
+    while (accepts.hasNext()) {
+      final PendingAccept accept = accepts.next();
+      if (!accept.serverChannel().isOpen()) {
+        // closing the channel already cancelled its key
+        accept.future().completeExceptionally(new ClosedChannelException());
+      }
+      if (accept.future().isDone()) {
+        final SelectionKey key = accept.serverChannel().keyFor(selector);
+        if (key != null) {
+          key.cancel();
+        }
+        accepts.remove();
+      }
+    }
+  }
+
+}
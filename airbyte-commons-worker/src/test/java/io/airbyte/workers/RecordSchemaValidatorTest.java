@@ -5,19 +5,29 @@
 package io.airbyte.workers;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSyncInput;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.validation.json.JsonSchemaValidator;
+import io.airbyte.workers.RecordSchemaValidator.SamplingPolicy;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import io.airbyte.workers.test_utils.TestConfigHelpers;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -96,4 +106,90 @@ class RecordSchemaValidatorTest {
     assertEquals(2, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
   }
 
+  @Test
+  void testValidatesSampleOfRecordsPastTheFirstOnes() {
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput),
+        MoreExecutors.newDirectExecutorService(), new JsonSchemaValidator(), new SamplingPolicy(2, 3), mock(MetricClient.class));
+
+    // records 1 and 2 are always validated, then records 5 and 8
+    for (int i = 0; i < 9; i++) {
+      if (recordSchemaValidator.shouldValidate(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR)) {
+        recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      }
+    }
+
+    assertEquals(4, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+  }
+
+  @Test
+  void testValidatesOnCallerWhenQueueIsFullWithoutSampling() throws InterruptedException, IOException {
+    final ExecutorService executorService = RecordSchemaValidator.createValidationExecutor(1, 1, false);
+    final CountDownLatch releaseWorker = fillWorkerAndQueue(executorService);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), executorService,
+        new JsonSchemaValidator(), SamplingPolicy.VALIDATE_ALL, mock(MetricClient.class));
+
+    for (int i = 0; i < 3; i++) {
+      recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+    }
+    releaseWorker.countDown();
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    recordSchemaValidator.close();
+
+    assertEquals(3, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+    assertEquals(0, recordSchemaValidator.getDroppedValidations());
+  }
+
+  @Test
+  void testDropsValidationsWhenQueueIsFullWithSampling() throws InterruptedException, IOException {
+    final ExecutorService executorService = RecordSchemaValidator.createValidationExecutor(1, 1, true);
+    final CountDownLatch releaseWorker = fillWorkerAndQueue(executorService);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), executorService,
+        new JsonSchemaValidator(), new SamplingPolicy(10, 10), mock(MetricClient.class));
+
+    recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+    releaseWorker.countDown();
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+
+    assertEquals(0, validationErrors.size());
+    assertEquals(1, recordSchemaValidator.getDroppedValidations());
+  }
+
+  @Test
+  void testDropsValidationsThatCannotBeQueued() throws IOException {
+    final ExecutorService executorService = MoreExecutors.newDirectExecutorService();
+    executorService.shutdown();
+    final MetricClient metricClient = mock(MetricClient.class);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), executorService,
+        new JsonSchemaValidator(), SamplingPolicy.VALIDATE_ALL, metricClient);
+
+    recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+    recordSchemaValidator.validateSchemaWithoutCounting(INVALID_RECORD_2.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+        uncountedValidationErrors);
+    recordSchemaValidator.close();
+
+    assertEquals(0, validationErrors.size());
+    assertEquals(0, uncountedValidationErrors.size());
+    assertEquals(2, recordSchemaValidator.getDroppedValidations());
+    verify(metricClient).count(OssMetricsRegistry.SCHEMA_VALIDATION_DROPPED_RECORDS, 2L);
+  }
+
+  /**
+   * Keeps the single worker of the executor busy until the returned latch is released, and fills its
+   * queue of one task.
+   */
+  private static CountDownLatch fillWorkerAndQueue(final ExecutorService executorService) {
+    final CountDownLatch releaseWorker = new CountDownLatch(1);
+    executorService.execute(() -> {
+      try {
+        releaseWorker.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    executorService.execute(() -> {});
+    return releaseWorker;
+  }
+
 }
@@ -76,6 +76,7 @@ import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
 import io.airbyte.workers.internal.NamespacingMapper;
 import io.airbyte.workers.internal.book_keeping.AirbyteMessageOrigin;
 import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
 import io.airbyte.workers.internal.book_keeping.SyncStatsTracker;
 import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
 import io.airbyte.workers.internal.exception.DestinationException;
@@ -185,6 +186,7 @@ class DefaultReplicationWorkerTest {
     featureFlagClient = mock(TestClient.class);
 
     when(messageTracker.getSyncStatsTracker()).thenReturn(syncStatsTracker);
+    when(recordSchemaValidator.shouldValidate(any())).thenReturn(true);
     when(source.isFinished()).thenReturn(false, false, false, true);
     when(destination.isFinished()).thenReturn(false, false, false, true);
     when(source.attemptRead()).thenReturn(Optional.of(RECORD_MESSAGE1), Optional.empty(), Optional.of(RECORD_MESSAGE2));
@@ -961,7 +963,8 @@ class DefaultReplicationWorkerTest {
         heartbeatTimeoutChaperone,
         new ReplicationFeatureFlagReader(featureFlagClient),
         airbyteMessageDataExtractor,
-        replicationAirbyteMessageEventPublishingHelper);
+        replicationAirbyteMessageEventPublishingHelper,
+        mock(ReplicationTelemetry.class));
   }
 
   private ReplicationContext simpleContext(final boolean isReset) {
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.converters.ConnectorConfigUpdater;
+import io.airbyte.config.FailureReason.FailureOrigin;
+import io.airbyte.config.ReplicationOutput;
+import io.airbyte.config.StandardSync;
+import io.airbyte.config.StandardSyncInput;
+import io.airbyte.config.StandardSyncSummary.ReplicationStatus;
+import io.airbyte.config.WorkerDestinationConfig;
+import io.airbyte.config.WorkerSourceConfig;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.HandleStreamStatus;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.featureflag.Workspace;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.protocol.models.AirbyteLogMessage.Level;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.WorkerUtils;
+import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
+import io.airbyte.workers.internal.AirbyteDestination;
+import io.airbyte.workers.internal.AirbyteSource;
+import io.airbyte.workers.internal.FieldSelector;
+import io.airbyte.workers.internal.HeartbeatMonitor;
+import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.NamespacingMapper;
+import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
+import io.airbyte.workers.internal.book_keeping.SyncStatsTracker;
+import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
+import io.airbyte.workers.internal.sync_persistence.SyncPersistence;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import io.airbyte.workers.test_utils.TestConfigHelpers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.slf4j.MDC;
+
+class PipelinedReplicationWorkerTest {
+
+  private static final String JOB_ID = "0";
+  private static final int JOB_ATTEMPT = 0;
+  private static final Path WORKSPACE_ROOT = Path.of("workspaces/10");
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String FIELD_NAME = "favorite_color";
+  private static final AirbyteMessage RECORD_MESSAGE1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+  private static final AirbyteMessage RECORD_MESSAGE2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+  private static final AirbyteMessage STATE_MESSAGE = AirbyteMessageUtils.createStateMessage(STREAM_NAME, "checkpoint", "1");
+
+  private Path jobRoot;
+  private AirbyteSource source;
+  private NamespacingMapper mapper;
+  private AirbyteDestination destination;
+  private StandardSyncInput syncInput;
+  private WorkerSourceConfig sourceConfig;
+  private WorkerDestinationConfig destinationConfig;
+  private AirbyteMessageTracker messageTracker;
+  private SyncPersistence syncPersistence;
+  private RecordSchemaValidator recordSchemaValidator;
+  private WorkerMetricReporter workerMetricReporter;
+  private ConnectorConfigUpdater connectorConfigUpdater;
+  private HeartbeatTimeoutChaperone heartbeatTimeoutChaperone;
+  private ReplicationAirbyteMessageEventPublishingHelper replicationAirbyteMessageEventPublishingHelper;
+  private FeatureFlagClient featureFlagClient;
+
+  @BeforeEach
+  void setup() throws Exception {
+    MDC.clear();
+
+    jobRoot = Files.createDirectories(Files.createTempDirectory("test").resolve(WORKSPACE_ROOT));
+
+    final ImmutablePair<StandardSync, StandardSyncInput> syncPair = TestConfigHelpers.createSyncConfig();
+    syncInput = syncPair.getValue();
+
+    sourceConfig = WorkerUtils.syncToWorkerSourceConfig(syncInput);
+    destinationConfig = WorkerUtils.syncToWorkerDestinationConfig(syncInput);
+
+    source = mock(AirbyteSource.class);
+    mapper = mock(NamespacingMapper.class);
+    destination = mock(AirbyteDestination.class);
+    messageTracker = mock(AirbyteMessageTracker.class);
+    syncPersistence = mock(SyncPersistence.class);
+    recordSchemaValidator = mock(RecordSchemaValidator.class);
+    connectorConfigUpdater = mock(ConnectorConfigUpdater.class);
+    final MetricClient metricClient = MetricClientFactory.getMetricClient();
+    workerMetricReporter = new WorkerMetricReporter(metricClient, "docker_image:v1.0.0");
+
+    final HeartbeatMonitor heartbeatMonitor = mock(HeartbeatMonitor.class);
+    heartbeatTimeoutChaperone = new HeartbeatTimeoutChaperone(heartbeatMonitor, Duration.ofMinutes(5), null, null, null, metricClient);
+    replicationAirbyteMessageEventPublishingHelper = mock(ReplicationAirbyteMessageEventPublishingHelper.class);
+    featureFlagClient = mock(TestClient.class);
+
+    when(messageTracker.getSyncStatsTracker()).thenReturn(mock(SyncStatsTracker.class));
+    when(source.isFinished()).thenReturn(false, false, false, true);
+    when(destination.isFinished()).thenReturn(false, false, false, true);
+    when(source.attemptRead()).thenReturn(Optional.of(RECORD_MESSAGE1), Optional.empty(), Optional.of(RECORD_MESSAGE2));
+    when(destination.attemptRead()).thenReturn(Optional.of(STATE_MESSAGE));
+    when(mapper.mapCatalog(destinationConfig.getCatalog())).thenReturn(destinationConfig.getCatalog());
+    when(mapper.mapMessage(RECORD_MESSAGE1)).thenReturn(RECORD_MESSAGE1);
+    when(mapper.mapMessage(RECORD_MESSAGE2)).thenReturn(RECORD_MESSAGE2);
+    when(mapper.mapMessage(STATE_MESSAGE)).thenReturn(STATE_MESSAGE);
+    when(heartbeatMonitor.isBeating()).thenReturn(Optional.of(true));
+    when(featureFlagClient.boolVariation(HandleStreamStatus.INSTANCE, new Workspace(syncInput.getWorkspaceId()))).thenReturn(false);
+  }
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  void test() throws Exception {
+    final ReplicationWorker worker = getPipelinedReplicationWorker(PipelinedReplicationWorker.DEFAULT_QUEUE_CAPACITY);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+
+    assertEquals(ReplicationStatus.COMPLETED, output.getReplicationAttemptSummary().getStatus());
+    verify(source).start(sourceConfig, jobRoot);
+    verify(destination).start(destinationConfig, jobRoot);
+    verify(destination).accept(RECORD_MESSAGE1);
+    verify(destination).accept(RECORD_MESSAGE2);
+    verify(destination).notifyEndOfInput();
+    verify(source, atLeastOnce()).close();
+    verify(destination).close();
+  }
+
+  @Test
+  void testMessagesDeliveredInOrderWithBackpressure() throws Exception {
+    when(source.isFinished()).thenReturn(false, false, false, false, true);
+    when(source.attemptRead()).thenReturn(Optional.of(RECORD_MESSAGE1), Optional.of(STATE_MESSAGE), Optional.of(RECORD_MESSAGE2),
+        Optional.of(RECORD_MESSAGE1));
+
+    // a single slot queue forces every stage to wait on the next one
+    final ReplicationWorker worker = getPipelinedReplicationWorker(1);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+
+    assertEquals(ReplicationStatus.COMPLETED, output.getReplicationAttemptSummary().getStatus());
+    final InOrder inOrder = inOrder(destination);
+    inOrder.verify(destination).accept(RECORD_MESSAGE1);
+    inOrder.verify(destination).accept(STATE_MESSAGE);
+    inOrder.verify(destination).accept(RECORD_MESSAGE2);
+    inOrder.verify(destination).accept(RECORD_MESSAGE1);
+    inOrder.verify(destination).notifyEndOfInput();
+  }
+
+  @Test
+  void testOnlyStateAndRecordMessagesDeliveredToDestination() throws Exception {
+    final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(Level.INFO, "a log message");
+    final AirbyteMessage traceMessage = AirbyteMessageUtils.createErrorMessage("a trace message", 123456.0);
+    when(mapper.mapMessage(logMessage)).thenReturn(logMessage);
+    when(mapper.mapMessage(traceMessage)).thenReturn(traceMessage);
+    when(source.isFinished()).thenReturn(false, false, false, false, true);
+    when(source.attemptRead()).thenReturn(Optional.of(RECORD_MESSAGE1), Optional.of(logMessage), Optional.of(traceMessage),
+        Optional.of(RECORD_MESSAGE2));
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker(PipelinedReplicationWorker.DEFAULT_QUEUE_CAPACITY);
+
+    worker.run(syncInput, jobRoot);
+
+    verify(destination).accept(RECORD_MESSAGE1);
+    verify(destination).accept(RECORD_MESSAGE2);
+    verify(destination, never()).accept(logMessage);
+    verify(destination, never()).accept(traceMessage);
+  }
+
+  @Test
+  void testSourceReadFailure() throws Exception {
+    final String sourceErrorMessage = "the source had a failure";
+    when(source.attemptRead()).thenThrow(new RuntimeException(sourceErrorMessage));
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker(PipelinedReplicationWorker.DEFAULT_QUEUE_CAPACITY);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream()
+        .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.SOURCE) && f.getStacktrace().contains(sourceErrorMessage)));
+    verify(destination, never()).notifyEndOfInput();
+  }
+
+  @Test
+  void testSourceNonZeroExitValue() throws Exception {
+    when(source.getExitValue()).thenReturn(1);
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker(PipelinedReplicationWorker.DEFAULT_QUEUE_CAPACITY);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream().anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.SOURCE)));
+    // everything read before the failure is still delivered
+    verify(destination).accept(RECORD_MESSAGE1);
+    verify(destination).accept(RECORD_MESSAGE2);
+  }
+
+  @Test
+  void testProcessingFailure() throws Exception {
+    final String workerErrorMessage = "the worker had a failure";
+    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(any());
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker(PipelinedReplicationWorker.DEFAULT_QUEUE_CAPACITY);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream()
+        .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.REPLICATION) && f.getStacktrace().contains(workerErrorMessage)));
+  }
+
+  @Test
+  void testDestinationWriteFailure() throws Exception {
+    final String destinationErrorMessage = "the destination had a failure";
+    doThrow(new RuntimeException(destinationErrorMessage)).when(destination).accept(any());
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker(PipelinedReplicationWorker.DEFAULT_QUEUE_CAPACITY);
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream()
+        .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.DESTINATION) && f.getStacktrace().contains(destinationErrorMessage)));
+  }
+
+  private ReplicationWorker getPipelinedReplicationWorker(final int queueCapacity) {
+    final FieldSelector fieldSelector = new FieldSelector(recordSchemaValidator, workerMetricReporter, false, false);
+    return new PipelinedReplicationWorker(
+        JOB_ID,
+        JOB_ATTEMPT,
+        source,
+        mapper,
+        destination,
+        messageTracker,
+        syncPersistence,
+        recordSchemaValidator,
+        fieldSelector,
+        connectorConfigUpdater,
+        heartbeatTimeoutChaperone,
+        new ReplicationFeatureFlagReader(featureFlagClient),
+        new AirbyteMessageDataExtractor(),
+        replicationAirbyteMessageEventPublishingHelper,
+        mock(ReplicationTelemetry.class),
+        queueCapacity);
+  }
+
+}
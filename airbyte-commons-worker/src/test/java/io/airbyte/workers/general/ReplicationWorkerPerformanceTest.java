@@ -36,7 +36,10 @@ import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
 import io.airbyte.workers.internal.NamespacingMapper;
 import io.airbyte.workers.internal.VersionedAirbyteStreamFactory;
 import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetry;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetryRegistry;
 import io.airbyte.workers.internal.book_keeping.StreamStatusTracker;
+import io.airbyte.workers.internal.book_keeping.StreamStatusUpdateBatcher;
 import io.airbyte.workers.internal.book_keeping.events.AirbyteControlMessageEventListener;
 import io.airbyte.workers.internal.book_keeping.events.AirbyteStreamStatusMessageEventListener;
 import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEvent;
@@ -120,7 +123,8 @@ public class ReplicationWorkerPerformanceTest {
         workspaceID,
         UUID.randomUUID(),
         new NotImplementedMetricClient());
-    final StreamStatusTracker streamStatusTracker = new StreamStatusTracker(mock(AirbyteApiClient.class));
+    final StreamStatusTracker streamStatusTracker = new StreamStatusTracker(mock(AirbyteApiClient.class), mock(FeatureFlagClient.class),
+        mock(StreamStatusUpdateBatcher.class));
     final List<ApplicationEventListener<ReplicationAirbyteMessageEvent>> listeners = List.of(
         new AirbyteControlMessageEventListener(connectorConfigUpdater),
         new AirbyteStreamStatusMessageEventListener(streamStatusTracker));
@@ -147,7 +151,9 @@ public class ReplicationWorkerPerformanceTest {
         heartbeatTimeoutChaperone,
         new ReplicationFeatureFlagReader(featureFlagClient),
         airbyteMessageDataExtractor,
-        replicationAirbyteMessageEventPublishingHelper);
+        replicationAirbyteMessageEventPublishingHelper,
+        new ReplicationTelemetry(null, 1, 0, messageTracker.getSyncStatsTracker(), new NotImplementedMetricClient(),
+            new ReplicationTelemetryRegistry()));
     final AtomicReference<ReplicationOutput> output = new AtomicReference<>();
     final Thread workerThread = new Thread(() -> {
       try {
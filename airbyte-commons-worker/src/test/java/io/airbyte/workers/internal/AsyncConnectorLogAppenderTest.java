@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.protocol.models.AirbyteLogMessage;
+import io.airbyte.protocol.models.AirbyteLogMessage.Level;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AsyncConnectorLogAppenderTest {
+
+  private static final Pattern DROPPED_LINES = Pattern.compile("(\\d+) dropped because the log buffer was full");
+
+  private final List<AirbyteLogMessage> written = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  void testCloseWritesPendingLinesInOrder() {
+    final AsyncConnectorLogAppender appender = new AsyncConnectorLogAppender(written::add, MdcScope.DEFAULT_BUILDER, 10_000, 0);
+    final List<AirbyteLogMessage> lines = IntStream.range(0, 2 * AsyncConnectorLogAppender.MAX_BATCH_SIZE)
+        .mapToObj(i -> log(Level.INFO, "line " + i))
+        .toList();
+
+    lines.forEach(appender::append);
+    appender.close();
+
+    assertEquals(lines, written);
+  }
+
+  @Test
+  void testSuppressLinesOverTheRateLimit() {
+    final AsyncConnectorLogAppender appender = new AsyncConnectorLogAppender(written::add, MdcScope.DEFAULT_BUILDER, 10_000, 2);
+
+    for (int i = 0; i < 5; i++) {
+      appender.append(log(Level.INFO, "info " + i));
+    }
+    appender.append(log(Level.ERROR, "error"));
+    appender.close();
+
+    assertEquals(List.of(
+        log(Level.INFO, "info 0"),
+        log(Level.INFO, "info 1"),
+        log(Level.ERROR, "error"),
+        log(Level.WARN, "3 log lines suppressed: 3 over the limit of 2 lines per second, 0 dropped because the log buffer was full")),
+        written);
+  }
+
+  @Test
+  void testNeverDropWarningsWhenTheQueueIsFull() {
+    final AsyncConnectorLogAppender appender = new AsyncConnectorLogAppender(written::add, MdcScope.DEFAULT_BUILDER, 1, 0);
+
+    for (int i = 0; i < 100; i++) {
+      appender.append(log(Level.INFO, "info " + i));
+      appender.append(log(Level.WARN, "warn " + i));
+    }
+    appender.close();
+
+    // the warnings written from the calling thread go ahead of the queued ones
+    final List<String> warnings = written.stream().map(AirbyteLogMessage::getMessage).filter(message -> message.startsWith("warn ")).toList();
+    assertEquals(100, warnings.size());
+    assertEquals(IntStream.range(0, 100).mapToObj(i -> "warn " + i).collect(Collectors.toSet()), Set.copyOf(warnings));
+    // every info line is either written or counted as dropped
+    final long infoWritten = written.stream().filter(line -> line.getMessage().startsWith("info ")).count();
+    final long infoDropped = written.stream()
+        .map(line -> DROPPED_LINES.matcher(line.getMessage()))
+        .filter(Matcher::find)
+        .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+        .sum();
+    assertEquals(100, infoWritten + infoDropped);
+  }
+
+  private static AirbyteLogMessage log(final Level level, final String message) {
+    return new AirbyteLogMessage().withLevel(level).withMessage(message);
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchedAirbyteMessageBufferedWriterTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String FIELD_NAME = "favorite_color";
+  private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+  private static final AirbyteMessage RECORD_1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+  private static final AirbyteMessage RECORD_2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+  private static final AirbyteMessage STATE = AirbyteMessageUtils.createStateMessage(1);
+
+  private AirbyteMessageVersionedMigrator<AirbyteMessage> migrator;
+  private MetricClient metricClient;
+  private ByteArrayOutputStream output;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setup() {
+    migrator = mock(AirbyteMessageVersionedMigrator.class);
+    when(migrator.downgrade(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+    metricClient = mock(MetricClient.class);
+    output = new ByteArrayOutputStream();
+  }
+
+  @Test
+  void testFlushesOnMessageCount() throws IOException {
+    final BatchedAirbyteMessageBufferedWriter<AirbyteMessage> writer = createWriter(false, Integer.MAX_VALUE, 2, LONG_INTERVAL);
+
+    writer.write(RECORD_1);
+    assertEquals("", written());
+
+    writer.write(RECORD_2);
+    assertEquals(lines(RECORD_1, RECORD_2), written());
+
+    writer.write(RECORD_1);
+    assertEquals(lines(RECORD_1, RECORD_2), written());
+
+    writer.close();
+    assertEquals(lines(RECORD_1, RECORD_2, RECORD_1), written());
+    verify(metricClient, times(2)).distribution(eq(OssMetricsRegistry.DESTINATION_WRITER_FLUSH_LATENCY_MILLIS), anyDouble());
+    verify(metricClient, times(2)).distribution(eq(OssMetricsRegistry.DESTINATION_WRITER_BYTES_PER_FLUSH), anyDouble());
+  }
+
+  @Test
+  void testFlushesOnBufferedBytes() throws IOException {
+    final int recordSize = lines(RECORD_1).getBytes(StandardCharsets.UTF_8).length;
+    final BatchedAirbyteMessageBufferedWriter<AirbyteMessage> writer = createWriter(false, recordSize + 1, Integer.MAX_VALUE, LONG_INTERVAL);
+
+    writer.write(RECORD_1);
+    assertEquals("", written());
+
+    writer.write(RECORD_2);
+    assertEquals(lines(RECORD_1, RECORD_2), written());
+    verify(metricClient).distribution(OssMetricsRegistry.DESTINATION_WRITER_BYTES_PER_FLUSH, output.size());
+  }
+
+  @Test
+  void testFlushesOnElapsedTime() throws IOException {
+    final BatchedAirbyteMessageBufferedWriter<AirbyteMessage> writer = createWriter(false, Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ZERO);
+
+    writer.write(RECORD_1);
+    assertEquals(lines(RECORD_1), written());
+  }
+
+  @Test
+  void testFlushesAfterState() throws IOException {
+    final BatchedAirbyteMessageBufferedWriter<AirbyteMessage> writer = createWriter(false, Integer.MAX_VALUE, Integer.MAX_VALUE, LONG_INTERVAL);
+
+    writer.write(RECORD_1);
+    assertEquals("", written());
+
+    // a state doesn't wait for the next message, which may not come before a while
+    writer.write(STATE);
+    assertEquals(lines(RECORD_1, STATE), written());
+  }
+
+  @Test
+  void testExplicitFlush() throws IOException {
+    final BatchedAirbyteMessageBufferedWriter<AirbyteMessage> writer = createWriter(false, Integer.MAX_VALUE, Integer.MAX_VALUE, LONG_INTERVAL);
+
+    writer.write(RECORD_1);
+    writer.flush();
+    assertEquals(lines(RECORD_1), written());
+
+    // nothing to send, no metrics
+    writer.flush();
+    verify(metricClient, times(1)).distribution(eq(OssMetricsRegistry.DESTINATION_WRITER_BYTES_PER_FLUSH), anyDouble());
+  }
+
+  @Test
+  void testWritesPassthroughRecordsAsRead() throws IOException {
+    final String line = "{\"type\" : \"RECORD\", \"record\": {\"stream\": \"user_preferences\", \"data\": {\"a\" : 1}, \"emitted_at\": 1}}";
+    final AirbyteMessage passthroughRecord = PassthroughAirbyteRecordMessage.tryParse(line).orElseThrow();
+    final BatchedAirbyteMessageBufferedWriter<AirbyteMessage> writer = createWriter(true, Integer.MAX_VALUE, Integer.MAX_VALUE, LONG_INTERVAL);
+
+    writer.write(passthroughRecord);
+    writer.write(STATE);
+    writer.close();
+
+    assertEquals(line + "\n" + lines(STATE), written());
+  }
+
+  private BatchedAirbyteMessageBufferedWriter<AirbyteMessage> createWriter(final boolean recordPassthrough,
+                                                                           final int maxBufferedBytes,
+                                                                           final int maxBufferedMessages,
+                                                                           final Duration maxFlushInterval)
+      throws IOException {
+    return new BatchedAirbyteMessageBufferedWriter<>(output, new AirbyteMessageV1Serializer(), migrator, Optional.empty(), recordPassthrough,
+        maxBufferedBytes, maxBufferedMessages, maxFlushInterval, metricClient);
+  }
+
+  private String written() {
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  private static String lines(final AirbyteMessage... messages) {
+    final StringBuilder builder = new StringBuilder();
+    for (final AirbyteMessage message : messages) {
+      builder.append(Jsons.serialize(message)).append('\n');
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteLineReaderTest {
+
+  @Test
+  void testSplitsLines() throws IOException {
+    assertEquals(List.of("first", "", "second", "last"), readLines("first\n\nsecond\r\nlast", ByteLineReader.DEFAULT_BUFFER_SIZE));
+  }
+
+  @Test
+  void testCarriageReturnTerminatesLines() throws IOException {
+    assertEquals(List.of("first", "second", "", "third", "", "last"),
+        readLines("first\rsecond\r\n\rthird\n\rlast\r", ByteLineReader.DEFAULT_BUFFER_SIZE));
+    // the '\n' of a "\r\n" is read after the line it terminates was returned
+    assertEquals(List.of("ab", "cd", "ef"), readLines("ab\r\ncd\ref", 3));
+  }
+
+  @Test
+  void testTrailingNewLine() throws IOException {
+    assertEquals(List.of("first", "second"), readLines("first\nsecond\n", ByteLineReader.DEFAULT_BUFFER_SIZE));
+  }
+
+  @Test
+  void testEmptyInput() throws IOException {
+    assertEquals(List.of(), readLines("", ByteLineReader.DEFAULT_BUFFER_SIZE));
+  }
+
+  @Test
+  void testLinesAcrossBufferBoundaries() throws IOException {
+    final String longLine = "x".repeat(50);
+    assertEquals(List.of("abc", longLine, "défg", "h"), readLines("abc\n" + longLine + "\ndéfg\r\nh\n", 4));
+  }
+
+  @Test
+  void testExposesLineBytes() throws IOException {
+    final String input = "{\"a\":\"é\"}\n";
+    final ByteLineReader reader = new ByteLineReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+    assertTrue(reader.readLine());
+    assertEquals(10, reader.lineLength());
+    assertEquals(input.trim(), new String(reader.array(), reader.lineOffset(), reader.lineLength(), StandardCharsets.UTF_8));
+    assertFalse(reader.readLine());
+  }
+
+  private static List<String> readLines(final String input, final int bufferSize) throws IOException {
+    final ByteLineReader reader = new ByteLineReader(
+        Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))), bufferSize);
+    final List<String> lines = new ArrayList<>();
+    while (reader.readLine()) {
+      lines.add(reader.lineAsString());
+    }
+    reader.close();
+    return lines;
+  }
+
+}
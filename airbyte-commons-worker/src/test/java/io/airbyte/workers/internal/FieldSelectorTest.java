@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FieldSelectorTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String OTHER_STREAM_NAME = "user_settings";
+  private static final String NAMESPACE = "public";
+  private static final String FIELD_COLOR = "favorite_color";
+  private static final String FIELD_NUMBER = "favorite_number";
+  private static final String FIELD_SHAPE = "favorite_shape";
+
+  private static final ConfiguredAirbyteCatalog CATALOG = new ConfiguredAirbyteCatalog().withStreams(List.of(
+      new ConfiguredAirbyteStream()
+          .withStream(CatalogHelpers.createAirbyteStream(STREAM_NAME, NAMESPACE, Field.of(FIELD_COLOR, JsonSchemaType.STRING))),
+      new ConfiguredAirbyteStream()
+          .withStream(CatalogHelpers.createAirbyteStream(OTHER_STREAM_NAME, NAMESPACE, Field.of(FIELD_NUMBER, JsonSchemaType.STRING)))));
+
+  private RecordSchemaValidator recordSchemaValidator;
+  private WorkerMetricReporter metricReporter;
+
+  @BeforeEach
+  void setup() {
+    recordSchemaValidator = mock(RecordSchemaValidator.class);
+    metricReporter = mock(WorkerMetricReporter.class);
+  }
+
+  @Test
+  void testFilterSelectedFields() {
+    final FieldSelector fieldSelector = createFieldSelector(true);
+
+    final AirbyteMessage record = createRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3"));
+    final AirbyteMessage otherRecord = createRecord(OTHER_STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3"));
+    final AirbyteMessage unknownStreamRecord = createRecord("unknown", Map.of(FIELD_COLOR, "green"));
+    fieldSelector.filterSelectedFields(record);
+    fieldSelector.filterSelectedFields(otherRecord);
+    fieldSelector.filterSelectedFields(unknownStreamRecord);
+
+    assertEquals(Jsons.jsonNode(Map.of(FIELD_COLOR, "green")), record.getRecord().getData());
+    assertEquals(Jsons.jsonNode(Map.of(FIELD_NUMBER, "3")), otherRecord.getRecord().getData());
+    assertEquals(Jsons.emptyObject(), unknownStreamRecord.getRecord().getData());
+  }
+
+  @Test
+  void testFilterSelectedFieldsKeepsPassthroughRawMessageWhenNothingIsFiltered() {
+    final FieldSelector fieldSelector = createFieldSelector(true);
+
+    final AirbyteMessage record = parsePassthroughRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green"));
+    final String rawMessage = Jsons.serialize(record);
+    fieldSelector.filterSelectedFields(record);
+    assertEquals(rawMessage, Jsons.serialize(record));
+
+    final AirbyteMessage filteredRecord = parsePassthroughRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3"));
+    fieldSelector.filterSelectedFields(filteredRecord);
+    assertEquals(Jsons.jsonNode(Map.of(FIELD_COLOR, "green")), Jsons.deserialize(Jsons.serialize(filteredRecord)).get("record").get("data"));
+  }
+
+  @Test
+  void testFilterSelectedFieldsWhenDisabled() {
+    final FieldSelector fieldSelector = createFieldSelector(false);
+
+    final AirbyteMessage record = createRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3"));
+    fieldSelector.filterSelectedFields(record);
+
+    assertEquals(Jsons.jsonNode(Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3")), record.getRecord().getData());
+  }
+
+  @Test
+  void testReportUnexpectedFields() {
+    when(recordSchemaValidator.shouldValidate(any())).thenReturn(true);
+    final FieldSelector fieldSelector = createFieldSelector(false);
+
+    fieldSelector.validateSchema(createRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3")));
+    fieldSelector.validateSchema(createRecord(OTHER_STREAM_NAME, Map.of(FIELD_NUMBER, "3")));
+    fieldSelector.validateSchema(createRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_SHAPE, "circle")));
+    fieldSelector.reportMetrics(UUID.randomUUID());
+
+    verify(metricReporter).trackUnexpectedFields(new AirbyteStreamNameNamespacePair(STREAM_NAME, NAMESPACE), Set.of(FIELD_NUMBER, FIELD_SHAPE));
+    verify(metricReporter, never()).trackUnexpectedFields(eq(new AirbyteStreamNameNamespacePair(OTHER_STREAM_NAME, NAMESPACE)), any());
+  }
+
+  @Test
+  void testValidatesAllPassthroughRecordsWithoutLimit() {
+    when(recordSchemaValidator.shouldValidate(any())).thenReturn(true);
+    final FieldSelector fieldSelector = new FieldSelector(recordSchemaValidator, metricReporter, false, true);
+    fieldSelector.populateFields(CATALOG);
+
+    for (int i = 0; i < 2000; i++) {
+      fieldSelector.validateSchema(parsePassthroughRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green")));
+    }
+
+    verify(recordSchemaValidator, times(2000)).validateSchemaWithoutCounting(any(), eq(new AirbyteStreamNameNamespacePair(STREAM_NAME, NAMESPACE)),
+        any());
+  }
+
+  @Test
+  void testSkipsRecordsOutOfSample() {
+    when(recordSchemaValidator.shouldValidate(any())).thenReturn(false);
+    final FieldSelector fieldSelector = createFieldSelector(false);
+
+    fieldSelector.validateSchema(parsePassthroughRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_SHAPE, "circle")));
+    fieldSelector.validateSchema(createRecord(STREAM_NAME, Map.of(FIELD_COLOR, "green", FIELD_NUMBER, "3")));
+    fieldSelector.reportMetrics(UUID.randomUUID());
+
+    verify(recordSchemaValidator, never()).validateSchema(any(), any(), any());
+    verify(metricReporter, never()).trackUnexpectedFields(any(), any());
+  }
+
+  private FieldSelector createFieldSelector(final boolean fieldSelectionEnabled) {
+    final FieldSelector fieldSelector = new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, false);
+    fieldSelector.populateFields(CATALOG);
+    return fieldSelector;
+  }
+
+  private static AirbyteMessage createRecord(final String streamName, final Map<String, ?> data) {
+    final AirbyteMessage message = AirbyteMessageUtils.createRecordMessage(streamName, data);
+    message.getRecord().withNamespace(NAMESPACE);
+    return message;
+  }
+
+  private static AirbyteMessage parsePassthroughRecord(final String streamName, final Map<String, ?> data) {
+    return PassthroughAirbyteRecordMessage.tryParse(Jsons.serialize(createRecord(streamName, data))).orElseThrow();
+  }
+
+}
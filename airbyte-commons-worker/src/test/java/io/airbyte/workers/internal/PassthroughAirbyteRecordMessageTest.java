@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PassthroughAirbyteRecordMessageTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String NAMESPACE = "public";
+
+  private AirbyteMessage recordMessage;
+  private String recordLine;
+
+  @BeforeEach
+  void setup() {
+    recordMessage = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, Map.of("favorite_color", "green", "favorite_number", "3"));
+    recordMessage.getRecord().withNamespace(NAMESPACE).withEmittedAt(1234L);
+    recordLine = Jsons.serialize(recordMessage);
+  }
+
+  @Test
+  void testParseRecord() {
+    final AirbyteMessage message = PassthroughAirbyteRecordMessage.tryParse(recordLine).orElseThrow();
+
+    assertEquals(AirbyteMessage.Type.RECORD, message.getType());
+    final PassthroughAirbyteRecordMessage record = assertInstanceOf(PassthroughAirbyteRecordMessage.class, message.getRecord());
+    assertEquals(STREAM_NAME, record.getStream());
+    assertEquals(NAMESPACE, record.getNamespace());
+    assertEquals(1234L, record.getEmittedAt());
+    assertEquals(Jsons.getEstimatedByteSize(recordMessage.getRecord().getData()), record.getEstimatedDataByteSize());
+    assertEquals(recordMessage.getRecord().getData(), record.getData());
+    assertEquals(recordLine, Jsons.serialize(message));
+  }
+
+  @Test
+  void testParseIgnoresWhitespaceAroundMessage() {
+    final AirbyteMessage message = PassthroughAirbyteRecordMessage.tryParse("  " + recordLine + "  ").orElseThrow();
+
+    assertEquals(recordMessage.getRecord().getData(), message.getRecord().getData());
+  }
+
+  @Test
+  void testEstimatedDataByteSizeIgnoresFormatting() {
+    final String data = "{ \"favorite_color\" : \"dark green\",\n\t\"quote\": \"say \\\"hi\\\" \",\r\n \"numbers\": [ 1, 2 ] }";
+    final String line = "{\"type\":\"RECORD\",\"record\":{\"stream\":\"" + STREAM_NAME + "\",\"data\":" + data + "}}";
+    final PassthroughAirbyteRecordMessage record =
+        (PassthroughAirbyteRecordMessage) PassthroughAirbyteRecordMessage.tryParse(line).orElseThrow().getRecord();
+
+    assertEquals(Jsons.getEstimatedByteSize(Jsons.deserialize(data)), record.getEstimatedDataByteSize());
+  }
+
+  @Test
+  void testOnlyPlainRecordsAreParsed() {
+    assertTrue(PassthroughAirbyteRecordMessage.tryParse(Jsons.serialize(AirbyteMessageUtils.createStateMessage(1))).isEmpty());
+    assertTrue(PassthroughAirbyteRecordMessage.tryParse("not json").isEmpty());
+    assertTrue(PassthroughAirbyteRecordMessage.tryParse(recordLine + " trailing").isEmpty());
+
+    final AirbyteMessage withUnknownField = Jsons.clone(recordMessage);
+    withUnknownField.getRecord().setAdditionalProperty("unknown", "field");
+    assertTrue(PassthroughAirbyteRecordMessage.tryParse(Jsons.serialize(withUnknownField)).isEmpty());
+
+    final AirbyteMessage withoutData = Jsons.clone(recordMessage);
+    withoutData.getRecord().setData(null);
+    assertTrue(PassthroughAirbyteRecordMessage.tryParse(Jsons.serialize(withoutData)).isEmpty());
+  }
+
+  @Test
+  void testCanPassthroughUntilModified() {
+    final PassthroughAirbyteRecordMessage record =
+        (PassthroughAirbyteRecordMessage) PassthroughAirbyteRecordMessage.tryParse(recordLine).orElseThrow().getRecord();
+    assertTrue(record.canPassthrough());
+
+    // reading the data is fine
+    record.getData();
+    assertTrue(record.canPassthrough());
+
+    record.withNamespace("other");
+    assertFalse(record.canPassthrough());
+    record.withNamespace(NAMESPACE);
+    assertTrue(record.canPassthrough());
+
+    record.invalidateRawMessage();
+    assertFalse(record.canPassthrough());
+  }
+
+  @Test
+  void testReplacingDataDisablesPassthrough() {
+    final PassthroughAirbyteRecordMessage record =
+        (PassthroughAirbyteRecordMessage) PassthroughAirbyteRecordMessage.tryParse(recordLine).orElseThrow().getRecord();
+
+    record.withData(Jsons.emptyObject());
+
+    assertFalse(record.canPassthrough());
+    assertEquals(Jsons.emptyObject(), record.getData());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testWriterForwardsRawMessage() throws Exception {
+    final AirbyteMessageSerializer<AirbyteMessage> serializer = mock(AirbyteMessageSerializer.class);
+    final AirbyteMessageVersionedMigrator<AirbyteMessage> migrator = mock(AirbyteMessageVersionedMigrator.class);
+    when(migrator.downgrade(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(serializer.serialize(any())).thenAnswer(invocation -> Jsons.serialize(invocation.getArgument(0)));
+
+    final String line = " {\"type\" : \"RECORD\", \"record\": {\"stream\": \"user_preferences\", \"data\": {\"a\" : 1}, \"emitted_at\": 1}}";
+    final AirbyteMessage message = PassthroughAirbyteRecordMessage.tryParse(line).orElseThrow();
+
+    final StringWriter output = new StringWriter();
+    final var writer = new VersionedAirbyteMessageBufferedWriter<>(new BufferedWriter(output), serializer, migrator, Optional.empty(), true);
+    writer.write(message);
+    writer.close();
+
+    assertEquals(line.trim() + System.lineSeparator(), output.toString());
+    verify(serializer, never()).serialize(any());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testWriterSerializesModifiedRecords() throws Exception {
+    final AirbyteMessageSerializer<AirbyteMessage> serializer = mock(AirbyteMessageSerializer.class);
+    final AirbyteMessageVersionedMigrator<AirbyteMessage> migrator = mock(AirbyteMessageVersionedMigrator.class);
+    when(migrator.downgrade(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(serializer.serialize(any())).thenAnswer(invocation -> Jsons.serialize(invocation.getArgument(0)));
+
+    final AirbyteMessage message = PassthroughAirbyteRecordMessage.tryParse(recordLine).orElseThrow();
+    message.getRecord().setStream("prefix_" + STREAM_NAME);
+
+    final StringWriter output = new StringWriter();
+    final var writer = new VersionedAirbyteMessageBufferedWriter<>(new BufferedWriter(output), serializer, migrator, Optional.empty(), true);
+    writer.write(message);
+    writer.close();
+
+    final AirbyteRecordMessage written = Jsons.deserialize(output.toString(), AirbyteMessage.class).getRecord();
+    assertEquals("prefix_" + STREAM_NAME, written.getStream());
+    assertEquals(recordMessage.getRecord().getData(), written.getData());
+  }
+
+}
@@ -28,6 +28,8 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
@@ -140,6 +142,67 @@ class VersionedAirbyteStreamFactoryTest {
       assertThrows(RuntimeException.class, () -> messageStream.toList());
     }
 
+    @Test
+    void testValidFromInputStream() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+      final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+      final String input = Jsons.serialize(record1) + "\r\ninvalid line\n" + Jsons.serialize(record2);
+
+      final Stream<AirbyteMessage> messageStream = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .create(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+      assertEquals(List.of(record1, record2), messageStream.toList());
+      verify(logger).info("invalid line");
+    }
+
+    @Test
+    void testInvalidUtf8FromInputStream() throws IOException {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+      // a record with a byte that isn't valid UTF-8 in its data is read with a replacement character
+      final String recordWithInvalidByte = Jsons.serialize(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "INVALID"));
+      final int invalidValueStart = recordWithInvalidByte.indexOf("INVALID");
+      final ByteArrayOutputStream input = new ByteArrayOutputStream();
+      input.write(recordWithInvalidByte.substring(0, invalidValueStart).getBytes(StandardCharsets.UTF_8));
+      input.write(new byte[] {'r', (byte) 0xff, 'd'});
+      input.write(recordWithInvalidByte.substring(invalidValueStart + "INVALID".length()).getBytes(StandardCharsets.UTF_8));
+      input.write(("\r" + Jsons.serialize(record1)).getBytes(StandardCharsets.UTF_8));
+
+      final Stream<AirbyteMessage> messageStream = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .create(new ByteArrayInputStream(input.toByteArray()));
+
+      assertEquals(List.of(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "r\uFFFDd"), record1), messageStream.toList());
+    }
+
+    @Test
+    void testAsyncLogsFromInputStream() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+      final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+      final String input = Jsons.serialize(logMessage) + "\ninvalid line\n" + Jsons.serialize(record1);
+
+      final Stream<AirbyteMessage> messageStream = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .withLogSettings(new ConnectorLogSettings(true, 0))
+          .create(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+      // logs are flushed once the end of the stream is reached
+      assertEquals(List.of(record1), messageStream.toList());
+      verify(logger).warn("warning");
+      verify(logger).info("invalid line");
+    }
+
+    @Test
+    void testFailsSizeFromInputStream() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+      final Stream<AirbyteMessage> messageStream =
+          VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 1L)
+              .create(new ByteArrayInputStream(Jsons.serialize(record1).getBytes(StandardCharsets.UTF_8)));
+
+      assertThrows(RuntimeException.class, () -> messageStream.toList());
+    }
+
     private Stream<AirbyteMessage> stringToMessageStream(final String inputString) {
       final InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8));
       final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
@@ -337,6 +337,21 @@ class AirbyteMessageTrackerTest {
     assertEquals(messageTracker.errorTraceMessageFailure(123L, 1), null);
   }
 
+  @Test
+  void testCloseReleasesStateDeltas() {
+    messageTracker.close();
+
+    Mockito.verify(mStateDeltaTracker).close();
+  }
+
+  @Test
+  void testCloseLeavesGivenSyncStatsTrackerOpen() {
+    final DefaultSyncStatsTracker givenSyncStatsTracker = Mockito.mock(DefaultSyncStatsTracker.class);
+    new AirbyteMessageTracker(givenSyncStatsTracker, new EnvVariableFeatureFlags()).close();
+
+    Mockito.verify(givenSyncStatsTracker, Mockito.never()).close();
+  }
+
   @Nested
   class Estimates {
 
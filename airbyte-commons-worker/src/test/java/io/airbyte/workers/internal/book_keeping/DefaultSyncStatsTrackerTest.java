@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DefaultSyncStatsTrackerTest {
+
+  private static final String NAMESPACE = "avengers";
+  private static final String STREAM_1 = "iron man";
+  private static final String STREAM_2 = "black widow";
+
+  private static final AirbyteStreamNameNamespacePair PAIR_1 = new AirbyteStreamNameNamespacePair(STREAM_1, null);
+  private static final AirbyteStreamNameNamespacePair PAIR_2 = new AirbyteStreamNameNamespacePair(STREAM_2, null);
+
+  private DefaultSyncStatsTracker syncStatsTracker;
+
+  @BeforeEach
+  void setup() {
+    syncStatsTracker = new DefaultSyncStatsTracker(new StateDeltaTracker(10L * 1024L * 1024L), new StateMetricsTracker(10L * 1024L * 1024L));
+  }
+
+  @Test
+  void testCountsInterleavedStreams() {
+    final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
+    final AirbyteMessage r2 = AirbyteMessageUtils.createRecordMessage(STREAM_2, 22);
+    final long r1Bytes = Jsons.getEstimatedByteSize(r1.getRecord().getData());
+    final long r2Bytes = Jsons.getEstimatedByteSize(r2.getRecord().getData());
+
+    syncStatsTracker.updateStats(r1.getRecord());
+    syncStatsTracker.updateStats(r2.getRecord());
+    syncStatsTracker.updateStats(r1.getRecord());
+    syncStatsTracker.updateStats(r1.getRecord());
+    syncStatsTracker.updateStats(r2.getRecord());
+
+    assertEquals(Map.of(PAIR_1, 3L, PAIR_2, 2L), syncStatsTracker.getStreamToEmittedRecords());
+    assertEquals(Map.of(PAIR_1, 3 * r1Bytes, PAIR_2, 2 * r2Bytes), syncStatsTracker.getStreamToEmittedBytes());
+    assertEquals(5L, syncStatsTracker.getTotalRecordsEmitted());
+    assertEquals(3 * r1Bytes + 2 * r2Bytes, syncStatsTracker.getTotalBytesEmitted());
+  }
+
+  @Test
+  void testCommittedCountsOnlyIncludeRecordsBeforeTheCommittedState() {
+    final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
+    final AirbyteMessage r2 = AirbyteMessageUtils.createRecordMessage(STREAM_2, 2);
+    final AirbyteMessage s1 = AirbyteMessageUtils.createStateMessage(1);
+    final AirbyteMessage s2 = AirbyteMessageUtils.createStateMessage(2);
+
+    syncStatsTracker.updateStats(r1.getRecord());
+    syncStatsTracker.updateStats(r2.getRecord());
+    syncStatsTracker.updateSourceStatesStats(s1.getState());
+    syncStatsTracker.updateStats(r1.getRecord());
+    syncStatsTracker.updateStats(r1.getRecord());
+    syncStatsTracker.updateSourceStatesStats(s2.getState());
+    syncStatsTracker.updateStats(r2.getRecord());
+
+    syncStatsTracker.updateDestinationStateStats(s1.getState());
+    assertEquals(Optional.of(Map.of(PAIR_1, 1L, PAIR_2, 1L)), syncStatsTracker.getStreamToCommittedRecords());
+
+    syncStatsTracker.updateDestinationStateStats(s2.getState());
+    assertEquals(Optional.of(Map.of(PAIR_1, 3L, PAIR_2, 1L)), syncStatsTracker.getStreamToCommittedRecords());
+    assertEquals(Optional.of(4L), syncStatsTracker.getTotalRecordsCommitted());
+  }
+
+  @Test
+  void testTotalEstimatesFollowTheLatestStreamEstimates() {
+    syncStatsTracker.updateEstimates(AirbyteMessageUtils.createStreamEstimateMessage(STREAM_1, NAMESPACE, 100L, 10L).getTrace().getEstimate());
+    syncStatsTracker.updateEstimates(AirbyteMessageUtils.createStreamEstimateMessage(STREAM_2, NAMESPACE, 200L, 20L).getTrace().getEstimate());
+    syncStatsTracker.updateEstimates(AirbyteMessageUtils.createStreamEstimateMessage(STREAM_1, NAMESPACE, 50L, 5L).getTrace().getEstimate());
+
+    assertEquals(25L, syncStatsTracker.getTotalRecordsEstimated());
+    assertEquals(250L, syncStatsTracker.getTotalBytesEstimated());
+    assertEquals(Map.of(new AirbyteStreamNameNamespacePair(STREAM_1, NAMESPACE), 5L, new AirbyteStreamNameNamespacePair(STREAM_2, NAMESPACE), 20L),
+        syncStatsTracker.getStreamToEstimatedRecords());
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetrySnapshot.StreamThroughput;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicationTelemetryTest {
+
+  private static final UUID CONNECTION_ID = UUID.randomUUID();
+  private static final long JOB_ID = 42L;
+  private static final int ATTEMPT = 1;
+  private static final AirbyteStreamNameNamespacePair STREAM = new AirbyteStreamNameNamespacePair("users", "public");
+  private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private SyncStatsTracker syncStatsTracker;
+  private MetricClient metricClient;
+  private ReplicationTelemetryRegistry registry;
+  private ReplicationTelemetry telemetry;
+
+  @BeforeEach
+  void setup() {
+    syncStatsTracker = mock(SyncStatsTracker.class);
+    metricClient = mock(MetricClient.class);
+    registry = new ReplicationTelemetryRegistry();
+    telemetry = new ReplicationTelemetry(CONNECTION_ID, JOB_ID, ATTEMPT, syncStatsTracker, metricClient, registry,
+        mock(ScheduledExecutorService.class), 30_000);
+  }
+
+  @Test
+  void testPublishRatesOverTheInterval() {
+    telemetry.start();
+    final long start = System.nanoTime();
+
+    when(syncStatsTracker.getStreamToEmittedRecords()).thenReturn(Map.of(STREAM, 100L));
+    when(syncStatsTracker.getStreamToEmittedBytes()).thenReturn(Map.of(STREAM, 1000L));
+    telemetry.publish(start + ONE_SECOND_NANOS);
+
+    when(syncStatsTracker.getStreamToEmittedRecords()).thenReturn(Map.of(STREAM, 400L));
+    when(syncStatsTracker.getStreamToEmittedBytes()).thenReturn(Map.of(STREAM, 7000L));
+    telemetry.publish(start + 3 * ONE_SECOND_NANOS);
+
+    final ReplicationTelemetrySnapshot snapshot = telemetry.getLatestSnapshot();
+    assertEquals(CONNECTION_ID, snapshot.connectionId());
+    assertEquals(JOB_ID, snapshot.jobId());
+    assertEquals(ATTEMPT, snapshot.attempt());
+    assertEquals(2_000, snapshot.intervalMillis());
+    assertEquals(List.of(new StreamThroughput("public", "users", 400L, 7000L, 150.0, 3000.0)), snapshot.streams());
+
+    final MetricAttribute[] streamAttributes = {
+      new MetricAttribute(MetricTags.CONNECTION_ID, CONNECTION_ID.toString()),
+      new MetricAttribute(MetricTags.STREAM, "public.users")};
+    verify(metricClient).gauge(OssMetricsRegistry.REPLICATION_STREAM_RECORDS_PER_SECOND, 150.0, streamAttributes);
+    verify(metricClient).gauge(OssMetricsRegistry.REPLICATION_STREAM_BYTES_PER_SECOND, 3000.0, streamAttributes);
+  }
+
+  @Test
+  void testPublishBlockedTimeAndQueueDepths() throws InterruptedException {
+    when(syncStatsTracker.getStreamToEmittedRecords()).thenReturn(Map.of());
+    when(syncStatsTracker.getStreamToEmittedBytes()).thenReturn(Map.of());
+    final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(10);
+    queue.put(new Object());
+    queue.put(new Object());
+    telemetry.registerQueue("source", queue);
+    telemetry.start();
+
+    for (int i = 0; i < ReplicationTelemetry.TIMING_SAMPLE_RATE; i++) {
+      final long readStart = telemetry.startSourceRead();
+      Thread.sleep(1);
+      telemetry.endSourceRead(readStart);
+    }
+    telemetry.publish(System.nanoTime() + ONE_SECOND_NANOS);
+
+    final ReplicationTelemetrySnapshot snapshot = telemetry.getLatestSnapshot();
+    assertTrue(snapshot.sourceReadBlockedRatio() > 0);
+    assertEquals(0.0, snapshot.destinationWriteBlockedRatio());
+    assertEquals(Map.of("source", 2), snapshot.queueDepths());
+    verify(metricClient).gauge(OssMetricsRegistry.REPLICATION_QUEUE_DEPTH, 2.0,
+        new MetricAttribute(MetricTags.CONNECTION_ID, CONNECTION_ID.toString()),
+        new MetricAttribute(MetricTags.REPLICATION_QUEUE, "source"));
+  }
+
+  @Test
+  void testRegistryServesRunningSyncs() {
+    when(syncStatsTracker.getStreamToEmittedRecords()).thenReturn(Map.of());
+    when(syncStatsTracker.getStreamToEmittedBytes()).thenReturn(Map.of());
+
+    assertNull(telemetry.getLatestSnapshot());
+    telemetry.start();
+    // nothing was published yet
+    assertEquals(List.of(), registry.getLatestSnapshots());
+
+    telemetry.publish(System.nanoTime());
+    assertEquals(List.of(telemetry.getLatestSnapshot()), registry.getLatestSnapshots());
+
+    telemetry.close();
+    assertEquals(List.of(), registry.getLatestSnapshots());
+  }
+
+}
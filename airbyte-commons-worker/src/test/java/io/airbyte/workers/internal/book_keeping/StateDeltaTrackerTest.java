@@ -5,12 +5,15 @@
 package io.airbyte.workers.internal.book_keeping;
 
 import io.airbyte.workers.internal.book_keeping.StateDeltaTracker.StateDeltaTrackerException;
-import java.util.Collections;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class StateDeltaTrackerTest {
 
@@ -33,9 +36,12 @@ class StateDeltaTrackerTest {
   private static final long STATE_3_STREAM_3_COUNT = 33L;
   private static final long STATE_3_STREAM_4_COUNT = 34L;
 
-  // enough capacity for above 3 states, which are each 40 bytes (8 byte hash + two 18 byte stream
-  // counts
-  private static final long INITIAL_DELTA_MEMORY_CAPACITY = 3 * 40L;
+  // enough capacity for above 3 states, which take 11, 14 and 16 bytes (4 byte hash, 1 byte stream
+  // count, then 1 to 3 bytes per stream index, record count and bytes count)
+  private static final long INITIAL_DELTA_MEMORY_CAPACITY = 41L;
+
+  @TempDir
+  Path spillDirectory;
 
   private StateDeltaTracker stateDeltaTracker;
 
@@ -53,17 +59,65 @@ class StateDeltaTrackerTest {
     state3Counts.put(STREAM_INDEX_3, new StatsCounters(STATE_3_STREAM_3_COUNT * 10, STATE_3_STREAM_3_COUNT));
     state3Counts.put(STREAM_INDEX_4, new StatsCounters(STATE_3_STREAM_4_COUNT * 10, STATE_3_STREAM_4_COUNT));
 
-    stateDeltaTracker = new StateDeltaTracker(INITIAL_DELTA_MEMORY_CAPACITY);
+    stateDeltaTracker = new StateDeltaTracker(INITIAL_DELTA_MEMORY_CAPACITY, spillDirectory);
     stateDeltaTracker.addState(STATE_1_HASH, state1Counts);
     stateDeltaTracker.addState(STATE_2_HASH, state2Counts);
     stateDeltaTracker.addState(STATE_3_HASH, state3Counts);
   }
 
   @Test
-  void testAddState_throwsExceptionWhenCapacityExceeded() {
+  void testAddState_spillsDeltasPastMemoryLimit() throws Exception {
+    Assertions.assertEquals(0, stateDeltaTracker.getSpilledDeltasBytes());
+
+    final int spilledStates = 10_000;
+    for (int i = 0; i < spilledStates; i++) {
+      final Map<Short, StatsCounters> counts = new HashMap<>();
+      counts.put(STREAM_INDEX_1, new StatsCounters(i * 10L, i));
+      counts.put(STREAM_INDEX_4, new StatsCounters(1L, 1L));
+      stateDeltaTracker.addState(spilledStates + i, counts);
+    }
+    Assertions.assertTrue(stateDeltaTracker.getSpilledDeltasBytes() > 0);
+
+    stateDeltaTracker.commitStateHash(STATE_3_HASH);
+    stateDeltaTracker.commitStateHash(spilledStates + spilledStates / 2);
+    stateDeltaTracker.commitStateHash(2 * spilledStates - 1);
+
+    // committed counts are exact
+    final long spilledStream1Records = (long) spilledStates * (spilledStates - 1) / 2;
+    Assertions.assertEquals(new StatsCounters((STATE_1_STREAM_1_COUNT + STATE_2_STREAM_1_COUNT + spilledStream1Records) * 10,
+        STATE_1_STREAM_1_COUNT + STATE_2_STREAM_1_COUNT + spilledStream1Records), stateDeltaTracker.getStreamToCommittedStats().get(STREAM_INDEX_1));
+    Assertions.assertEquals(new StatsCounters(STATE_3_STREAM_4_COUNT * 10 + spilledStates, STATE_3_STREAM_4_COUNT + spilledStates),
+        stateDeltaTracker.getStreamToCommittedStats().get(STREAM_INDEX_4));
+    Assertions.assertEquals(0, stateDeltaTracker.pendingDeltas);
+    Assertions.assertEquals(0, stateDeltaTracker.getPendingDeltasBytes());
+
+    // deltas are kept in memory again
+    stateDeltaTracker.addState(4, Map.of(STREAM_INDEX_1, new StatsCounters(10L, 1L)));
+    Assertions.assertEquals(0, stateDeltaTracker.getSpilledDeltasBytes());
+    stateDeltaTracker.commitStateHash(4);
+    Assertions.assertEquals(0, stateDeltaTracker.pendingDeltas);
+  }
+
+  @Test
+  void testClose_deletesSpillFile() throws Exception {
+    for (int i = 0; i < 1_000; i++) {
+      stateDeltaTracker.addState(NEVER_ADDED_STATE_HASH + 1 + i, Map.of(STREAM_INDEX_1, new StatsCounters(10L, 1L)));
+    }
+    stateDeltaTracker.commitStateHash(STATE_1_HASH);
+    Assertions.assertTrue(stateDeltaTracker.getSpilledDeltasBytes() > 0);
+
+    // the sync ends before the spilled deltas are committed
+    stateDeltaTracker.close();
+
+    try (final Stream<Path> files = Files.list(spillDirectory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+    Assertions.assertEquals(0, stateDeltaTracker.getPendingDeltasBytes());
+    // committed counts are kept
+    Assertions.assertEquals(new StatsCounters(STATE_1_STREAM_1_COUNT * 10, STATE_1_STREAM_1_COUNT),
+        stateDeltaTracker.getStreamToCommittedStats().get(STREAM_INDEX_1));
     Assertions.assertThrows(StateDeltaTrackerException.class,
-        () -> stateDeltaTracker.addState(4, Collections.singletonMap((short) 444, new StatsCounters(440L, 44L))));
-    Assertions.assertTrue(stateDeltaTracker.capacityExceeded);
+        () -> stateDeltaTracker.addState(NEVER_ADDED_STATE_HASH, Map.of(STREAM_INDEX_1, new StatsCounters(10L, 1L))));
   }
 
   @Test
@@ -75,8 +129,8 @@ class StateDeltaTrackerTest {
   }
 
   @Test
-  void testCommitStateHash_throwsExceptionIfCapacityExceededEarlier() {
-    stateDeltaTracker.capacityExceeded = true;
+  void testCommitStateHash_throwsExceptionIfSpillFailedEarlier() {
+    stateDeltaTracker.spillFailed = true;
     Assertions.assertThrows(StateDeltaTrackerException.class, () -> stateDeltaTracker.commitStateHash(STATE_1_HASH));
   }
 
@@ -90,13 +144,13 @@ class StateDeltaTrackerTest {
     // before anything is committed, returned map should be empty and deltas should contain three states
     final Map<Short, StatsCounters> expected = new HashMap<>();
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedStats());
-    Assertions.assertEquals(3, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(3, stateDeltaTracker.pendingDeltas);
 
     stateDeltaTracker.commitStateHash(STATE_1_HASH);
     expected.put(STREAM_INDEX_1, new StatsCounters(STATE_1_STREAM_1_COUNT * 10, STATE_1_STREAM_1_COUNT));
     expected.put(STREAM_INDEX_2, new StatsCounters(STATE_1_STREAM_2_COUNT * 10, STATE_1_STREAM_2_COUNT));
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedStats());
-    Assertions.assertEquals(2, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(2, stateDeltaTracker.pendingDeltas);
     expected.clear();
 
     stateDeltaTracker.commitStateHash(STATE_2_HASH);
@@ -105,7 +159,7 @@ class StateDeltaTrackerTest {
     expected.put(STREAM_INDEX_2, new StatsCounters(STATE_1_STREAM_2_COUNT * 10, STATE_1_STREAM_2_COUNT));
     expected.put(STREAM_INDEX_3, new StatsCounters(STATE_2_STREAM_3_COUNT * 10, STATE_2_STREAM_3_COUNT));
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedStats());
-    Assertions.assertEquals(1, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(1, stateDeltaTracker.pendingDeltas);
     expected.clear();
 
     stateDeltaTracker.commitStateHash(STATE_3_HASH);
@@ -117,9 +171,9 @@ class StateDeltaTrackerTest {
     expected.put(STREAM_INDEX_4, new StatsCounters(STATE_3_STREAM_4_COUNT * 10, STATE_3_STREAM_4_COUNT));
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedStats());
 
-    // since all states are committed, capacity should be freed and the delta queue should be empty
-    Assertions.assertEquals(INITIAL_DELTA_MEMORY_CAPACITY, stateDeltaTracker.remainingCapacity);
-    Assertions.assertEquals(0, stateDeltaTracker.stateDeltas.size());
+    // since all states are committed, the delta queue should be empty
+    Assertions.assertEquals(0, stateDeltaTracker.getPendingDeltasBytes());
+    Assertions.assertEquals(0, stateDeltaTracker.pendingDeltas);
   }
 
 }
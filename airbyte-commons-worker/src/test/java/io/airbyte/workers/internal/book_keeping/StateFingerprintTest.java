@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteGlobalState;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.AirbyteStreamState;
+import io.airbyte.protocol.models.StreamDescriptor;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StateFingerprintTest {
+
+  private static final String STATE = """
+                                      {"cursor": "2023-01-01", "lsn": 123456789012, "ratio": 0.5, "done": false, "ids": [1, 2, null]}
+                                      """;
+
+  @Test
+  void testSameStateFormattedDifferently() {
+    final String reformattedState = """
+                                    {
+                                      "cursor" : "2023-01-01",
+                                      "lsn" : 123456789012,
+                                      "ratio" : 0.5,
+                                      "done" : false,
+                                      "ids" : [ 1, 2, null ]
+                                    }
+                                    """;
+
+    assertEquals(StateFingerprint.of(streamState(STATE)), StateFingerprint.of(streamState(reformattedState)));
+    assertEquals(StateFingerprint.of(legacyState(STATE)), StateFingerprint.of(legacyState(reformattedState)));
+    assertEquals(StateFingerprint.of(globalState(STATE, "users")), StateFingerprint.of(globalState(reformattedState, "users")));
+  }
+
+  @Test
+  void testDifferentStates() {
+    final int fingerprint = StateFingerprint.of(streamState(STATE));
+
+    assertNotEquals(fingerprint, StateFingerprint.of(streamState(STATE.replace("123456789012", "123456789013"))));
+    // same characters, different types
+    assertNotEquals(fingerprint, StateFingerprint.of(streamState(STATE.replace("123456789012", "\"123456789012\""))));
+    assertNotEquals(fingerprint, StateFingerprint.of(streamState(STATE.replace("false", "\"false\""))));
+    // same values, different structure
+    assertNotEquals(StateFingerprint.of(streamState("{\"a\": [\"b\", \"c\"]}")), StateFingerprint.of(streamState("{\"a\": [\"bc\"]}")));
+    assertNotEquals(StateFingerprint.of(globalState(STATE, "users")), StateFingerprint.of(globalState(STATE, "orders")));
+  }
+
+  private static AirbyteStateMessage streamState(final String state) {
+    return new AirbyteStateMessage()
+        .withType(AirbyteStateType.STREAM)
+        .withStream(new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("users"))
+            .withStreamState(Jsons.deserialize(state)));
+  }
+
+  private static AirbyteStateMessage legacyState(final String state) {
+    return new AirbyteStateMessage().withData(Jsons.deserialize(state));
+  }
+
+  private static AirbyteStateMessage globalState(final String state, final String streamName) {
+    return new AirbyteStateMessage()
+        .withType(AirbyteStateType.GLOBAL)
+        .withGlobal(new AirbyteGlobalState()
+            .withSharedState(Jsons.deserialize(state))
+            .withStreamStates(List.of(new AirbyteStreamState()
+                .withStreamDescriptor(new StreamDescriptor().withName(streamName))
+                .withStreamState(Jsons.deserialize(state)))));
+  }
+
+}
@@ -13,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,6 +28,9 @@ import io.airbyte.api.client.model.generated.StreamStatusJobType;
 import io.airbyte.api.client.model.generated.StreamStatusRead;
 import io.airbyte.api.client.model.generated.StreamStatusRunState;
 import io.airbyte.api.client.model.generated.StreamStatusUpdateRequestBody;
+import io.airbyte.featureflag.Connection;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.UseStreamStatusBatching;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteStreamStatusTraceMessage;
@@ -47,6 +51,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
 
@@ -66,6 +71,8 @@ class StreamStatusTrackerTest {
   private static final Duration TIMESTAMP = Duration.of(12345L, ChronoUnit.MILLIS);
 
   private AirbyteApiClient airbyteApiClient;
+  private FeatureFlagClient featureFlagClient;
+  private StreamStatusUpdateBatcher streamStatusUpdateBatcher;
   private StreamDescriptor streamDescriptor;
   private StreamStatusesApi streamStatusesApi;
   private StreamStatusTracker streamStatusTracker;
@@ -77,8 +84,10 @@ class StreamStatusTrackerTest {
   void setup() {
     streamStatusesApi = mock(StreamStatusesApi.class);
     airbyteApiClient = mock(AirbyteApiClient.class);
+    featureFlagClient = mock(FeatureFlagClient.class);
+    streamStatusUpdateBatcher = mock(StreamStatusUpdateBatcher.class);
     streamDescriptor = new StreamDescriptor().withName("name").withNamespace("namespace");
-    streamStatusTracker = new StreamStatusTracker(airbyteApiClient);
+    streamStatusTracker = new StreamStatusTracker(airbyteApiClient, featureFlagClient, streamStatusUpdateBatcher);
   }
 
   @Test
@@ -1139,6 +1148,61 @@ class StreamStatusTrackerTest {
     });
   }
 
+  @Test
+  void testBatchedUpdatesAreFlushedOnForcedCompletion() throws ApiException {
+    final ReplicationContext replicationContext =
+        new ReplicationContext(false, CONNECTION_ID, DESTINATION_ID, SOURCE_ID, JOB_ID, ATTEMPT, WORKSPACE_ID);
+
+    final AirbyteMessage startedAirbyteMessage = createAirbyteMessage(streamDescriptor, STARTED, TIMESTAMP);
+    final AirbyteMessage runningAirbyteMessage = createAirbyteMessage(streamDescriptor, AirbyteStreamStatus.RUNNING, TIMESTAMP);
+    final AirbyteMessage forceCompletionMessage = createAirbyteMessage(new StreamDescriptor(), COMPLETE, TIMESTAMP);
+
+    final ReplicationAirbyteMessageEvent startedEvent =
+        new ReplicationAirbyteMessageEvent(AirbyteMessageOrigin.SOURCE, startedAirbyteMessage, replicationContext);
+    final ReplicationAirbyteMessageEvent runningEvent =
+        new ReplicationAirbyteMessageEvent(AirbyteMessageOrigin.SOURCE, runningAirbyteMessage, replicationContext);
+    final ReplicationAirbyteMessageEvent forceCompletionEvent =
+        new ReplicationAirbyteMessageEvent(AirbyteMessageOrigin.INTERNAL, forceCompletionMessage, replicationContext);
+    final StreamStatusUpdateRequestBody expectedRunning = new StreamStatusUpdateRequestBody()
+        .id(STREAM_ID)
+        .streamName(streamDescriptor.getName())
+        .streamNamespace(streamDescriptor.getNamespace())
+        .jobId(JOB_ID)
+        .jobType(StreamStatusJobType.SYNC)
+        .connectionId(CONNECTION_ID)
+        .attemptNumber(ATTEMPT)
+        .runState(StreamStatusRunState.RUNNING)
+        .transitionedAt(TIMESTAMP.toMillis())
+        .workspaceId(WORKSPACE_ID);
+    final StreamStatusUpdateRequestBody expectedComplete = new StreamStatusUpdateRequestBody()
+        .id(STREAM_ID)
+        .streamName(streamDescriptor.getName())
+        .streamNamespace(streamDescriptor.getNamespace())
+        .jobId(JOB_ID)
+        .jobType(StreamStatusJobType.SYNC)
+        .connectionId(CONNECTION_ID)
+        .attemptNumber(ATTEMPT)
+        .runState(StreamStatusRunState.COMPLETE)
+        .transitionedAt(TIMESTAMP.toMillis())
+        .workspaceId(WORKSPACE_ID);
+
+    when(featureFlagClient.boolVariation(UseStreamStatusBatching.INSTANCE, new Connection(CONNECTION_ID))).thenReturn(true);
+    when(streamStatusesApi.createStreamStatus(any())).thenReturn(new StreamStatusRead().id(STREAM_ID));
+    when(airbyteApiClient.getStreamStatusesApi()).thenReturn(streamStatusesApi);
+
+    streamStatusTracker.track(startedEvent);
+    streamStatusTracker.track(runningEvent);
+    streamStatusTracker.track(forceCompletionEvent);
+
+    final InOrder inOrder = inOrder(streamStatusUpdateBatcher);
+    inOrder.verify(streamStatusUpdateBatcher).enqueue(expectedRunning);
+    inOrder.verify(streamStatusUpdateBatcher).enqueue(expectedComplete);
+    inOrder.verify(streamStatusUpdateBatcher).flush();
+    verify(streamStatusesApi, times(0)).updateStreamStatus(any(StreamStatusUpdateRequestBody.class));
+    // evaluated once for the whole sync rather than on every transition
+    verify(featureFlagClient, times(1)).boolVariation(UseStreamStatusBatching.INSTANCE, new Connection(CONNECTION_ID));
+  }
+
   private AirbyteMessage createAirbyteMessage(final StreamDescriptor streamDescriptor, final AirbyteStreamStatus status, final Duration timestamp) {
     final AirbyteStreamStatusTraceMessage statusTraceMessage =
         new AirbyteStreamStatusTraceMessage().withStreamDescriptor(streamDescriptor).withStatus(status);
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.api.client.AirbyteApiClient;
+import io.airbyte.api.client.generated.StreamStatusesApi;
+import io.airbyte.api.client.invoker.generated.ApiException;
+import io.airbyte.api.client.model.generated.StreamStatusReadList;
+import io.airbyte.api.client.model.generated.StreamStatusRunState;
+import io.airbyte.api.client.model.generated.StreamStatusUpdateBatchRequestBody;
+import io.airbyte.api.client.model.generated.StreamStatusUpdateRequestBody;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Test suite for the {@link StreamStatusUpdateBatcher} class.
+ */
+class StreamStatusUpdateBatcherTest {
+
+  private StreamStatusesApi streamStatusesApi;
+  private StreamStatusUpdateBatcher streamStatusUpdateBatcher;
+
+  @BeforeEach
+  void setup() throws ApiException {
+    streamStatusesApi = mock(StreamStatusesApi.class);
+    final AirbyteApiClient airbyteApiClient = mock(AirbyteApiClient.class);
+    when(airbyteApiClient.getStreamStatusesApi()).thenReturn(streamStatusesApi);
+    when(streamStatusesApi.updateStreamStatuses(any())).thenReturn(new StreamStatusReadList());
+    streamStatusUpdateBatcher = new StreamStatusUpdateBatcher(airbyteApiClient, 1);
+  }
+
+  @Test
+  void testFlushSendsLatestUpdatePerStreamStatus() throws ApiException {
+    final UUID first = UUID.randomUUID();
+    final UUID second = UUID.randomUUID();
+    final StreamStatusUpdateRequestBody firstRunning = update(first, StreamStatusRunState.RUNNING);
+    final StreamStatusUpdateRequestBody secondRunning = update(second, StreamStatusRunState.RUNNING);
+    final StreamStatusUpdateRequestBody firstComplete = update(first, StreamStatusRunState.COMPLETE);
+
+    streamStatusUpdateBatcher.enqueue(firstRunning);
+    streamStatusUpdateBatcher.enqueue(secondRunning);
+    streamStatusUpdateBatcher.enqueue(firstComplete);
+    streamStatusUpdateBatcher.flush();
+
+    verify(streamStatusesApi).updateStreamStatuses(new StreamStatusUpdateBatchRequestBody().streamStatuses(List.of(firstComplete, secondRunning)));
+  }
+
+  @Test
+  void testFlushSplitsLargeBatches() throws ApiException {
+    IntStream.range(0, StreamStatusUpdateBatcher.MAX_BATCH_SIZE + 1)
+        .forEach(i -> streamStatusUpdateBatcher.enqueue(update(UUID.randomUUID(), StreamStatusRunState.RUNNING)));
+    streamStatusUpdateBatcher.flush();
+
+    final ArgumentCaptor<StreamStatusUpdateBatchRequestBody> captor = ArgumentCaptor.forClass(StreamStatusUpdateBatchRequestBody.class);
+    verify(streamStatusesApi, times(2)).updateStreamStatuses(captor.capture());
+    assertEquals(StreamStatusUpdateBatcher.MAX_BATCH_SIZE, captor.getAllValues().get(0).getStreamStatuses().size());
+    assertEquals(1, captor.getAllValues().get(1).getStreamStatuses().size());
+  }
+
+  @Test
+  void testFlushWithoutPendingUpdates() throws ApiException {
+    streamStatusUpdateBatcher.enqueue(update(UUID.randomUUID(), StreamStatusRunState.RUNNING));
+    streamStatusUpdateBatcher.flush();
+    streamStatusUpdateBatcher.flush();
+
+    verify(streamStatusesApi, times(1)).updateStreamStatuses(any());
+  }
+
+  @Test
+  void testFlushWithNothingEnqueued() throws ApiException {
+    streamStatusUpdateBatcher.flush();
+
+    verify(streamStatusesApi, never()).updateStreamStatuses(any());
+  }
+
+  @Test
+  void testFlushRetriesUnsentUpdates() throws ApiException {
+    final UUID first = UUID.randomUUID();
+    final UUID second = UUID.randomUUID();
+    final StreamStatusUpdateRequestBody firstRunning = update(first, StreamStatusRunState.RUNNING);
+    final StreamStatusUpdateRequestBody secondRunning = update(second, StreamStatusRunState.RUNNING);
+    final StreamStatusUpdateRequestBody firstComplete = update(first, StreamStatusRunState.COMPLETE);
+    when(streamStatusesApi.updateStreamStatuses(any()))
+        .thenThrow(new ApiException("unavailable"))
+        .thenReturn(new StreamStatusReadList());
+
+    streamStatusUpdateBatcher.enqueue(firstRunning);
+    streamStatusUpdateBatcher.enqueue(secondRunning);
+    streamStatusUpdateBatcher.flush();
+    // queued while the failed batch was being sent, it must not be overwritten by the retried update
+    streamStatusUpdateBatcher.enqueue(firstComplete);
+    streamStatusUpdateBatcher.flush();
+
+    final ArgumentCaptor<StreamStatusUpdateBatchRequestBody> captor = ArgumentCaptor.forClass(StreamStatusUpdateBatchRequestBody.class);
+    verify(streamStatusesApi, times(2)).updateStreamStatuses(captor.capture());
+    assertEquals(List.of(firstComplete, secondRunning), captor.getAllValues().get(1).getStreamStatuses());
+  }
+
+  private static StreamStatusUpdateRequestBody update(final UUID id, final StreamStatusRunState runState) {
+    return new StreamStatusUpdateRequestBody()
+        .id(id)
+        .streamName("name")
+        .streamNamespace("namespace")
+        .runState(runState);
+  }
+
+}
@@ -185,6 +185,23 @@ class StateAggregatorTest {
         .containsExactlyInAnyOrder(stateA2, stateB2, stateC1);
   }
 
+  @Test
+  void testGetStreamStates() {
+    Assertions.assertThat(stateAggregator.getStreamStates()).isEmpty();
+    stateAggregator.ingest(getGlobalMessage(1));
+    Assertions.assertThat(stateAggregator.getStreamStates()).isEmpty();
+
+    stateAggregator = new DefaultStateAggregator(USE_STREAM_CAPABLE_STATE);
+    final AirbyteStateMessage stateA1 = getStreamMessage("a", 1);
+    final AirbyteStateMessage stateA2 = getStreamMessage("a", 2);
+    final AirbyteStateMessage stateB1 = getStreamMessage("b", 1);
+    stateAggregator.ingest(stateA1);
+    stateAggregator.ingest(stateB1);
+    stateAggregator.ingest(stateA2);
+    CollectionAssert.assertThatCollection(stateAggregator.getStreamStates().orElseThrow())
+        .containsExactlyInAnyOrder(stateA2, stateB1);
+  }
+
   @Test
   void testIngestFromAnotherStateAggregatorChecksStateType() {
     stateAggregator = new DefaultStateAggregator(USE_STREAM_CAPABLE_STATE);
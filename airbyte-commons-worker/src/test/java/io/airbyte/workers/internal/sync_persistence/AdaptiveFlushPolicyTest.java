@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.sync_persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlushPolicyTest {
+
+  private static final long RECORDS_THRESHOLD = 100;
+  private static final long BYTES_THRESHOLD = 1000;
+  private static final long MAX_STALENESS_MILLIS = 60_000;
+
+  @Test
+  void testFlushIsDueOnCommittedData() {
+    final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(RECORDS_THRESHOLD, BYTES_THRESHOLD, MAX_STALENESS_MILLIS, 0);
+
+    assertFalse(policy.onStatePersisted(99, 999, 1));
+    assertTrue(policy.onStatePersisted(100, 999, 2));
+    assertTrue(policy.onStatePersisted(99, 1000, 3));
+
+    // Thresholds are relative to the data committed at the last flush
+    policy.onFlush(4);
+    assertFalse(policy.onStatePersisted(198, 1998, 5));
+    assertTrue(policy.onStatePersisted(199, 1998, 6));
+  }
+
+  @Test
+  void testFlushIsDueOnStaleness() {
+    final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(RECORDS_THRESHOLD, BYTES_THRESHOLD, MAX_STALENESS_MILLIS, 0);
+
+    assertFalse(policy.onStatePersisted(0, 0, MAX_STALENESS_MILLIS - 1));
+    assertFalse(policy.isStale(MAX_STALENESS_MILLIS - 1));
+    assertTrue(policy.onStatePersisted(0, 0, MAX_STALENESS_MILLIS));
+
+    policy.onFlush(MAX_STALENESS_MILLIS);
+    assertFalse(policy.isStale(MAX_STALENESS_MILLIS + 1));
+    assertEquals(MAX_STALENESS_MILLIS - 10_000, policy.getPendingCheckDelayMillis(MAX_STALENESS_MILLIS + 10_000));
+    // Never checks more often than the min check interval
+    assertEquals(5_000, policy.getPendingCheckDelayMillis(3 * MAX_STALENESS_MILLIS));
+  }
+
+  @Test
+  void testIdleChecksBackOff() {
+    final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(RECORDS_THRESHOLD, BYTES_THRESHOLD, MAX_STALENESS_MILLIS, 0);
+
+    assertEquals(5_000, policy.getIdleCheckDelayMillis());
+    assertEquals(10_000, policy.getIdleCheckDelayMillis());
+    assertEquals(20_000, policy.getIdleCheckDelayMillis());
+    assertEquals(40_000, policy.getIdleCheckDelayMillis());
+    assertEquals(MAX_STALENESS_MILLIS, policy.getIdleCheckDelayMillis());
+    assertEquals(MAX_STALENESS_MILLIS, policy.getIdleCheckDelayMillis());
+
+    // A flush resets the back off
+    policy.onFlush(1);
+    assertEquals(5_000, policy.getIdleCheckDelayMillis());
+  }
+
+}
@@ -28,9 +28,13 @@ import io.airbyte.api.client.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.client.model.generated.ConnectionState;
 import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.api.client.model.generated.ConnectionStateType;
+import io.airbyte.api.client.model.generated.ConnectionStreamStatesUpsert;
 import io.airbyte.api.client.model.generated.StreamState;
 import io.airbyte.commons.features.FeatureFlags;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.UseAdaptiveStateFlush;
+import io.airbyte.featureflag.UseStreamStateUpserts;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
 import io.airbyte.protocol.models.AirbyteGlobalState;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
@@ -41,7 +45,7 @@ import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.protocol.models.SyncMode;
-import io.airbyte.workers.internal.book_keeping.SyncStatsTracker;
+import io.airbyte.workers.internal.book_keeping.DefaultSyncStatsTracker;
 import io.airbyte.workers.internal.state_aggregator.StateAggregatorFactory;
 import io.airbyte.workers.internal.sync_persistence.SyncPersistenceImpl.RetryWithJitterConfig;
 import java.util.List;
@@ -59,11 +63,14 @@ import org.mockito.ArgumentCaptor;
 class SyncPersistenceImplTest {
 
   private final long flushPeriod = 60;
+  private final long flushRecordsThreshold = 1000;
+  private final long flushBytesThreshold = 1_000_000;
 
   private SyncPersistenceImpl syncPersistence;
-  private SyncStatsTracker syncStatsTracker;
+  private DefaultSyncStatsTracker syncStatsTracker;
   private StateApi stateApi;
   private AttemptApi attemptApi;
+  private FeatureFlagClient featureFlagClient;
   private ScheduledExecutorService executorService;
   private ArgumentCaptor<Runnable> actualFlushMethod;
 
@@ -86,15 +93,16 @@ class SyncPersistenceImplTest {
     when(executorService.scheduleAtFixedRate(actualFlushMethod.capture(), eq(0L), eq(flushPeriod), eq(TimeUnit.SECONDS)))
         .thenReturn(mock(ScheduledFuture.class));
 
-    syncStatsTracker = mock(SyncStatsTracker.class);
+    syncStatsTracker = mock(DefaultSyncStatsTracker.class);
 
     // Setting syncPersistence
     stateApi = mock(StateApi.class);
     attemptApi = mock(AttemptApi.class);
+    featureFlagClient = mock(FeatureFlagClient.class);
     final FeatureFlags featureFlags = mock(FeatureFlags.class);
     when(featureFlags.useStreamCapableState()).thenReturn(true);
-    syncPersistence = new SyncPersistenceImpl(stateApi, attemptApi, new StateAggregatorFactory(featureFlags), syncStatsTracker, executorService,
-        flushPeriod, Optional.of(new RetryWithJitterConfig(1, 1, 4)));
+    syncPersistence = new SyncPersistenceImpl(stateApi, attemptApi, new StateAggregatorFactory(featureFlags), featureFlagClient, syncStatsTracker,
+        executorService, flushPeriod, flushRecordsThreshold, flushBytesThreshold, Optional.of(new RetryWithJitterConfig(1, 1, 4)));
     syncPersistence.setConnectionContext(connectionId, jobId, attemptNumber, null);
   }
 
@@ -184,6 +192,92 @@ class SyncPersistenceImplTest {
     verify(stateApi, never()).createOrUpdateState(any());
   }
 
+  @Test
+  void testPersistOnlyDirtyStreamStates() throws ApiException {
+    when(featureFlagClient.boolVariation(eq(UseStreamStateUpserts.INSTANCE), any())).thenReturn(true);
+
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.persist(connectionId, stateA1);
+    syncPersistence.persist(connectionId, stateB1);
+    actualFlushMethod.getValue().run();
+    verifyStreamStatesUpsertApiCall(List.of(stateA1, stateB1));
+    verify(stateApi, never()).createOrUpdateState(any());
+    clearInvocations(stateApi);
+
+    // B was emitted again with the same state, only A changed
+    final AirbyteStateMessage stateA2 = getStreamState("A", 2);
+    syncPersistence.persist(connectionId, stateA2);
+    syncPersistence.persist(connectionId, getStreamState("B", 1));
+    actualFlushMethod.getValue().run();
+    verifyStreamStatesUpsertApiCall(List.of(stateA2));
+    clearInvocations(stateApi);
+
+    // Nothing changed, the API is not called
+    syncPersistence.persist(connectionId, getStreamState("A", 2));
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).upsertStreamStates(any());
+  }
+
+  @Test
+  void testPersistDirtyStreamStatesWithApiFailures() throws ApiException {
+    when(featureFlagClient.boolVariation(eq(UseStreamStateUpserts.INSTANCE), any())).thenReturn(true);
+
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    syncPersistence.persist(connectionId, stateA1);
+    when(stateApi.upsertStreamStates(any())).thenThrow(new ApiException());
+    actualFlushMethod.getValue().run();
+    verifyStreamStatesUpsertApiCall(List.of(stateA1));
+    reset(stateApi);
+
+    // States that failed to be persisted are still dirty
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.persist(connectionId, stateB1);
+    actualFlushMethod.getValue().run();
+    verifyStreamStatesUpsertApiCall(List.of(stateA1, stateB1));
+    clearInvocations(stateApi);
+
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).upsertStreamStates(any());
+  }
+
+  @Test
+  void testAdaptiveFlushOnCommittedRecords() throws ApiException {
+    when(featureFlagClient.boolVariation(eq(UseAdaptiveStateFlush.INSTANCE), any())).thenReturn(true);
+    final ArgumentCaptor<Runnable> checkFlushMethod = ArgumentCaptor.forClass(Runnable.class);
+    when(executorService.schedule(checkFlushMethod.capture(), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(mock(ScheduledFuture.class));
+    final ArgumentCaptor<Runnable> requestedFlushMethod = ArgumentCaptor.forClass(Runnable.class);
+    when(syncStatsTracker.getTotalRecordsCommitted()).thenReturn(Optional.of(10L));
+    when(syncStatsTracker.getTotalBytesCommitted()).thenReturn(Optional.of(100L));
+
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    syncPersistence.persist(connectionId, stateA1);
+    verify(executorService).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+    verify(executorService, never()).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+
+    // Not enough committed data nor stale data, the check only reschedules itself
+    checkFlushMethod.getValue().run();
+    verify(stateApi, never()).createOrUpdateState(any());
+    verify(executorService, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    verify(executorService, never()).execute(any());
+
+    // Enough committed records, concurrent flush requests are coalesced
+    when(syncStatsTracker.getTotalRecordsCommitted()).thenReturn(Optional.of(10L + flushRecordsThreshold));
+    final AirbyteStateMessage stateA2 = getStreamState("A", 2);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.persist(connectionId, stateA2);
+    syncPersistence.persist(connectionId, stateB1);
+    verify(executorService).execute(requestedFlushMethod.capture());
+
+    requestedFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA2, stateB1));
+    clearInvocations(stateApi, executorService);
+
+    // The committed records were flushed, another flush is not due yet
+    syncPersistence.persist(connectionId, getStreamState("A", 3));
+    verify(executorService, never()).execute(any());
+  }
+
   @Test
   void testStatsFlushBasicEmissions() throws ApiException {
     syncPersistence.updateStats(new AirbyteRecordMessage());
@@ -577,6 +671,19 @@ class SyncPersistenceImplTest {
     assertEquals(expected, actual);
   }
 
+  private void verifyStreamStatesUpsertApiCall(final List<AirbyteStateMessage> expectedStateMessages) {
+    final ArgumentCaptor<ConnectionStreamStatesUpsert> captor = ArgumentCaptor.forClass(ConnectionStreamStatesUpsert.class);
+
+    try {
+      verify(stateApi).upsertStreamStates(captor.capture());
+    } catch (ApiException e) {
+      throw new RuntimeException(e);
+    }
+    assertEquals(connectionId, captor.getValue().getConnectionId());
+    CollectionAssert.assertThatCollection(captor.getValue().getStreamStates())
+        .containsExactlyInAnyOrderElementsOf(buildStateRequest(connectionId, expectedStateMessages).getConnectionState().getStreamState());
+  }
+
   private ConnectionStateCreateOrUpdate buildStateRequest(final UUID connectionId, final List<AirbyteStateMessage> stateMessages) {
     return new ConnectionStateCreateOrUpdate()
         .connectionId(connectionId)
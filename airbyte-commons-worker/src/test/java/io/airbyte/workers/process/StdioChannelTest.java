@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.process;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StdioChannelTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @Test
+  void testTransferThroughAcceptedConnection() throws Exception {
+    try (final ServerSocketChannel serverChannel = StdioChannel.listen(0)) {
+      final int port = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+      final CompletableFuture<StdioChannel> accepted = StdioChannel.accept(serverChannel, "stdout");
+
+      try (final StdioChannel writer = StdioChannel.connect("localhost", port, "stdin");
+          final StdioChannel reader = accepted.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        final byte[] message = "hello\n".repeat(50_000).getBytes(StandardCharsets.UTF_8);
+        // read while writing, the message may not fit in the socket buffers
+        final CompletableFuture<byte[]> read = CompletableFuture.supplyAsync(() -> {
+          try (final InputStream inputStream = reader.getInputStream()) {
+            return inputStream.readAllBytes();
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        try (final OutputStream outputStream = writer.getOutputStream()) {
+          outputStream.write(message);
+        }
+
+        assertArrayEquals(message, read.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(message.length, writer.getBytesTransferred());
+        assertEquals(message.length, reader.getBytesTransferred());
+      }
+    }
+  }
+
+  @Test
+  void testPendingAcceptFailsWhenServerIsClosed() throws Exception {
+    final ServerSocketChannel serverChannel = StdioChannel.listen(0);
+    final CompletableFuture<StdioChannel> accepted = StdioChannel.accept(serverChannel, "stderr");
+
+    serverChannel.close();
+
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> accepted.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertInstanceOf(ClosedChannelException.class, e.getCause());
+  }
+
+}
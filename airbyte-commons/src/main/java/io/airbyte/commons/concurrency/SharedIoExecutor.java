@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor shared by the tasks of a process that spend their life blocked on IO, like draining the
+ * output of a connector.
+ * <p>
+ * On a runtime that supports virtual threads, each task runs on its own virtual thread. Otherwise
+ * tasks run on a cached pool of daemon threads, which reuses the threads of finished tasks instead
+ * of creating an executor per task.
+ */
+public final class SharedIoExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedIoExecutor.class);
+
+  private static final ExecutorService EXECUTOR = createExecutor();
+
+  private SharedIoExecutor() {}
+
+  public static <T> Future<T> submit(final Callable<T> task) {
+    return EXECUTOR.submit(task);
+  }
+
+  public static Future<?> submit(final Runnable task) {
+    return EXECUTOR.submit(task);
+  }
+
+  private static ExecutorService createExecutor() {
+    try {
+      // looked up reflectively as the platform still compiles for Java 17
+      final ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      LOGGER.debug("Running IO tasks on virtual threads");
+      return executor;
+    } catch (final ReflectiveOperationException | UnsupportedOperationException e) {
+      return Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("shared-io-%d").setDaemon(true).build());
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines like {@link java.io.BufferedReader#readLine()}, but only keeps the first characters
+ * of a line. The rest of a longer line is skipped without being buffered, so a process printing a
+ * huge line can't exhaust the memory of the reader.
+ * <p>
+ * This class is not thread safe.
+ */
+class BoundedLineReader {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+  private final int maxLineLength;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int position;
+  private int limit;
+  private boolean skipLineFeed;
+  private StringBuilder line = new StringBuilder();
+
+  BoundedLineReader(final Reader reader, final int maxLineLength) {
+    this.reader = reader;
+    this.maxLineLength = maxLineLength;
+  }
+
+  /**
+   * Read the next line. A line is terminated by a line feed, a carriage return, or a carriage return
+   * followed by a line feed.
+   *
+   * @return the line without its terminator, truncated to the max line length with a note of how
+   *         many characters were skipped, or null at the end of the stream
+   */
+  String readLine() throws IOException {
+    line.setLength(0);
+    long skippedChars = 0;
+    boolean hasLine = false;
+
+    while (true) {
+      if (position == limit) {
+        final int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+          break;
+        }
+        position = 0;
+        limit = read;
+      }
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (buffer[position] == '\n') {
+          position++;
+          continue;
+        }
+      }
+
+      final int start = position;
+      while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+        position++;
+      }
+      final int length = position - start;
+      final int kept = Math.min(length, maxLineLength - line.length());
+      line.append(buffer, start, kept);
+      skippedChars += length - kept;
+      hasLine |= length > 0;
+
+      if (position < limit) {
+        skipLineFeed = buffer[position] == '\r';
+        position++;
+        hasLine = true;
+        break;
+      }
+    }
+
+    if (!hasLine) {
+      return null;
+    }
+    final String result = skippedChars > 0 ? line + "... [" + skippedChars + " characters truncated]" : line.toString();
+    if (line.capacity() > BUFFER_SIZE) {
+      // don't hold on to the memory of a long line
+      line = new StringBuilder();
+    }
+    return result;
+  }
+
+}
@@ -4,16 +4,16 @@
 
 package io.airbyte.commons.io;
 
+import io.airbyte.commons.concurrency.SharedIoExecutor;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.logging.MdcScope;
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,11 +21,16 @@ import org.slf4j.MDC;
 
 /**
  * Abstraction to consume an {@link InputStream} to completion.
+ * <p>
+ * Gobblers run on the {@link SharedIoExecutor}. Lines longer than {@link #MAX_LINE_LENGTH} are
+ * truncated, so that a connector printing a huge line can't exhaust the memory of the worker.
  */
 public class LineGobbler implements VoidCallable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LineGobbler.class);
   private static final String GENERIC = "generic";
+  static final int MAX_LINE_LENGTH = 1024 * 1024;
+  private static final AtomicInteger ACTIVE_GOBBLERS = new AtomicInteger();
 
   /**
    * Connect an input stream to be consumed by consumer.
@@ -68,10 +73,16 @@ public class LineGobbler implements VoidCallable {
    * @param mdcScopeBuilder mdc scope to be used during consumption
    */
   public static void gobble(final InputStream is, final Consumer<String> consumer, final String caller, final MdcScope.Builder mdcScopeBuilder) {
-    final ExecutorService executor = Executors.newSingleThreadExecutor();
     final Map<String, String> mdc = MDC.getCopyOfContextMap();
-    final var gobbler = new LineGobbler(is, consumer, executor, mdc, caller, mdcScopeBuilder);
-    executor.submit(gobbler);
+    final var gobbler = new LineGobbler(is, consumer, mdc, caller, mdcScopeBuilder);
+    SharedIoExecutor.submit(gobbler);
+  }
+
+  /**
+   * Get the number of gobblers currently consuming an input stream in this process.
+   */
+  public static int getActiveGobblers() {
+    return ACTIVE_GOBBLERS.get();
   }
 
   /**
@@ -103,37 +114,32 @@ public class LineGobbler implements VoidCallable {
     gobble("\r\n----- END " + message + " -----\r\n\r\n");
   }
 
-  private final BufferedReader is;
+  private final BoundedLineReader is;
   private final Consumer<String> consumer;
-  private final ExecutorService executor;
   private final Map<String, String> mdc;
   private final String caller;
   private final MdcScope.Builder containerLogMdcBuilder;
 
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
               final Map<String, String> mdc) {
-    this(is, consumer, executor, mdc, GENERIC, MdcScope.DEFAULT_BUILDER);
+    this(is, consumer, mdc, GENERIC, MdcScope.DEFAULT_BUILDER);
   }
 
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
               final Map<String, String> mdc,
               final MdcScope.Builder mdcScopeBuilder) {
-    this(is, consumer, executor, mdc, GENERIC, mdcScopeBuilder);
+    this(is, consumer, mdc, GENERIC, mdcScopeBuilder);
   }
 
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
               final Map<String, String> mdc,
               final String caller,
               final MdcScope.Builder mdcScopeBuilder) {
-    this.is = IOs.newBufferedReader(is);
+    this.is = new BoundedLineReader(new InputStreamReader(is, StandardCharsets.UTF_8), MAX_LINE_LENGTH);
     this.consumer = consumer;
-    this.executor = executor;
     this.mdc = mdc;
     this.caller = caller;
     this.containerLogMdcBuilder = mdcScopeBuilder;
@@ -142,6 +148,7 @@ public class LineGobbler implements VoidCallable {
   @Override
   public void voidCall() {
     MDC.setContextMap(mdc);
+    ACTIVE_GOBBLERS.incrementAndGet();
     try {
       String line = is.readLine();
       while (line != null) {
@@ -155,7 +162,9 @@ public class LineGobbler implements VoidCallable {
     } catch (final Exception e) {
       LOGGER.error("{} gobbler error when reading stream", caller, e);
     } finally {
-      executor.shutdown();
+      ACTIVE_GOBBLERS.decrementAndGet();
+      // the thread can be reused by another task
+      MDC.clear();
     }
   }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * Computes the length of the serialized form of a {@link JsonNode} by walking the tree, without
+ * serializing it.
+ * <p>
+ * The result is the length of {@link Jsons#serialize(Object)}, in chars. Only floating point and big
+ * numbers need to be converted to a String, everything else is computed from the values directly.
+ */
+final class JsonNodeSizeEstimator {
+
+  private static final String NON_FINITE_QUOTES = "\"\"";
+
+  private JsonNodeSizeEstimator() {}
+
+  static int estimateSerializedLength(final JsonNode node) {
+    return switch (node.getNodeType()) {
+      case OBJECT -> objectLength(node);
+      case ARRAY -> arrayLength(node);
+      case STRING -> stringLength(node.textValue());
+      case NUMBER -> numberLength(node);
+      case BOOLEAN -> node.booleanValue() ? 4 : 5;
+      case NULL -> 4;
+      // not produced when reading JSON, fall back to the actual serialization
+      default -> Jsons.serialize(node).length();
+    };
+  }
+
+  private static int objectLength(final JsonNode node) {
+    // braces and the separators between fields
+    int length = 2 + Math.max(node.size() - 1, 0);
+    final Iterator<Entry<String, JsonNode>> fields = node.fields();
+    while (fields.hasNext()) {
+      final Entry<String, JsonNode> field = fields.next();
+      // key, colon and value
+      length += stringLength(field.getKey()) + 1 + estimateSerializedLength(field.getValue());
+    }
+    return length;
+  }
+
+  private static int arrayLength(final JsonNode node) {
+    // brackets and the separators between elements
+    int length = 2 + Math.max(node.size() - 1, 0);
+    for (int i = 0; i < node.size(); i++) {
+      length += estimateSerializedLength(node.get(i));
+    }
+    return length;
+  }
+
+  /**
+   * Length of a quoted and escaped string. Jackson escapes quotes, backslashes and control
+   * characters, the latter with a short escape when there is one and a unicode escape otherwise.
+   */
+  private static int stringLength(final String value) {
+    int length = value.length() + 2;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        length += 1;
+      } else if (c < 0x20) {
+        length += switch (c) {
+          case '\b', '\t', '\n', '\f', '\r' -> 1;
+          default -> 5;
+        };
+      }
+    }
+    return length;
+  }
+
+  private static int numberLength(final JsonNode node) {
+    if (node.isInt() || node.isShort() || node.isLong()) {
+      return longLength(node.longValue());
+    }
+    if (node.isBigDecimal()) {
+      // the object mapper writes big decimals as plain strings
+      return node.decimalValue().toPlainString().length();
+    }
+    if (node.isDouble() || node.isFloat()) {
+      final double value = node.doubleValue();
+      final String text = node.asText();
+      // non finite values are written as quoted strings
+      return Double.isFinite(value) ? text.length() : text.length() + NON_FINITE_QUOTES.length();
+    }
+    return node.asText().length();
+  }
+
+  private static int longLength(final long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    int length = value < 0 ? 2 : 1;
+    long remaining = Math.abs(value);
+    while (remaining >= 10) {
+      remaining /= 10;
+      length++;
+    }
+    return length;
+  }
+
+}
@@ -7,6 +7,8 @@ package io.airbyte.commons.json;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -21,6 +23,7 @@ import com.google.common.base.Preconditions;
 import io.airbyte.commons.jackson.MoreMappers;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +64,31 @@ public class Jsons {
     }
   }
 
+  /**
+   * Serialize an object to a generator. This avoids building an intermediate string when the
+   * generator writes to a stream.
+   *
+   * @param object to serialize
+   * @param generator to write to, created with {@link #createGenerator(OutputStream)}
+   * @param <T> type of object
+   * @throws IOException if writing to the generator fails
+   */
+  public static <T> void serialize(final T object, final JsonGenerator generator) throws IOException {
+    OBJECT_MAPPER.writeValue(generator, object);
+  }
+
+  /**
+   * Create a generator writing UTF-8 encoded JSON to a stream, with the same configuration as
+   * {@link #serialize(Object)}.
+   *
+   * @param outputStream to write to
+   * @return the generator
+   * @throws IOException if the generator can't be created
+   */
+  public static JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+    return OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+  }
+
   /**
    * Deserialize a JSON string to an object with a type.
    *
@@ -170,6 +198,25 @@ public class Jsons {
     }
   }
 
+  /**
+   * Deserialize a slice of UTF-8 encoded bytes to a JSON object, without decoding them to a string
+   * first.
+   *
+   * @param bytes buffer containing the JSON.
+   * @param offset of the JSON in the buffer.
+   * @param length of the JSON in bytes.
+   * @param klass to deserialize to.
+   * @param <T> type of input object.
+   * @return optional as type T.
+   */
+  public static <T> Optional<T> tryDeserialize(final byte[] bytes, final int offset, final int length, final Class<T> klass) {
+    try {
+      return Optional.of(OBJECT_MAPPER.readValue(bytes, offset, length, klass));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
   /**
    * Convert an object to {@link JsonNode}.
    *
@@ -269,6 +316,9 @@ public class Jsons {
 
   /**
    * Deep clone a JSON-compatible object (i.e. JsonNode or a class generated by json2pojo.
+   * <p>
+   * JsonNodes are copied node by node. Other objects are serialized and deserialized again, which is
+   * expensive for large objects such as catalogs; prefer a structural copy for those.
    *
    * @param object to clone
    * @param <T> type of object
@@ -276,6 +326,9 @@ public class Jsons {
    */
   @SuppressWarnings("unchecked")
   public static <T> T clone(final T object) {
+    if (object instanceof JsonNode jsonNode) {
+      return (T) jsonNode.deepCopy();
+    }
     return (T) deserialize(serialize(object), object.getClass());
   }
 
@@ -295,9 +348,12 @@ public class Jsons {
    * the string to byte[] and use the length of the byte[]. However, this conversion is expensive in
    * memory consumption. Given that the byte size of the serialized JSON is already an estimation of
    * the actual size of the JSON object, using a cheap operation seems an acceptable compromise.
+   * <p>
+   * The length is computed by walking the tree rather than by serializing it, since this is called
+   * for every record of a sync.
    */
   public static int getEstimatedByteSize(final JsonNode jsonNode) {
-    return serialize(jsonNode).length();
+    return JsonNodeSizeEstimator.estimateSerializedLength(jsonNode);
   }
 
   /**
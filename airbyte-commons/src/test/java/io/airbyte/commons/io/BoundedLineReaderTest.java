@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class BoundedLineReaderTest {
+
+  @Test
+  void readLinesWithAnyTerminator() throws IOException {
+    final BoundedLineReader reader = new BoundedLineReader(new StringReader("a\nb\r\nc\rd\n\ne"), 100);
+
+    assertEquals("a", reader.readLine());
+    assertEquals("b", reader.readLine());
+    assertEquals("c", reader.readLine());
+    assertEquals("d", reader.readLine());
+    assertEquals("", reader.readLine());
+    assertEquals("e", reader.readLine());
+    assertNull(reader.readLine());
+  }
+
+  @Test
+  void truncateLongLines() throws IOException {
+    final String longLine = "x".repeat(20_000);
+    final BoundedLineReader reader = new BoundedLineReader(new StringReader(longLine + "\nshort\n"), 10);
+
+    assertEquals("xxxxxxxxxx... [19990 characters truncated]", reader.readLine());
+    assertEquals("short", reader.readLine());
+    assertNull(reader.readLine());
+  }
+
+}
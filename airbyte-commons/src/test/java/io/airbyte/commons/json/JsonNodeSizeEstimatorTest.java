@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonNodeSizeEstimatorTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "{}",
+    "[]",
+    "{\"string_key\":\"abc\",\"array_key\":[\"item1\", \"item2\"]}",
+    "[1, -2, 3.5, 1e300, -0.0, true, false, null]",
+    "[\"\\u0001\\u001f\\u007f\\b\\t\\n\\f\\r\\\"\\\\/\", \"é😀\"]",
+    "{\"a\": {\"b\": [{}, [], {\"c\": 9223372036854775807}]}, \"d\": -9223372036854775808}",
+    "{\"big_integer\": 123456789012345678901234567890, \"big_decimal\": 1.00000000000000000000001}"
+  })
+  void testMatchesSerializedLength(final String json) {
+    final JsonNode node = Jsons.deserialize(json);
+    assertEquals(Jsons.serialize(node).length(), JsonNodeSizeEstimator.estimateSerializedLength(node));
+  }
+
+  @Test
+  void testMatchesSerializedLengthOfBuiltNodes() {
+    final ObjectNode node = (ObjectNode) Jsons.emptyObject();
+    node.put("nan", Double.NaN);
+    node.put("negative_infinity", Double.NEGATIVE_INFINITY);
+    node.put("float", 1.5f);
+    node.put("short", (short) -5);
+    node.put("exponent", new BigDecimal("1E+10"));
+    node.put("big_integer", new BigInteger("-99999999999999999999"));
+    node.putPOJO("pojo", new int[] {1, 2});
+
+    assertEquals(Jsons.serialize(node).length(), JsonNodeSizeEstimator.estimateSerializedLength(node));
+  }
+
+}
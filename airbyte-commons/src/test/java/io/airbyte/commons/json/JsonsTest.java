@@ -8,11 +8,13 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
@@ -194,6 +196,17 @@ class JsonsTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  void testCloneJsonNode() {
+    final JsonNode expected = Jsons.deserialize("{\"test\":{\"nested\":[1,\"abc\",null,{\"deep\":true}]}}");
+    final JsonNode actual = Jsons.clone(expected);
+    assertNotSame(expected, actual);
+    assertEquals(expected, actual);
+
+    ((ObjectNode) actual.get(TEST).get("nested").get(3)).put("deep", false);
+    assertTrue(expected.get(TEST).get("nested").get(3).get("deep").asBoolean());
+  }
+
   @Test
   void testToBytes() {
     final String jsonString = "{\"test\":\"abc\",\"type\":[\"object\"]}";
@@ -111,6 +111,45 @@ public class StatePersistence {
     });
   }
 
+  /**
+   * Create or update the states of the given streams of a connection with a per stream state. The
+   * states of the other streams are left untouched. Null states will be deleted.
+   *
+   * Unlike {@link #updateOrCreateState(UUID, StateWrapper)}, the current state of the connection is
+   * not read: only the types of its states are checked, so the cost of an update only depends on the
+   * number of streams that are updated. As for a full update, a Legacy state is migrated to a Stream
+   * state, and an exception is thrown if the connection has a Global state.
+   *
+   * @param connectionId connection id
+   * @param streamStates new states of the streams
+   * @throws IOException if there is an issue while interacting with the db.
+   */
+  public void upsertStreamStates(final UUID connectionId, final List<AirbyteStreamState> streamStates) throws IOException {
+    this.database.transaction(ctx -> {
+      final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> previousStateTypes = ctx.selectDistinct(STATE.TYPE)
+          .from(STATE)
+          .where(STATE.CONNECTION_ID.eq(connectionId))
+          .fetchSet(STATE.TYPE);
+
+      if (previousStateTypes.contains(io.airbyte.db.instance.configs.jooq.generated.enums.StateType.GLOBAL)) {
+        throw new IllegalStateException("Unexpected type migration from '" + StateType.GLOBAL + "' to '" + StateType.STREAM
+            + "'. Migration of StateType need to go through an explicit reset.");
+      }
+      if (previousStateTypes.contains(io.airbyte.db.instance.configs.jooq.generated.enums.StateType.LEGACY)) {
+        clearLegacyState(ctx, connectionId);
+      }
+      for (final AirbyteStreamState streamState : streamStates) {
+        writeStateToDb(ctx,
+            connectionId,
+            streamState.getStreamDescriptor().getName(),
+            streamState.getStreamDescriptor().getNamespace(),
+            StateType.STREAM,
+            streamState.getStreamState());
+      }
+      return null;
+    });
+  }
+
   private static void clearLegacyState(final DSLContext ctx, final UUID connectionId) {
     writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null);
   }
@@ -464,6 +464,69 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
     Assertions.assertTrue(fullResetResult.isEmpty());
   }
 
+  @Test
+  void testUpsertStreamStates() throws IOException {
+    final StateWrapper state0 = new StateWrapper()
+        .withStateType(StateType.LEGACY)
+        .withLegacyState(Jsons.deserialize("{\"woot\": \"legacy states is passthrough\"}"));
+    statePersistence.updateOrCreateState(connectionId, state0);
+
+    // Migrates the legacy state
+    statePersistence.upsertStreamStates(connectionId, Arrays.asList(
+        new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s1").withNamespace("n1"))
+            .withStreamState(Jsons.deserialize(STATE_WITH_NAMESPACE)),
+        new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s2"))
+            .withStreamState(Jsons.deserialize(STREAM_STATE_2))));
+
+    // Only updates the given streams
+    statePersistence.upsertStreamStates(connectionId, Arrays.asList(
+        new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s1").withNamespace("n1"))
+            .withStreamState(Jsons.deserialize("\"updated\"")),
+        new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s3"))
+            .withStreamState(null)));
+    final StateWrapper upsertResult = statePersistence.getCurrentState(connectionId).orElseThrow();
+    assertEquals(
+        new StateWrapper()
+            .withStateType(StateType.STREAM)
+            .withStateMessages(Arrays.asList(
+                new AirbyteStateMessage()
+                    .withType(AirbyteStateType.STREAM)
+                    .withStream(new AirbyteStreamState()
+                        .withStreamDescriptor(new StreamDescriptor().withName("s1").withNamespace("n1"))
+                        .withStreamState(Jsons.deserialize("\"updated\""))),
+                new AirbyteStateMessage()
+                    .withType(AirbyteStateType.STREAM)
+                    .withStream(new AirbyteStreamState()
+                        .withStreamDescriptor(new StreamDescriptor().withName("s2"))
+                        .withStreamState(Jsons.deserialize(STREAM_STATE_2))))),
+        upsertResult);
+  }
+
+  @Test
+  void testUpsertStreamStatesOnGlobalState() throws IOException {
+    final StateWrapper globalState = new StateWrapper()
+        .withStateType(StateType.GLOBAL)
+        .withGlobal(new AirbyteStateMessage()
+            .withType(AirbyteStateType.GLOBAL)
+            .withGlobal(new AirbyteGlobalState()
+                .withSharedState(Jsons.deserialize(GLOBAL_STATE))
+                .withStreamStates(Collections.singletonList(
+                    new AirbyteStreamState()
+                        .withStreamDescriptor(new StreamDescriptor().withName("s1"))
+                        .withStreamState(Jsons.deserialize(STATE_ONE))))));
+    statePersistence.updateOrCreateState(connectionId, globalState);
+
+    Assertions.assertThrows(IllegalStateException.class, () -> statePersistence.upsertStreamStates(connectionId, Collections.singletonList(
+        new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s1"))
+            .withStreamState(Jsons.deserialize(STATE_TWO)))));
+    assertEquals(globalState, statePersistence.getCurrentState(connectionId).orElseThrow());
+  }
+
   @Test
   void testInconsistentTypeUpdates() throws IOException, SQLException {
     final StateWrapper streamState = new StateWrapper()
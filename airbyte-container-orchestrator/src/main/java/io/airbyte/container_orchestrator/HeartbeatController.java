@@ -4,10 +4,13 @@
 
 package io.airbyte.container_orchestrator;
 
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetryRegistry;
+import io.airbyte.workers.internal.book_keeping.ReplicationTelemetrySnapshot;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Produces;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,16 +18,31 @@ import java.util.Map;
  * <p>
  * This is intended to stay up as long as the Kube worker exists so pods spun up can check if the
  * spawning Kube worker still exists.
+ * <p>
+ * It also serves the live throughput telemetry of the sync running in this orchestrator, to find
+ * slow syncs while they run.
  */
 @Controller
 public class HeartbeatController {
 
   private static final Map<String, Object> response = Map.of("up", true);
 
+  private final ReplicationTelemetryRegistry replicationTelemetryRegistry;
+
+  public HeartbeatController(final ReplicationTelemetryRegistry replicationTelemetryRegistry) {
+    this.replicationTelemetryRegistry = replicationTelemetryRegistry;
+  }
+
   @Get
   @Produces(MediaType.APPLICATION_JSON)
   public Map<String, Object> get() {
     return response;
   }
 
+  @Get("/telemetry")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<ReplicationTelemetrySnapshot> getTelemetry() {
+    return replicationTelemetryRegistry.getLatestSnapshots();
+  }
+
 }
@@ -30,4 +30,10 @@ class HeartbeatControllerTest {
     assertEquals("{\"up\":true}", response);
   }
 
+  @Test
+  void testTelemetryWithoutRunningSync() {
+    final var response = client.toBlocking().retrieve(HttpRequest.GET("/telemetry"));
+    assertEquals("[]", response);
+  }
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import static org.jooq.impl.DSL.constraint;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes the stats of an attempt unique so that they can be upserted in one statement.
+ * <p>
+ * sync_stats gets a unique constraint on attempt_id and stream_stats a unique index on attempt_id,
+ * stream_name and stream_namespace. The previous stream_stats constraint didn't catch streams
+ * without a namespace, since nulls are distinct in unique constraints, so the index coalesces the
+ * namespace to an empty string. Duplicates are removed first, keeping the most recently updated
+ * row. The plain attempt_id indexes are dropped since the new indexes cover them.
+ */
+public class V0_44_11_001__AddUniqueConstraintsToStatsTables extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_44_11_001__AddUniqueConstraintsToStatsTables.class);
+
+  private static final String SYNC_STATS = "sync_stats";
+  private static final String STREAM_STATS = "stream_stats";
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    addUniqueSyncStatsConstraint(ctx);
+    addUniqueStreamStatsIndex(ctx);
+
+    LOGGER.info("Completed migration: {}", this.getClass().getSimpleName());
+  }
+
+  private static void addUniqueSyncStatsConstraint(final DSLContext ctx) {
+    deleteDuplicates(ctx, SYNC_STATS, "attempt_id");
+    ctx.alterTable(SYNC_STATS).add(constraint("sync_stats_attempt_id_key").unique("attempt_id")).execute();
+    ctx.dropIndexIfExists("attempt_id_idx").execute();
+  }
+
+  private static void addUniqueStreamStatsIndex(final DSLContext ctx) {
+    deleteDuplicates(ctx, STREAM_STATS, "attempt_id, stream_name, COALESCE(stream_namespace, '')");
+    ctx.execute("CREATE UNIQUE INDEX stream_stats_attempt_id_stream_key ON stream_stats (attempt_id, stream_name, (COALESCE(stream_namespace, '')))");
+    ctx.alterTable(STREAM_STATS).dropConstraintIfExists("uniq_stream_attempt").execute();
+    ctx.dropIndexIfExists(DSL.quotedName("index")).execute();
+  }
+
+  private static void deleteDuplicates(final DSLContext ctx, final String table, final String partitionBy) {
+    final int deleted = ctx.execute(String.format("DELETE FROM %1$s WHERE id IN ("
+        + "SELECT id FROM (SELECT id, row_number() OVER (PARTITION BY %2$s ORDER BY updated_at DESC, created_at DESC, id) AS rn "
+        + "FROM %1$s) AS ranked WHERE rn > 1)", table, partitionBy));
+    LOGGER.info("Deleted {} duplicate rows from {}", deleted, table);
+  }
+
+}
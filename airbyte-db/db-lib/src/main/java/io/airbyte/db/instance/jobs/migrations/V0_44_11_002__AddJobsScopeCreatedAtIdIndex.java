@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds an index on jobs in the order of the job history of a connection, so that its pages are read
+ * from the index instead of sorting all the jobs of the connection.
+ * <p>
+ * The index includes config_type, so counting the jobs of a connection of some types is an index
+ * only scan. It starts with scope, which makes jobs_scope_idx redundant, so that one is dropped.
+ */
+public class V0_44_11_002__AddJobsScopeCreatedAtIdIndex extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_44_11_002__AddJobsScopeCreatedAtIdIndex.class);
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    ctx.createIndexIfNotExists("jobs_scope_created_at_id_idx")
+        .on(DSL.table("jobs"), DSL.field("scope").asc(), DSL.field("created_at").desc(), DSL.field("id").desc())
+        .include(DSL.field("config_type"))
+        .execute();
+    ctx.dropIndexIfExists("jobs_scope_idx").execute();
+
+    LOGGER.info("Completed migration: {}", this.getClass().getSimpleName());
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds a uuid connection_id column to jobs, so that jobs can be looked up and joined to connections
+ * without casting their scope.
+ * <p>
+ * The column holds the scope of sync and reset jobs as a uuid, which is their connection id, and
+ * stays null for the other jobs. A trigger fills it in for the rows that are written without it,
+ * i.e. by binaries from before this migration during a rolling deploy, or by the import of an
+ * archive whose jobs have no connection_id, so that these jobs aren't missed by the queries on the
+ * column. Existing jobs are backfilled in chunks of ids.
+ * <p>
+ * The migration doesn't run in a transaction, so each chunk is committed on its own instead of
+ * holding the locks of the whole table until the end, and the indexes are created concurrently
+ * without blocking writes to the table. Every step can be rerun if it fails midway.
+ */
+public class V0_44_11_003__AddConnectionIdToJobs extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_44_11_003__AddConnectionIdToJobs.class);
+
+  private static final String JOBS = "jobs";
+  private static final int BACKFILL_CHUNK_SIZE = 10_000;
+  private static final String UUID_PATTERN = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$";
+  // jobs whose scope is a connection id
+  private static final String CONNECTION_CONFIG_TYPES = "('sync', 'reset_connection')";
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    ctx.alterTable(JOBS)
+        .addColumnIfNotExists(DSL.field("connection_id", SQLDataType.UUID.nullable(true)))
+        .execute();
+    // before the backfill, so that no row written in the meantime is left behind
+    addConnectionIdTrigger(context.getConnection());
+    backfillConnectionIds(ctx);
+    addConnectionIdIndexes(ctx);
+
+    LOGGER.info("Completed migration: {}", this.getClass().getSimpleName());
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return false;
+  }
+
+  /**
+   * The function body goes through plain JDBC, jOOQ would read the braces of the uuid pattern as
+   * templating placeholders.
+   */
+  private static void addConnectionIdTrigger(final Connection connection) throws SQLException {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("CREATE OR REPLACE FUNCTION jobs_set_connection_id() RETURNS trigger AS $$ "
+          + "BEGIN "
+          + "IF NEW.connection_id IS NULL AND NEW.config_type IN " + CONNECTION_CONFIG_TYPES + " AND NEW.scope ~* '" + UUID_PATTERN + "' THEN "
+          + "NEW.connection_id := CAST(NEW.scope AS uuid); "
+          + "END IF; "
+          + "RETURN NEW; "
+          + "END; "
+          + "$$ LANGUAGE plpgsql");
+      statement.execute("DROP TRIGGER IF EXISTS jobs_set_connection_id ON jobs");
+      statement.execute("CREATE TRIGGER jobs_set_connection_id BEFORE INSERT OR UPDATE OF scope, config_type, connection_id ON jobs "
+          + "FOR EACH ROW EXECUTE PROCEDURE jobs_set_connection_id()");
+    }
+  }
+
+  private static void backfillConnectionIds(final DSLContext ctx) {
+    final Record2<Long, Long> idRange = ctx.select(DSL.min(DSL.field("id", Long.class)), DSL.max(DSL.field("id", Long.class)))
+        .from(JOBS)
+        .fetchOne();
+    if (idRange == null || idRange.value1() == null) {
+      return;
+    }
+
+    int backfilled = 0;
+    for (long chunkStart = idRange.value1(); chunkStart <= idRange.value2(); chunkStart += BACKFILL_CHUNK_SIZE) {
+      backfilled += ctx.execute("UPDATE jobs SET connection_id = CAST(scope AS uuid) "
+          + "WHERE id >= ? AND id < ? AND connection_id IS NULL AND config_type IN " + CONNECTION_CONFIG_TYPES + " AND scope ~* ?",
+          chunkStart, chunkStart + BACKFILL_CHUNK_SIZE, UUID_PATTERN);
+    }
+    LOGGER.info("Backfilled the connection id of {} jobs", backfilled);
+  }
+
+  private static void addConnectionIdIndexes(final DSLContext ctx) {
+    // for the jobs of a connection in a given status, e.g. the pending and running jobs the metrics
+    // look for
+    createIndexConcurrently(ctx, "jobs_connection_id_status_created_at_idx", "connection_id, status, created_at");
+    // for the latest jobs of a connection of a given type, e.g. its last sync
+    createIndexConcurrently(ctx, "jobs_connection_id_config_type_created_at_idx", "connection_id ASC, config_type ASC, created_at DESC");
+  }
+
+  /**
+   * jOOQ can't create an index concurrently, hence the plain SQL. An index whose concurrent creation
+   * failed is left invalid, it is dropped first so that a rerun creates it again.
+   */
+  private static void createIndexConcurrently(final DSLContext ctx, final String indexName, final String columns) {
+    final boolean invalid = ctx.fetchExists(DSL.selectOne()
+        .from(DSL.table("pg_index"))
+        .join(DSL.table("pg_class")).on(DSL.field("pg_class.oid").eq(DSL.field("pg_index.indexrelid")))
+        .where(DSL.field("pg_class.relname").eq(indexName))
+        .and(DSL.field("pg_index.indisvalid", Boolean.class).isFalse()));
+    if (invalid) {
+      ctx.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+    }
+    ctx.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName + " ON " + JOBS + " (" + columns + ")");
+  }
+
+}
@@ -70,6 +70,31 @@ object ConnectorVersionOverride : Permanent<String>(key = "connectors.versionOve
 
 object HandleStreamStatus : Temporary<Boolean>(key = "handle.stream.status", default = false)
 
+object UsePipelinedReplication : Temporary<Boolean>(key = "platform.usePipelinedReplication", default = false)
+
+/**
+ * Only applies with [UseSampledSchemaValidation], every record is deserialized for validation otherwise. The lines of the records
+ * are still decoded to strings, only the deserialization of their data is saved.
+ */
+object UseRecordPassthrough : Temporary<Boolean>(key = "platform.useRecordPassthrough", default = false)
+
+object UseBatchedDestinationWriter : Temporary<Boolean>(key = "platform.useBatchedDestinationWriter", default = false)
+
+object UseSampledSchemaValidation : Temporary<Boolean>(key = "validation.useSampledSchemaValidation", default = false)
+
+object UseStreamStateUpserts : Temporary<Boolean>(key = "platform.useStreamStateUpserts", default = false)
+
+object UseAdaptiveStateFlush : Temporary<Boolean>(key = "platform.useAdaptiveStateFlush", default = false)
+
+object UseStreamStatusBatching : Temporary<Boolean>(key = "platform.useStreamStatusBatching", default = false)
+
+object UseAsyncConnectorLogs : Temporary<Boolean>(key = "platform.useAsyncConnectorLogs", default = false)
+
+/**
+ * Max number of connector log lines below WARN written per second when async connector logs are enabled, 0 means no limit.
+ */
+object ConnectorLogLinesPerSecond : Permanent<Int>(key = "platform.connectorLogLinesPerSecond", default = 0)
+
 // NOTE: this is deprecated in favor of FieldSelectionEnabled and will be removed once that flag is fully deployed.
 object FieldSelectionWorkspaces : EnvVar(envVar = "FIELD_SELECTION_WORKSPACES") {
   override fun enabled(ctx: Context): Boolean {
@@ -7,6 +7,8 @@ package io.airbyte.validation.json;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.networknt.schema.JsonMetaSchema;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
@@ -37,6 +39,8 @@ public class JsonSchemaValidator {
   // This URI just needs to point at any path in the same directory as /app/WellKnownTypes.json
   // It's required for the JsonSchema#validate method to resolve $ref correctly.
   private static final URI DEFAULT_BASE_URI;
+  // Bounds the number of compiled schemas kept by testWithCachedSchema.
+  private static final long MAX_CACHED_SCHEMAS = 10_000;
 
   static {
     try {
@@ -49,6 +53,11 @@ public class JsonSchemaValidator {
   private final JsonSchemaFactory jsonSchemaFactory;
   private final URI baseUri;
   private final Map<String, JsonSchema> schemaToValidators = new HashMap<>();
+  // Weak keys are compared by identity, so the lookup doesn't hash the whole schema.
+  private final Cache<JsonNode, JsonSchema> compiledSchemas = CacheBuilder.newBuilder()
+      .weakKeys()
+      .maximumSize(MAX_CACHED_SCHEMAS)
+      .build();
 
   public JsonSchemaValidator() {
     this(DEFAULT_BASE_URI);
@@ -113,7 +122,7 @@ public class JsonSchemaValidator {
    * @param objectJson object to test
    * @return true if objectJson conforms to the JSONSchema. Otherwise, false.
    */
-  // todo(davin): Rewrite this section to cache schemas.
+  // todo(davin): Rewrite this section to cache schemas. See testWithCachedSchema for hot paths.
   public boolean test(final JsonNode schemaJson, final JsonNode objectJson) {
     final Set<ValidationMessage> validationMessages = validateInternal(schemaJson, objectJson);
 
@@ -124,6 +133,32 @@ public class JsonSchemaValidator {
     return validationMessages.isEmpty();
   }
 
+  /**
+   * Test if a JSON object conforms to a given JSONSchema, reusing the validator compiled the last time
+   * the same schema instance was tested.
+   * <p>
+   * Schemas are cached by identity rather than by value: this is meant for callers testing many
+   * objects against the nodes of a schema they hold on to, e.g. the schemas of a catalog. The schema
+   * must not be modified once it has been tested. Unlike {@link #test(JsonNode, JsonNode)}, failures
+   * are not logged.
+   *
+   * @param schemaJson JSONSchema to test against
+   * @param objectJson object to test
+   * @return true if objectJson conforms to the JSONSchema. Otherwise, false.
+   */
+  public boolean testWithCachedSchema(final JsonNode schemaJson, final JsonNode objectJson) {
+    Preconditions.checkNotNull(schemaJson);
+    Preconditions.checkNotNull(objectJson);
+
+    JsonSchema schema = compiledSchemas.getIfPresent(schemaJson);
+    if (schema == null) {
+      // compiling the same schema twice on a race is harmless, the last one wins
+      schema = getSchemaValidator(schemaJson);
+      compiledSchemas.put(schemaJson, schema);
+    }
+    return schema.validate(objectJson).isEmpty();
+  }
+
   /**
    * Test if a JSON object conforms to a given JSONSchema. Returns the reason for failure if there are
    * any.
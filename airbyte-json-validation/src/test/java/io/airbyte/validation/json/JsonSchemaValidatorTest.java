@@ -70,6 +70,18 @@ class JsonSchemaValidatorTest {
     assertThrows(JsonValidationException.class, () -> validator.ensure(VALID_SCHEMA, object2));
   }
 
+  @Test
+  void testWithCachedSchema() {
+    final JsonSchemaValidator validator = new JsonSchemaValidator();
+
+    assertTrue(validator.testWithCachedSchema(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\", \"port\":1}")));
+    assertFalse(validator.testWithCachedSchema(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\", \"port\":9999999}")));
+    // an equal schema in another instance is compiled on its own
+    final JsonNode portSchema = Jsons.clone(VALID_SCHEMA.get(PROPERTIES).get("port"));
+    assertTrue(validator.testWithCachedSchema(portSchema, Jsons.jsonNode(1)));
+    assertFalse(validator.testWithCachedSchema(portSchema, Jsons.jsonNode("abc")));
+  }
+
   @Test
   void test() throws IOException {
     final String schema = "{\n"
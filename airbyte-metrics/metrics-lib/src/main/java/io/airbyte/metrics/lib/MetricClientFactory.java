@@ -49,6 +49,16 @@ public class MetricClientFactory {
     return new NotImplementedMetricClient();
   }
 
+  /**
+   * Whether the metric client was created, i.e. {@link #getMetricClient()} returns it without
+   * warning.
+   *
+   * @return true once {@link #initialize(MetricEmittingApp)} was called
+   */
+  public static synchronized boolean isInitialized() {
+    return metricClient != null;
+  }
+
   /**
    *
    * Create and initialize a MetricClient based on System env.
@@ -25,7 +25,10 @@ public class MetricTags {
   public static final String JOB_ID = "job_id";
   public static final String JOB_STATUS = "job_status";
   public static final String RELEASE_STAGE = "release_stage";
+  public static final String REPLICATION_QUEUE = "replication_queue";
   public static final String RESET_WORKFLOW_FAILURE_CAUSE = "failure_cause";
+  public static final String STDIO_STREAM = "stdio_stream";
+  public static final String STREAM = "stream";
   public static final String UNKNOWN = "unknown";
   public static final String WORKFLOW_TYPE = "workflow_type";
   public static final String WORKSPACE_ID = "workspace_id";
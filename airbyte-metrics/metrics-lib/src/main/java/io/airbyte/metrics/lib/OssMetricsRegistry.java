@@ -103,6 +103,14 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       MetricEmittingApps.SERVER,
       "authentication_request",
       "increments when an authentication request is attempted."),
+  DESTINATION_WRITER_BYTES_PER_FLUSH(
+      MetricEmittingApps.WORKER,
+      "destination_writer_bytes_per_flush",
+      "number of bytes sent to the destination per flush of the batched writer"),
+  DESTINATION_WRITER_FLUSH_LATENCY_MILLIS(
+      MetricEmittingApps.WORKER,
+      "destination_writer_flush_latency_millis",
+      "time taken by the batched writer to send its buffer to the destination"),
   EST_NUM_METRICS_EMITTED_BY_REPORTER(
       MetricEmittingApps.METRICS_REPORTER,
       "est_num_metrics_emitted_by_reporter",
@@ -131,6 +139,16 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       MetricEmittingApps.WORKER,
       "kube_pod_process_create_time_millisecs",
       "time taken to create a new kube pod process"),
+  KUBE_POD_PROCESS_STDIO_BLOCKED_TIME_MILLISECS(
+      MetricEmittingApps.WORKER,
+      "kube_pod_process_stdio_blocked_time_millisecs",
+      "time spent blocked reading or writing a stdio stream of a kube pod process",
+      MetricTags.STDIO_STREAM),
+  KUBE_POD_PROCESS_STDIO_BYTES(
+      MetricEmittingApps.WORKER,
+      "kube_pod_process_stdio_bytes",
+      "bytes transferred through a stdio stream of a kube pod process",
+      MetricTags.STDIO_STREAM),
 
   NORMALIZATION_IN_DESTINATION_CONTAINER(
       MetricEmittingApps.WORKER,
@@ -150,6 +168,9 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       MetricEmittingApps.METRICS_REPORTER,
       "num_active_conn_per_workspace",
       "number of active connections per workspace"),
+  NUM_ACTIVE_LINE_GOBBLERS(MetricEmittingApps.WORKER,
+      "num_active_line_gobblers",
+      "number of process output streams being consumed by the orchestrator/workers"),
   NUM_PENDING_JOBS(
       MetricEmittingApps.METRICS_REPORTER,
       "num_pending_jobs",
@@ -186,6 +207,15 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       "overall_job_runtime_in_last_hour_by_terminal_state_secs",
       "overall job runtime - scheduling and execution for all attempts - for jobs that reach terminal states in the last hour. "
           + "tagged by terminal states."),
+  SCHEMA_VALIDATION_DROPPED_RECORDS(MetricEmittingApps.WORKER,
+      "schema_validation_dropped_records",
+      "number of records not validated because the schema validation queue was full"),
+  SCHEMA_VALIDATION_LAG_MILLIS(MetricEmittingApps.WORKER,
+      "schema_validation_lag_millis",
+      "time a record waits in the schema validation queue before being validated"),
+  SCHEMA_VALIDATION_QUEUE_DEPTH(MetricEmittingApps.WORKER,
+      "schema_validation_queue_depth",
+      "number of records waiting for schema validation"),
   SOURCE_HEARTBEAT_FAILURE(MetricEmittingApps.ORCHESTRATOR,
       "source_hearbeat_failure",
       "Fail a replication because the source missed an heartbeat",
@@ -210,9 +240,24 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   REPLICATION_BYTES_SYNCED(MetricEmittingApps.WORKER,
       "replication_bytes_synced",
       "number of bytes synced during replication"),
+  REPLICATION_DESTINATION_WRITE_BLOCKED_RATIO(MetricEmittingApps.WORKER,
+      "replication_destination_write_blocked_ratio",
+      "share of the time a running sync spent waiting on the destination to accept messages"),
+  REPLICATION_QUEUE_DEPTH(MetricEmittingApps.WORKER,
+      "replication_queue_depth",
+      "number of messages waiting in a queue between two stages of a running sync"),
   REPLICATION_RECORDS_SYNCED(MetricEmittingApps.WORKER,
       "replication_records_synced",
       "number of records synced during replication"),
+  REPLICATION_SOURCE_READ_BLOCKED_RATIO(MetricEmittingApps.WORKER,
+      "replication_source_read_blocked_ratio",
+      "share of the time a running sync spent waiting on the source to emit messages"),
+  REPLICATION_STREAM_BYTES_PER_SECOND(MetricEmittingApps.WORKER,
+      "replication_stream_bytes_per_second",
+      "bytes per second read from the source for a stream of a running sync"),
+  REPLICATION_STREAM_RECORDS_PER_SECOND(MetricEmittingApps.WORKER,
+      "replication_stream_records_per_second",
+      "records per second read from the source for a stream of a running sync"),
   RESET_REQUEST(MetricEmittingApps.WORKER,
       "reset_request",
       "number of requested resets"),
@@ -241,6 +286,15 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       "number of final to connection exiting with the a successful final state flush",
       MetricTags.GEOGRAPHY),
 
+  STATE_FLUSH_LATENCY_MILLIS(MetricEmittingApps.WORKER,
+      "state_flush_latency_millis",
+      "time to persist the states and stats of a flush from the orchestrator/workers"),
+  STATE_FLUSH_PAYLOAD_STREAMS(MetricEmittingApps.WORKER,
+      "state_flush_payload_streams",
+      "number of stream states sent to the api by a state flush from the orchestrator/workers"),
+  STATE_FLUSH_SKIPPED(MetricEmittingApps.WORKER,
+      "state_flush_skipped",
+      "number of scheduled state flushes skipped because there was nothing to persist"),
   STATS_COMMIT_ATTEMPT(MetricEmittingApps.WORKER,
       "stats_commit_attempt",
       "number of attempts to commit stats from the orchestrator/workers",
@@ -267,6 +321,9 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   STREAM_STATS_WRITE_NUM_QUERIES(MetricEmittingApps.WORKER,
       "stream_stats_write_num_queries",
       "number of separate queries to update the stream stats table"),
+  STREAM_STATUS_UPDATE_LAG_MILLIS(MetricEmittingApps.WORKER,
+      "stream_status_update_lag_millis",
+      "time between the oldest pending stream status transition and the batch sending it to the api"),
   @Deprecated
   // To be deleted along with PersistStateActivity
   STATE_COMMIT_ATTEMPT_FROM_PERSIST_STATE(MetricEmittingApps.WORKER,
@@ -6,7 +6,9 @@ package io.airbyte.metrics.lib;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -35,6 +37,16 @@ class MetricClientFactoryTest {
     });
   }
 
+  @Test
+  @DisplayName("Should only be initialized once a metric client is created;")
+  void testMetricClientFactoryIsInitialized() {
+    assertFalse(MetricClientFactory.isInitialized());
+    MetricClientFactory.getMetricClient();
+    assertFalse(MetricClientFactory.isInitialized());
+    MetricClientFactory.initialize(MetricEmittingApps.METRICS_REPORTER);
+    assertTrue(MetricClientFactory.isInitialized());
+  }
+
   @Test
   @DisplayName("Should not return null if metric client not specified;")
   void testMicroMeterRegistryRuturnsNullForEmptyClientConfig() {
@@ -10,7 +10,6 @@ import static io.airbyte.db.instance.jobs.jooq.generated.Tables.JOBS;
 import static org.jooq.impl.DSL.asterisk;
 import static org.jooq.impl.DSL.count;
 import static org.jooq.impl.DSL.name;
-import static org.jooq.impl.SQLDataType.VARCHAR;
 
 import io.airbyte.db.instance.configs.jooq.generated.enums.StatusType;
 import io.airbyte.db.instance.jobs.jooq.generated.enums.AttemptStatus;
@@ -45,7 +44,7 @@ class MetricRepository {
     var result = ctx.select(CONNECTION.GEOGRAPHY.cast(String.class).as(geographyResultAlias), count(asterisk()).as(countResultAlias))
         .from(JOBS)
         .join(CONNECTION)
-        .on(CONNECTION.ID.cast(VARCHAR(255)).eq(JOBS.SCOPE))
+        .on(CONNECTION.ID.eq(JOBS.CONNECTION_ID))
         .where(JOBS.STATUS.eq(JobStatus.pending))
         .groupBy(CONNECTION.GEOGRAPHY);
     Field<String> geographyResultField = DSL.field(name(geographyResultAlias), String.class);
@@ -64,7 +63,7 @@ class MetricRepository {
     var result = ctx.select(ATTEMPTS.PROCESSING_TASK_QUEUE, count(asterisk()).as(countFieldName))
         .from(JOBS)
         .join(CONNECTION)
-        .on(CONNECTION.ID.cast(VARCHAR(255)).eq(JOBS.SCOPE))
+        .on(CONNECTION.ID.eq(JOBS.CONNECTION_ID))
         .join(ATTEMPTS)
         .on(ATTEMPTS.JOB_ID.eq(JOBS.ID))
         .where(JOBS.STATUS.eq(JobStatus.running).and(CONNECTION.STATUS.eq(StatusType.active)))
@@ -87,7 +86,7 @@ class MetricRepository {
     return ctx.selectCount()
         .from(JOBS)
         .join(CONNECTION)
-        .on(CONNECTION.ID.cast(VARCHAR(255)).eq(JOBS.SCOPE))
+        .on(CONNECTION.ID.eq(JOBS.CONNECTION_ID))
         .where(JOBS.STATUS.eq(JobStatus.running).and(CONNECTION.STATUS.ne(StatusType.active)))
         .fetchOne(0, int.class);
   }
@@ -100,7 +99,7 @@ class MetricRepository {
           MAX(EXTRACT(EPOCH FROM (current_timestamp - jobs.created_at))) AS run_duration_seconds
         FROM jobs
         JOIN connection
-        ON jobs.scope::uuid = connection.id
+        ON jobs.connection_id = connection.id
         WHERE jobs.status = 'pending'
         GROUP BY geography;
         """;
@@ -178,7 +177,7 @@ class MetricRepository {
                                                          c.id,
                                                          count(*) as cnt
                                                        from connection c
-                                                       left join jobs j on j.scope::uuid = c.id
+                                                       left join jobs j on j.connection_id = c.id
                                                        where
                                                          c.schedule is not null
                                                          and c.schedule != 'null'
@@ -203,7 +202,7 @@ class MetricRepository {
                                                          from
                                                            connection c
                                                          left join Jobs j on
-                                                           j.scope::uuid = c.id
+                                                           j.connection_id = c.id
                                                          where
                                                            c.schedule is not null
                                                            and c.schedule != 'null'
@@ -237,7 +236,7 @@ class MetricRepository {
              -- Sub-query-1: query the currently running attempt's running time.
                 (
                   select
-                    jobs.scope as connection_id,
+                    jobs.connection_id,
                     extract(epoch from age(NOW(), attempts.created_at)) as running_time
                   from
                     jobs
@@ -252,7 +251,7 @@ class MetricRepository {
             -- Sub-query-2: query historic attempts' average running time within last week.
                 (
                   select
-                    jobs.scope as connection_id,
+                    jobs.connection_id,
                     avg(extract(epoch from age(attempts.updated_at, attempts.created_at))) as avg_run_sec
                   from
                     jobs
@@ -129,14 +129,14 @@ class MetricRepositoryTest {
           .execute();
 
       // non-pending jobs
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS)
-          .values(1L, activeConnectionId.toString(), JobStatus.pending)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS)
+          .values(1L, activeConnectionId.toString(), activeConnectionId, JobStatus.pending)
           .execute();
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS)
-          .values(2L, activeConnectionId.toString(), JobStatus.failed)
-          .values(3L, activeConnectionId.toString(), JobStatus.running)
-          .values(4L, activeConnectionId.toString(), JobStatus.running)
-          .values(5L, inactiveConnectionId.toString(), JobStatus.running)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS)
+          .values(2L, activeConnectionId.toString(), activeConnectionId, JobStatus.failed)
+          .values(3L, activeConnectionId.toString(), activeConnectionId, JobStatus.running)
+          .values(4L, activeConnectionId.toString(), activeConnectionId, JobStatus.running)
+          .values(5L, inactiveConnectionId.toString(), inactiveConnectionId, JobStatus.running)
           .execute();
 
       assertEquals(1, db.numberOfRunningJobsByTaskQueue().get(SYNC_QUEUE));
@@ -169,11 +169,11 @@ class MetricRepositoryTest {
               GeographyType.valueOf(EU_REGION))
           .execute();
 
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS)
-          .values(1L, connectionUuid.toString(), JobStatus.pending)
-          .values(2L, connectionUuid.toString(), JobStatus.failed)
-          .values(3L, connectionUuid.toString(), JobStatus.pending)
-          .values(4L, connectionUuid.toString(), JobStatus.running)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS)
+          .values(1L, connectionUuid.toString(), connectionUuid, JobStatus.pending)
+          .values(2L, connectionUuid.toString(), connectionUuid, JobStatus.failed)
+          .values(3L, connectionUuid.toString(), connectionUuid, JobStatus.pending)
+          .values(4L, connectionUuid.toString(), connectionUuid, JobStatus.running)
           .execute();
 
       final var res = db.numberOfPendingJobsByGeography();
@@ -193,9 +193,9 @@ class MetricRepositoryTest {
           .execute();
 
       // non-pending jobs
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS)
-          .values(1L, connectionUuid.toString(), JobStatus.running)
-          .values(2L, connectionUuid.toString(), JobStatus.failed)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS)
+          .values(1L, connectionUuid.toString(), connectionUuid, JobStatus.running)
+          .values(2L, connectionUuid.toString(), connectionUuid, JobStatus.failed)
           .execute();
 
       final var result = db.numberOfPendingJobsByGeography();
@@ -222,16 +222,16 @@ class MetricRepositoryTest {
               GeographyType.valueOf(EU_REGION))
           .execute();
 
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS, JOBS.CREATED_AT)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS, JOBS.CREATED_AT)
           // oldest pending job
-          .values(1L, connectionUuid.toString(), JobStatus.pending, oldestCreateAt)
+          .values(1L, connectionUuid.toString(), connectionUuid, JobStatus.pending, oldestCreateAt)
           // second-oldest pending job
-          .values(2L, connectionUuid.toString(), JobStatus.pending, OffsetDateTime.now())
+          .values(2L, connectionUuid.toString(), connectionUuid, JobStatus.pending, OffsetDateTime.now())
           .execute();
       // non-pending jobs
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS)
-          .values(3L, connectionUuid.toString(), JobStatus.running)
-          .values(4L, connectionUuid.toString(), JobStatus.failed)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS)
+          .values(3L, connectionUuid.toString(), connectionUuid, JobStatus.running)
+          .values(4L, connectionUuid.toString(), connectionUuid, JobStatus.failed)
           .execute();
 
       Double result = db.oldestPendingJobAgeSecsByGeography().get(EU_REGION);
@@ -250,10 +250,10 @@ class MetricRepositoryTest {
           .values(connectionUuid, NamespaceDefinitionType.source, srcId, dstId, CONN, JSONB.valueOf("{}"), true, StatusType.active, GeographyType.EU)
           .execute();
 
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS)
-          .values(1L, connectionUuid.toString(), JobStatus.succeeded)
-          .values(2L, connectionUuid.toString(), JobStatus.running)
-          .values(3L, connectionUuid.toString(), JobStatus.failed).execute();
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS)
+          .values(1L, connectionUuid.toString(), connectionUuid, JobStatus.succeeded)
+          .values(2L, connectionUuid.toString(), connectionUuid, JobStatus.running)
+          .values(3L, connectionUuid.toString(), connectionUuid, JobStatus.failed).execute();
 
       final var result = db.oldestPendingJobAgeSecsByGeography();
       assertEquals(result.get(EU_REGION), 0.0);
@@ -511,11 +511,15 @@ class MetricRepositoryTest {
           .execute();
 
       // Jobs running in prior day will not be counted
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
-          .values(100L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.HOURS), updateAt, syncConfigType)
-          .values(1L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.HOURS), updateAt, syncConfigType)
-          .values(2L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(10, ChronoUnit.HOURS), updateAt, syncConfigType)
-          .values(3L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(5, ChronoUnit.HOURS), updateAt, syncConfigType)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
+          .values(100L, connectionId.toString(), connectionId, JobStatus.succeeded,
+              OffsetDateTime.now().minus(28, ChronoUnit.HOURS), updateAt, syncConfigType)
+          .values(1L, connectionId.toString(), connectionId, JobStatus.succeeded,
+              OffsetDateTime.now().minus(20, ChronoUnit.HOURS), updateAt, syncConfigType)
+          .values(2L, connectionId.toString(), connectionId, JobStatus.succeeded,
+              OffsetDateTime.now().minus(10, ChronoUnit.HOURS), updateAt, syncConfigType)
+          .values(3L, connectionId.toString(), connectionId, JobStatus.succeeded,
+              OffsetDateTime.now().minus(5, ChronoUnit.HOURS), updateAt, syncConfigType)
           .execute();
 
       final var totalConnectionResult = db.numScheduledActiveConnectionsInLastDay();
@@ -543,11 +547,11 @@ class MetricRepositoryTest {
               JSONB.valueOf("{\"units\": 12, \"timeUnit\": \"hours\"}"), false, StatusType.active, updateAt, updateAt)
           .execute();
 
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
-          .values(1L, activeConnectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.HOURS), updateAt,
-              syncConfigType)
-          .values(2L, activeConnectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(10, ChronoUnit.HOURS), updateAt,
-              syncConfigType)
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
+          .values(1L, activeConnectionId.toString(), activeConnectionId, JobStatus.succeeded,
+              OffsetDateTime.now().minus(20, ChronoUnit.HOURS), updateAt, syncConfigType)
+          .values(2L, activeConnectionId.toString(), activeConnectionId, JobStatus.succeeded,
+              OffsetDateTime.now().minus(10, ChronoUnit.HOURS), updateAt, syncConfigType)
           .execute();
 
       final var totalConnectionResult = db.numScheduledActiveConnectionsInLastDay();
@@ -570,18 +574,18 @@ class MetricRepositoryTest {
       // Current job has been running for 12 hours while the previous 5 jobs runs 2 hours. Avg will be 2
       // hours.
       // Thus latest job will be counted as an unusually long-running job.
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
-          .values(100L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.HOURS),
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
+          .values(100L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(26, ChronoUnit.HOURS), syncConfigType)
-          .values(1L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.HOURS),
+          .values(1L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(18, ChronoUnit.HOURS), syncConfigType)
-          .values(2L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(18, ChronoUnit.HOURS),
+          .values(2L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(18, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(16, ChronoUnit.HOURS), syncConfigType)
-          .values(3L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(16, ChronoUnit.HOURS),
+          .values(3L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(16, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(14, ChronoUnit.HOURS), syncConfigType)
-          .values(4L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(14, ChronoUnit.HOURS),
+          .values(4L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(14, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(12, ChronoUnit.HOURS), syncConfigType)
-          .values(5L, connectionId.toString(), JobStatus.running, OffsetDateTime.now().minus(12, ChronoUnit.HOURS),
+          .values(5L, connectionId.toString(), connectionId, JobStatus.running, OffsetDateTime.now().minus(12, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(12, ChronoUnit.HOURS), syncConfigType)
           .execute();
 
@@ -613,18 +617,18 @@ class MetricRepositoryTest {
       // Despite it has been more than 2x than avg it's still within 15 minutes threshold, thus this
       // shouldn't be
       // counted in.
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
-          .values(100L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.MINUTES),
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
+          .values(100L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.MINUTES),
               OffsetDateTime.now().minus(26, ChronoUnit.MINUTES), syncConfigType)
-          .values(1L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.MINUTES),
+          .values(1L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.MINUTES),
               OffsetDateTime.now().minus(18, ChronoUnit.MINUTES), syncConfigType)
-          .values(2L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(18, ChronoUnit.MINUTES),
+          .values(2L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(18, ChronoUnit.MINUTES),
               OffsetDateTime.now().minus(16, ChronoUnit.MINUTES), syncConfigType)
-          .values(3L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(16, ChronoUnit.MINUTES),
+          .values(3L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(16, ChronoUnit.MINUTES),
               OffsetDateTime.now().minus(14, ChronoUnit.MINUTES), syncConfigType)
-          .values(4L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(14, ChronoUnit.MINUTES),
+          .values(4L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(14, ChronoUnit.MINUTES),
               OffsetDateTime.now().minus(2, ChronoUnit.MINUTES), syncConfigType)
-          .values(5L, connectionId.toString(), JobStatus.running, OffsetDateTime.now().minus(14, ChronoUnit.MINUTES),
+          .values(5L, connectionId.toString(), connectionId, JobStatus.running, OffsetDateTime.now().minus(14, ChronoUnit.MINUTES),
               OffsetDateTime.now().minus(2, ChronoUnit.MINUTES), syncConfigType)
           .execute();
 
@@ -653,12 +657,12 @@ class MetricRepositoryTest {
       final var syncConfigType = JobConfigType.sync;
 
       // Require at least 5 runs in last week to get meaningful average runtime.
-      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
-          .values(100L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.HOURS),
+      ctx.insertInto(JOBS, JOBS.ID, JOBS.SCOPE, JOBS.CONNECTION_ID, JOBS.STATUS, JOBS.CREATED_AT, JOBS.UPDATED_AT, JOBS.CONFIG_TYPE)
+          .values(100L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(28, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(26, ChronoUnit.HOURS), syncConfigType)
-          .values(1L, connectionId.toString(), JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.HOURS),
+          .values(1L, connectionId.toString(), connectionId, JobStatus.succeeded, OffsetDateTime.now().minus(20, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(18, ChronoUnit.HOURS), syncConfigType)
-          .values(2L, connectionId.toString(), JobStatus.running, OffsetDateTime.now().minus(18, ChronoUnit.HOURS),
+          .values(2L, connectionId.toString(), connectionId, JobStatus.running, OffsetDateTime.now().minus(18, ChronoUnit.HOURS),
               OffsetDateTime.now().minus(1, ChronoUnit.HOURS), syncConfigType)
           .execute();
 
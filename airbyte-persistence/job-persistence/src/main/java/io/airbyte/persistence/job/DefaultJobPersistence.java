@@ -40,11 +40,9 @@ import io.airbyte.config.JobOutput.OutputType;
 import io.airbyte.config.NormalizationSummary;
 import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.SyncStats;
-import io.airbyte.config.persistence.PersistenceHelpers;
 import io.airbyte.db.Database;
 import io.airbyte.db.ExceptionWrappingDatabase;
 import io.airbyte.db.instance.jobs.JobsDatabaseSchema;
-import io.airbyte.db.instance.jobs.jooq.generated.tables.StreamStats;
 import io.airbyte.db.jdbc.JdbcUtils;
 import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
@@ -52,6 +50,7 @@ import io.airbyte.persistence.job.models.AttemptStatus;
 import io.airbyte.persistence.job.models.AttemptWithJobInfo;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
+import io.airbyte.persistence.job.models.JobStatusSummary;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
 import java.io.IOException;
 import java.math.BigInteger;
@@ -68,6 +67,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -75,17 +75,19 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.InsertValuesStepN;
 import org.jooq.JSONB;
 import org.jooq.Named;
-import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.RecordMapper;
 import org.jooq.Result;
@@ -111,7 +113,10 @@ public class DefaultJobPersistence implements JobPersistence {
   private static final String JOB_ID = "job_id";
   private static final String WHERE = "WHERE ";
   private static final String AND = " AND ";
-  private static final String SCOPE_CLAUSE = "scope = ? AND ";
+  // a trigger fills connection_id from the scope of the sync and reset jobs written without it
+  private static final String CONNECTION_ID_CLAUSE = "connection_id = ? AND ";
+  private static final Pattern UUID_PATTERN =
+      Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$", Pattern.CASE_INSENSITIVE);
 
   protected static final String DEFAULT_SCHEMA = "public";
   private static final String BACKUP_SCHEMA = "import_backup";
@@ -127,6 +132,27 @@ public class DefaultJobPersistence implements JobPersistence {
       "ORDER BY jobs.created_at DESC, jobs.id DESC, attempts.created_at ASC, attempts.id ASC ";
   public static final String ORDER_BY_JOB_CREATED_AT_DESC = "ORDER BY jobs.created_at DESC ";
   public static final String LIMIT_1 = "LIMIT 1 ";
+  private static final String JOB_ID_SELECT = "SELECT jobs.id AS job_id FROM jobs ";
+  private static final String JOB_STATUS_SUMMARY_SELECT =
+      "SELECT DISTINCT ON (connection_id) id, connection_id, config_type, status, started_at, created_at, updated_at FROM jobs ";
+  // the enabled streams of a sync are the only part of its config a job list shows, so only their
+  // names are read instead of the whole catalog
+  private static final String JOB_LIST_SYNC_STREAMS =
+      "(SELECT COALESCE(jsonb_agg(jsonb_build_object('stream', jsonb_build_object("
+          + "'name', s.stream->'stream'->'name', 'namespace', s.stream->'stream'->'namespace')) ORDER BY s.idx), CAST('[]' AS jsonb)) "
+          + "FROM jsonb_array_elements(CASE WHEN jsonb_typeof(jobs.config->'sync'->'configuredAirbyteCatalog'->'streams') = 'array' "
+          + "THEN jobs.config->'sync'->'configuredAirbyteCatalog'->'streams' ELSE CAST('[]' AS jsonb) END) "
+          + "WITH ORDINALITY AS s(stream, idx))";
+  private static final String JOB_LIST_CONFIG = "jsonb_build_object(\n"
+      + "'configType', jobs.config->'configType',\n"
+      + "'sync', CASE WHEN jobs.config->'sync' IS NULL THEN NULL ELSE "
+      + "jsonb_build_object('configuredAirbyteCatalog', jsonb_build_object('streams', " + JOB_LIST_SYNC_STREAMS + ")) END,\n"
+      + "'resetConnection', CASE WHEN jobs.config->'resetConnection' IS NULL THEN NULL ELSE "
+      + "jsonb_build_object('resetSourceConfiguration', jobs.config->'resetConnection'->'resetSourceConfiguration') END)";
+  private static final String JOB_LIST_ATTEMPT_OUTPUT = "CASE WHEN attempts.output IS NULL THEN NULL ELSE jsonb_build_object(\n"
+      + "'outputType', attempts.output->'outputType',\n"
+      + "'sync', CASE WHEN attempts.output->'sync' IS NULL THEN NULL ELSE "
+      + "jsonb_build_object('standardSyncSummary', attempts.output->'sync'->'standardSyncSummary') END) END";
   private static final String JOB_STATUS_IS_NON_TERMINAL = String.format("status IN (%s) ",
       JobStatus.NON_TERMINAL_STATUSES.stream()
           .map(DefaultJobPersistence::toSqlName)
@@ -154,19 +180,35 @@ public class DefaultJobPersistence implements JobPersistence {
   }
 
   private static String jobSelectAndJoin(final String jobsSubquery) {
+    return jobSelectAndJoin(jobsSubquery, "jobs.config", "attempts.attempt_sync_config", "attempts.output");
+  }
+
+  /**
+   * Same columns as {@link #jobSelectAndJoin(String)}, but the config and attempt outputs are cut
+   * down in the database to what a list of jobs shows, which leaves out the catalogs and states they
+   * otherwise carry.
+   */
+  private static String jobListSelectAndJoin(final String jobsSubquery) {
+    return jobSelectAndJoin(jobsSubquery, JOB_LIST_CONFIG, "NULL", JOB_LIST_ATTEMPT_OUTPUT);
+  }
+
+  private static String jobSelectAndJoin(final String jobsSubquery,
+                                         final String configColumn,
+                                         final String attemptSyncConfigColumn,
+                                         final String attemptOutputColumn) {
     return "SELECT\n"
         + "jobs.id AS job_id,\n"
         + "jobs.config_type AS config_type,\n"
         + "jobs.scope AS scope,\n"
-        + "jobs.config AS config,\n"
+        + configColumn + " AS config,\n"
         + "jobs.status AS job_status,\n"
         + "jobs.started_at AS job_started_at,\n"
         + "jobs.created_at AS job_created_at,\n"
         + "jobs.updated_at AS job_updated_at,\n"
         + "attempts.attempt_number AS attempt_number,\n"
-        + "attempts.attempt_sync_config AS attempt_sync_config,\n"
+        + attemptSyncConfigColumn + " AS attempt_sync_config,\n"
         + "attempts.log_path AS log_path,\n"
-        + "attempts.output AS attempt_output,\n"
+        + attemptOutputColumn + " AS attempt_output,\n"
         + "attempts.status AS attempt_status,\n"
         + "attempts.processing_task_queue AS processing_task_queue,\n"
         + "attempts.failure_summary AS attempt_failure_summary,\n"
@@ -201,12 +243,13 @@ public class DefaultJobPersistence implements JobPersistence {
 
     return jobDatabase.query(
         ctx -> ctx.fetch(
-            "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) "
-                + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
+            "INSERT INTO jobs(config_type, scope, connection_id, created_at, updated_at, status, config) "
+                + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, CAST(? AS UUID), ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
                 + queueingRequest
                 + "RETURNING id ",
             toSqlName(jobConfig.getConfigType()),
             scope,
+            toConnectionId(scope),
             now,
             now,
             toSqlName(JobStatus.PENDING),
@@ -431,47 +474,29 @@ public class DefaultJobPersistence implements JobPersistence {
   }
 
   private static void saveToSyncStatsTable(final OffsetDateTime now, final SyncStats syncStats, final Long attemptId, final DSLContext ctx) {
-    // Although JOOQ supports upsert using the onConflict statement, we cannot use it as the table
-    // currently has duplicate records and also doesn't contain the unique constraint on the attempt_id
-    // column JOOQ requires. We are forced to check for existence.
-    final var isExisting = ctx.fetchExists(SYNC_STATS, SYNC_STATS.ATTEMPT_ID.eq(attemptId));
-    if (isExisting) {
-      ctx.update(SYNC_STATS)
-          .set(SYNC_STATS.UPDATED_AT, now)
-          .set(SYNC_STATS.BYTES_EMITTED, syncStats.getBytesEmitted())
-          .set(SYNC_STATS.RECORDS_EMITTED, syncStats.getRecordsEmitted())
-          .set(SYNC_STATS.ESTIMATED_RECORDS, syncStats.getEstimatedRecords())
-          .set(SYNC_STATS.ESTIMATED_BYTES, syncStats.getEstimatedBytes())
-          .set(SYNC_STATS.RECORDS_COMMITTED, syncStats.getRecordsCommitted())
-          .set(SYNC_STATS.BYTES_COMMITTED, syncStats.getBytesCommitted())
-          .set(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, syncStats.getSourceStateMessagesEmitted())
-          .set(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, syncStats.getDestinationStateMessagesEmitted())
-          .set(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMaxSecondsBeforeSourceStateMessageEmitted())
-          .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted())
-          .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted())
-          .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted())
-          .where(SYNC_STATS.ATTEMPT_ID.eq(attemptId))
-          .execute();
-      return;
-    }
+    final Map<Field<?>, Object> values = new HashMap<>();
+    values.put(SYNC_STATS.UPDATED_AT, now);
+    values.put(SYNC_STATS.BYTES_EMITTED, syncStats.getBytesEmitted());
+    values.put(SYNC_STATS.RECORDS_EMITTED, syncStats.getRecordsEmitted());
+    values.put(SYNC_STATS.ESTIMATED_RECORDS, syncStats.getEstimatedRecords());
+    values.put(SYNC_STATS.ESTIMATED_BYTES, syncStats.getEstimatedBytes());
+    values.put(SYNC_STATS.RECORDS_COMMITTED, syncStats.getRecordsCommitted());
+    values.put(SYNC_STATS.BYTES_COMMITTED, syncStats.getBytesCommitted());
+    values.put(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, syncStats.getSourceStateMessagesEmitted());
+    values.put(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, syncStats.getDestinationStateMessagesEmitted());
+    values.put(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMaxSecondsBeforeSourceStateMessageEmitted());
+    values.put(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted());
+    values.put(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted());
+    values.put(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted());
 
     ctx.insertInto(SYNC_STATS)
         .set(SYNC_STATS.ID, UUID.randomUUID())
         .set(SYNC_STATS.CREATED_AT, now)
         .set(SYNC_STATS.ATTEMPT_ID, attemptId)
-        .set(SYNC_STATS.UPDATED_AT, now)
-        .set(SYNC_STATS.BYTES_EMITTED, syncStats.getBytesEmitted())
-        .set(SYNC_STATS.RECORDS_EMITTED, syncStats.getRecordsEmitted())
-        .set(SYNC_STATS.ESTIMATED_RECORDS, syncStats.getEstimatedRecords())
-        .set(SYNC_STATS.ESTIMATED_BYTES, syncStats.getEstimatedBytes())
-        .set(SYNC_STATS.RECORDS_COMMITTED, syncStats.getRecordsCommitted())
-        .set(SYNC_STATS.BYTES_COMMITTED, syncStats.getBytesCommitted())
-        .set(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, syncStats.getSourceStateMessagesEmitted())
-        .set(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, syncStats.getDestinationStateMessagesEmitted())
-        .set(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMaxSecondsBeforeSourceStateMessageEmitted())
-        .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted())
-        .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted())
-        .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted())
+        .set(values)
+        .onConflict(SYNC_STATS.ATTEMPT_ID)
+        .doUpdate()
+        .set(values)
         .execute();
   }
 
@@ -479,49 +504,63 @@ public class DefaultJobPersistence implements JobPersistence {
                                                   final List<StreamSyncStats> perStreamStats,
                                                   final Long attemptId,
                                                   final DSLContext ctx) {
-    List<Query> updates = new ArrayList<>();
-    List<Query> inserts = new ArrayList<>();
-    Optional.ofNullable(perStreamStats).orElse(Collections.emptyList()).forEach(
-        streamStats -> {
-          final var stats = streamStats.getStats();
-          final var isExisting =
-              ctx.fetchExists(StreamStats.STREAM_STATS, StreamStats.STREAM_STATS.ATTEMPT_ID.eq(attemptId)
-                  .and(StreamStats.STREAM_STATS.STREAM_NAME.eq(streamStats.getStreamName()))
-                  .and(PersistenceHelpers.isNullOrEquals(StreamStats.STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())));
-          if (isExisting) {
-            updates.add(
-                ctx.update(STREAM_STATS)
-                    .set(STREAM_STATS.UPDATED_AT, now)
-                    .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-                    .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-                    .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-                    .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-                    .set(STREAM_STATS.BYTES_COMMITTED, stats.getBytesCommitted())
-                    .set(STREAM_STATS.RECORDS_COMMITTED, stats.getRecordsCommitted())
-                    .where(
-                        STREAM_STATS.ATTEMPT_ID.eq(attemptId),
-                        PersistenceHelpers.isNullOrEquals(STREAM_STATS.STREAM_NAME, streamStats.getStreamName()),
-                        PersistenceHelpers.isNullOrEquals(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())));
-          } else {
-            inserts.add(
-                ctx.insertInto(STREAM_STATS)
-                    .set(STREAM_STATS.ID, UUID.randomUUID())
-                    .set(STREAM_STATS.ATTEMPT_ID, attemptId)
-                    .set(STREAM_STATS.STREAM_NAME, streamStats.getStreamName())
-                    .set(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())
-                    .set(STREAM_STATS.CREATED_AT, now)
-                    .set(STREAM_STATS.UPDATED_AT, now)
-                    .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-                    .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-                    .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-                    .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-                    .set(STREAM_STATS.BYTES_COMMITTED, stats.getBytesCommitted())
-                    .set(STREAM_STATS.RECORDS_COMMITTED, stats.getRecordsCommitted()));
-          }
-        });
+    if (perStreamStats == null || perStreamStats.isEmpty()) {
+      return;
+    }
+
+    // a row can only be upserted once per statement, so only the last stats of a stream are kept
+    final Map<List<String>, StreamSyncStats> statsByStream = new LinkedHashMap<>();
+    perStreamStats.forEach(streamStats -> statsByStream.put(
+        Arrays.asList(streamStats.getStreamName(), Objects.requireNonNullElse(streamStats.getStreamNamespace(), "")), streamStats));
+
+    var insert = ctx.insertInto(STREAM_STATS,
+        STREAM_STATS.ID,
+        STREAM_STATS.ATTEMPT_ID,
+        STREAM_STATS.STREAM_NAME,
+        STREAM_STATS.STREAM_NAMESPACE,
+        STREAM_STATS.CREATED_AT,
+        STREAM_STATS.UPDATED_AT,
+        STREAM_STATS.BYTES_EMITTED,
+        STREAM_STATS.RECORDS_EMITTED,
+        STREAM_STATS.ESTIMATED_RECORDS,
+        STREAM_STATS.ESTIMATED_BYTES,
+        STREAM_STATS.BYTES_COMMITTED,
+        STREAM_STATS.RECORDS_COMMITTED);
+    for (final StreamSyncStats streamStats : statsByStream.values()) {
+      final var stats = streamStats.getStats();
+      insert = insert.values(
+          UUID.randomUUID(),
+          attemptId,
+          streamStats.getStreamName(),
+          streamStats.getStreamNamespace(),
+          now,
+          now,
+          stats.getBytesEmitted(),
+          stats.getRecordsEmitted(),
+          stats.getEstimatedRecords(),
+          stats.getEstimatedBytes(),
+          stats.getBytesCommitted(),
+          stats.getRecordsCommitted());
+    }
 
-    ctx.batch(updates).execute();
-    ctx.batch(inserts).execute();
+    // streams without a namespace are unique through the coalesced namespace of the unique index
+    insert.onConflict(STREAM_STATS.ATTEMPT_ID, STREAM_STATS.STREAM_NAME, DSL.field("(COALESCE(stream_namespace, ''))"))
+        .doUpdate()
+        .set(STREAM_STATS.UPDATED_AT, excluded(STREAM_STATS.UPDATED_AT))
+        .set(STREAM_STATS.BYTES_EMITTED, excluded(STREAM_STATS.BYTES_EMITTED))
+        .set(STREAM_STATS.RECORDS_EMITTED, excluded(STREAM_STATS.RECORDS_EMITTED))
+        .set(STREAM_STATS.ESTIMATED_RECORDS, excluded(STREAM_STATS.ESTIMATED_RECORDS))
+        .set(STREAM_STATS.ESTIMATED_BYTES, excluded(STREAM_STATS.ESTIMATED_BYTES))
+        .set(STREAM_STATS.BYTES_COMMITTED, excluded(STREAM_STATS.BYTES_COMMITTED))
+        .set(STREAM_STATS.RECORDS_COMMITTED, excluded(STREAM_STATS.RECORDS_COMMITTED))
+        .execute();
+  }
+
+  /**
+   * Refers to the value a conflicting upsert tried to insert into a column.
+   */
+  private static <T> Field<T> excluded(final Field<T> field) {
+    return DSL.field(DSL.name("excluded", field.getName()), field.getDataType());
   }
 
   @Override
@@ -732,16 +771,67 @@ public class DefaultJobPersistence implements JobPersistence {
 
   @Override
   public List<Job> listJobs(final Set<ConfigType> configTypes, final String configId, final int pagesize, final int offset) throws IOException {
+    return listJobs(configTypes, configId, pagesize, offset, DefaultJobPersistence::jobSelectAndJoin);
+  }
+
+  @Override
+  public List<Job> listJobsLight(final Set<ConfigType> configTypes, final String configId, final int pagesize, final int offset)
+      throws IOException {
+    return listJobs(configTypes, configId, pagesize, offset, DefaultJobPersistence::jobListSelectAndJoin);
+  }
+
+  @Override
+  public Optional<List<Job>> listJobsLightAfterJob(final Set<ConfigType> configTypes,
+                                                   final String configId,
+                                                   final long afterJobId,
+                                                   final int pagesize)
+      throws IOException {
+    final Optional<OffsetDateTime> afterJobCreatedAt = jobDatabase.query(ctx -> ctx.select(JOBS.CREATED_AT).from(JOBS)
+        .where(JOBS.CONFIG_TYPE.in(toSqlNames(configTypes)))
+        .and(JOBS.SCOPE.eq(configId))
+        .and(JOBS.ID.eq(afterJobId))
+        .fetch()
+        .stream()
+        .findFirst()
+        .map(record -> record.get(JOBS.CREATED_AT, OffsetDateTime.class)));
+
+    if (afterJobCreatedAt.isEmpty()) {
+      return Optional.empty();
+    }
+
+    // keyset pagination on the sort order of the list, which stays as fast for deep pages as for the
+    // first one.
+    final Condition afterJobCondition = DSL.row(JOBS.CREATED_AT, JOBS.ID).lt(afterJobCreatedAt.get(), afterJobId);
+    return Optional.of(listJobs(configTypes, configId, afterJobCondition, pagesize, 0, DefaultJobPersistence::jobListSelectAndJoin));
+  }
+
+  private List<Job> listJobs(final Set<ConfigType> configTypes,
+                             final String configId,
+                             final int pagesize,
+                             final int offset,
+                             final UnaryOperator<String> selectAndJoin)
+      throws IOException {
+    return listJobs(configTypes, configId, DSL.noCondition(), pagesize, offset, selectAndJoin);
+  }
+
+  private List<Job> listJobs(final Set<ConfigType> configTypes,
+                             final String configId,
+                             final Condition condition,
+                             final int pagesize,
+                             final int offset,
+                             final UnaryOperator<String> selectAndJoin)
+      throws IOException {
     return jobDatabase.query(ctx -> {
       final String jobsSubquery = "(" + ctx.select(DSL.asterisk()).from(JOBS)
           .where(JOBS.CONFIG_TYPE.in(toSqlNames(configTypes)))
           .and(JOBS.SCOPE.eq(configId))
+          .and(condition)
           .orderBy(JOBS.CREATED_AT.desc(), JOBS.ID.desc())
           .limit(pagesize)
           .offset(offset)
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME));
+      return getJobsFromResult(ctx.fetch(selectAndJoin.apply(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME));
     });
   }
 
@@ -758,6 +848,25 @@ public class DefaultJobPersistence implements JobPersistence {
   @Override
   public List<Job> listJobsIncludingId(final Set<ConfigType> configTypes, final String connectionId, final long includingJobId, final int pagesize)
       throws IOException {
+    final Optional<Integer> pageSizeThatIncludesJob = getPageSizeThatIncludesJob(configTypes, connectionId, includingJobId, pagesize);
+    return pageSizeThatIncludesJob.isPresent() ? listJobs(configTypes, connectionId, pageSizeThatIncludesJob.get(), 0) : List.of();
+  }
+
+  @Override
+  public List<Job> listJobsIncludingIdLight(final Set<ConfigType> configTypes,
+                                            final String connectionId,
+                                            final long includingJobId,
+                                            final int pagesize)
+      throws IOException {
+    final Optional<Integer> pageSizeThatIncludesJob = getPageSizeThatIncludesJob(configTypes, connectionId, includingJobId, pagesize);
+    return pageSizeThatIncludesJob.isPresent() ? listJobsLight(configTypes, connectionId, pageSizeThatIncludesJob.get(), 0) : List.of();
+  }
+
+  private Optional<Integer> getPageSizeThatIncludesJob(final Set<ConfigType> configTypes,
+                                                       final String connectionId,
+                                                       final long includingJobId,
+                                                       final int pagesize)
+      throws IOException {
     final Optional<OffsetDateTime> includingJobCreatedAt = jobDatabase.query(ctx -> ctx.select(JOBS.CREATED_AT).from(JOBS)
         .where(JOBS.CONFIG_TYPE.in(toSqlNames(configTypes)))
         .and(JOBS.SCOPE.eq(connectionId))
@@ -768,7 +877,7 @@ public class DefaultJobPersistence implements JobPersistence {
         .map(record -> record.get(JOBS.CREATED_AT, OffsetDateTime.class)));
 
     if (includingJobCreatedAt.isEmpty()) {
-      return List.of();
+      return Optional.empty();
     }
 
     final int countIncludingJob = jobDatabase.query(ctx -> ctx.selectCount().from(JOBS)
@@ -778,8 +887,7 @@ public class DefaultJobPersistence implements JobPersistence {
         .fetchOne().into(int.class));
 
     // calculate the multiple of `pagesize` that includes the target job
-    final int pageSizeThatIncludesJob = (countIncludingJob / pagesize + 1) * pagesize;
-    return listJobs(configTypes, connectionId, pageSizeThatIncludesJob, 0);
+    return Optional.of((countIncludingJob / pagesize + 1) * pagesize);
   }
 
   @Override
@@ -807,11 +915,11 @@ public class DefaultJobPersistence implements JobPersistence {
       throws IOException {
     return jobDatabase.query(ctx -> getJobsFromResult(ctx
         .fetch(BASE_JOB_SELECT_AND_JOIN + WHERE
-            + SCOPE_CLAUSE
+            + CONNECTION_ID_CLAUSE
             + "config_type IN " + toSqlInFragment(configTypes) + AND
             + "jobs.status IN " + toSqlInFragment(statuses) + " "
             + ORDER_BY_JOB_TIME_ATTEMPT_TIME,
-            connectionId.toString())));
+            connectionId)));
   }
 
   @Override
@@ -824,9 +932,9 @@ public class DefaultJobPersistence implements JobPersistence {
     final String JobStatusSelect = "SELECT id, status, created_at, updated_at FROM jobs ";
     return jobDatabase.query(ctx -> ctx
         .fetch(JobStatusSelect + WHERE
-            + SCOPE_CLAUSE
-            + "CAST(config_type AS VARCHAR) in " + toSqlInFragment(configTypes) + AND
-            + "created_at >= ? ORDER BY created_at DESC", connectionId.toString(), timeConvertedIntoLocalDateTime))
+            + CONNECTION_ID_CLAUSE
+            + "config_type IN " + toSqlInFragment(configTypes) + AND
+            + "created_at >= ? ORDER BY created_at DESC", connectionId, timeConvertedIntoLocalDateTime))
         .stream()
         .map(r -> new JobWithStatusAndTimestamp(
             r.get("id", Long.class),
@@ -839,12 +947,12 @@ public class DefaultJobPersistence implements JobPersistence {
   @Override
   public Optional<Job> getLastReplicationJob(final UUID connectionId) throws IOException {
     return jobDatabase.query(ctx -> ctx
-        .fetch(BASE_JOB_SELECT_AND_JOIN + WHERE
-            + "CAST(jobs.config_type AS VARCHAR) in " + toSqlInFragment(Job.REPLICATION_TYPES) + AND
-            + SCOPE_CLAUSE
+        .fetch(JOB_ID_SELECT + WHERE
+            + "jobs.config_type IN " + toSqlInFragment(Job.REPLICATION_TYPES) + AND
+            + CONNECTION_ID_CLAUSE
             + "CAST(jobs.status AS VARCHAR) <> ? "
             + ORDER_BY_JOB_CREATED_AT_DESC + LIMIT_1,
-            connectionId.toString(),
+            connectionId,
             toSqlName(JobStatus.CANCELLED))
         .stream()
         .findFirst()
@@ -854,12 +962,12 @@ public class DefaultJobPersistence implements JobPersistence {
   @Override
   public Optional<Job> getLastSyncJob(final UUID connectionId) throws IOException {
     return jobDatabase.query(ctx -> ctx
-        .fetch(BASE_JOB_SELECT_AND_JOIN + WHERE
-            + "CAST(jobs.config_type AS VARCHAR) = ? " + AND
-            + "scope = ? "
+        .fetch(JOB_ID_SELECT + WHERE
+            + "jobs.config_type = CAST(? AS JOB_CONFIG_TYPE) " + AND
+            + "connection_id = ? "
             + ORDER_BY_JOB_CREATED_AT_DESC + LIMIT_1,
             toSqlName(ConfigType.SYNC),
-            connectionId.toString())
+            connectionId)
         .stream()
         .findFirst()
         .flatMap(r -> getJobOptional(ctx, r.get(JOB_ID, Long.class))));
@@ -870,19 +978,19 @@ public class DefaultJobPersistence implements JobPersistence {
    * exists.
    */
   @Override
-  public List<Job> getLastSyncJobForConnections(final List<UUID> connectionIds) throws IOException {
+  public List<JobStatusSummary> getLastSyncJobForConnections(final List<UUID> connectionIds) throws IOException {
     if (connectionIds.isEmpty()) {
       return Collections.emptyList();
     }
 
     return jobDatabase.query(ctx -> ctx
-        .fetch("SELECT DISTINCT ON (scope) * FROM jobs "
-            + WHERE + "CAST(jobs.config_type AS VARCHAR) = ? "
-            + AND + scopeInList(connectionIds)
-            + "ORDER BY scope, created_at DESC",
+        .fetch(JOB_STATUS_SUMMARY_SELECT
+            + WHERE + "jobs.config_type = CAST(? AS JOB_CONFIG_TYPE) "
+            + AND + connectionIdInList(connectionIds)
+            + "ORDER BY connection_id, created_at DESC",
             toSqlName(ConfigType.SYNC))
         .stream()
-        .flatMap(r -> getJobOptional(ctx, r.get("id", Long.class)).stream())
+        .map(DefaultJobPersistence::getJobStatusSummaryFromRecord)
         .collect(Collectors.toList()));
   }
 
@@ -891,25 +999,25 @@ public class DefaultJobPersistence implements JobPersistence {
    * return it if one exists.
    */
   @Override
-  public List<Job> getRunningSyncJobForConnections(final List<UUID> connectionIds) throws IOException {
+  public List<JobStatusSummary> getRunningSyncJobForConnections(final List<UUID> connectionIds) throws IOException {
     if (connectionIds.isEmpty()) {
       return Collections.emptyList();
     }
 
     return jobDatabase.query(ctx -> ctx
-        .fetch("SELECT DISTINCT ON (scope) * FROM jobs "
-            + WHERE + "CAST(jobs.config_type AS VARCHAR) = ? "
-            + AND + scopeInList(connectionIds)
+        .fetch(JOB_STATUS_SUMMARY_SELECT
+            + WHERE + "jobs.config_type = CAST(? AS JOB_CONFIG_TYPE) "
+            + AND + connectionIdInList(connectionIds)
             + AND + JOB_STATUS_IS_NON_TERMINAL
-            + "ORDER BY scope, created_at DESC",
+            + "ORDER BY connection_id, created_at DESC",
             toSqlName(ConfigType.SYNC))
         .stream()
-        .flatMap(r -> getJobOptional(ctx, r.get("id", Long.class)).stream())
+        .map(DefaultJobPersistence::getJobStatusSummaryFromRecord)
         .collect(Collectors.toList()));
   }
 
-  private String scopeInList(final Collection<UUID> connectionIds) {
-    return String.format("scope IN (%s) ",
+  private String connectionIdInList(final Collection<UUID> connectionIds) {
+    return String.format("connection_id IN (%s) ",
         connectionIds.stream()
             .map(UUID::toString)
             .map(Names::singleQuote)
@@ -919,12 +1027,12 @@ public class DefaultJobPersistence implements JobPersistence {
   @Override
   public Optional<Job> getFirstReplicationJob(final UUID connectionId) throws IOException {
     return jobDatabase.query(ctx -> ctx
-        .fetch(BASE_JOB_SELECT_AND_JOIN + WHERE
-            + "CAST(jobs.config_type AS VARCHAR) in " + toSqlInFragment(Job.REPLICATION_TYPES) + AND
-            + SCOPE_CLAUSE
+        .fetch(JOB_ID_SELECT + WHERE
+            + "jobs.config_type IN " + toSqlInFragment(Job.REPLICATION_TYPES) + AND
+            + CONNECTION_ID_CLAUSE
             + "CAST(jobs.status AS VARCHAR) <> ? "
             + "ORDER BY jobs.created_at ASC LIMIT 1",
-            connectionId.toString(),
+            connectionId,
             toSqlName(JobStatus.CANCELLED))
         .stream()
         .findFirst()
@@ -938,7 +1046,7 @@ public class DefaultJobPersistence implements JobPersistence {
     // 2. job is excluded if another job of the same scope is already running
     // 3. job is excluded if another job of the same scope is already incomplete
     return jobDatabase.query(ctx -> ctx
-        .fetch(BASE_JOB_SELECT_AND_JOIN + WHERE
+        .fetch(JOB_ID_SELECT + WHERE
             + "CAST(jobs.status AS VARCHAR) = 'pending' AND "
             + "jobs.scope NOT IN ( SELECT scope FROM jobs WHERE status = 'running' OR status = 'incomplete' ) "
             + "ORDER BY jobs.created_at ASC LIMIT 1")
@@ -970,6 +1078,14 @@ public class DefaultJobPersistence implements JobPersistence {
                 Optional.ofNullable(record.get(SYNC_STATS.RECORDS_COMMITTED)), record.get(NORMALIZATION_SUMMARIES.FAILURES) != null)));
   }
 
+  /**
+   * The scope of a job as a uuid, which is the connection id for the jobs of a connection. Scopes that
+   * aren't uuids don't have a connection id.
+   */
+  private static UUID toConnectionId(final String scope) {
+    return scope != null && UUID_PATTERN.matcher(scope).matches() ? UUID.fromString(scope) : null;
+  }
+
   // Retrieves only Job information from the record, without any attempt info
   private static Job getJobFromRecord(final Record record) {
     return new Job(record.get(JOB_ID, Long.class),
@@ -983,6 +1099,16 @@ public class DefaultJobPersistence implements JobPersistence {
         getEpoch(record, "job_updated_at"));
   }
 
+  private static JobStatusSummary getJobStatusSummaryFromRecord(final Record record) {
+    return new JobStatusSummary(record.get("id", Long.class),
+        record.get("connection_id", UUID.class),
+        Enums.toEnum(record.get("config_type", String.class), ConfigType.class).orElseThrow(),
+        JobStatus.valueOf(record.get("status", String.class).toUpperCase()),
+        Optional.ofNullable(record.get("started_at")).map(value -> getEpoch(record, "started_at")).orElse(null),
+        getEpoch(record, "created_at"),
+        getEpoch(record, "updated_at"));
+  }
+
   private static JobConfig parseJobConfigFromString(final String jobConfigString) {
     final JobConfig jobConfig = Jsons.deserialize(jobConfigString, JobConfig.class);
     // On-the-fly migration of persisted data types related objects (protocol v0->v1)
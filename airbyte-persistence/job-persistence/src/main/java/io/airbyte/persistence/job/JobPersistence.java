@@ -20,6 +20,7 @@ import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.AttemptWithJobInfo;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
+import io.airbyte.persistence.job.models.JobStatusSummary;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -255,6 +256,48 @@ public interface JobPersistence {
    */
   List<Job> listJobsIncludingId(Set<JobConfig.ConfigType> configTypes, String connectionId, long includingJobId, int pagesize) throws IOException;
 
+  /**
+   * Like {@link #listJobs(Set, String, int, int)}, but only loads what a list of jobs shows. The
+   * config of each job only holds its config type, the names of its enabled streams and the streams
+   * it resets, the output of each attempt only holds its sync summary and attempts have no sync
+   * config. Use {@link #getJob(long)} to load a whole job.
+   *
+   * @param configTypes - type of config, e.g. sync
+   * @param configId - id of that config
+   * @return lists job in descending order by created_at
+   * @throws IOException - what you do when you IO
+   */
+  List<Job> listJobsLight(Set<JobConfig.ConfigType> configTypes, String configId, int limit, int offset) throws IOException;
+
+  /**
+   * Like {@link #listJobsIncludingId(Set, String, long, int)}, but loads the jobs like
+   * {@link #listJobsLight(Set, String, int, int)}.
+   *
+   * @param configTypes - type of config, e.g. sync
+   * @param connectionId - id of the connection for which jobs should be retrieved
+   * @param includingJobId - id of the job that should be the included in the list, if it exists in
+   *        the connection
+   * @param pagesize - the pagesize that should be used when building the list (response may include
+   *        multiple pages)
+   * @return List of jobs in descending created_at order including the specified job
+   */
+  List<Job> listJobsIncludingIdLight(Set<JobConfig.ConfigType> configTypes, String connectionId, long includingJobId, int pagesize)
+      throws IOException;
+
+  /**
+   * Like {@link #listJobsLight(Set, String, int, int)}, but returns the page of jobs that comes after
+   * the given job in the list instead of skipping an offset, so deep pages are as cheap as the first.
+   *
+   * @param configTypes - type of config, e.g. sync
+   * @param configId - id of that config
+   * @param afterJobId - id of the last job of the previous page
+   * @param pagesize - the number of jobs to return
+   * @return lists job in descending order by created_at, or an empty optional if the job isn't one of
+   *         the listed jobs
+   * @throws IOException - what you do when you IO
+   */
+  Optional<List<Job>> listJobsLightAfterJob(Set<JobConfig.ConfigType> configTypes, String configId, long afterJobId, int pagesize) throws IOException;
+
   List<Job> listJobsWithStatus(JobStatus status) throws IOException;
 
   List<Job> listJobsWithStatus(Set<JobConfig.ConfigType> configTypes, JobStatus status) throws IOException;
@@ -282,9 +325,21 @@ public interface JobPersistence {
 
   Optional<Job> getLastSyncJob(UUID connectionId) throws IOException;
 
-  List<Job> getLastSyncJobForConnections(final List<UUID> connectionIds) throws IOException;
+  /**
+   * For each connection, get the status of its latest sync job if it has one.
+   *
+   * @param connectionIds connections to look up
+   * @return status summaries of the latest sync job of each connection
+   */
+  List<JobStatusSummary> getLastSyncJobForConnections(final List<UUID> connectionIds) throws IOException;
 
-  List<Job> getRunningSyncJobForConnections(final List<UUID> connectionIds) throws IOException;
+  /**
+   * For each connection, get the status of its latest non-terminal sync job if it has one.
+   *
+   * @param connectionIds connections to look up
+   * @return status summaries of the running sync job of each connection
+   */
+  List<JobStatusSummary> getRunningSyncJobForConnections(final List<UUID> connectionIds) throws IOException;
 
   Optional<Job> getFirstReplicationJob(UUID connectionId) throws IOException;
 
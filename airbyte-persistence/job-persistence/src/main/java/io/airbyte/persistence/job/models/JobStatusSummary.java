@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job.models;
+
+import io.airbyte.config.JobConfig.ConfigType;
+import java.util.UUID;
+
+/**
+ * Status and timestamps of a job, without its config or attempts.
+ *
+ * @param id job id
+ * @param connectionId connection the job belongs to, null if it doesn't belong to a connection
+ * @param configType type of the job
+ * @param status status of the job
+ * @param startedAtInSecond when the job started, null if it didn't start yet
+ * @param createdAtInSecond when the job was created
+ * @param updatedAtInSecond when the job was last updated
+ */
+public record JobStatusSummary(long id,
+                               UUID connectionId,
+                               ConfigType configType,
+                               JobStatus status,
+                               Long startedAtInSecond,
+                               long createdAtInSecond,
+                               long updatedAtInSecond) {}
@@ -39,8 +39,10 @@ import io.airbyte.config.JobConfig;
 import io.airbyte.config.JobConfig.ConfigType;
 import io.airbyte.config.JobGetSpecConfig;
 import io.airbyte.config.JobOutput;
+import io.airbyte.config.JobResetConnectionConfig;
 import io.airbyte.config.JobSyncConfig;
 import io.airbyte.config.NormalizationSummary;
+import io.airbyte.config.ResetSourceConfiguration;
 import io.airbyte.config.StandardSyncOutput;
 import io.airbyte.config.StandardSyncSummary;
 import io.airbyte.config.State;
@@ -59,7 +61,12 @@ import io.airbyte.persistence.job.models.AttemptStatus;
 import io.airbyte.persistence.job.models.AttemptWithJobInfo;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
+import io.airbyte.persistence.job.models.JobStatusSummary;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.test.utils.DatabaseConnectionHelper;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import io.airbyte.validation.json.JsonValidationException;
@@ -202,6 +209,10 @@ class DefaultJobPersistenceTest {
         time);
   }
 
+  private static JobStatusSummary createSyncJobStatusSummary(final long id, final JobStatus status, final long time, final UUID connectionId) {
+    return new JobStatusSummary(id, connectionId, ConfigType.SYNC, status, null, time, time);
+  }
+
   @SuppressWarnings("unchecked")
   @BeforeEach
   void setup() throws Exception {
@@ -500,6 +511,23 @@ class DefaultJobPersistenceTest {
       assertNotEquals(streamStatsRec.get(STREAM_STATS.CREATED_AT), streamStatsRec.get(STREAM_STATS.UPDATED_AT));
     }
 
+    @Test
+    @DisplayName("Writing the same stream twice in one write should keep its last stats")
+    void testWriteStatsDuplicateStream() throws IOException {
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      final var lastStreamStats = new StreamSyncStats().withStreamName("name1")
+          .withStats(new SyncStats().withBytesEmitted(1000L).withRecordsEmitted(1000L).withEstimatedBytes(10000L).withEstimatedRecords(2000L));
+      final var streamStats = List.of(
+          new StreamSyncStats().withStreamName("name1")
+              .withStats(new SyncStats().withBytesEmitted(500L).withRecordsEmitted(500L).withEstimatedBytes(10000L).withEstimatedRecords(2000L)),
+          lastStreamStats);
+      jobPersistence.writeStats(jobId, attemptNumber, 1000L, 1000L, 1000L, 1000L, 1000L, 1000L, streamStats);
+
+      assertEquals(List.of(lastStreamStats), jobPersistence.getAttemptStats(jobId, attemptNumber).perStreamStats());
+    }
+
     @Test
     @DisplayName("Writing multiple stats a stream with null namespace should write correctly without exceptions")
     void testWriteNullNamespace() throws IOException {
@@ -1223,6 +1251,19 @@ class DefaultJobPersistenceTest {
       assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Should store the scope as the connection id of the job if it is a uuid")
+    void testCreateJobSetsConnectionId() throws IOException, SQLException {
+      final long connectionJobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final long otherJobId = jobPersistence.enqueueJob(SPEC_SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+
+      final Map<Long, UUID> connectionIds = jobDatabase.query(ctx -> ctx.select(JOBS.ID, JOBS.CONNECTION_ID).from(JOBS)
+          .where(JOBS.ID.in(connectionJobId, otherJobId))
+          .fetchMap(JOBS.ID, JOBS.CONNECTION_ID));
+      assertEquals(CONNECTION_ID, connectionIds.get(connectionJobId));
+      assertNull(connectionIds.get(otherJobId));
+    }
+
   }
 
   @Nested
@@ -1302,6 +1343,28 @@ class DefaultJobPersistenceTest {
       assertEquals(Optional.of(expected), actual);
     }
 
+    @Test
+    @DisplayName("Should return a sync job written without its connection id")
+    void testGetLastSyncJobWrittenWithoutConnectionId() throws IOException, SQLException {
+      // like a binary from before the connection_id column or the import of an older archive
+      final long jobId = jobDatabase.query(ctx -> ctx.fetch(
+          "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) "
+              + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
+              + "RETURNING id ",
+          toSqlName(SYNC_JOB_CONFIG.getConfigType()),
+          SCOPE,
+          NOW.atOffset(ZoneOffset.UTC),
+          NOW.atOffset(ZoneOffset.UTC),
+          toSqlName(JobStatus.PENDING),
+          Jsons.serialize(SYNC_JOB_CONFIG)))
+          .get(0)
+          .getValue("id", Long.class);
+
+      final Optional<Job> actual = jobPersistence.getLastReplicationJob(CONNECTION_ID);
+
+      assertEquals(Optional.of(jobId), actual.map(Job::getId));
+    }
+
   }
 
   @Nested
@@ -1369,7 +1432,7 @@ class DefaultJobPersistenceTest {
     @Test
     @DisplayName("Should return nothing if no sync job exists")
     void testGetLastSyncJobsForConnectionsEmpty() throws IOException {
-      final List<Job> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
+      final List<JobStatusSummary> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
 
       assertTrue(actual.isEmpty());
     }
@@ -1393,19 +1456,17 @@ class DefaultJobPersistenceTest {
 
       // should return the latest sync job even if failed
       jobPersistence.failAttempt(scope1Job2, scope1Job2AttemptNumber);
-      final Attempt scope1Job2attempt = jobPersistence.getJob(scope1Job2).getAttempts().stream().findFirst().orElseThrow();
       jobPersistence.failJob(scope1Job2);
 
       // will leave this job running
       final long scope2Job2 = jobPersistence.enqueueJob(SCOPE_2, SYNC_JOB_CONFIG).orElseThrow();
       jobPersistence.createAttempt(scope2Job2, LOG_PATH);
-      final Attempt scope2Job2attempt = jobPersistence.getJob(scope2Job2).getAttempts().stream().findFirst().orElseThrow();
 
-      final List<Job> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
-      final List<Job> expected = new ArrayList<>();
-      expected.add(createJob(scope1Job2, SYNC_JOB_CONFIG, JobStatus.FAILED, List.of(scope1Job2attempt), afterNow.getEpochSecond(), SCOPE_1));
-      expected.add(createJob(scope2Job2, SYNC_JOB_CONFIG, JobStatus.RUNNING, List.of(scope2Job2attempt), afterNow.getEpochSecond(), SCOPE_2));
-      expected.add(createJob(scope3Job1, SYNC_JOB_CONFIG, JobStatus.PENDING, Collections.emptyList(), NOW.getEpochSecond(), SCOPE_3));
+      final List<JobStatusSummary> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
+      final List<JobStatusSummary> expected = new ArrayList<>();
+      expected.add(createSyncJobStatusSummary(scope1Job2, JobStatus.FAILED, afterNow.getEpochSecond(), CONNECTION_ID_1));
+      expected.add(createSyncJobStatusSummary(scope2Job2, JobStatus.RUNNING, afterNow.getEpochSecond(), CONNECTION_ID_2));
+      expected.add(createSyncJobStatusSummary(scope3Job1, JobStatus.PENDING, NOW.getEpochSecond(), CONNECTION_ID_3));
 
       assertTrue(expected.size() == actual.size() && expected.containsAll(actual) && actual.containsAll(expected));
     }
@@ -1419,7 +1480,7 @@ class DefaultJobPersistenceTest {
       final Instant afterNow = NOW.plusSeconds(1000);
       when(timeSupplier.get()).thenReturn(afterNow);
 
-      final List<Job> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
+      final List<JobStatusSummary> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
 
       assertTrue(actual.isEmpty());
     }
@@ -1441,7 +1502,7 @@ class DefaultJobPersistenceTest {
     @Test
     @DisplayName("Should return nothing if no sync job exists")
     void testGetRunningSyncJobsForConnectionsEmpty() throws IOException {
-      final List<Job> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
+      final List<JobStatusSummary> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
 
       assertTrue(actual.isEmpty());
     }
@@ -1468,13 +1529,12 @@ class DefaultJobPersistenceTest {
       // create a running job/attempt for scope2
       final long scope2Job2 = jobPersistence.enqueueJob(SCOPE_2, SYNC_JOB_CONFIG).orElseThrow();
       jobPersistence.createAttempt(scope2Job2, LOG_PATH);
-      final Attempt scope2Job2attempt = jobPersistence.getJob(scope2Job2).getAttempts().stream().findFirst().orElseThrow();
 
-      final List<Job> expected = new ArrayList<>();
-      expected.add(createJob(scope2Job2, SYNC_JOB_CONFIG, JobStatus.RUNNING, List.of(scope2Job2attempt), afterNow.getEpochSecond(), SCOPE_2));
-      expected.add(createJob(scope3Job1, SYNC_JOB_CONFIG, JobStatus.PENDING, Collections.emptyList(), NOW.getEpochSecond(), SCOPE_3));
+      final List<JobStatusSummary> expected = new ArrayList<>();
+      expected.add(createSyncJobStatusSummary(scope2Job2, JobStatus.RUNNING, afterNow.getEpochSecond(), CONNECTION_ID_2));
+      expected.add(createSyncJobStatusSummary(scope3Job1, JobStatus.PENDING, NOW.getEpochSecond(), CONNECTION_ID_3));
 
-      final List<Job> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
+      final List<JobStatusSummary> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
       assertTrue(expected.size() == actual.size() && expected.containsAll(actual) && actual.containsAll(expected));
     }
 
@@ -1487,7 +1547,7 @@ class DefaultJobPersistenceTest {
       final Instant afterNow = NOW.plusSeconds(1000);
       when(timeSupplier.get()).thenReturn(afterNow);
 
-      final List<Job> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
+      final List<JobStatusSummary> actual = jobPersistence.getRunningSyncJobForConnections(CONNECTION_IDS);
 
       assertTrue(actual.isEmpty());
     }
@@ -1891,6 +1951,123 @@ class DefaultJobPersistenceTest {
       assertEquals(List.of(), actualList);
     }
 
+    @Test
+    @DisplayName("Should only load the parts of the config and output a list of jobs shows")
+    void testListJobsLight() throws IOException {
+      final JsonNode jsonSchema = Jsons.deserialize("{\"type\": \"object\", \"properties\": {\"id\": {\"type\": \"integer\"}}}");
+      final JobConfig syncJobConfig = new JobConfig()
+          .withConfigType(ConfigType.SYNC)
+          .withSync(new JobSyncConfig()
+              .withSourceDockerImage("airbyte/source-postgres:1.0.0")
+              .withConfiguredAirbyteCatalog(new ConfiguredAirbyteCatalog().withStreams(List.of(
+                  new ConfiguredAirbyteStream().withStream(new AirbyteStream().withName("users").withNamespace("public").withJsonSchema(jsonSchema)),
+                  new ConfiguredAirbyteStream().withStream(new AirbyteStream().withName("orders").withJsonSchema(jsonSchema))))));
+      final ResetSourceConfiguration resetSourceConfiguration = new ResetSourceConfiguration()
+          .withStreamsToReset(List.of(new StreamDescriptor().withName("users").withNamespace("public")));
+      final JobConfig resetJobConfig = new JobConfig()
+          .withConfigType(ConfigType.RESET_CONNECTION)
+          .withResetConnection(new JobResetConnectionConfig()
+              .withConfiguredAirbyteCatalog(syncJobConfig.getSync().getConfiguredAirbyteCatalog())
+              .withResetSourceConfiguration(resetSourceConfiguration));
+      final StandardSyncSummary standardSyncSummary = new StandardSyncSummary()
+          .withRecordsSynced(10L)
+          .withBytesSynced(100L)
+          .withTotalStats(new SyncStats().withRecordsEmitted(10L).withBytesEmitted(100L));
+
+      final long syncJobId = jobPersistence.enqueueJob(SCOPE, syncJobConfig).orElseThrow();
+      final int syncAttemptNumber = jobPersistence.createAttempt(syncJobId, LOG_PATH);
+      jobPersistence.writeAttemptSyncConfig(syncJobId, syncAttemptNumber, new AttemptSyncConfig().withSourceConfiguration(Jsons.emptyObject()));
+      jobPersistence.writeOutput(syncJobId, syncAttemptNumber, new JobOutput()
+          .withOutputType(JobOutput.OutputType.SYNC)
+          .withSync(new StandardSyncOutput()
+              .withStandardSyncSummary(standardSyncSummary)
+              .withOutputCatalog(syncJobConfig.getSync().getConfiguredAirbyteCatalog())));
+      jobPersistence.succeedAttempt(syncJobId, syncAttemptNumber);
+
+      when(timeSupplier.get()).thenReturn(NOW.plusSeconds(1000));
+      final long resetJobId = jobPersistence.enqueueJob(SCOPE, resetJobConfig).orElseThrow();
+
+      final List<Job> actualList = jobPersistence.listJobsLight(Set.of(ConfigType.SYNC, ConfigType.RESET_CONNECTION), SCOPE, 9999, 0);
+      assertEquals(List.of(resetJobId, syncJobId), actualList.stream().map(Job::getId).toList());
+
+      final Job resetJob = actualList.get(0);
+      assertEquals(resetSourceConfiguration, resetJob.getConfig().getResetConnection().getResetSourceConfiguration());
+      assertNull(resetJob.getConfig().getResetConnection().getConfiguredAirbyteCatalog());
+
+      final Job syncJob = actualList.get(1);
+      final Job fullSyncJob = jobPersistence.getJob(syncJobId);
+      assertEquals(fullSyncJob.getStatus(), syncJob.getStatus());
+      assertEquals(fullSyncJob.getCreatedAtInSecond(), syncJob.getCreatedAtInSecond());
+      assertEquals(fullSyncJob.getUpdatedAtInSecond(), syncJob.getUpdatedAtInSecond());
+      assertEquals(
+          List.of(new AirbyteStream().withName("users").withNamespace("public"), new AirbyteStream().withName("orders")),
+          syncJob.getConfig().getSync().getConfiguredAirbyteCatalog().getStreams().stream().map(ConfiguredAirbyteStream::getStream).toList());
+      assertNull(syncJob.getConfig().getSync().getSourceDockerImage());
+
+      final Attempt attempt = syncJob.getAttempts().get(0);
+      final Attempt fullAttempt = fullSyncJob.getAttempts().get(0);
+      assertEquals(fullAttempt.getStatus(), attempt.getStatus());
+      assertEquals(fullAttempt.getLogPath(), attempt.getLogPath());
+      assertEquals(standardSyncSummary, attempt.getOutput().orElseThrow().getSync().getStandardSyncSummary());
+      assertNull(attempt.getOutput().orElseThrow().getSync().getOutputCatalog());
+      assertTrue(attempt.getSyncConfig().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should list light jobs including the specified job")
+    void testListJobsIncludingIdLight() throws IOException {
+      final List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        when(timeSupplier.get()).thenReturn(Instant.ofEpochSecond(i));
+        final long jobId = jobPersistence.enqueueJob(CONNECTION_ID.toString(), SPEC_JOB_CONFIG).orElseThrow();
+        ids.add(jobId);
+        jobPersistence.createAttempt(jobId, LOG_PATH);
+      }
+
+      final int pageSize = 10;
+      final List<Job> actualList = jobPersistence.listJobsIncludingIdLight(Set.of(SPEC_JOB_CONFIG.getConfigType()),
+          CONNECTION_ID.toString(), ids.get(15), pageSize);
+      final List<Long> expectedJobIds = Lists.reverse(ids.subList(ids.size() - (pageSize * 2), ids.size()));
+      assertEquals(expectedJobIds, actualList.stream().map(Job::getId).toList());
+      assertEquals(ConfigType.GET_SPEC, actualList.get(0).getConfig().getConfigType());
+    }
+
+    @Test
+    @DisplayName("Should page through light jobs after a cursor job in the same order as offsets")
+    void testListJobsLightAfterJob() throws IOException {
+      final List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < 25; i++) {
+        // pairs of jobs share a created_at, so the id has to break the ties between pages
+        when(timeSupplier.get()).thenReturn(Instant.ofEpochSecond(i / 2));
+        ids.add(jobPersistence.enqueueJob(CONNECTION_ID.toString(), SPEC_JOB_CONFIG).orElseThrow());
+        jobPersistence.enqueueJob(CONNECTION_ID2.toString(), SPEC_JOB_CONFIG).orElseThrow();
+      }
+
+      final int pageSize = 10;
+      final Set<ConfigType> configTypes = Set.of(SPEC_JOB_CONFIG.getConfigType());
+      final List<Long> pagedIds = new ArrayList<>(
+          jobPersistence.listJobsLight(configTypes, CONNECTION_ID.toString(), pageSize, 0).stream().map(Job::getId).toList());
+      List<Job> page;
+      do {
+        page = jobPersistence.listJobsLightAfterJob(configTypes, CONNECTION_ID.toString(), pagedIds.get(pagedIds.size() - 1), pageSize)
+            .orElseThrow();
+        page.forEach(job -> pagedIds.add(job.getId()));
+      } while (page.size() == pageSize);
+
+      assertEquals(Lists.reverse(ids), pagedIds);
+    }
+
+    @Test
+    @DisplayName("Should not list jobs after a job that isn't in the list")
+    void testListJobsLightAfterUnknownJob() throws IOException {
+      final long otherConnectionJobId = jobPersistence.enqueueJob(CONNECTION_ID2.toString(), SPEC_JOB_CONFIG).orElseThrow();
+      jobPersistence.enqueueJob(CONNECTION_ID.toString(), SPEC_JOB_CONFIG).orElseThrow();
+      final Set<ConfigType> configTypes = Set.of(SPEC_JOB_CONFIG.getConfigType());
+
+      assertTrue(jobPersistence.listJobsLightAfterJob(configTypes, CONNECTION_ID.toString(), otherConnectionJobId, 10).isEmpty());
+      assertTrue(jobPersistence.listJobsLightAfterJob(configTypes, CONNECTION_ID.toString(), otherConnectionJobId + 1000, 10).isEmpty());
+    }
+
   }
 
   @Nested
@@ -2047,11 +2224,12 @@ class DefaultJobPersistenceTest {
         throws IOException, SQLException {
       final Optional<Long> id = jobDatabase.query(
           ctx -> ctx.fetch(
-              "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) "
-                  + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
+              "INSERT INTO jobs(config_type, scope, connection_id, created_at, updated_at, status, config) "
+                  + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
                   + "RETURNING id ",
               toSqlName(jobConfig.getConfigType()),
               scope,
+              UUID.fromString(scope),
               runDate,
               runDate,
               toSqlName(status),
@@ -11,6 +11,8 @@ import io.airbyte.api.generated.StateApi;
 import io.airbyte.api.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.model.generated.ConnectionState;
 import io.airbyte.api.model.generated.ConnectionStateCreateOrUpdate;
+import io.airbyte.api.model.generated.ConnectionStreamStatesUpsert;
+import io.airbyte.api.model.generated.InternalOperationResult;
 import io.airbyte.commons.auth.SecuredWorkspace;
 import io.airbyte.commons.server.handlers.StateHandler;
 import io.airbyte.commons.server.scheduling.AirbyteTaskExecutors;
@@ -48,4 +50,12 @@ public class StateApiController implements StateApi {
     return ApiHelper.execute(() -> stateHandler.getState(connectionIdRequestBody));
   }
 
+  @Post("/upsert_streams")
+  @Secured({ADMIN})
+  @ExecuteOn(AirbyteTaskExecutors.IO)
+  @Override
+  public InternalOperationResult upsertStreamStates(final ConnectionStreamStatesUpsert connectionStreamStatesUpsert) {
+    return ApiHelper.execute(() -> stateHandler.upsertStreamStates(connectionStreamStatesUpsert));
+  }
+
 }
@@ -15,6 +15,7 @@ import io.airbyte.api.model.generated.StreamStatusListRequestBody;
 import io.airbyte.api.model.generated.StreamStatusRead;
 import io.airbyte.api.model.generated.StreamStatusReadList;
 import io.airbyte.api.model.generated.StreamStatusRunState;
+import io.airbyte.api.model.generated.StreamStatusUpdateBatchRequestBody;
 import io.airbyte.api.model.generated.StreamStatusUpdateRequestBody;
 import io.airbyte.commons.auth.SecuredWorkspace;
 import io.airbyte.commons.server.errors.BadRequestException;
@@ -59,6 +60,16 @@ public class StreamStatusesApiController implements StreamStatusesApi {
     return handler.updateStreamStatus(req);
   }
 
+  @Secured({ADMIN})
+  @ExecuteOn(AirbyteTaskExecutors.IO)
+  @Post(uri = "/update_batch")
+  @Override
+  public StreamStatusReadList updateStreamStatuses(final StreamStatusUpdateBatchRequestBody req) {
+    req.getStreamStatuses().forEach(update -> Validations.validate(update.getRunState(), update.getIncompleteRunCause()));
+
+    return handler.updateStreamStatuses(req);
+  }
+
   @Secured({READER})
   @SecuredWorkspace
   @ExecuteOn(AirbyteTaskExecutors.IO)
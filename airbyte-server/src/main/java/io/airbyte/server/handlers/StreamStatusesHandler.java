@@ -8,10 +8,14 @@ import io.airbyte.api.model.generated.StreamStatusCreateRequestBody;
 import io.airbyte.api.model.generated.StreamStatusListRequestBody;
 import io.airbyte.api.model.generated.StreamStatusRead;
 import io.airbyte.api.model.generated.StreamStatusReadList;
+import io.airbyte.api.model.generated.StreamStatusUpdateBatchRequestBody;
 import io.airbyte.api.model.generated.StreamStatusUpdateRequestBody;
 import io.airbyte.server.handlers.api_domain_mapping.StreamStatusesMapper;
 import io.airbyte.server.repositories.StreamStatusesRepository;
+import io.airbyte.server.repositories.domain.StreamStatus;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface layer between the API and Persistence layers.
@@ -44,6 +48,18 @@ public class StreamStatusesHandler {
     return mapper.map(saved);
   }
 
+  public StreamStatusReadList updateStreamStatuses(final StreamStatusUpdateBatchRequestBody req) {
+    final List<StreamStatus> models = req.getStreamStatuses()
+        .stream()
+        .map(mapper::map)
+        .toList();
+
+    final List<StreamStatusRead> apiList = new ArrayList<>(models.size());
+    repo.updateAll(models).forEach(saved -> apiList.add(mapper.map(saved)));
+
+    return new StreamStatusReadList().streamStatuses(apiList);
+  }
+
   public StreamStatusReadList listStreamStatus(final StreamStatusListRequestBody req) {
     final var filters = mapper.map(req);
 
@@ -5,6 +5,7 @@
 package io.airbyte.server.apis;
 
 import io.airbyte.api.model.generated.ConnectionState;
+import io.airbyte.api.model.generated.InternalOperationResult;
 import io.airbyte.api.model.generated.SourceIdRequestBody;
 import io.airbyte.commons.json.Jsons;
 import io.micronaut.context.annotation.Requires;
@@ -41,4 +42,14 @@ class StateApiTest extends BaseControllerTest {
         HttpStatus.OK);
   }
 
+  @Test
+  void testUpsertStreamStates() throws IOException {
+    Mockito.when(stateHandler.upsertStreamStates(Mockito.any()))
+        .thenReturn(new InternalOperationResult());
+    final String path = "/api/v1/state/upsert_streams";
+    testEndpointStatus(
+        HttpRequest.POST(path, Jsons.serialize(new SourceIdRequestBody())),
+        HttpStatus.OK);
+  }
+
 }
@@ -14,6 +14,7 @@ import io.airbyte.api.model.generated.StreamStatusListRequestBody;
 import io.airbyte.api.model.generated.StreamStatusRead;
 import io.airbyte.api.model.generated.StreamStatusReadList;
 import io.airbyte.api.model.generated.StreamStatusRunState;
+import io.airbyte.api.model.generated.StreamStatusUpdateBatchRequestBody;
 import io.airbyte.api.model.generated.StreamStatusUpdateRequestBody;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.server.handlers.StreamStatusesHandler;
@@ -25,6 +26,7 @@ import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
@@ -53,6 +55,7 @@ class StreamStatusesApiControllerTest extends BaseControllerTest {
   static String PATH_BASE = "/api/v1/stream_statuses";
   static String PATH_CREATE = PATH_BASE + "/create";
   static String PATH_UPDATE = PATH_BASE + "/update";
+  static String PATH_UPDATE_BATCH = PATH_BASE + "/update_batch";
   static String PATH_LIST = PATH_BASE + "/list";
 
   @Test
@@ -113,6 +116,36 @@ class StreamStatusesApiControllerTest extends BaseControllerTest {
         HttpStatus.BAD_REQUEST);
   }
 
+  @Test
+  void testUpdateBatchSuccessful() {
+    when(handler.updateStreamStatuses(Mockito.any()))
+        .thenReturn(new StreamStatusReadList());
+
+    testEndpointStatus(
+        HttpRequest.POST(
+            PATH_UPDATE_BATCH,
+            Jsons.serialize(new StreamStatusUpdateBatchRequestBody().streamStatuses(List.of(Fixtures.validUpdate(), Fixtures.validUpdate())))),
+        HttpStatus.OK);
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidRunStateCauseMatrix")
+  void testUpdateBatchIncompleteRunCauseRunStateInvariant(final StreamStatusRunState state,
+                                                          final StreamStatusIncompleteRunCause incompleteCause) {
+    when(handler.updateStreamStatuses(Mockito.any()))
+        .thenReturn(new StreamStatusReadList());
+
+    final var invalid = Fixtures.validUpdate()
+        .runState(state)
+        .incompleteRunCause(incompleteCause);
+
+    testErrorEndpointStatus(
+        HttpRequest.POST(
+            PATH_UPDATE_BATCH,
+            Jsons.serialize(new StreamStatusUpdateBatchRequestBody().streamStatuses(List.of(Fixtures.validUpdate(), invalid)))),
+        HttpStatus.BAD_REQUEST);
+  }
+
   private static Stream<Arguments> invalidRunStateCauseMatrix() {
     return Stream.of(
         Arguments.of(StreamStatusRunState.PENDING, StreamStatusIncompleteRunCause.FAILED),
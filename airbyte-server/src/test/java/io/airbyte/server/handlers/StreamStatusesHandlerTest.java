@@ -10,6 +10,7 @@ import io.airbyte.api.model.generated.StreamStatusCreateRequestBody;
 import io.airbyte.api.model.generated.StreamStatusListRequestBody;
 import io.airbyte.api.model.generated.StreamStatusRead;
 import io.airbyte.api.model.generated.StreamStatusReadList;
+import io.airbyte.api.model.generated.StreamStatusUpdateBatchRequestBody;
 import io.airbyte.api.model.generated.StreamStatusUpdateRequestBody;
 import io.airbyte.server.handlers.api_domain_mapping.StreamStatusesMapper;
 import io.airbyte.server.repositories.StreamStatusesRepository;
@@ -70,6 +71,30 @@ class StreamStatusesHandlerTest {
     Assertions.assertSame(apiResp, handler.updateStreamStatus(apiReq));
   }
 
+  @Test
+  void testUpdateBatch() {
+    final var apiReq1 = new StreamStatusUpdateRequestBody().streamName("users");
+    final var apiReq2 = new StreamStatusUpdateRequestBody().streamName("orders");
+    final var domain1 = StreamStatus.builder().streamName("users").build();
+    final var domain2 = StreamStatus.builder().streamName("orders").build();
+    final var apiResp1 = new StreamStatusRead().streamName("users");
+    final var apiResp2 = new StreamStatusRead().streamName("orders");
+
+    when(mapper.map(apiReq1))
+        .thenReturn(domain1);
+    when(mapper.map(apiReq2))
+        .thenReturn(domain2);
+    when(repo.updateAll(List.of(domain1, domain2)))
+        .thenReturn(List.of(domain1, domain2));
+    when(mapper.map(domain1))
+        .thenReturn(apiResp1);
+    when(mapper.map(domain2))
+        .thenReturn(apiResp2);
+
+    Assertions.assertEquals(new StreamStatusReadList().streamStatuses(List.of(apiResp1, apiResp2)),
+        handler.updateStreamStatuses(new StreamStatusUpdateBatchRequestBody().streamStatuses(List.of(apiReq1, apiReq2))));
+  }
+
   @Test
   void testList() {
     final var apiReq = new StreamStatusListRequestBody();